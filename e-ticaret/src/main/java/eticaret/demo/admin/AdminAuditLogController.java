@@ -9,12 +9,17 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import eticaret.demo.audit.AuditActionAggregator;
+import eticaret.demo.audit.AuditActionPolicy;
 import eticaret.demo.audit.AuditLog;
 import eticaret.demo.audit.AuditLogRepository;
+import eticaret.demo.common.pagination.CursorPage;
+import eticaret.demo.common.pagination.SeekCursor;
 import eticaret.demo.common.response.DataResponseMessage;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -24,6 +29,8 @@ import java.util.Map;
 public class AdminAuditLogController {
 
     private final AuditLogRepository auditLogRepository;
+    private final AuditActionAggregator auditActionAggregator;
+    private final AuditActionPolicy auditActionPolicy;
 
     /**
      * Tüm audit logları getir (sayfalama ile)
@@ -159,6 +166,25 @@ public class AdminAuditLogController {
         return ResponseEntity.ok(DataResponseMessage.success("Tarih aralığı logları başarıyla getirildi", response));
     }
 
+    /**
+     * Toplanan/örneklenen aksiyonların çağrı sayıları ve tekil IP sayıları (dakikalık sayaçlardan)
+     * Bu aksiyonların başarılı çağrıları tek tek loglanmadığından hacimler buradan okunur; geçerli dakika dahil değildir.
+     * GET /api/admin/audit-logs/counts?start=2024-01-01T00:00:00&end=2024-01-02T00:00:00
+     */
+    @GetMapping("/counts")
+    public ResponseEntity<DataResponseMessage<Map<String, Object>>> getActionCounts(
+            @RequestParam String start,
+            @RequestParam String end) {
+        LocalDateTime startDate = LocalDateTime.parse(start);
+        LocalDateTime endDate = LocalDateTime.parse(end);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("counts", auditActionAggregator.summarize(startDate, endDate));
+        response.put("policies", auditActionPolicy.getModes());
+        
+        return ResponseEntity.ok(DataResponseMessage.success("Aksiyon sayaçları başarıyla getirildi", response));
+    }
+
     /**
      * IP adresine göre loglar (sayfalama ile)
      * GET /api/admin/audit-logs/ip/{ipAddress}?page=0&size=50
@@ -203,6 +229,90 @@ public class AdminAuditLogController {
         return ResponseEntity.ok(DataResponseMessage.success("Status logları başarıyla getirildi", response));
     }
 
+    /**
+     * Tüm audit loglar (imleç tabanlı sayfalama ile)
+     * Derin sayfalar da ilk sayfa kadar hızlıdır; COUNT sorgusu çalışmaz.
+     * GET /api/admin/audit-logs/seek?cursor=...&size=50&includeTotal=false
+     */
+    @GetMapping("/seek")
+    public ResponseEntity<DataResponseMessage<Map<String, Object>>> seekAllAuditLogs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        size = CursorPage.clampSize(size);
+        try {
+            Pageable limit = PageRequest.of(0, size + 1);
+            List<AuditLog> logs;
+            if (cursor == null || cursor.isBlank()) {
+                logs = auditLogRepository.findLatest(limit);
+            } else {
+                SeekCursor seek = SeekCursor.decode(cursor, 2);
+                logs = auditLogRepository.findLatestBefore(seek.getDateTime(0), seek.getLong(1), limit);
+            }
+            Long total = includeTotal ? auditLogRepository.estimateRowCount() : null;
+            return ResponseEntity.ok(DataResponseMessage.success("Audit logları başarıyla getirildi",
+                    toCursorResponse(CursorPage.of(logs, size, this::cursorOf, total))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(DataResponseMessage.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Kullanıcıya göre loglar (imleç tabanlı sayfalama ile)
+     * GET /api/admin/audit-logs/seek/user/{userId}?cursor=...&size=50
+     */
+    @GetMapping("/seek/user/{userId}")
+    public ResponseEntity<DataResponseMessage<Map<String, Object>>> seekLogsByUserId(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        size = CursorPage.clampSize(size);
+        try {
+            Pageable limit = PageRequest.of(0, size + 1);
+            List<AuditLog> logs;
+            if (cursor == null || cursor.isBlank()) {
+                logs = auditLogRepository.findLatestByUserId(userId, limit);
+            } else {
+                SeekCursor seek = SeekCursor.decode(cursor, 2);
+                logs = auditLogRepository.findLatestByUserIdBefore(userId, seek.getDateTime(0), seek.getLong(1), limit);
+            }
+            Long total = includeTotal ? auditLogRepository.countByUserId(userId) : null;
+            return ResponseEntity.ok(DataResponseMessage.success("Kullanıcı logları başarıyla getirildi",
+                    toCursorResponse(CursorPage.of(logs, size, this::cursorOf, total))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(DataResponseMessage.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Action'a göre loglar (imleç tabanlı sayfalama ile)
+     * GET /api/admin/audit-logs/seek/action/{action}?cursor=...&size=50
+     */
+    @GetMapping("/seek/action/{action}")
+    public ResponseEntity<DataResponseMessage<Map<String, Object>>> seekLogsByAction(
+            @PathVariable String action,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        size = CursorPage.clampSize(size);
+        try {
+            Pageable limit = PageRequest.of(0, size + 1);
+            List<AuditLog> logs;
+            if (cursor == null || cursor.isBlank()) {
+                logs = auditLogRepository.findLatestByAction(action, limit);
+            } else {
+                SeekCursor seek = SeekCursor.decode(cursor, 2);
+                logs = auditLogRepository.findLatestByActionBefore(action, seek.getDateTime(0), seek.getLong(1), limit);
+            }
+            Long total = includeTotal ? auditLogRepository.countByAction(action) : null;
+            return ResponseEntity.ok(DataResponseMessage.success("Action logları başarıyla getirildi",
+                    toCursorResponse(CursorPage.of(logs, size, this::cursorOf, total))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(DataResponseMessage.error(e.getMessage()));
+        }
+    }
+
     /**
      * Belirli bir log detayı
      * GET /api/admin/audit-logs/{id}
@@ -309,5 +419,18 @@ public class AdminAuditLogController {
         
         return ResponseEntity.ok(DataResponseMessage.success(count + " adet log silindi", response));
     }
-}
 
+    private String cursorOf(AuditLog log) {
+        return SeekCursor.encode(log.getCreatedAt(), log.getId());
+    }
+
+    private Map<String, Object> toCursorResponse(CursorPage<AuditLog> logPage) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("logs", logPage.content());
+        response.put("nextCursor", logPage.nextCursor());
+        response.put("hasNext", logPage.hasNext());
+        response.put("size", logPage.size());
+        response.put("approximateTotal", logPage.approximateTotal());
+        return response;
+    }
+}
@@ -2,12 +2,15 @@ package eticaret.demo.admin;
 
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import eticaret.demo.product.Category;
 import eticaret.demo.product.CategoryRepository;
 import eticaret.demo.common.response.DataResponseMessage;
+import eticaret.demo.common.cache.CacheInvalidationEvent;
+import eticaret.demo.product.catalog.CatalogSnapshotService;
 
 import java.util.List;
 import java.util.Optional;
@@ -19,6 +22,8 @@ import java.util.Optional;
 public class AdminCategoryController {
 
     private final CategoryRepository categoryRepository;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @GetMapping
     public ResponseEntity<DataResponseMessage<List<Category>>> getAllCategories() {
@@ -47,6 +52,7 @@ public class AdminCategoryController {
                 .build();
 
         Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(CacheInvalidationEvent.category(saved.getId()));
         return ResponseEntity.ok(DataResponseMessage.success("Kategori başarıyla oluşturuldu", saved));
     }
 
@@ -75,6 +81,9 @@ public class AdminCategoryController {
         }
 
         Category updated = categoryRepository.save(category);
+        // Katalogdaki ürünler kategori adını taşıdığı için görüntü yeniden oluşturulur
+        catalogSnapshotService.invalidate();
+        eventPublisher.publishEvent(CacheInvalidationEvent.category(updated.getId()));
         return ResponseEntity.ok(DataResponseMessage.success("Kategori başarıyla güncellendi", updated));
     }
 
@@ -93,6 +102,7 @@ public class AdminCategoryController {
         }
 
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(CacheInvalidationEvent.category(id));
         return ResponseEntity.ok(DataResponseMessage.success("Kategori başarıyla silindi", null));
     }
 
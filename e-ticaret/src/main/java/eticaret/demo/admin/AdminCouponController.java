@@ -3,6 +3,7 @@ package eticaret.demo.admin;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -14,6 +15,7 @@ import eticaret.demo.coupon.CouponService;
 import eticaret.demo.coupon.CouponType;
 import eticaret.demo.coupon.CouponUsage;
 import eticaret.demo.coupon.CouponUsageRepository;
+import eticaret.demo.common.cache.CacheInvalidationEvent;
 import eticaret.demo.common.config.AppUrlConfig;
 import eticaret.demo.common.response.DataResponseMessage;
 import eticaret.demo.auth.AppUser;
@@ -49,6 +51,7 @@ public class AdminCouponController {
     private final AppUserRepository userRepository;
     private final MediaUploadService mediaUploadService;
     private final AppUrlConfig appUrlConfig;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Yeni kupon oluştur
@@ -83,6 +86,7 @@ public class AdminCouponController {
                     .build();
 
             Coupon saved = couponRepository.save(coupon);
+            eventPublisher.publishEvent(CacheInvalidationEvent.coupon(saved.getId()));
 
             auditLogService.logSuccess("CREATE_COUPON", "Coupon", saved.getId(),
                     "Yeni kupon oluşturuldu: " + saved.getCode(),
@@ -217,6 +221,7 @@ public class AdminCouponController {
             if (request.getTargetUserEmails() != null) coupon.setTargetUserEmails(request.getTargetUserEmails());
 
             Coupon updated = couponRepository.save(coupon);
+            eventPublisher.publishEvent(CacheInvalidationEvent.coupon(updated.getId()));
 
             auditLogService.logSuccess("UPDATE_COUPON", "Coupon", updated.getId(),
                     "Kupon güncellendi: " + updated.getCode(),
@@ -247,6 +252,7 @@ public class AdminCouponController {
 
             Coupon coupon = couponOpt.get();
             couponRepository.deleteById(id);
+            eventPublisher.publishEvent(CacheInvalidationEvent.coupon(id));
 
             auditLogService.logSimple("DELETE_COUPON", "Coupon", id,
                     "Kupon silindi: " + coupon.getCode(), request);
@@ -17,8 +17,8 @@ import eticaret.demo.product.ProductReviewRepository;
 import eticaret.demo.guest.GuestUserRepository;
 import eticaret.demo.auth.AppUserRepository;
 import eticaret.demo.auth.UserRole;
-import eticaret.demo.visitor.ActiveVisitorRepository;
 import eticaret.demo.visitor.VisitorType;
+import eticaret.demo.visitor.session.ActiveVisitorCounter;
 
 import java.math.BigDecimal;
 import java.security.MessageDigest;
@@ -38,7 +38,7 @@ public class AdminDashboardController {
     private final ProductReviewRepository reviewRepository;
     private final GuestUserRepository guestUserRepository;
     private final AppUserRepository appUserRepository;
-    private final ActiveVisitorRepository visitorRepository;
+    private final ActiveVisitorCounter activeVisitorCounter;
 
     @GetMapping("/stats")
     public ResponseEntity<?> getStats(@RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
@@ -102,16 +102,15 @@ public class AdminDashboardController {
         stats.put("activeGuestsLast24Hours", activeGuestsLast24Hours);
         
         // Aktif ziyaretçi istatistikleri
-        LocalDateTime last5Minutes = LocalDateTime.now().minusMinutes(5);
-        long activeVisitorsNow = visitorRepository.countActiveVisitors(last5Minutes);
-        LocalDateTime last1Hour = LocalDateTime.now().minusHours(1);
-        long activeVisitorsLastHour = visitorRepository.countActiveVisitors(last1Hour);
+        // Bellekteki kayan pencereden okunur (son 5 dakika ve son 1 saat)
+        long activeVisitorsNow = activeVisitorCounter.count(5);
+        long activeVisitorsLastHour = activeVisitorCounter.count(60);
         stats.put("activeVisitorsNow", activeVisitorsNow);
         stats.put("activeVisitorsLastHour", activeVisitorsLastHour);
 
-        long activeGuestSessions = visitorRepository.countActiveVisitorsByType(last5Minutes, VisitorType.MISAFIR);
-        long activeUserSessions = visitorRepository.countActiveVisitorsByType(last5Minutes, VisitorType.KULLANICI);
-        long activeAdminSessions = visitorRepository.countActiveVisitorsByType(last5Minutes, VisitorType.YONETICI);
+        long activeGuestSessions = activeVisitorCounter.count(5, VisitorType.MISAFIR);
+        long activeUserSessions = activeVisitorCounter.count(5, VisitorType.KULLANICI);
+        long activeAdminSessions = activeVisitorCounter.count(5, VisitorType.YONETICI);
         stats.put("activeGuestSessions", activeGuestSessions);
         stats.put("activeUserSessions", activeUserSessions);
         stats.put("activeAdminSessions", activeAdminSessions);
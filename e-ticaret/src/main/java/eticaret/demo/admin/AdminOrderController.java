@@ -24,6 +24,8 @@ import eticaret.demo.order.OrderService;
 import eticaret.demo.order.OrderResponseDTO;
 import eticaret.demo.payment.PaymentService;
 import eticaret.demo.payment.RefundRequest;
+import eticaret.demo.common.pagination.CursorPage;
+import eticaret.demo.common.pagination.SeekCursor;
 import eticaret.demo.common.response.DataResponseMessage;
 import eticaret.demo.common.response.ResponseMessage;
 
@@ -90,6 +92,61 @@ public class AdminOrderController {
         }
     }
 
+    /**
+     * Siparişleri imleç tabanlı sayfalama ile getir (createdAt DESC, id DESC)
+     * Derin sayfalar OFFSET taraması ve COUNT sorgusu yapmaz.
+     * GET /api/admin/orders/seek?cursor=...&size=20&status=...&includeTotal=false
+     */
+    @GetMapping("/seek")
+    public ResponseEntity<DataResponseMessage<Map<String, Object>>> seekOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            HttpServletRequest request) {
+        size = CursorPage.clampSize(size);
+        try {
+            Pageable limit = PageRequest.of(0, size + 1);
+            List<Order> orders;
+            if (cursor == null || cursor.isBlank()) {
+                orders = status != null
+                        ? orderRepository.findLatestByStatus(status, limit)
+                        : orderRepository.findLatest(limit);
+            } else {
+                SeekCursor seek = SeekCursor.decode(cursor, 2);
+                orders = status != null
+                        ? orderRepository.findLatestByStatusBefore(status, seek.getDateTime(0), seek.getLong(1), limit)
+                        : orderRepository.findLatestBefore(seek.getDateTime(0), seek.getLong(1), limit);
+            }
+            Long total = null;
+            if (includeTotal) {
+                total = status != null ? orderRepository.countByStatus(status) : orderRepository.estimateRowCount();
+            }
+            CursorPage<Order> orderPage = CursorPage.of(orders, size,
+                    order -> SeekCursor.encode(order.getCreatedAt(), order.getId()), total);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("content", orderPage.content());
+            response.put("nextCursor", orderPage.nextCursor());
+            response.put("hasNext", orderPage.hasNext());
+            response.put("pageSize", orderPage.size());
+            response.put("approximateTotal", orderPage.approximateTotal());
+            
+            auditLogService.logSimple("GET_ALL_ORDERS", "Order", null,
+                    "Siparişler listelendi (İmleç: " + (cursor != null ? "var" : "ilk sayfa") + ", Boyut: " + size +
+                    (status != null ? ", Durum: " + status : "") + ")", request);
+            
+            return ResponseEntity.ok(DataResponseMessage.success("Siparişler başarıyla getirildi", response));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(DataResponseMessage.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Siparişler getirilirken hata: ", e);
+            return ResponseEntity.badRequest()
+                    .body(DataResponseMessage.error("Siparişler getirilemedi: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<DataResponseMessage<OrderResponseDTO>> getOrderById(
             @PathVariable Long id,
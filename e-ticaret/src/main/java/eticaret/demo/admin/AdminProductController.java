@@ -2,19 +2,22 @@ package eticaret.demo.admin;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import eticaret.demo.cloudinary.MediaUploadService;
+import eticaret.demo.cloudinary.ResponsiveImageSet;
 import eticaret.demo.product.Category;
 import eticaret.demo.product.CategoryRepository;
 import eticaret.demo.product.Product;
 import eticaret.demo.product.ProductRepository;
-import eticaret.demo.product.ProductReviewRepository;
-import eticaret.demo.product.ProductViewRepository;
+import eticaret.demo.product.catalog.CatalogSnapshotService;
+import eticaret.demo.product.stats.ProductStatsService;
 import eticaret.demo.cart.CartItemRepository;
+import eticaret.demo.common.cache.CacheInvalidationEvent;
 import eticaret.demo.common.response.DataResponseMessage;
 import eticaret.demo.audit.AuditLogService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -39,10 +42,11 @@ public class AdminProductController {
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final MediaUploadService mediaUploadService;
-    private final ProductReviewRepository reviewRepository;
-    private final ProductViewRepository productViewRepository;
+    private final ProductStatsService productStatsService;
     private final CartItemRepository cartItemRepository;
     private final AuditLogService auditLogService;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Yeni ürün oluştur
@@ -124,6 +128,8 @@ public class AdminProductController {
             // Önce ürünü kaydet (hızlı geri dönüş için)
             Product saved = productRepository.save(product);
             final Long productId = saved.getId();
+            catalogSnapshotService.upsert(saved);
+            eventPublisher.publishEvent(CacheInvalidationEvent.product(saved.getId()));
 
             // Kapak resmi yükle (asenkron - arka planda, optimize edilmiş)
             if (coverImage != null && !coverImage.isEmpty()) {
@@ -132,7 +138,7 @@ public class AdminProductController {
                             .thenAccept(result -> {
                                 try {
                                     // Yeni transaction içinde güncelle (optimize edilmiş URL kullan)
-                                    updateProductImageUrl(productId, result.getOptimizedUrl(), true);
+                                    updateProductImageUrl(productId, result.getOptimizedUrl(), result.getResponsive(), true);
                                     log.info("Ana fotoğraf optimize edilerek yüklendi: {} (Orijinal: {} MB, Optimize: {} MB, Sıkıştırma: {:.2f}%)", 
                             result.getOptimizedUrl(),
                             result.getOriginalSize() != null ? result.getOriginalSize() / (1024.0 * 1024.0) : 0,
@@ -159,7 +165,7 @@ public class AdminProductController {
                             .thenAccept(result -> {
                                 try {
                                     // Yeni transaction içinde güncelle (optimize edilmiş URL kullan)
-                                    updateProductImageUrl(productId, result.getOptimizedUrl(), false);
+                                    updateProductImageUrl(productId, result.getOptimizedUrl(), result.getResponsive(), false);
                                     log.info("Detay fotoğrafı optimize edilerek yüklendi: {} (Orijinal: {} MB, Optimize: {} MB, Sıkıştırma: {:.2f}%)", 
                             result.getOptimizedUrl(),
                             result.getOriginalSize() != null ? result.getOriginalSize() / (1024.0 * 1024.0) : 0,
@@ -211,23 +217,8 @@ public class AdminProductController {
             try {
                 List<Product> products = productRepository.findAllWithCategory();
                 
-                // Her ürün için yorum sayısı, ortalama puanı ve görüntüleme sayısını ekle
-                for (Product product : products) {
-                    try {
-                        Long reviewCount = reviewRepository.countByProductIdAndActiveTrue(product.getId());
-                        Double averageRating = reviewRepository.calculateAverageRatingByProductId(product.getId());
-                        Long viewCount = productViewRepository.countByProductId(product.getId());
-                        
-                        product.setReviewCount(reviewCount != null ? reviewCount : 0L);
-                        product.setAverageRating(averageRating != null ? averageRating : 0.0);
-                        product.setViewCount(viewCount != null ? viewCount : 0L);
-                    } catch (Exception e) {
-                        log.warn("Ürün {} için istatistik hesaplanırken hata: {}", product.getId(), e.getMessage());
-                        product.setReviewCount(0L);
-                        product.setAverageRating(0.0);
-                        product.setViewCount(0L);
-                    }
-                }
+                // Tüm ürünler için yorum sayısı, ortalama puanı ve görüntüleme sayısını tek sorguda ekle
+                productStatsService.applyTo(products);
                 
                 return ResponseEntity.ok(DataResponseMessage.success("Ürünler başarıyla getirildi", products));
             } catch (Exception e) {
@@ -339,6 +330,8 @@ public class AdminProductController {
 
             // Önce ürünü güncelle
             Product updatedProduct = productRepository.save(product);
+            catalogSnapshotService.upsert(updatedProduct);
+            eventPublisher.publishEvent(CacheInvalidationEvent.product(updatedProduct.getId()));
 
             // Kapak fotoğrafı güncelle (senkron - response'da güncellenmiş URL dönsün)
             if (coverImage != null && !coverImage.isEmpty()) {
@@ -346,6 +339,7 @@ public class AdminProductController {
                     log.info("Ana fotoğraf yükleniyor ve optimize ediliyor...");
                     var result = mediaUploadService.uploadAndOptimizeProductImage(coverImage);
                     updatedProduct.setCoverImageUrl(result.getOptimizedUrl());
+                    updatedProduct.setCoverImageVariants(result.getResponsive());
                     updatedProduct = productRepository.save(updatedProduct);
                     log.info("Ana fotoğraf optimize edilerek güncellendi: {} (Orijinal: {} MB, Optimize: {} MB, Sıkıştırma: {:.2f}%)", 
                             result.getOptimizedUrl(),
@@ -365,6 +359,7 @@ public class AdminProductController {
                     log.info("Detay fotoğrafı yükleniyor ve optimize ediliyor...");
                     var result = mediaUploadService.uploadAndOptimizeProductImage(detailImage);
                     updatedProduct.setDetailImageUrl(result.getOptimizedUrl());
+                    updatedProduct.setDetailImageVariants(result.getResponsive());
                     updatedProduct = productRepository.save(updatedProduct);
                     log.info("Detay fotoğrafı optimize edilerek güncellendi: {} (Orijinal: {} MB, Optimize: {} MB, Sıkıştırma: {:.2f}%)", 
                             result.getOptimizedUrl(),
@@ -378,6 +373,10 @@ public class AdminProductController {
                 }
             }
 
+            catalogSnapshotService.upsert(updatedProduct);
+
+            eventPublisher.publishEvent(CacheInvalidationEvent.product(updatedProduct.getId()));
+
             return ResponseEntity.ok(DataResponseMessage.success("Ürün başarıyla güncellendi", updatedProduct));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -386,12 +385,12 @@ public class AdminProductController {
     }
 
     /**
-     * Ürün fotoğraf URL'sini güncelle (asenkron callback için)
+     * Ürün fotoğraf URL'sini ve yüklemede hesaplanan responsive varyantlarını güncelle (asenkron callback için)
      * Yeni transaction içinde çalışır - EntityManager hatasını önler
      * REQUIRES_NEW: Her zaman yeni bir transaction başlatır, asenkron thread'lerde çalışır
      */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void updateProductImageUrl(Long productId, String imageUrl, boolean isCoverImage) {
+    public void updateProductImageUrl(Long productId, String imageUrl, ResponsiveImageSet variants, boolean isCoverImage) {
         try {
             // Yeni transaction içinde ürünü bul ve güncelle
             Optional<Product> productOpt = productRepository.findById(productId);
@@ -399,10 +398,14 @@ public class AdminProductController {
                 Product product = productOpt.get();
                 if (isCoverImage) {
                     product.setCoverImageUrl(imageUrl);
+                    product.setCoverImageVariants(variants);
                 } else {
                     product.setDetailImageUrl(imageUrl);
+                    product.setDetailImageVariants(variants);
                 }
                 productRepository.saveAndFlush(product); // Flush ile hemen commit et
+                catalogSnapshotService.upsert(product);
+                eventPublisher.publishEvent(CacheInvalidationEvent.product(product.getId()));
                 log.info("Ürün {} fotoğraf URL'si güncellendi: {}", isCoverImage ? "kapak" : "detay", imageUrl);
             } else {
                 log.warn("Ürün bulunamadı, fotoğraf URL'si güncellenemedi: productId={}", productId);
@@ -437,6 +440,9 @@ public class AdminProductController {
             
             // Sonra ürünü sil
             productRepository.deleteById(id);
+            catalogSnapshotService.remove(id);
+            eventPublisher.publishEvent(CacheInvalidationEvent.product(id));
+            productStatsService.remove(id);
             
             log.info("Ürün başarıyla silindi: {}", id);
             return ResponseEntity.ok(new DataResponseMessage<>("Ürün başarıyla silindi", true, null));
@@ -462,6 +468,8 @@ public class AdminProductController {
         Product product = productOpt.get();
         product.setQuantity(quantity);
         Product updatedProduct = productRepository.save(product);
+        catalogSnapshotService.upsert(updatedProduct);
+        eventPublisher.publishEvent(CacheInvalidationEvent.product(updatedProduct.getId()));
 
         return ResponseEntity.ok(DataResponseMessage.success("Stok başarıyla güncellendi", updatedProduct));
     }
@@ -482,6 +490,8 @@ public class AdminProductController {
         Product product = productOpt.get();
         product.setPrice(price);
         Product updatedProduct = productRepository.save(product);
+        catalogSnapshotService.upsert(updatedProduct);
+        eventPublisher.publishEvent(CacheInvalidationEvent.product(updatedProduct.getId()));
 
         return ResponseEntity.ok(DataResponseMessage.success("Fiyat başarıyla güncellendi", updatedProduct));
     }
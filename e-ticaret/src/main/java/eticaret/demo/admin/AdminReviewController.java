@@ -7,6 +7,7 @@ import org.springframework.web.bind.annotation.*;
 import eticaret.demo.product.ProductReview;
 import eticaret.demo.product.ProductReviewRepository;
 import eticaret.demo.product.ProductRepository;
+import eticaret.demo.product.stats.ProductStatsService;
 import eticaret.demo.auth.AppUserRepository;
 import eticaret.demo.common.response.DataResponseMessage;
 
@@ -27,6 +28,7 @@ public class AdminReviewController {
     private final ProductReviewRepository reviewRepository;
     private final ProductRepository productRepository;
     private final AppUserRepository userRepository;
+    private final ProductStatsService productStatsService;
 
     /**
      * Tüm yorumları listele (admin)
@@ -73,15 +75,18 @@ public class AdminReviewController {
             return ResponseEntity.notFound().build();
         }
 
+        Long productId = reviewOpt.get().getProduct() != null ? reviewOpt.get().getProduct().getId() : null;
         if (hardDelete) {
             // Hard delete - veritabanından tamamen sil
             reviewRepository.deleteById(id);
+            productStatsService.refreshReviewStats(productId);
             return ResponseEntity.ok(new DataResponseMessage<>("Yorum kalıcı olarak silindi.", true, null));
         } else {
             // Soft delete - sadece aktif durumunu değiştir
             ProductReview review = reviewOpt.get();
             review.setActive(false);
             reviewRepository.save(review);
+            productStatsService.refreshReviewStats(productId);
             return ResponseEntity.ok(new DataResponseMessage<>("Yorum başarıyla silindi.", true, null));
         }
     }
@@ -100,6 +105,7 @@ public class AdminReviewController {
         ProductReview review = reviewOpt.get();
         review.setActive(true);
         ProductReview restored = reviewRepository.save(review);
+        productStatsService.refreshReviewStats(restored.getProduct().getId());
 
         return ResponseEntity.ok(DataResponseMessage.success("Yorum başarıyla geri yüklendi.", restored));
     }
@@ -119,6 +125,7 @@ public class AdminReviewController {
         Boolean currentActive = review.getActive();
         review.setActive(currentActive == null || !currentActive);
         ProductReview updated = reviewRepository.save(review);
+        productStatsService.refreshReviewStats(updated.getProduct().getId());
 
         return ResponseEntity.ok(DataResponseMessage.success(
                 Boolean.TRUE.equals(updated.getActive()) ? "Yorum aktif edildi." : "Yorum pasif edildi.",
@@ -228,6 +235,7 @@ public class AdminReviewController {
                     .build();
 
             ProductReview saved = reviewRepository.save(review);
+            productStatsService.refreshReviewStats(productOpt.get().getId());
 
             return ResponseEntity.ok(DataResponseMessage.success(
                     "Sahte yorum başarıyla eklendi. (Yorumcu: " + finalReviewerName + ")",
@@ -1,10 +1,20 @@
 package eticaret.demo.admin;
 
+import eticaret.demo.audit.AuditLogDispatcher;
+import eticaret.demo.audit.AuditQueueStatistics;
+import eticaret.demo.common.cache.BoundedCacheManager;
+import eticaret.demo.common.cache.CacheStatistics;
+import eticaret.demo.common.partition.PartitionStatus;
+import eticaret.demo.common.partition.TimePartitionManager;
+import eticaret.demo.recommendation.mixed.RecommendationFanOut;
+import eticaret.demo.recommendation.mixed.StrategyStatistics;
 import eticaret.demo.security.ip.BlockedIpAddress;
 import eticaret.demo.security.ip.BlockedIpService;
+import eticaret.demo.visitor.useragent.UserAgentParser;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -34,6 +44,11 @@ public class AdminSystemController {
 
     private final AdminIpService adminIpService;
     private final BlockedIpService blockedIpService;
+    private final BoundedCacheManager cacheManager;
+    private final RecommendationFanOut recommendationFanOut;
+    private final UserAgentParser userAgentParser;
+    private final AuditLogDispatcher auditLogDispatcher;
+    private final TimePartitionManager timePartitionManager;
 
     @Value("${jwt.access.secret:}")
     private String jwtAccessSecret;
@@ -126,6 +141,43 @@ public class AdminSystemController {
         }
     }
 
+    @GetMapping("/caches")
+    public ResponseEntity<DataResponseMessage<List<CacheStatistics>>> getCacheStatistics() {
+        return ResponseEntity.ok(DataResponseMessage.success("Cache istatistikleri", cacheManager.getStatistics()));
+    }
+
+    @GetMapping("/user-agents")
+    public ResponseEntity<DataResponseMessage<CacheStatistics>> getUserAgentCacheStatistics() {
+        return ResponseEntity.ok(DataResponseMessage.success("User-Agent önbellek istatistikleri", userAgentParser.getStatistics()));
+    }
+
+    @GetMapping("/audit-queue")
+    public ResponseEntity<DataResponseMessage<AuditQueueStatistics>> getAuditQueueStatistics() {
+        return ResponseEntity.ok(DataResponseMessage.success("Audit kuyruğu istatistikleri", auditLogDispatcher.getStatistics()));
+    }
+
+    @GetMapping("/partitions")
+    public ResponseEntity<DataResponseMessage<List<PartitionStatus>>> getPartitionStatus() {
+        return ResponseEntity.ok(DataResponseMessage.success("Tablo bölümleme durumu", timePartitionManager.getStatus()));
+    }
+
+    @GetMapping("/recommendations")
+    public ResponseEntity<DataResponseMessage<List<StrategyStatistics>>> getRecommendationStatistics() {
+        return ResponseEntity.ok(DataResponseMessage.success(
+                "Öneri stratejisi istatistikleri (süre bütçesi: " + recommendationFanOut.getDeadlineMillis() + " ms)",
+                recommendationFanOut.getStatistics()));
+    }
+
+    @DeleteMapping("/caches/{name}")
+    public ResponseEntity<DataResponseMessage<List<CacheStatistics>>> clearCache(@PathVariable String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            return ResponseEntity.ok(DataResponseMessage.error("Cache bulunamadı: " + name));
+        }
+        cache.clear();
+        return ResponseEntity.ok(DataResponseMessage.success("Cache temizlendi.", cacheManager.getStatistics()));
+    }
+
     @GetMapping("/ips")
     public ResponseEntity<DataResponseMessage<IpListResponse>> getAllowedIps() {
         Set<String> ips = adminIpService.getAllowedIps();
@@ -2,6 +2,7 @@ package eticaret.demo.admin;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -9,8 +10,6 @@ import eticaret.demo.common.response.DataResponseMessage;
 import eticaret.demo.visitor.ActiveVisitor;
 import eticaret.demo.visitor.ActiveVisitorRepository;
 import eticaret.demo.visitor.VisitorAnalyticsService;
-import eticaret.demo.visitor.VisitorPageView;
-import eticaret.demo.visitor.VisitorPageViewRepository;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -20,6 +19,7 @@ import java.util.Map;
 /**
  * Admin ziyaretçi takibi endpoint'leri
  * Tüm işlemler admin yetkisi gerektirir
+ * İstatistikler ham sayfa görüntüleme tablosundan değil, saatlik/günlük özet tablolarından okunur.
  */
 @RestController
 @RequestMapping("/api/admin/visitors")
@@ -29,7 +29,6 @@ import java.util.Map;
 public class AdminVisitorController {
 
     private final ActiveVisitorRepository visitorRepository;
-    private final VisitorPageViewRepository pageViewRepository;
     private final VisitorAnalyticsService analyticsService;
 
     /**
@@ -82,6 +81,30 @@ public class AdminVisitorController {
         }
     }
     
+    /**
+     * Herhangi bir aralık için tekil ziyaretçi sayıları (HyperLogLog tahmini)
+     * GET /api/admin/visitors/uniques?from=2025-01-01T00:00:00&to=2025-02-01T00:00:00
+     * to verilmezse şimdiki zaman kullanılır.
+     */
+    @GetMapping("/uniques")
+    public ResponseEntity<DataResponseMessage<Map<String, Object>>> getUniqueVisitors(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            LocalDateTime end = to != null ? to : LocalDateTime.now();
+            if (!from.isBefore(end)) {
+                return ResponseEntity.badRequest()
+                        .body(DataResponseMessage.error("Başlangıç tarihi bitiş tarihinden önce olmalı"));
+            }
+            return ResponseEntity.ok(DataResponseMessage.success("Tekil ziyaretçi sayıları getirildi",
+                    analyticsService.getUniqueVisitors(from, end)));
+        } catch (Exception e) {
+            log.error("Tekil ziyaretçi sayıları alınırken hata: {}", e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(DataResponseMessage.error("Tekil ziyaretçi sayıları getirilemedi: " + e.getMessage()));
+        }
+    }
+    
     /**
      * En çok görüntülenen sayfalar
      * GET /api/admin/visitors/top-pages?since=24 (saat)
@@ -91,7 +114,7 @@ public class AdminVisitorController {
             @RequestParam(value = "since", defaultValue = "24") int sinceHours) {
         try {
             LocalDateTime since = LocalDateTime.now().minusHours(sinceHours);
-            List<Object[]> topPages = pageViewRepository.findMostViewedPages(since);
+            List<Object[]> topPages = analyticsService.getTopPages(since);
             
             return ResponseEntity.ok(DataResponseMessage.success("En çok görüntülenen sayfalar getirildi", topPages));
         } catch (Exception e) {
@@ -110,12 +133,7 @@ public class AdminVisitorController {
             @RequestParam(value = "since", defaultValue = "24") int sinceHours) {
         try {
             LocalDateTime since = LocalDateTime.now().minusHours(sinceHours);
-            Map<String, Long> deviceStats = new HashMap<>();
-            
-            for (VisitorPageView.DeviceType deviceType : VisitorPageView.DeviceType.values()) {
-                long count = pageViewRepository.countByDeviceTypeAndCreatedAtAfter(deviceType, since);
-                deviceStats.put(deviceType.name(), count);
-            }
+            Map<String, Long> deviceStats = analyticsService.getDeviceStatistics(since);
             
             return ResponseEntity.ok(DataResponseMessage.success("Cihaz istatistikleri getirildi", deviceStats));
         } catch (Exception e) {
@@ -134,7 +152,7 @@ public class AdminVisitorController {
             @RequestParam(value = "since", defaultValue = "24") int sinceHours) {
         try {
             LocalDateTime since = LocalDateTime.now().minusHours(sinceHours);
-            List<Object[]> browserStats = pageViewRepository.findBrowserStatistics(since);
+            List<Object[]> browserStats = analyticsService.getBrowserStatistics(since);
             
             return ResponseEntity.ok(DataResponseMessage.success("Tarayıcı istatistikleri getirildi", browserStats));
         } catch (Exception e) {
@@ -0,0 +1,192 @@
+package eticaret.demo.audit;
+
+import eticaret.demo.common.collection.HyperLogLog;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Toplanan audit aksiyonları için bellek içi dakikalık sayaçlar
+ * Her çağrı (dakika, aksiyon, durum) anahtarlı sayaca işlenir: adet ve IP'lerin HyperLogLog taslağı.
+ * Tamamlanan dakikalar birkaç saniyede bir audit_action_counts tablosuna yazılır, kapanışta hepsi boşaltılır.
+ * Yazma başarısız olursa sayaçlar geri birleştirilir ve sonraki turda tekrar denenir; veritabanı uzun süre
+ * yazılamazsa bellek büyümesin diye RETRY_MINUTES'tan eski dakikalar düşürülür ve sayılır.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuditActionAggregator {
+
+    private final AuditLogWriter writer;
+    private final AuditActionCountRepository countRepository;
+
+    /**
+     * Yazılamayan dakikaların en fazla bu kadar dakika tutulup tekrar denenmesi
+     */
+    static final int RETRY_MINUTES = 60;
+
+    private final ConcurrentHashMap<Key, Counter> counters = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder flushedRows = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+    private final LongAdder droppedRows = new LongAdder();
+
+    /**
+     * Dakika başına toplanmış aksiyon özeti
+     */
+    public record Summary(String action, String status, long count, long distinctIps) {
+    }
+
+    /**
+     * Çağrıyı geçerli dakikanın sayacına işler (SQL yok)
+     */
+    public void record(String action, String status, String ipAddress) {
+        Key key = new Key(LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES), action, status);
+        // compute, anahtarın kilidi altında çalışır; yazma sırasında remove edilen sayaca ekleme yapılmaz
+        counters.compute(key, (k, counter) -> {
+            if (counter == null) {
+                counter = new Counter();
+            }
+            counter.count++;
+            counter.ips.add(ipAddress);
+            return counter;
+        });
+        recorded.increment();
+    }
+
+    /**
+     * Tamamlanan dakikaların sayaçlarını yazar
+     */
+    @Scheduled(fixedDelay = 15000) // 15 saniye
+    public void flush() {
+        flush(LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES));
+    }
+
+    /**
+     * Kapanışta geçerli dakika dahil tüm sayaçları yazar
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush(LocalDateTime.MAX);
+        log.info("Audit sayaçları kapanışta boşaltıldı - İşlenen çağrı: {}, Yazılan satır: {}, Başarısız yazma: {}, Düşürülen satır: {}",
+                recorded.sum(), flushedRows.sum(), failedFlushes.sum(), droppedRows.sum());
+    }
+
+    /**
+     * [start, end) aralığında aksiyon ve duruma göre toplam çağrı ve tekil IP sayıları
+     * Henüz yazılmamış geçerli dakika dahil edilmez.
+     */
+    public List<Summary> summarize(LocalDateTime start, LocalDateTime end) {
+        Map<String, AuditActionCount> totals = new LinkedHashMap<>();
+        Map<String, HyperLogLog> sketches = new LinkedHashMap<>();
+        for (AuditActionCount row : countRepository.findRange(start, end)) {
+            String key = row.getAction() + '\u0000' + row.getStatus();
+            AuditActionCount total = totals.computeIfAbsent(key, k -> AuditActionCount.builder()
+                    .action(row.getAction())
+                    .status(row.getStatus())
+                    .build());
+            total.setCount(total.getCount() + row.getCount());
+            if (row.getIpSketch() != null) {
+                sketches.computeIfAbsent(key, k -> new HyperLogLog()).merge(HyperLogLog.fromBytes(row.getIpSketch()));
+            }
+        }
+        List<Summary> summaries = new ArrayList<>(totals.size());
+        totals.forEach((key, total) -> {
+            HyperLogLog sketch = sketches.get(key);
+            summaries.add(new Summary(total.getAction(), total.getStatus(), total.getCount(),
+                    sketch != null ? sketch.estimate() : 0));
+        });
+        summaries.sort((a, b) -> Long.compare(b.count(), a.count()));
+        return summaries;
+    }
+
+    private void flush(LocalDateTime before) {
+        synchronized (flushLock) {
+            Map<Key, Counter> removed = new LinkedHashMap<>();
+            List<AuditActionCount> rows = new ArrayList<>();
+            for (Key key : counters.keySet()) {
+                if (!key.minute().isBefore(before)) {
+                    continue;
+                }
+                Counter counter = counters.remove(key);
+                if (counter != null) {
+                    removed.put(key, counter);
+                    rows.add(AuditActionCount.builder()
+                            .bucketStart(key.minute())
+                            .action(key.action())
+                            .status(key.status())
+                            .count(counter.count)
+                            .distinctIps(counter.ips.estimate())
+                            .ipSketch(counter.ips.toBytes())
+                            .build());
+                }
+            }
+            if (rows.isEmpty()) {
+                return;
+            }
+            try {
+                writer.writeCounts(rows);
+                flushedRows.add(rows.size());
+                log.debug("Audit sayaçları yazıldı - Satır: {}", rows.size());
+            } catch (Exception e) {
+                failedFlushes.increment();
+                int dropped = restore(removed, before == LocalDateTime.MAX);
+                log.warn("Audit sayaçları yazılamadı, sonraki turda tekrar denenecek - Satır: {}, Düşürülen: {}, Hata: {}",
+                        rows.size(), dropped, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Yazılamayan sayaçları geri birleştirir (yazma tek transaction'da olduğundan hiçbiri yazılmamıştır)
+     * Bu arada aynı anahtara gelen çağrılar adet toplanarak ve IP taslakları birleştirilerek korunur.
+     * Kapanışta veya tekrar deneme süresini aşan dakikalar geri alınmaz, düşürülen satır olarak sayılır.
+     *
+     * @return Düşürülen satır sayısı
+     */
+    private int restore(Map<Key, Counter> removed, boolean shuttingDown) {
+        LocalDateTime oldest = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).minusMinutes(RETRY_MINUTES);
+        int dropped = 0;
+        for (Map.Entry<Key, Counter> entry : removed.entrySet()) {
+            if (shuttingDown || entry.getKey().minute().isBefore(oldest)) {
+                dropped++;
+                continue;
+            }
+            counters.merge(entry.getKey(), entry.getValue(), (current, failed) -> {
+                current.count += failed.count;
+                current.ips.merge(failed.ips);
+                return current;
+            });
+        }
+        if (dropped > 0) {
+            droppedRows.add(dropped);
+            log.error("Audit sayaçları {} dakikadan uzun süredir yazılamadığı için düşürüldü - Satır: {}",
+                    RETRY_MINUTES, dropped);
+        }
+        return dropped;
+    }
+
+    private record Key(LocalDateTime minute, String action, String status) {
+    }
+
+    /**
+     * Tek bir anahtarın sayacı; yalnızca ConcurrentHashMap.compute/merge içinde değiştirilir
+     */
+    private static final class Counter {
+        private long count;
+        private final HyperLogLog ips = new HyperLogLog();
+    }
+}
@@ -0,0 +1,56 @@
+package eticaret.demo.audit;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Toplanan (aggregated/sampled) audit aksiyonlarının dakikalık sayaç satırı
+ * Yüksek hacimli okuma aksiyonları için tek tek audit_logs satırı yerine dakika başına bir satır tutulur.
+ * Tekil IP sayısı toplanamadığı için satır, birleştirilebilir HyperLogLog taslağını da taşır.
+ */
+@Entity
+@Table(name = "audit_action_counts", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_audit_action_count_bucket", columnNames = {"bucket_start", "action", "status"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditActionCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Dakikanın başlangıcı
+     */
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "action", nullable = false, length = 100)
+    private String action;
+
+    @Column(name = "status", nullable = false, length = 50)
+    private String status;
+
+    @Column(name = "count", nullable = false)
+    private long count;
+
+    /**
+     * Dakika içindeki tekil IP sayısı (taslak tahmini)
+     */
+    @Column(name = "distinct_ips", nullable = false)
+    private long distinctIps;
+
+    /**
+     * IP adreslerinin HyperLogLog taslağı, aralık sorgularında birleştirilir
+     */
+    @Column(name = "ip_sketch")
+    private byte[] ipSketch;
+}
@@ -0,0 +1,24 @@
+package eticaret.demo.audit;
+
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AuditActionCountRepository extends JpaRepository<AuditActionCount, Long> {
+
+    // [start, end) aralığındaki dakikalık sayaçlar
+    @Query("SELECT c FROM AuditActionCount c WHERE c.bucketStart >= :start AND c.bucketStart < :end " +
+           "ORDER BY c.bucketStart")
+    List<AuditActionCount> findRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // Tarihten önceki sayaçları sil
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM AuditActionCount c WHERE c.bucketStart < :date")
+    int deleteByBucketStartBefore(@Param("date") LocalDateTime date);
+}
@@ -0,0 +1,72 @@
+package eticaret.demo.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Aksiyon bazlı audit kayıt politikası
+ * - FULL: her çağrı audit_logs tablosuna tam kayıt olarak yazılır (varsayılan)
+ * - SAMPLED: çağrılar dakikalık sayaçlara işlenir, başarılı çağrıların yalnızca belirli bir oranı tam kaydedilir
+ * - AGGREGATED: çağrılar yalnızca dakikalık sayaçlara işlenir
+ * Hatalı çağrılar politikadan bağımsız olarak her zaman tam kaydedilir.
+ * Ayar biçimi: audit.policy.sampled=AKSIYON:oran,... ve audit.policy.aggregated=AKSIYON,...
+ */
+@Component
+@Slf4j
+public class AuditActionPolicy {
+
+    public enum Mode {
+        FULL, SAMPLED, AGGREGATED
+    }
+
+    private final Map<String, Mode> modes = new HashMap<>();
+    private final Map<String, Double> sampleRates = new HashMap<>();
+
+    AuditActionPolicy(@Value("${audit.policy.sampled:}") String sampled,
+                      @Value("${audit.policy.aggregated:}") String aggregated) {
+        for (String entry : sampled.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.trim().split(":");
+            try {
+                double rate = parts.length == 2 ? Double.parseDouble(parts[1].trim()) : -1;
+                if (rate < 0 || rate > 1) {
+                    throw new IllegalArgumentException(entry);
+                }
+                modes.put(parts[0].trim(), Mode.SAMPLED);
+                sampleRates.put(parts[0].trim(), rate);
+            } catch (RuntimeException e) {
+                log.warn("Geçersiz audit örnekleme ayarı atlandı (AKSIYON:oran bekleniyor): {}", entry);
+            }
+        }
+        for (String action : aggregated.split(",")) {
+            if (!action.isBlank()) {
+                modes.put(action.trim(), Mode.AGGREGATED);
+            }
+        }
+        log.info("Audit politikası yüklendi - Örneklenen: {}, Toplanan: {}", sampleRates,
+                modes.entrySet().stream().filter(e -> e.getValue() == Mode.AGGREGATED).map(Map.Entry::getKey).toList());
+    }
+
+    public Mode modeOf(String action) {
+        return action != null ? modes.getOrDefault(action, Mode.FULL) : Mode.FULL;
+    }
+
+    /**
+     * Örneklenen aksiyonun bu çağrısı tam kaydedilsin mi?
+     */
+    public boolean sample(String action) {
+        Double rate = sampleRates.get(action);
+        return rate == null || ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    public Map<String, Mode> getModes() {
+        return Map.copyOf(modes);
+    }
+}
@@ -0,0 +1,30 @@
+package eticaret.demo.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * İstek thread'inde oluşturulan, değişmez audit kaydı
+ * Kullanıcı, IP ve tarayıcı bilgisi kuyruğa girmeden önce okunur; yazıcı thread'i istek veya
+ * security context'e erişmez.
+ */
+public record AuditEvent(
+        String action,
+        String entityType,
+        Long entityId,
+        String description,
+        String userId,
+        String userEmail,
+        String userRole,
+        String ipAddress,
+        String userAgent,
+        String requestData,
+        String responseData,
+        String status,
+        String errorMessage,
+        LocalDateTime createdAt
+) {
+
+    public boolean isError() {
+        return !"SUCCESS".equals(status);
+    }
+}
@@ -9,7 +9,11 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "audit_logs")
+@Table(name = "audit_logs", indexes = {
+    @Index(name = "idx_audit_log_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_audit_log_user_created_at_id", columnList = "user_id, created_at, id"),
+    @Index(name = "idx_audit_log_action_created_at_id", columnList = "action, created_at, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
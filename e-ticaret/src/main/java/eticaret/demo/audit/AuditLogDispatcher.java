@@ -0,0 +1,194 @@
+package eticaret.demo.audit;
+
+import eticaret.demo.common.collection.BoundedRingBuffer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit kayıtlarını istek thread'inden ayırır
+ * İstek thread'i değişmez kaydı sınırlı, kilitsiz halka tampona bırakır (veritabanı yok); tek bir yazıcı thread'i
+ * tamponu gruplar halinde boşaltıp çok satırlı INSERT ile yazar. Tampon dolduğunda davranış ayarlanabilir:
+ * - BLOCK: yazıcıya yer açması için en fazla block-timeout kadar beklenir, yine dolu ise kayıt düşürülür
+ * - DROP: kayıt hemen düşürülür
+ * - SAMPLE: tampon dörtte üç dolduktan sonra başarılı kayıtlardan yalnızca her N'inci alınır, hatalar alınmaya devam eder
+ * Kapanışta tampondaki tüm kayıtlar yazılır.
+ */
+@Component
+@Slf4j
+public class AuditLogDispatcher {
+
+    public enum OverflowPolicy {
+        BLOCK, DROP, SAMPLE
+    }
+
+    private final AuditLogWriter writer;
+    private final BoundedRingBuffer<AuditEvent> buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long blockTimeoutNanos;
+    private final int sampleEvery;
+    private final int sampleThreshold;
+
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    private volatile boolean running = true;
+    private Thread writerThread;
+
+    AuditLogDispatcher(AuditLogWriter writer,
+                       @Value("${audit.async.capacity:16384}") int capacity,
+                       @Value("${audit.async.overflow-policy:SAMPLE}") OverflowPolicy overflowPolicy,
+                       @Value("${audit.async.batch-size:500}") int batchSize,
+                       @Value("${audit.async.flush-interval-ms:200}") long flushIntervalMs,
+                       @Value("${audit.async.block-timeout-ms:50}") long blockTimeoutMs,
+                       @Value("${audit.async.sample-every:10}") int sampleEvery) {
+        this.writer = writer;
+        this.buffer = new BoundedRingBuffer<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMs));
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, blockTimeoutMs));
+        this.sampleEvery = Math.max(1, sampleEvery);
+        this.sampleThreshold = buffer.capacity() / 4 * 3;
+    }
+
+    @PostConstruct
+    void start() {
+        writerThread = new Thread(this::run, "audit-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Kaydı yazılmak üzere kuyruğa alır; kuyruk dolu veya örneklemede atlandıysa false döner
+     */
+    public boolean enqueue(AuditEvent event) {
+        if (overflowPolicy == OverflowPolicy.SAMPLE && !event.isError() && buffer.size() >= sampleThreshold
+                && sampleCounter.incrementAndGet() % sampleEvery != 0) {
+            sampledOut.increment();
+            return false;
+        }
+        if (buffer.offer(event) || (overflowPolicy == OverflowPolicy.BLOCK && offerBlocking(event))) {
+            enqueued.increment();
+            if (buffer.size() >= batchSize) {
+                LockSupport.unpark(writerThread);
+            }
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    public AuditQueueStatistics getStatistics() {
+        return new AuditQueueStatistics(
+                overflowPolicy.name(),
+                buffer.size(),
+                buffer.capacity(),
+                enqueued.sum(),
+                written.sum(),
+                dropped.sum(),
+                sampledOut.sum(),
+                failed.sum(),
+                batches.sum());
+    }
+
+    /**
+     * Kapanışta yazıcıyı durdurur ve tamponda kalan kayıtları yazar
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            log.warn("Audit yazıcısı zamanında durmadı - Bekleyen kayıt: {}", buffer.size());
+            return;
+        }
+        drainAll();
+        log.info("Audit kuyruğu kapanışta boşaltıldı - Yazılan: {}, Düşürülen: {}, Örneklemede atlanan: {}, Hatalı: {}",
+                written.sum(), dropped.sum(), sampledOut.sum(), failed.sum());
+    }
+
+    /**
+     * Yazıcıya yer açması için kısa süre bekler
+     */
+    private boolean offerBlocking(AuditEvent event) {
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+        while (running && System.nanoTime() < deadline) {
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(this, TimeUnit.MICROSECONDS.toNanos(100));
+            if (buffer.offer(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void run() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            int drained = buffer.drainTo(batch, batchSize);
+            if (drained > 0) {
+                write(batch);
+                batch.clear();
+            }
+            // Grup dolmadıysa yeni kayıtların birikmesi beklenir; dolu grup gelirse üretici uyandırır
+            if (drained < batchSize && running) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+        }
+    }
+
+    private void drainAll() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        try {
+            writer.write(batch);
+            written.add(batch.size());
+            batches.increment();
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Audit grubu yazılamadı, kayıtlar tek tek deneniyor - Kayıt: {}, Hata: {}", batch.size(), e.getMessage());
+            // Hatalı tek bir kayıt (ör. kolon sınırı) tüm grubu kaybettirmesin
+            for (AuditEvent event : batch) {
+                try {
+                    writer.write(List.of(event));
+                    written.increment();
+                } catch (Exception rowError) {
+                    failed.increment();
+                    log.error("Audit log kaydedilirken hata oluştu: {} - {}", event.action(), rowError.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            // Veritabanı erişilemiyor: grubu tekrar denemek tamponu daha da doldurur, kayıtlar sayılıp bırakılır
+            failed.add(batch.size());
+            log.error("Audit grubu yazılamadı - Kayıt: {}, Hata: {}", batch.size(), e.getMessage());
+        }
+    }
+}
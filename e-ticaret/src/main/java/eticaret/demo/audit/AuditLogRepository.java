@@ -72,6 +72,47 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     // Status'e göre sayfalama ile loglar
     Page<AuditLog> findByStatusOrderByCreatedAtDesc(String status, Pageable pageable);
     
+    // İmleç tabanlı sayfalama: en yeni loglar (createdAt DESC, id DESC)
+    @Query("SELECT a FROM AuditLog a ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLog> findLatest(Pageable pageable);
+    
+    // İmleç tabanlı sayfalama: verilen (createdAt, id) anahtarından sonraki loglar
+    @Query("SELECT a FROM AuditLog a WHERE a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLog> findLatestBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
+    // İmleç tabanlı sayfalama: kullanıcıya göre en yeni loglar
+    @Query("SELECT a FROM AuditLog a WHERE a.userId = :userId ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLog> findLatestByUserId(@Param("userId") String userId, Pageable pageable);
+    
+    // İmleç tabanlı sayfalama: kullanıcıya göre verilen anahtardan sonraki loglar
+    @Query("SELECT a FROM AuditLog a WHERE a.userId = :userId " +
+           "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLog> findLatestByUserIdBefore(@Param("userId") String userId, @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id, Pageable pageable);
+    
+    // İmleç tabanlı sayfalama: action'a göre en yeni loglar
+    @Query("SELECT a FROM AuditLog a WHERE a.action = :action ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLog> findLatestByAction(@Param("action") String action, Pageable pageable);
+    
+    // İmleç tabanlı sayfalama: action'a göre verilen anahtardan sonraki loglar
+    @Query("SELECT a FROM AuditLog a WHERE a.action = :action " +
+           "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLog> findLatestByActionBefore(@Param("action") String action, @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id, Pageable pageable);
+    
+    // Kullanıcıya göre log sayısı
+    long countByUserId(String userId);
+    
+    // Action'a göre log sayısı
+    long countByAction(String action);
+    
+    // Tablo satır sayısı tahmini (PostgreSQL istatistiklerinden, COUNT(*) taraması yapmaz)
+    @Query(value = "SELECT CAST(GREATEST(reltuples, 0) AS BIGINT) FROM pg_class WHERE relname = 'audit_logs'", nativeQuery = true)
+    Long estimateRowCount();
+    
     // Tarihten önceki logları sil
     @Modifying
     @Transactional
@@ -18,6 +18,7 @@ import java.time.LocalDateTime;
 public class AuditLogScheduler {
 
     private final AuditLogRepository auditLogRepository;
+    private final AuditActionCountRepository auditActionCountRepository;
 
     /**
      * Log saklama süresi (gün cinsinden)
@@ -45,6 +46,11 @@ public class AuditLogScheduler {
             } else {
                 log.debug("Scheduler: Silinecek eski log bulunamadı");
             }
+            
+            int deletedCounts = auditActionCountRepository.deleteByBucketStartBefore(cutoffDate);
+            if (deletedCounts > 0) {
+                log.info("Scheduler: {} adet eski audit sayaç satırı silindi", deletedCounts);
+            }
         } catch (Exception e) {
             log.error("Scheduler: Eski loglar silinirken hata oluştu", e);
         }
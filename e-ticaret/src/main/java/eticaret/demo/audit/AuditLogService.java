@@ -7,8 +7,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import eticaret.demo.auth.AppUser;
+import eticaret.demo.visitor.useragent.UserAgentParser;
+
+import java.time.LocalDateTime;
 
 @Service
 @RequiredArgsConstructor
@@ -16,15 +18,50 @@ import eticaret.demo.auth.AppUser;
 public class AuditLogService {
 
     private final AuditLogRepository auditLogRepository;
+    private final AuditLogDispatcher auditLogDispatcher;
+    private final AuditActionPolicy auditActionPolicy;
+    private final AuditActionAggregator auditActionAggregator;
     private final ObjectMapper objectMapper;
+    private final UserAgentParser userAgentParser;
 
     /**
      * Audit log kaydı oluştur
+     * Aksiyonun politikasına göre tam kayıt, örneklenmiş kayıt veya dakikalık sayaç olarak işlenir.
+     * Kullanıcı ve istek bilgileri bu thread'de okunur, kayıt asenkron yazıcının kuyruğuna bırakılır;
+     * çağıranın transaction'ında veritabanına yazılmaz.
      */
-    @Transactional
     public void log(String action, String entityType, Long entityId, String description, 
                    String requestData, String responseData, String status, String errorMessage,
                    HttpServletRequest request) {
+        if (admit(action, status != null ? status : "SUCCESS", request)) {
+            enqueue(action, entityType, entityId, description, requestData, responseData, status, errorMessage, request);
+        }
+    }
+
+    /**
+     * Aksiyon politikasını uygular; tam kayıt yazılacaksa true döner
+     * Toplanan ve örneklenen aksiyonlar her çağrıda sayaca işlenir, hatalar her zaman tam kaydedilir.
+     */
+    private boolean admit(String action, String status, HttpServletRequest request) {
+        try {
+            AuditActionPolicy.Mode mode = auditActionPolicy.modeOf(action);
+            if (mode == AuditActionPolicy.Mode.FULL) {
+                return true;
+            }
+            auditActionAggregator.record(truncate(action, 100), truncate(status, 50), getClientIp(request));
+            if (!"SUCCESS".equals(status)) {
+                return true;
+            }
+            return mode == AuditActionPolicy.Mode.SAMPLED && auditActionPolicy.sample(action);
+        } catch (Exception e) {
+            log.error("Audit politikası uygulanırken hata oluştu: {}", e.getMessage(), e);
+            return true;
+        }
+    }
+
+    private void enqueue(String action, String entityType, Long entityId, String description,
+                         String requestData, String responseData, String status, String errorMessage,
+                         HttpServletRequest request) {
         try {
             String userId = null;
             String userEmail = null;
@@ -40,26 +77,28 @@ public class AuditLogService {
             }
             
             String ipAddress = getClientIp(request);
-            String userAgent = request != null ? request.getHeader("User-Agent") : null;
+            // Kolon sınırına kırpılmış, önbellekteki başlık örneği
+            String userAgent = userAgentParser.parse(request).userAgent();
             
-            AuditLog auditLog = AuditLog.builder()
-                    .action(action)
-                    .entityType(entityType)
-                    .entityId(entityId)
-                    .description(description)
-                    .userId(userId)
-                    .userEmail(userEmail)
-                    .userRole(userRole)
-                    .ipAddress(ipAddress)
-                    .userAgent(userAgent)
-                    .requestData(requestData)
-                    .responseData(responseData)
-                    .status(status != null ? status : "SUCCESS")
-                    .errorMessage(errorMessage)
-                    .build();
+            AuditEvent event = new AuditEvent(
+                    truncate(action, 100),
+                    entityType != null ? truncate(entityType, 100) : "UNKNOWN",
+                    entityId,
+                    description,
+                    userId,
+                    truncate(userEmail, 100),
+                    userRole,
+                    truncate(ipAddress, 45),
+                    userAgent,
+                    requestData,
+                    responseData,
+                    status != null ? truncate(status, 50) : "SUCCESS",
+                    truncate(errorMessage, 1000),
+                    LocalDateTime.now());
             
-            auditLogRepository.save(auditLog);
-            log.debug("Audit log kaydedildi: {} - {} - {}", action, entityType, entityId);
+            if (!auditLogDispatcher.enqueue(event)) {
+                log.debug("Audit log kuyruğa alınamadı: {} - {} - {}", action, entityType, entityId);
+            }
         } catch (Exception e) {
             log.error("Audit log kaydedilirken hata oluştu: {}", e.getMessage(), e);
             // Audit log hatası uygulamayı durdurmamalı
@@ -69,7 +108,6 @@ public class AuditLogService {
     /**
      * Basit audit log (sadece action ve entity)
      */
-    @Transactional
     public void logSimple(String action, String entityType, Long entityId, String description, HttpServletRequest request) {
         log(action, entityType, entityId, description, null, null, "SUCCESS", null, request);
     }
@@ -77,13 +115,15 @@ public class AuditLogService {
     /**
      * Başarılı işlem logu
      */
-    @Transactional
     public void logSuccess(String action, String entityType, Long entityId, String description, 
                           Object requestData, Object responseData, HttpServletRequest request) {
+        if (!admit(action, "SUCCESS", request)) {
+            return;
+        }
         try {
             String requestJson = requestData != null ? objectMapper.writeValueAsString(requestData) : null;
             String responseJson = responseData != null ? objectMapper.writeValueAsString(responseData) : null;
-            log(action, entityType, entityId, description, requestJson, responseJson, "SUCCESS", null, request);
+            enqueue(action, entityType, entityId, description, requestJson, responseJson, "SUCCESS", null, request);
         } catch (Exception e) {
             log.error("Audit log kaydedilirken hata: {}", e.getMessage());
         }
@@ -92,7 +132,6 @@ public class AuditLogService {
     /**
      * Hatalı işlem logu
      */
-    @Transactional
     public void logError(String action, String entityType, Long entityId, String description, 
                        String errorMessage, HttpServletRequest request) {
         log(action, entityType, entityId, description, null, null, "ERROR", errorMessage, request);
@@ -100,12 +139,18 @@ public class AuditLogService {
 
     /**
      * Bu sepet için hatırlatma maili daha önce gönderilmiş mi?
+     * Yalnızca Cart.reminderSentAt alanı eklenmeden önce gönderilen mailler için; audit kayıtları asenkron
+     * yazıldığından (örnekleme, kuyruk taşması) tekrar gönderim kararı bu kayda dayanmamalıdır.
      */
     public boolean hasReminderEmailSent(Long cartId) {
         return auditLogRepository.existsByEntityTypeAndEntityIdAndAction(
                 "Cart", cartId, "CART_REMINDER_EMAIL");
     }
 
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
     /**
      * Client IP adresini al
      * Öncelik sırası: X-Client-IP (frontend'den gönderilen) > X-Real-IP > X-Forwarded-For > RemoteAddr
@@ -116,14 +161,14 @@ public class AuditLogService {
         // X-Client-IP header'ını öncelikli olarak kontrol et (frontend'den gönderilen)
         String ip = request.getHeader("X-Client-IP");
         if (ip != null && !ip.isBlank() && !"unknown".equalsIgnoreCase(ip)) {
-            log.info("X-Client-IP header'dan IP alındı: {}", ip);
+            log.debug("X-Client-IP header'dan IP alındı: {}", ip);
             return ip.trim();
         }
         
         // X-Real-IP header'ını kontrol et (nginx, reverse proxy)
         ip = request.getHeader("X-Real-IP");
         if (ip != null && !ip.isBlank() && !"unknown".equalsIgnoreCase(ip)) {
-            log.info("X-Real-IP header'dan IP alındı: {}", ip);
+            log.debug("X-Real-IP header'dan IP alındı: {}", ip);
             return ip.trim();
         }
         
@@ -132,13 +177,13 @@ public class AuditLogService {
         if (ip != null && !ip.isBlank() && !"unknown".equalsIgnoreCase(ip)) {
             // X-Forwarded-For birden fazla IP içerebilir, ilkini al
             String firstIp = ip.split(",")[0].trim();
-            log.info("X-Forwarded-For header'dan IP alındı: {}", firstIp);
+            log.debug("X-Forwarded-For header'dan IP alındı: {}", firstIp);
             return firstIp;
         }
         
         // Son çare olarak RemoteAddr kullan
         ip = request.getRemoteAddr();
-        log.info("RemoteAddr'den IP alındı: {}", ip);
+        log.debug("RemoteAddr'den IP alındı: {}", ip);
         
         // Localhost IP'lerini kontrol et ve gerçek IP bulunamadıysa uyar
         if (ip != null && (ip.equals("127.0.0.1") || ip.equals("0:0:0:0:0:0:0:1") || ip.equals("::1"))) {
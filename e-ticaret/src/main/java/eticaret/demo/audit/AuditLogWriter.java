@@ -0,0 +1,110 @@
+package eticaret.demo.audit;
+
+import eticaret.demo.common.collection.HyperLogLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Audit kayıtlarını çok satırlı INSERT ifadeleriyle, dakikalık aksiyon sayaçlarını batch ile yazar
+ * Her ifade en fazla ROWS_PER_STATEMENT satır taşır; bir grup tek transaction'da, birkaç round-trip ile yazılır.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuditLogWriter {
+
+    private static final int ROWS_PER_STATEMENT = 100;
+    private static final int COLUMNS = 14;
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO audit_logs (action, entity_type, entity_id, description, user_id, user_email, user_role, " +
+            "ip_address, user_agent, request_data, response_data, status, error_message, created_at) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?" + ", ?".repeat(COLUMNS - 1) + ")";
+    private static final String FULL_STATEMENT = statement(ROWS_PER_STATEMENT);
+
+    private static final String INSERT_COUNT_SQL =
+            "INSERT INTO audit_action_counts (bucket_start, action, status, count, distinct_ips, ip_sketch) " +
+            "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT (bucket_start, action, status) DO NOTHING";
+    private static final String SELECT_COUNT_SQL =
+            "SELECT count, ip_sketch FROM audit_action_counts WHERE bucket_start = ? AND action = ? AND status = ? " +
+            "FOR UPDATE";
+    private static final String UPDATE_COUNT_SQL =
+            "UPDATE audit_action_counts SET count = ?, distinct_ips = ?, ip_sketch = ? " +
+            "WHERE bucket_start = ? AND action = ? AND status = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void write(List<AuditEvent> events) {
+        for (int from = 0; from < events.size(); from += ROWS_PER_STATEMENT) {
+            int to = Math.min(from + ROWS_PER_STATEMENT, events.size());
+            Object[] args = new Object[(to - from) * COLUMNS];
+            int i = 0;
+            for (AuditEvent event : events.subList(from, to)) {
+                args[i++] = event.action();
+                args[i++] = event.entityType();
+                args[i++] = event.entityId();
+                args[i++] = event.description();
+                args[i++] = event.userId();
+                args[i++] = event.userEmail();
+                args[i++] = event.userRole();
+                args[i++] = event.ipAddress();
+                args[i++] = event.userAgent();
+                args[i++] = event.requestData();
+                args[i++] = event.responseData();
+                args[i++] = event.status();
+                args[i++] = event.errorMessage();
+                args[i++] = event.createdAt();
+            }
+            String sql = to - from == ROWS_PER_STATEMENT ? FULL_STATEMENT : statement(to - from);
+            jdbcTemplate.update(sql, args);
+        }
+    }
+
+    /**
+     * Dakikalık sayaç satırlarını ekler
+     * Aynı dakika daha önce yazılmışsa (ör. yeniden başlatma veya geç gelen çağrı) adetler toplanır,
+     * IP taslakları birleştirilir; bu durum nadir olduğundan satır satır yapılır.
+     */
+    @Transactional
+    public void writeCounts(List<AuditActionCount> rows) {
+        int[] inserted = jdbcTemplate.batchUpdate(INSERT_COUNT_SQL, rows.stream()
+                .map(row -> new Object[]{row.getBucketStart(), row.getAction(), row.getStatus(), row.getCount(),
+                        row.getDistinctIps(), row.getIpSketch()})
+                .toList());
+        for (int i = 0; i < rows.size(); i++) {
+            if (inserted[i] == 0) {
+                merge(rows.get(i));
+            }
+        }
+    }
+
+    private void merge(AuditActionCount row) {
+        RowCallbackHandler handler = rs -> {
+            HyperLogLog sketch = HyperLogLog.fromBytes(row.getIpSketch());
+            byte[] existing = rs.getBytes("ip_sketch");
+            if (existing != null) {
+                sketch.merge(HyperLogLog.fromBytes(existing));
+            }
+            jdbcTemplate.update(UPDATE_COUNT_SQL, rs.getLong("count") + row.getCount(), sketch.estimate(),
+                    sketch.toBytes(), row.getBucketStart(), row.getAction(), row.getStatus());
+        };
+        jdbcTemplate.query(SELECT_COUNT_SQL, handler, row.getBucketStart(), row.getAction(), row.getStatus());
+    }
+
+    private static String statement(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (ROW_PLACEHOLDERS.length() + 2));
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDERS);
+        }
+        return sql.toString();
+    }
+}
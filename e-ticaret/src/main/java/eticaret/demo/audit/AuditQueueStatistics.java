@@ -0,0 +1,24 @@
+package eticaret.demo.audit;
+
+/**
+ * Asenkron audit kuyruğu ölçümleri
+ *
+ * @param depth Yazılmayı bekleyen kayıt sayısı
+ * @param enqueued Kuyruğa alınan kayıt sayısı
+ * @param written Veritabanına yazılan kayıt sayısı
+ * @param dropped Kuyruk dolu olduğu için düşürülen kayıt sayısı
+ * @param sampledOut Kuyruk dolmak üzereyken örnekleme ile atlanan kayıt sayısı
+ * @param failed Veritabanı hatası nedeniyle yazılamayan kayıt sayısı
+ */
+public record AuditQueueStatistics(
+        String overflowPolicy,
+        int depth,
+        int capacity,
+        long enqueued,
+        long written,
+        long dropped,
+        long sampledOut,
+        long failed,
+        long batches
+) {
+}
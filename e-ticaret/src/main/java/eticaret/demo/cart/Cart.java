@@ -64,6 +64,10 @@ public class Cart {
     @Column
     private Long couponUsageId; // Kupon kullanım ID'si
 
+    @Column
+    @JsonIgnore
+    private LocalDateTime reminderSentAt; // Hatırlatma mailinin gönderildiği zaman (null ise gönderilmedi)
+
     @PrePersist
     public void onCreate() {
         LocalDateTime now = LocalDateTime.now();
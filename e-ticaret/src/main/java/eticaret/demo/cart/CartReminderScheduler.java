@@ -42,13 +42,16 @@ public class CartReminderScheduler {
             int sentCount = 0;
             for (Cart cart : cartsToRemind) {
                 try {
-                    // Mail gönderilmiş mi kontrol et (audit log'dan)
+                    // Sepette işaret olmadan önce gönderilmiş mailler yalnızca audit log'da kayıtlı
                     if (hasReminderEmailSent(cart.getId())) {
                         log.debug("Sepet {} için hatırlatma maili daha önce gönderilmiş, atlanıyor", cart.getId());
+                        cartService.markReminderSent(cart.getId());
                         continue;
                     }
                     
                     sendReminderEmail(cart);
+                    // Tekrar gönderimi sepet üzerindeki işaret engeller; audit kaydı asenkron ve kaybolabilir
+                    cartService.markReminderSent(cart.getId());
                     sentCount++;
                     
                     // Audit log
@@ -186,7 +189,7 @@ public class CartReminderScheduler {
     }
 
     /**
-     * Bu sepet için hatırlatma maili daha önce gönderilmiş mi?
+     * Bu sepet için hatırlatma maili daha önce gönderilmiş mi? (reminderSentAt alanından önceki kayıtlar)
      */
     private boolean hasReminderEmailSent(Long cartId) {
         // Audit log'dan kontrol et
@@ -1,9 +1,11 @@
 package eticaret.demo.cart;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,5 +39,12 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
     
     // Onaylanmış sepetler
     List<Cart> findByStatusOrderByUpdatedAtDesc(CartStatus status);
-}
 
+    /**
+     * Hatırlatma mailini gönderildi olarak işaretle
+     * Toplu UPDATE @PreUpdate'i tetiklemez; sepetin updatedAt değeri değişmez.
+     */
+    @Modifying
+    @Query("UPDATE Cart c SET c.reminderSentAt = :sentAt WHERE c.id = :cartId AND c.reminderSentAt IS NULL")
+    int markReminderSent(@Param("cartId") Long cartId, @Param("sentAt") LocalDateTime sentAt);
+}
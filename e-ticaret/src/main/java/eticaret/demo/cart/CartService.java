@@ -10,6 +10,7 @@ import eticaret.demo.common.exception.CartException;
 import eticaret.demo.common.exception.ProductException;
 import eticaret.demo.product.Product;
 import eticaret.demo.product.ProductRepository;
+import eticaret.demo.product.catalog.CatalogSnapshotService;
 import eticaret.demo.coupon.CouponService;
 import eticaret.demo.coupon.CouponUsage;
 import eticaret.demo.coupon.CouponUsageRepository;
@@ -28,6 +29,7 @@ public class CartService {
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
     private final ProductRepository productRepository;
+    private final CatalogSnapshotService catalogSnapshotService;
     private final AppUserRepository userRepository;
     private final CouponService couponService;
     private final CouponUsageRepository couponUsageRepository;
@@ -356,6 +358,7 @@ public class CartService {
             if (product.getQuantity() != null) {
                 product.setQuantity(product.getQuantity() - item.getQuantity());
                 productRepository.save(product);
+                catalogSnapshotService.upsert(product);
             }
         }
         
@@ -391,6 +394,7 @@ public class CartService {
         // 1-2 gün önce oluşturulmuş, aktif ve onaylanmamış sepetler
         return cartRepository.findAll().stream()
                 .filter(cart -> cart.getStatus() == CartStatus.AKTIF)
+                .filter(cart -> cart.getReminderSentAt() == null)
                 .filter(cart -> !cart.isEmpty())
                 .filter(cart -> {
                     LocalDateTime createdAt = cart.getCreatedAt();
@@ -400,6 +404,15 @@ public class CartService {
                 .toList();
     }
 
+    /**
+     * Sepetin hatırlatma mailini gönderildi olarak işaretle
+     * Çağıranın transaction'ında yazılır; mail kuyruğa alınıp transaction tamamlandığında kalıcı olur.
+     */
+    @Transactional
+    public void markReminderSent(Long cartId) {
+        cartRepository.markReminderSent(cartId, LocalDateTime.now());
+    }
+
     /**
      * Sepete kupon uygula
      */
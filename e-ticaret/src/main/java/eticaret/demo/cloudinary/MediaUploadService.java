@@ -12,6 +12,7 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -34,9 +35,6 @@ public class MediaUploadService {
     
     // URL cache (publicId -> OptimizedImageResult)
     private final Map<String, OptimizedImageResult> urlCache = new ConcurrentHashMap<>();
-    
-    // URL transformation cache (fullUrl -> transformedUrl) - görüntüleme için
-    private final Map<String, String> transformedUrlCache = new ConcurrentHashMap<>();
 
     /**
      * Medya dosyasını otomatik olarak algılayıp yükler (resim veya video)
@@ -90,26 +88,16 @@ public class MediaUploadService {
     }
     
     /**
-     * CDN URL'i oluşturur (caching ve optimizasyon ile)
+     * CDN URL'i oluşturur
      * WebP formatına dönüştürür, kaliteyi koruyarak sıkıştırır
-     * Cache kullanır - aynı parametreler için tekrar istek atmaz
+     * Sadece yükleme/varyant hesaplama anında çağrılır, istek yolunda kullanılmaz
      * 
      * @param publicId Cloudinary public ID veya full URL
      * @param width Genişlik (opsiyonel)
      * @param height Yükseklik (opsiyonel)
-     * @return Optimize edilmiş CDN URL'i (WebP, cached)
+     * @return Optimize edilmiş CDN URL'i (WebP)
      */
     public String generateCdnUrl(String publicId, Integer width, Integer height) {
-        // Cache key oluştur
-        String cacheKey = publicId + "_" + (width != null ? width : "auto") + "_" + (height != null ? height : "auto");
-        
-        // Cache'den kontrol et
-        String cachedUrl = transformedUrlCache.get(cacheKey);
-        if (cachedUrl != null) {
-            log.debug("CDN URL cache'den döndü: {}", cacheKey);
-            return cachedUrl;
-        }
-        
         // Public ID'yi URL'den çıkar (eğer full URL ise)
         String actualPublicId = extractPublicIdFromUrl(publicId);
         
@@ -130,20 +118,17 @@ public class MediaUploadService {
             transformation.crop("limit"); // Aspect ratio koru
         }
         
-        String url = cloudinary.url()
+        return cloudinary.url()
                 .transformation(transformation)
                 .secure(true) // HTTPS kullan
                 .generate(actualPublicId);
-        
-        // Cache'e ekle
-        transformedUrlCache.put(cacheKey, url);
-        log.debug("CDN URL oluşturuldu ve cache'e eklendi: {}", cacheKey);
-        
-        return url;
     }
     
     /**
      * Full Cloudinary URL'den public ID'yi çıkarır
+     * Dönüşüm segmentleri (w_800,c_limit ...) ve versiyon (v123) atlanır, klasör yolu korunur.
+     * Bir segment ancak /upload/ ile versiyon segmenti arasındaysa dönüşüm sayılır; versiyonsuz URL'lerde
+     * "ab_cd" gibi klasör adları dönüşüme benzese de public ID'nin parçası olarak kalır.
      * 
      * @param url Cloudinary URL'i
      * @return Public ID
@@ -158,78 +143,112 @@ public class MediaUploadService {
             return url;
         }
         
-        try {
-            // Cloudinary URL formatı: https://res.cloudinary.com/{cloud_name}/image/upload/{transformation}/{public_id}.{format}
-            // Public ID'yi çıkarmak için URL'i parse et
-            String[] parts = url.split("/upload/");
-            if (parts.length > 1) {
-                String afterUpload = parts[1];
-                // Transformation'ları ve format'ı temizle
-                // Son noktadan sonraki kısmı (format) kaldır
-                int lastDot = afterUpload.lastIndexOf('.');
-                if (lastDot > 0) {
-                    afterUpload = afterUpload.substring(0, lastDot);
-                }
-                // İlk '/' öncesi transformation'ları kaldır (eğer varsa)
-                // Basit yaklaşım: son '/' sonrasını al
-                int lastSlash = afterUpload.lastIndexOf('/');
-                if (lastSlash >= 0) {
-                    afterUpload = afterUpload.substring(lastSlash + 1);
-                }
-                return afterUpload;
-            }
-        } catch (Exception e) {
+        // Cloudinary URL formatı: https://res.cloudinary.com/{cloud_name}/image/upload/{transformation}/v{version}/{public_id}.{format}
+        int uploadIndex = url.indexOf("/upload/");
+        if (uploadIndex < 0) {
             log.warn("Public ID çıkarılamadı, URL olduğu gibi kullanılıyor: {}", url);
+            return url;
+        }
+        
+        String[] segments = url.substring(uploadIndex + "/upload/".length()).split("/");
+        int first = 0;
+        int version = 0;
+        while (version < segments.length - 1 && isTransformationSegment(segments[version])) {
+            version++;
+        }
+        if (version < segments.length - 1 && segments[version].matches("v\\d+")) {
+            first = version + 1;
         }
         
-        // Fallback: URL'i olduğu gibi döndür
-        return url;
+        String publicId = String.join("/", Arrays.copyOfRange(segments, first, segments.length));
+        // Format uzantısını kaldır
+        int lastDot = publicId.lastIndexOf('.');
+        int lastSlash = publicId.lastIndexOf('/');
+        if (lastDot > lastSlash + 1) {
+            publicId = publicId.substring(0, lastDot);
+        }
+        return publicId;
     }
     
     /**
-     * Görsel URL'ini optimize edilmiş hale getirir (görüntüleme için)
+     * URL segmenti Cloudinary dönüşüm parametresi mi? (ör. "w_800,c_limit,q_auto:best")
+     */
+    private boolean isTransformationSegment(String segment) {
+        return segment.matches("[a-z]{1,3}_[^,/]+(,[a-z]{1,3}_[^,/]+)*");
+    }
+    
+    /**
+     * Görsel URL'ini optimize edilmiş hale getirir
      * WebP formatına dönüştürür, kaliteyi koruyarak sıkıştırır
-     * Cache kullanır - sürekli istek atmaz
+     * Ürün görselleri için istek yolunda değil, buildResponsiveImageSet ile yükleme anında kullanılır
      * 
      * @param imageUrl Orijinal görsel URL'i (Cloudinary URL'i veya public ID)
      * @param width Genişlik (opsiyonel, null ise orijinal boyut)
      * @param height Yükseklik (opsiyonel, null ise orijinal boyut)
-     * @return Optimize edilmiş görsel URL'i (WebP, cached)
+     * @return Optimize edilmiş görsel URL'i (WebP)
      */
     public String getOptimizedImageUrl(String imageUrl, Integer width, Integer height) {
         if (imageUrl == null || imageUrl.isEmpty()) {
             return imageUrl;
         }
         
-        // Cache key oluştur
-        String cacheKey = "img_" + imageUrl + "_" + (width != null ? width : "auto") + "_" + (height != null ? height : "auto");
-        
-        // Cache'den kontrol et
-        String cachedUrl = transformedUrlCache.get(cacheKey);
-        if (cachedUrl != null) {
-            log.debug("Optimize edilmiş görsel URL cache'den döndü: {}", cacheKey);
-            return cachedUrl;
-        }
-        
-        // Eğer zaten Cloudinary URL'i ise ve transformation içermiyorsa, transformation ekle
+        // Eğer Cloudinary URL'i ise transformation ekle
         if (imageUrl.contains("res.cloudinary.com")) {
-            // Public ID'yi çıkar
-            String publicId = extractPublicIdFromUrl(imageUrl);
-            
-            // Optimize edilmiş URL oluştur
-            String optimizedUrl = generateCdnUrl(publicId, width, height);
-            
-            // Cache'e ekle
-            transformedUrlCache.put(cacheKey, optimizedUrl);
-            log.debug("Görsel URL optimize edildi ve cache'e eklendi: {}", cacheKey);
-            
-            return optimizedUrl;
+            return generateCdnUrl(extractPublicIdFromUrl(imageUrl), width, height);
         }
         
         // Cloudinary URL'i değilse, olduğu gibi döndür
         return imageUrl;
     }
     
+    /**
+     * Görselin tüm responsive varyantlarını bir kez hesaplar (800/1920 WebP, WebP ve AVIF srcset)
+     * Sonuç ürün satırında saklanır, istek yolunda tekrar hesaplanmaz.
+     * 
+     * @param imageUrl Cloudinary URL'i veya public ID
+     * @return Varyantlar, Cloudinary dışı URL'ler için null
+     */
+    public ResponsiveImageSet buildResponsiveImageSet(String imageUrl) {
+        if (imageUrl == null || imageUrl.isEmpty()) {
+            return null;
+        }
+        boolean isUrl = imageUrl.startsWith("http://") || imageUrl.startsWith("https://");
+        if (isUrl && !imageUrl.contains("res.cloudinary.com")) {
+            return null;
+        }
+        
+        String publicId = extractPublicIdFromUrl(imageUrl);
+        return ResponsiveImageSet.builder()
+                .cardUrl(generateCdnUrl(publicId, 800, 800))
+                .largeUrl(generateCdnUrl(publicId, 1920, 1920))
+                .webpSrcset(buildSrcset(publicId, "webp"))
+                .avifSrcset(buildSrcset(publicId, "avif"))
+                .build();
+    }
+    
+    /**
+     * Belirli bir format için srcset değeri oluşturur
+     * Genişlik srcset ile seçildiği için dpr kullanılmaz.
+     */
+    private String buildSrcset(String publicId, String format) {
+        StringBuilder srcset = new StringBuilder();
+        for (int width : ResponsiveImageSet.SRCSET_WIDTHS) {
+            if (srcset.length() > 0) {
+                srcset.append(", ");
+            }
+            String url = cloudinary.url()
+                    .transformation(new Transformation()
+                            .width(width)
+                            .crop("limit")
+                            .quality("auto:best")
+                            .fetchFormat(format))
+                    .secure(true)
+                    .generate(publicId);
+            srcset.append(url).append(' ').append(width).append('w');
+        }
+        return srcset.toString();
+    }
+    
 
     public OptimizedImageResult.ImageVariants getResponsiveImageUrls(String imageUrl) {
         if (imageUrl == null || imageUrl.isEmpty()) {
@@ -587,6 +606,7 @@ public class MediaUploadService {
                 .originalSize(originalSize)
                 .compressionRatio(compressionRatio)
                 .variants(variants)
+                .responsive(buildResponsiveImageSet(optimizedPublicId))
                 .build();
         
         // Cache'e ekle (hem publicId hem de cacheKey ile)
@@ -715,12 +735,9 @@ public class MediaUploadService {
     public void clearCache(String publicId) {
         if (publicId != null) {
             urlCache.remove(publicId);
-            // Transformed URL cache'ini de temizle
-            transformedUrlCache.entrySet().removeIf(entry -> entry.getKey().contains(publicId));
             log.debug("Cache temizlendi: {}", publicId);
         } else {
             urlCache.clear();
-            transformedUrlCache.clear();
             log.debug("Tüm cache temizlendi");
         }
     }
@@ -731,8 +748,7 @@ public class MediaUploadService {
      * @return Cache istatistikleri
      */
     public String getCacheStats() {
-        return String.format("URL Cache: %d, Transformed URL Cache: %d", 
-                urlCache.size(), transformedUrlCache.size());
+        return String.format("URL Cache: %d", urlCache.size());
     }
 
     /**
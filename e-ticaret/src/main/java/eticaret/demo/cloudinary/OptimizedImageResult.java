@@ -50,6 +50,11 @@ public class OptimizedImageResult {
      */
     private ImageVariants variants;
     
+    /**
+     * Ürün satırında saklanan responsive varyantlar (800/1920 WebP, WebP/AVIF srcset)
+     */
+    private ResponsiveImageSet responsive;
+    
     @Data
     @Builder
     @NoArgsConstructor
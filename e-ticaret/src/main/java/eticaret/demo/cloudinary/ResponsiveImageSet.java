@@ -0,0 +1,63 @@
+package eticaret.demo.cloudinary;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bir görselin yükleme anında bir kez hesaplanan responsive varyantları
+ * Ürün satırında saklanır; liste ve detay istekleri URL ayrıştırma/dönüştürme yapmadan doğrudan kullanır.
+ */
+@Embeddable
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResponsiveImageSet {
+
+    /**
+     * Srcset genişlikleri (piksel)
+     */
+    public static final int[] SRCSET_WIDTHS = {400, 800, 1200, 1920, 2560};
+
+    /**
+     * Liste kartları için 800x800 WebP
+     */
+    @Column(length = 1000)
+    private String cardUrl;
+
+    /**
+     * Detay sayfası için 1920x1920 WebP
+     */
+    @Column(length = 1000)
+    private String largeUrl;
+
+    /**
+     * WebP srcset ("url 400w, url 800w, ...")
+     */
+    @Column(columnDefinition = "TEXT")
+    private String webpSrcset;
+
+    /**
+     * AVIF srcset (destekleyen tarayıcılar için <picture> kaynağı)
+     */
+    @Column(columnDefinition = "TEXT")
+    private String avifSrcset;
+
+    /**
+     * Kart görseli, varyant yoksa orijinal URL
+     */
+    public static String cardUrlOr(ResponsiveImageSet set, String fallback) {
+        return set != null && set.getCardUrl() != null ? set.getCardUrl() : fallback;
+    }
+
+    /**
+     * Büyük görsel, varyant yoksa orijinal URL
+     */
+    public static String largeUrlOr(ResponsiveImageSet set, String fallback) {
+        return set != null && set.getLargeUrl() != null ? set.getLargeUrl() : fallback;
+    }
+}
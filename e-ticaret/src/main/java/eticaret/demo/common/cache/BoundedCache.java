@@ -0,0 +1,152 @@
+package eticaret.demo.common.cache;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Boyut sınırlı, süreli (TTL) ve ölçümlü cache
+ * Kapasite dolduğunda en uzun süredir erişilmeyen kayıt (LRU) çıkarılır,
+ * süresi dolan kayıtlar okunurken temizlenir.
+ */
+public class BoundedCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final int maxSize;
+    private final Duration ttl;
+    private final LinkedHashMap<Object, Entry> store;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    private record Entry(Object value, long expiresAt) {
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    public BoundedCache(String name, int maxSize, Duration ttl) {
+        super(false);
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache boyutu pozitif olmalı: " + name);
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        // accessOrder=true: her okuma kaydı sona taşır, baştaki kayıt en eski erişilendir
+        this.store = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                if (size() > BoundedCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return store;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        long now = System.currentTimeMillis();
+        synchronized (store) {
+            Entry entry = store.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (entry.isExpired(now)) {
+                store.remove(key);
+                expirations.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Throwable ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            // Null değerler cache'lenmez, eski kayıt da geçersiz olur
+            evict(key);
+            return;
+        }
+        Entry entry = new Entry(toStoreValue(value), System.currentTimeMillis() + ttl.toMillis());
+        synchronized (store) {
+            store.put(key, entry);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        synchronized (store) {
+            store.remove(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (store) {
+            store.clear();
+        }
+    }
+
+    /**
+     * Anlık cache istatistikleri
+     */
+    public CacheStatistics getStatistics() {
+        int size;
+        synchronized (store) {
+            size = store.size();
+        }
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        return new CacheStatistics(
+                name,
+                size,
+                maxSize,
+                ttl.toSeconds(),
+                hitCount,
+                missCount,
+                total > 0 ? (double) hitCount / total : 0.0,
+                evictions.sum(),
+                expirations.sum()
+        );
+    }
+}
@@ -0,0 +1,37 @@
+package eticaret.demo.common.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractCacheManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Sabit isimli, boyut sınırlı cache'leri yöneten cache manager
+ * Tanımlanmamış bir cache ismi istenirse dinamik olarak oluşturulmaz.
+ */
+public class BoundedCacheManager extends AbstractCacheManager {
+
+    private final List<BoundedCache> caches;
+
+    public BoundedCacheManager(Collection<BoundedCache> caches) {
+        this.caches = List.copyOf(caches);
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return caches;
+    }
+
+    /**
+     * Tüm cache'lerin istatistikleri
+     */
+    public List<CacheStatistics> getStatistics() {
+        List<CacheStatistics> statistics = new ArrayList<>(caches.size());
+        for (BoundedCache cache : caches) {
+            statistics.add(cache.getStatistics());
+        }
+        return statistics;
+    }
+}
@@ -0,0 +1,33 @@
+package eticaret.demo.common.cache;
+
+/**
+ * Cache'lenmiş verinin değiştiğini bildiren olay
+ *
+ * @param scope Değişen veri türü
+ * @param id İlgili kaydın ID'si (ürün/yorum için ürün ID'si, kupon/kategori için kendi ID'si), bilinmiyorsa null
+ */
+public record CacheInvalidationEvent(Scope scope, Long id) {
+
+    public enum Scope {
+        PRODUCT,
+        REVIEW,
+        COUPON,
+        CATEGORY
+    }
+
+    public static CacheInvalidationEvent product(Long productId) {
+        return new CacheInvalidationEvent(Scope.PRODUCT, productId);
+    }
+
+    public static CacheInvalidationEvent review(Long productId) {
+        return new CacheInvalidationEvent(Scope.REVIEW, productId);
+    }
+
+    public static CacheInvalidationEvent coupon(Long couponId) {
+        return new CacheInvalidationEvent(Scope.COUPON, couponId);
+    }
+
+    public static CacheInvalidationEvent category(Long categoryId) {
+        return new CacheInvalidationEvent(Scope.CATEGORY, categoryId);
+    }
+}
@@ -0,0 +1,62 @@
+package eticaret.demo.common.cache;
+
+import eticaret.demo.product.catalog.CatalogChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Değişiklik olaylarına göre ilgili cache kayıtlarını temizler
+ * Böylece admin düzenlemeleri sunucu yeniden başlatılmadan görünür olur.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidationListener {
+
+    private final CacheManager cacheManager;
+
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        switch (event.scope()) {
+            case PRODUCT, REVIEW -> evictOrClear("productDetails", event.id());
+            case COUPON -> clear("coupons");
+            case CATEGORY -> {
+                // Kategori listeleri katalog görüntüsünden okunur, temizlenecek cache yok
+            }
+        }
+        log.debug("Cache temizlendi - Kapsam: {}, ID: {}", event.scope(), event.id());
+    }
+
+    /**
+     * Stok düşümü gibi admin dışı ürün değişikliklerinde sadece ürün detayını düşürür
+     */
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!event.isFullRebuild()) {
+            evictOrClear("productDetails", event.productId());
+        }
+    }
+
+    private void evictOrClear(String cacheName, Long key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (key != null) {
+            cache.evict(key);
+        } else {
+            cache.clear();
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package eticaret.demo.common.cache;
+
+/**
+ * Cache isabet/ıska/çıkarma ölçümleri
+ */
+public record CacheStatistics(
+        String name,
+        int size,
+        int maxSize,
+        long ttlSeconds,
+        long hits,
+        long misses,
+        double hitRate,
+        long evictions,
+        long expirations
+) {
+}
@@ -0,0 +1,110 @@
+package eticaret.demo.common.collection;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Sınırlı, kilitsiz halka tampon (çok üretici, tek tüketici)
+ * Her yuvanın sıra numarası yuvanın boş mu dolu mu olduğunu söyler; üretici yer ayırmak için tek bir CAS yapar,
+ * tüketici hiç CAS yapmaz. Tampon doluysa offer() beklemeden false döner, ne yapılacağına çağıran karar verir.
+ * poll() ve drainTo() yalnızca tek bir thread'den çağrılmalıdır.
+ */
+public final class BoundedRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Kapasite bir üst ikinin kuvvetine yuvarlanır
+     */
+    public BoundedRingBuffer(int capacity) {
+        if (capacity < 2 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Geçersiz kapasite: " + capacity);
+        }
+        this.capacity = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.elements = new AtomicReferenceArray<>(this.capacity);
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Elemanı ekler; tampon doluysa false döner
+     */
+    public boolean offer(E element) {
+        Objects.requireNonNull(element);
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    // Sıra numarası yazıldığında eleman tüketiciye görünür olur
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // Yuva bir tur önceki elemanı hâlâ tutuyor: tampon dolu
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Sıradaki elemanı alır; tampon boşsa null döner (tek tüketici)
+     */
+    public E poll() {
+        long position = head.get();
+        int index = (int) position & mask;
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        E element = elements.get(index);
+        elements.lazySet(index, null);
+        sequences.set(index, position + capacity);
+        head.lazySet(position + 1);
+        return element;
+    }
+
+    /**
+     * En fazla max elemanı hedef koleksiyona aktarır, aktarılan sayıyı döner (tek tüketici)
+     */
+    public int drainTo(Collection<? super E> target, int max) {
+        int drained = 0;
+        while (drained < max) {
+            E element = poll();
+            if (element == null) {
+                break;
+            }
+            target.add(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Yaklaşık eleman sayısı (eşzamanlı eklemeler sırasında anlık değildir)
+     */
+    public int size() {
+        long consumed = head.get();
+        long produced = tail.get();
+        return (int) Math.max(0, Math.min(capacity, produced - consumed));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,181 @@
+package eticaret.demo.common.collection;
+
+/**
+ * Birleştirilebilir tekil sayı tahmincisi (HyperLogLog, p=12)
+ * 4096 yazmaçla ~%1,6 standart hata verir; aynı değer tekrar eklendiğinde değişmez, iki taslağın birleşimi
+ * iki kümenin birleşimini tahmin eder. Bu sayede saatlik taslaklar birleştirilerek herhangi bir aralığın
+ * tekil sayısı ham kayıtlara dönmeden bulunur.
+ * Serileştirmede az dolu taslaklar (indeks, değer) çiftleri, diğerleri 6 bitlik paketlenmiş yazmaçlar olarak
+ * yazılır (en fazla 3 KB). Thread-safe değildir.
+ */
+public final class HyperLogLog {
+
+    public static final int PRECISION = 12;
+
+    private static final int REGISTERS = 1 << PRECISION;
+    private static final int DENSE_BYTES = REGISTERS * 6 / 8;
+    private static final byte FORMAT_SPARSE = 1;
+    private static final byte FORMAT_DENSE = 2;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long LONG_SEED = 0x9e3779b97f4a7c15L;
+
+    private final byte[] registers = new byte[REGISTERS];
+
+    /**
+     * Metin değer ekler (ör. oturum ID'si)
+     */
+    public void add(String value) {
+        if (value != null) {
+            addHash(hash(value));
+        }
+    }
+
+    /**
+     * Sayısal değer ekler (ör. kullanıcı ID'si)
+     */
+    public void add(long value) {
+        addHash(mix(value ^ LONG_SEED));
+    }
+
+    private void addHash(long hash) {
+        int index = (int) (hash >>> (64 - PRECISION));
+        // Koruma biti: kalan bitlerin tamamı 0 olsa da sıra en fazla 64 - p + 1 olur
+        long rest = (hash << PRECISION) | (1L << (PRECISION - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(rest) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    /**
+     * Diğer taslağı bu taslağa katar (küme birleşimi)
+     */
+    public void merge(HyperLogLog other) {
+        byte[] source = other.registers;
+        for (int i = 0; i < REGISTERS; i++) {
+            if (source[i] > registers[i]) {
+                registers[i] = source[i];
+            }
+        }
+    }
+
+    /**
+     * Tekil değer sayısı tahmini
+     * Küçük sayılarda boş yazmaç oranından (doğrusal sayım) hesaplanır, neredeyse kesindir.
+     */
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / REGISTERS);
+        double estimate = alpha * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public boolean isEmpty() {
+        for (byte register : registers) {
+            if (register != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Taslağı kalıcı saklama için bayt dizisine çevirir
+     */
+    public byte[] toBytes() {
+        int nonZero = 0;
+        for (byte register : registers) {
+            if (register != 0) {
+                nonZero++;
+            }
+        }
+        if (nonZero * 3 + 4 < DENSE_BYTES + 2) {
+            byte[] bytes = new byte[4 + nonZero * 3];
+            bytes[0] = PRECISION;
+            bytes[1] = FORMAT_SPARSE;
+            bytes[2] = (byte) (nonZero >>> 8);
+            bytes[3] = (byte) nonZero;
+            int offset = 4;
+            for (int i = 0; i < REGISTERS; i++) {
+                if (registers[i] != 0) {
+                    bytes[offset++] = (byte) (i >>> 8);
+                    bytes[offset++] = (byte) i;
+                    bytes[offset++] = registers[i];
+                }
+            }
+            return bytes;
+        }
+
+        byte[] bytes = new byte[2 + DENSE_BYTES];
+        bytes[0] = PRECISION;
+        bytes[1] = FORMAT_DENSE;
+        // Dört yazmaç (4 x 6 bit) üç bayta paketlenir
+        for (int i = 0, offset = 2; i < REGISTERS; i += 4, offset += 3) {
+            int packed = registers[i] << 18 | registers[i + 1] << 12 | registers[i + 2] << 6 | registers[i + 3];
+            bytes[offset] = (byte) (packed >>> 16);
+            bytes[offset + 1] = (byte) (packed >>> 8);
+            bytes[offset + 2] = (byte) packed;
+        }
+        return bytes;
+    }
+
+    /**
+     * toBytes() çıktısından taslağı geri oluşturur
+     */
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length < 2 || bytes[0] != PRECISION) {
+            throw new IllegalArgumentException("Geçersiz HyperLogLog verisi");
+        }
+        HyperLogLog sketch = new HyperLogLog();
+        if (bytes[1] == FORMAT_SPARSE) {
+            int count = (bytes[2] & 0xff) << 8 | (bytes[3] & 0xff);
+            for (int k = 0, offset = 4; k < count; k++, offset += 3) {
+                int index = (bytes[offset] & 0xff) << 8 | (bytes[offset + 1] & 0xff);
+                sketch.registers[index] = bytes[offset + 2];
+            }
+        } else if (bytes[1] == FORMAT_DENSE && bytes.length == 2 + DENSE_BYTES) {
+            for (int i = 0, offset = 2; i < REGISTERS; i += 4, offset += 3) {
+                int packed = (bytes[offset] & 0xff) << 16 | (bytes[offset + 1] & 0xff) << 8 | (bytes[offset + 2] & 0xff);
+                sketch.registers[i] = (byte) (packed >>> 18 & 0x3f);
+                sketch.registers[i + 1] = (byte) (packed >>> 12 & 0x3f);
+                sketch.registers[i + 2] = (byte) (packed >>> 6 & 0x3f);
+                sketch.registers[i + 3] = (byte) (packed & 0x3f);
+            }
+        } else {
+            throw new IllegalArgumentException("Geçersiz HyperLogLog verisi");
+        }
+        return sketch;
+    }
+
+    /**
+     * 64 bit FNV-1a ve ardından karıştırma (MurmurHash3 son adımı)
+     */
+    private static long hash(String value) {
+        long h = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= FNV_PRIME;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
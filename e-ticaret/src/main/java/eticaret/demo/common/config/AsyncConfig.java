@@ -34,5 +34,23 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
-}
 
+    /**
+     * Karma öneri stratejileri için ayrı thread pool
+     * Genel async işlerden yalıtılır; kuyruk dolarsa görev reddedilir ve strateji boş sonuçla atlanır
+     * (istek thread'i stratejiyi kendisi çalıştırıp beklemez).
+     */
+    @Bean(name = "recommendationExecutor")
+    public Executor recommendationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(16);
+        executor.setMaxPoolSize(64);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("Recommendation-");
+        executor.setKeepAliveSeconds(60);
+        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,11 +1,14 @@
 package eticaret.demo.common.config;
 
-import org.springframework.cache.CacheManager;
+import eticaret.demo.common.cache.BoundedCache;
+import eticaret.demo.common.cache.BoundedCacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.List;
+
 /**
  * Spring Cache Configuration - In-memory cache
  * Performans için önemli verileri cache'ler
@@ -15,23 +18,18 @@ import org.springframework.context.annotation.Configuration;
 public class CacheConfig {
 
     /**
-     * In-memory cache manager
-     * Product listesi, category listesi gibi sık kullanılan verileri cache'ler
+     * Boyut sınırlı, süreli in-memory cache manager
+     * Her cache için en fazla kayıt sayısı ve yaşam süresi ayrı belirlenir,
+     * kapasite aşılınca en uzun süredir kullanılmayan kayıt çıkarılır (LRU).
+     * Değişiklikler CacheInvalidationEvent ile ilgili cache'leri temizler.
+     * Ürün, kategori ve öneri listeleri bellekteki katalog görüntüsünden ve indekslerden okunduğu için
+     * burada cache'i yoktur.
      */
     @Bean
-    public CacheManager cacheManager() {
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
-        // Cache isimleri
-        cacheManager.setCacheNames(java.util.Arrays.asList(
-                "products",           // Ürün listesi
-                "categories",          // Kategori listesi
-                "productDetails",      // Ürün detayları
-                "productReviews",      // Ürün yorumları
-                "imageUrls",           // Görsel URL'leri
-                "recommendations"      // Ürün önerileri
+    public BoundedCacheManager cacheManager() {
+        return new BoundedCacheManager(List.of(
+                new BoundedCache("productDetails", 2000, Duration.ofMinutes(10)),   // Ürün detayları
+                new BoundedCache("coupons", 10, Duration.ofMinutes(1))              // Geçerli kupon listesi
         ));
-        cacheManager.setAllowNullValues(false);
-        return cacheManager;
     }
 }
-
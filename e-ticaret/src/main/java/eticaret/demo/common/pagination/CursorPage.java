@@ -0,0 +1,41 @@
+package eticaret.demo.common.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * İmleç tabanlı sayfa
+ * Toplam kayıt sayısı için COUNT sorgusu çalıştırılmaz; istenirse yaklaşık değer döner.
+ *
+ * @param content Sayfa içeriği
+ * @param nextCursor Sonraki sayfa için imleç (son sayfada null)
+ * @param hasNext Sonraki sayfa var mı?
+ * @param size İstenen sayfa boyutu
+ * @param approximateTotal Yaklaşık toplam kayıt sayısı (istenmediyse null)
+ */
+public record CursorPage<T>(List<T> content, String nextCursor, boolean hasNext, int size, Long approximateTotal) {
+
+    /**
+     * İstenebilecek en büyük sayfa boyutu
+     */
+    public static final int MAX_SIZE = 100;
+
+    /**
+     * İstenen sayfa boyutunu 1..MAX_SIZE aralığına çeker
+     * Sorgular size + 1 kayıt getirdiği için sıfır, negatif veya çok büyük değerler doğrudan kullanılamaz.
+     */
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * size + 1 kayıt getirilmiş bir sorgu sonucundan sayfa oluşturur
+     * Fazladan gelen kayıt sadece sonraki sayfanın varlığını anlamak için kullanılır.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, String> cursorOf, Long approximateTotal) {
+        boolean hasNext = fetched.size() > size;
+        List<T> content = hasNext ? List.copyOf(fetched.subList(0, size)) : fetched;
+        String nextCursor = hasNext && !content.isEmpty() ? cursorOf.apply(content.get(content.size() - 1)) : null;
+        return new CursorPage<>(content, nextCursor, hasNext, size, approximateTotal);
+    }
+}
@@ -0,0 +1,98 @@
+package eticaret.demo.common.pagination;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * İmleç (cursor) tabanlı sayfalama için opak anahtar
+ * Son satırın sıralama değerlerini (ör. createdAt, id) taşır; istemci bu değeri
+ * olduğu gibi geri gönderir, sorgu OFFSET yerine "bu anahtardan sonrası" diye çalışır.
+ */
+public final class SeekCursor {
+
+    private static final String SEPARATOR = "|";
+    private static final String NULL_VALUE = "~";
+
+    private final String[] values;
+
+    private SeekCursor(String[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Sıralama değerlerinden imleç üretir
+     */
+    public static String encode(Object... values) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                builder.append(SEPARATOR);
+            }
+            builder.append(values[i] != null ? values[i].toString() : NULL_VALUE);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * İmleci çözer
+     *
+     * @param expectedSize Beklenen değer sayısı
+     * @throws IllegalArgumentException İmleç bozuksa
+     */
+    public static SeekCursor decode(String token, int expectedSize) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] values = raw.split("\\" + SEPARATOR, -1);
+            if (values.length != expectedSize) {
+                throw new IllegalArgumentException("Geçersiz sayfa imleci");
+            }
+            return new SeekCursor(values);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Geçersiz sayfa imleci");
+        }
+    }
+
+    public LocalDateTime getDateTime(int index) {
+        String value = raw(index);
+        try {
+            return value != null ? LocalDateTime.parse(value) : null;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Geçersiz sayfa imleci");
+        }
+    }
+
+    public Long getLong(int index) {
+        String value = raw(index);
+        try {
+            return value != null ? Long.valueOf(value) : null;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Geçersiz sayfa imleci");
+        }
+    }
+
+    public Integer getInteger(int index) {
+        String value = raw(index);
+        try {
+            return value != null ? Integer.valueOf(value) : null;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Geçersiz sayfa imleci");
+        }
+    }
+
+    public BigDecimal getDecimal(int index) {
+        String value = raw(index);
+        try {
+            return value != null ? new BigDecimal(value) : null;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Geçersiz sayfa imleci");
+        }
+    }
+
+    private String raw(int index) {
+        String value = values[index];
+        return NULL_VALUE.equals(value) ? null : value;
+    }
+}
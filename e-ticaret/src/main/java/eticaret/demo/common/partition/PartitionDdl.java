@@ -0,0 +1,229 @@
+package eticaret.demo.common.partition;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * PostgreSQL bölümleme (declarative partitioning) DDL işlemleri
+ * Her metot kendi transaction'ında çalışır; kilit beklemeleri lock_timeout ile sınırlıdır,
+ * süre dolarsa işlem geri alınır ve bir sonraki turda tekrar denenir.
+ */
+@Component
+@RequiredArgsConstructor
+class PartitionDdl {
+
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+    private static final String LOCK_TIMEOUT = "SET LOCAL lock_timeout = '5s'";
+
+    /**
+     * Bölüm adı ve üst sınırı (MAXVALUE veya DEFAULT ise null)
+     */
+    record Partition(String name, LocalDateTime upperBound) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Tablonun türü: 'r' normal, 'p' bölümlenmiş, tablo yoksa null
+     */
+    @Transactional(readOnly = true)
+    public String relationKind(String table) {
+        List<String> kinds = jdbcTemplate.queryForList(
+                "SELECT c.relkind::text FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                "WHERE c.relname = ? AND n.nspname = current_schema()", String.class, table);
+        return kinds.isEmpty() ? null : kinds.get(0);
+    }
+
+    /**
+     * Eski tabloya bölüm sınırını kontrol eden kısıtı doğrulamadan ekler (tarama yok, kısa kilit)
+     */
+    @Transactional
+    public void addBoundaryCheck(PartitionedTable spec, LocalDateTime boundary) {
+        jdbcTemplate.execute(LOCK_TIMEOUT);
+        jdbcTemplate.execute("ALTER TABLE " + spec.table() + " DROP CONSTRAINT IF EXISTS " + checkName(spec));
+        jdbcTemplate.execute("ALTER TABLE " + spec.table() + " ADD CONSTRAINT " + checkName(spec) +
+                " CHECK (" + spec.column() + " IS NOT NULL AND " + spec.column() + " < '" + format(boundary) + "') NOT VALID");
+    }
+
+    /**
+     * Kısıtı doğrular; tablo taranır ama yazımlar engellenmez (SHARE UPDATE EXCLUSIVE)
+     */
+    @Transactional
+    public void validateBoundaryCheck(PartitionedTable spec) {
+        jdbcTemplate.execute("ALTER TABLE " + spec.table() + " VALIDATE CONSTRAINT " + checkName(spec));
+    }
+
+    /**
+     * Normal tabloyu bölümlenmiş tabloya çevirir, veri taşımadan
+     * Eski tablo yeniden adlandırılıp (MINVALUE, boundary) aralığındaki bölüm olarak bağlanır;
+     * doğrulanmış kısıt sayesinde bağlama sırasında tarama yapılmaz. Kimlik (identity) kolonu
+     * üst tabloya ait bir sequence'a, ikincil indeksler ve yabancı anahtarlar üst tabloya taşınır.
+     * Bölümlenmiş tablolarda birincil anahtar bölüm kolonunu içermek zorunda olduğundan üst tabloda
+     * birincil anahtar yoktur; ID tekilliği sequence ile sağlanır.
+     */
+    @Transactional
+    public void convert(PartitionedTable spec, LocalDateTime boundary) {
+        String table = spec.table();
+        String legacy = spec.legacyPartitionName();
+        String sequence = table + "_id_seq";
+        jdbcTemplate.execute(LOCK_TIMEOUT);
+        jdbcTemplate.execute("LOCK TABLE " + table + " IN ACCESS EXCLUSIVE MODE");
+
+        List<Map<String, Object>> indexes = jdbcTemplate.queryForList(
+                "SELECT i.indexname, i.indexdef FROM pg_indexes i JOIN pg_index x ON x.indexrelid = " +
+                "(quote_ident(i.schemaname) || '.' || quote_ident(i.indexname))::regclass " +
+                "WHERE i.tablename = ? AND i.schemaname = current_schema() AND NOT x.indisunique", table);
+        List<Map<String, Object>> foreignKeys = jdbcTemplate.queryForList(
+                "SELECT conname, pg_get_constraintdef(oid) AS definition FROM pg_constraint " +
+                "WHERE conrelid = ?::regclass AND contype = 'f'", table);
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+
+        jdbcTemplate.execute("ALTER TABLE " + table + " RENAME TO " + legacy);
+        for (Map<String, Object> index : indexes) {
+            jdbcTemplate.execute("ALTER INDEX " + index.get("indexname") + " RENAME TO " +
+                    legacyIndexName((String) index.get("indexname")));
+        }
+        jdbcTemplate.execute("ALTER TABLE " + legacy + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+        jdbcTemplate.execute("ALTER TABLE " + legacy + " ALTER COLUMN id DROP DEFAULT");
+        jdbcTemplate.execute("DROP SEQUENCE IF EXISTS " + sequence);
+        jdbcTemplate.execute("CREATE SEQUENCE " + sequence + " START WITH " + ((maxId != null ? maxId : 0L) + 1));
+
+        jdbcTemplate.execute("CREATE TABLE " + table + " (LIKE " + legacy + " INCLUDING DEFAULTS) " +
+                "PARTITION BY RANGE (" + spec.column() + ")");
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id SET DEFAULT nextval('" + sequence + "')");
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " OWNED BY " + table + ".id");
+        jdbcTemplate.execute("ALTER TABLE " + table + " ATTACH PARTITION " + legacy +
+                " FOR VALUES FROM (MINVALUE) TO ('" + format(boundary) + "')");
+        jdbcTemplate.execute("ALTER TABLE " + legacy + " DROP CONSTRAINT IF EXISTS " + checkName(spec));
+
+        // Tanımlar yeniden adlandırmadan önce okunduğu için artık üst tabloyu gösterir;
+        // aynı tanımlı indeks bölümde bulunduğundan yeniden oluşturulmaz, bağlanır
+        for (Map<String, Object> index : indexes) {
+            jdbcTemplate.execute((String) index.get("indexdef"));
+        }
+        for (Map<String, Object> foreignKey : foreignKeys) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ADD CONSTRAINT " + foreignKey.get("conname") +
+                    " " + foreignKey.get("definition"));
+        }
+    }
+
+    /**
+     * Aralık dışı satırlar için varsayılan bölümü oluşturur, varsa dokunmaz
+     * Önceden oluşturulan bölümler bittiğinde INSERT'lerin hata vermesi yerine satırlar burada birikir.
+     */
+    @Transactional
+    public void createDefaultPartition(PartitionedTable spec) {
+        jdbcTemplate.execute(LOCK_TIMEOUT);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + spec.defaultPartitionName() + " PARTITION OF " +
+                spec.table() + " DEFAULT");
+    }
+
+    /**
+     * [from, to) aralığı için bölüm oluşturur, varsa dokunmaz
+     * Varsayılan bölümde bu aralığa düşen satırlar varsa PostgreSQL bölümü oluşturmaz; bu durumda bölüm
+     * ayrı tablo olarak oluşturulur, satırlar varsayılan bölümden taşınır ve bölüm üst tabloya bağlanır.
+     *
+     * @return Varsayılan bölümden taşınan satır sayısı
+     */
+    @Transactional
+    public long createPartition(PartitionedTable spec, LocalDate from, LocalDate to) {
+        String partition = spec.partitionName(from);
+        if (exists(partition)) {
+            return 0;
+        }
+        String range = "FOR VALUES FROM ('" + format(from.atStartOfDay()) + "') TO ('" +
+                format(to.atStartOfDay()) + "')";
+        jdbcTemplate.execute(LOCK_TIMEOUT);
+        String defaultPartition = spec.defaultPartitionName();
+        String inRange = spec.column() + " >= '" + format(from.atStartOfDay()) + "' AND " +
+                spec.column() + " < '" + format(to.atStartOfDay()) + "'";
+        Long stray = exists(defaultPartition)
+                ? jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + defaultPartition + " WHERE " + inRange, Long.class)
+                : null;
+        if (stray == null || stray == 0) {
+            jdbcTemplate.execute("CREATE TABLE " + partition + " PARTITION OF " + spec.table() + " " + range);
+            return 0;
+        }
+
+        jdbcTemplate.execute("LOCK TABLE " + defaultPartition + " IN ACCESS EXCLUSIVE MODE");
+        jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE " + spec.table() + " INCLUDING DEFAULTS)");
+        jdbcTemplate.execute("INSERT INTO " + partition + " SELECT * FROM " + defaultPartition + " WHERE " + inRange);
+        jdbcTemplate.execute("DELETE FROM " + defaultPartition + " WHERE " + inRange);
+        jdbcTemplate.execute("ALTER TABLE " + spec.table() + " ATTACH PARTITION " + partition + " " + range);
+        return stray;
+    }
+
+    /**
+     * Varsayılan bölümdeki satır sayısı, bölüm yoksa 0
+     */
+    @Transactional(readOnly = true)
+    public long defaultPartitionRows(PartitionedTable spec) {
+        if (!exists(spec.defaultPartitionName())) {
+            return 0;
+        }
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + spec.defaultPartitionName(), Long.class);
+        return rows != null ? rows : 0;
+    }
+
+    /**
+     * Üst tabloya bağlı bölümler
+     */
+    @Transactional(readOnly = true)
+    public List<Partition> partitions(PartitionedTable spec) {
+        return jdbcTemplate.query(
+                "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = ?::regclass",
+                (rs, rowNum) -> new Partition(rs.getString(1), upperBound(rs.getString(2))),
+                spec.table());
+    }
+
+    /**
+     * Bölümü siler veya (detach=true) üst tablodan ayırıp arşiv için bırakır
+     */
+    @Transactional
+    public void removePartition(PartitionedTable spec, String partition, boolean detach) {
+        jdbcTemplate.execute(LOCK_TIMEOUT);
+        if (detach) {
+            jdbcTemplate.execute("ALTER TABLE " + spec.table() + " DETACH PARTITION " + partition);
+        } else {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+        }
+    }
+
+    private boolean exists(String relation) {
+        return relationKind(relation) != null;
+    }
+
+    private static LocalDateTime upperBound(String bound) {
+        Matcher matcher = bound != null ? UPPER_BOUND.matcher(bound) : null;
+        if (matcher == null || !matcher.find()) {
+            return null;
+        }
+        String value = matcher.group(1);
+        return LocalDateTime.parse(value.length() > 19 ? value.substring(0, 19) : value, BOUND_FORMAT);
+    }
+
+    private static String checkName(PartitionedTable spec) {
+        return spec.table() + "_partition_bound";
+    }
+
+    private static String legacyIndexName(String indexName) {
+        String name = indexName + "_legacy";
+        return name.length() > 63 ? name.substring(0, 63) : name;
+    }
+
+    private static String format(LocalDateTime time) {
+        return BOUND_FORMAT.format(time);
+    }
+}
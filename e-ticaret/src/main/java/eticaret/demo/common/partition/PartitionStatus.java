@@ -0,0 +1,27 @@
+package eticaret.demo.common.partition;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bölümlenmiş tablonun ufuk durumu
+ *
+ * @param table Üst tablo adı
+ * @param furthestBound En ileri bölümün üst sınırı (bölüm yoksa null)
+ * @param periodsAhead Bugünkü dönemden sonra bölümü hazır olan dönem sayısı
+ * @param minPeriodsAhead Altında hata loglanan eşik
+ * @param defaultPartitionRows Varsayılan bölümdeki (aralık dışı) satır sayısı
+ * @param alert Son kontrolde eşik altında kalındıysa veya varsayılan bölümde satır varsa true
+ * @param totalAlerts Uygulama açıldığından beri tüm tablolardaki uyarı sayısı
+ * @param checkedAt Son kontrol zamanı
+ */
+public record PartitionStatus(
+        String table,
+        LocalDateTime furthestBound,
+        int periodsAhead,
+        int minPeriodsAhead,
+        long defaultPartitionRows,
+        boolean alert,
+        long totalAlerts,
+        LocalDateTime checkedAt
+) {
+}
@@ -0,0 +1,76 @@
+package eticaret.demo.common.partition;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Zamana göre aralık (RANGE) bölümlenen tablo tanımı
+ *
+ * @param table     Üst (partitioned) tablo adı
+ * @param column    Bölümleme kolonu (timestamp, NOT NULL)
+ * @param interval  Bölüm genişliği
+ * @param premake   İleriye doğru önceden oluşturulacak bölüm sayısı
+ * @param retention Saklanacak bölüm sayısı (bugünkü dahil değil), 0 ise bölümler silinmez
+ */
+public record PartitionedTable(
+        String table,
+        String column,
+        Interval interval,
+        int premake,
+        int retention
+) {
+
+    /**
+     * Bölüm genişliği
+     */
+    public enum Interval {
+        DAY(DateTimeFormatter.ofPattern("yyyyMMdd")),
+        MONTH(DateTimeFormatter.ofPattern("yyyyMM"));
+
+        private final DateTimeFormatter suffixFormat;
+
+        Interval(DateTimeFormatter suffixFormat) {
+            this.suffixFormat = suffixFormat;
+        }
+
+        /**
+         * Tarihi içeren bölümün başlangıcı
+         */
+        public LocalDate floor(LocalDate date) {
+            return this == DAY ? date : date.withDayOfMonth(1);
+        }
+
+        public LocalDate next(LocalDate start) {
+            return this == DAY ? start.plusDays(1) : start.plusMonths(1);
+        }
+
+        public LocalDate minus(LocalDate start, int count) {
+            return this == DAY ? start.minusDays(count) : start.minusMonths(count);
+        }
+
+        String suffix(LocalDate start) {
+            return suffixFormat.format(start);
+        }
+    }
+
+    /**
+     * Başlangıcı verilen bölümün tablo adı (ör. visitor_page_views_p20250131)
+     */
+    public String partitionName(LocalDate start) {
+        return table + "_p" + interval.suffix(start);
+    }
+
+    /**
+     * Bölümlemeye geçişte eski tablonun bağlandığı bölümün adı
+     */
+    public String legacyPartitionName() {
+        return table + "_legacy";
+    }
+
+    /**
+     * Hiçbir aralığa uymayan satırları alan varsayılan (DEFAULT) bölümün adı
+     */
+    public String defaultPartitionName() {
+        return table + "_default";
+    }
+}
@@ -0,0 +1,194 @@
+package eticaret.demo.common.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Zamana göre bölümlenen tabloların bakımını yapar
+ * - Normal tablo ilk çalışmada veri taşınmadan bölümlenmiş tabloya çevrilir (eski veri tek bir bölüm olur)
+ * - Önümüzdeki dönemler için bölümler önceden oluşturulur
+ * - Saklama süresini aşan bölümler satır satır silinmek yerine bütün olarak düşürülür (veya ayrılır)
+ * - Aralık dışı satırlar varsayılan (DEFAULT) bölüme düşer; bakım uzun süre çalışmazsa INSERT'ler hata vermez
+ * - En ileri bölüm eşikten daha az dönem ilerideyse veya varsayılan bölümde satır varsa hata loglanır
+ * Açılışta ve her gece çalışır; bir adım başarısız olursa sonraki turda tekrar denenir.
+ */
+@Component
+@Slf4j
+public class TimePartitionManager {
+
+    private final PartitionDdl partitionDdl;
+    private final List<PartitionedTable> tables;
+    private final boolean detachExpired;
+    private final int minPeriodsAhead;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final Map<String, PartitionStatus> statuses = new ConcurrentHashMap<>();
+    private final LongAdder horizonAlerts = new LongAdder();
+
+    TimePartitionManager(PartitionDdl partitionDdl,
+                         @Value("${partition.visitor-page-views.retention-days:90}") int pageViewRetentionDays,
+                         @Value("${partition.product-views.retention-months:0}") int productViewRetentionMonths,
+                         @Value("${partition.detach-expired:false}") boolean detachExpired,
+                         @Value("${partition.min-periods-ahead:2}") int minPeriodsAhead) {
+        this.partitionDdl = partitionDdl;
+        this.detachExpired = detachExpired;
+        this.minPeriodsAhead = Math.max(1, minPeriodsAhead);
+        this.tables = List.of(
+                new PartitionedTable("visitor_page_views", "created_at", PartitionedTable.Interval.DAY,
+                        7, pageViewRetentionDays),
+                new PartitionedTable("product_views", "viewed_at", PartitionedTable.Interval.MONTH,
+                        2, productViewRetentionMonths));
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        maintain();
+    }
+
+    @Scheduled(cron = "0 30 0 * * *") // Her gün saat 00:30'da
+    public void maintain() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            for (PartitionedTable table : tables) {
+                try {
+                    maintain(table);
+                } catch (Exception e) {
+                    log.error("Bölüm bakımı başarısız - Tablo: {}, Hata: {}", table.table(), e.getMessage(), e);
+                }
+                // Bakım başarısız olsa da ufuk kontrol edilir; birkaç gece üst üste hata alınırsa fark edilmeli
+                try {
+                    checkHorizon(table);
+                } catch (Exception e) {
+                    log.error("Bölüm ufku kontrol edilemedi - Tablo: {}, Hata: {}", table.table(), e.getMessage(), e);
+                }
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void maintain(PartitionedTable table) {
+        String kind = partitionDdl.relationKind(table.table());
+        if (kind == null) {
+            log.warn("Bölümlenecek tablo bulunamadı: {}", table.table());
+            return;
+        }
+
+        LocalDate current = table.interval().floor(LocalDate.now());
+        if ("r".equals(kind)) {
+            // Eski tablo, geçiş sırasında yazılan satırları da alabilmesi için bir sonraki döneme kadar uzanır
+            LocalDate boundary = table.interval().next(current);
+            long start = System.currentTimeMillis();
+            partitionDdl.addBoundaryCheck(table, boundary.atStartOfDay());
+            partitionDdl.validateBoundaryCheck(table);
+            partitionDdl.convert(table, boundary.atStartOfDay());
+            log.info("Tablo bölümlenmiş yapıya çevrildi - Tablo: {}, Eski bölüm: {}, Sınır: {}, Süre: {} ms",
+                    table.table(), table.legacyPartitionName(), boundary, System.currentTimeMillis() - start);
+            current = boundary;
+        }
+
+        partitionDdl.createDefaultPartition(table);
+
+        int created = 0;
+        LocalDate from = current;
+        for (int i = 0; i <= table.premake(); i++) {
+            LocalDate to = table.interval().next(from);
+            long moved = partitionDdl.createPartition(table, from, to);
+            if (moved > 0) {
+                log.warn("Varsayılan bölümdeki satırlar yeni bölüme taşındı - Tablo: {}, Bölüm: {}, Satır: {}",
+                        table.table(), table.partitionName(from), moved);
+            }
+            created++;
+            from = to;
+        }
+
+        int removed = 0;
+        if (table.retention() > 0) {
+            LocalDateTime cutoff = table.interval().minus(table.interval().floor(LocalDate.now()), table.retention())
+                    .atStartOfDay();
+            for (PartitionDdl.Partition partition : partitionDdl.partitions(table)) {
+                if (partition.upperBound() != null && !partition.upperBound().isAfter(cutoff)) {
+                    partitionDdl.removePartition(table, partition.name(), detachExpired);
+                    removed++;
+                    log.info("Süresi dolan bölüm {} - Tablo: {}, Bölüm: {}",
+                            detachExpired ? "ayrıldı" : "silindi", table.table(), partition.name());
+                }
+            }
+        }
+        log.debug("Bölüm bakımı tamamlandı - Tablo: {}, Oluşturulan/kontrol edilen: {}, Kaldırılan: {}",
+                table.table(), created, removed);
+    }
+
+    /**
+     * Bölümlenmiş tabloların son ufuk kontrolü sonuçları
+     */
+    public List<PartitionStatus> getStatus() {
+        List<PartitionStatus> result = new ArrayList<>();
+        for (PartitionedTable table : tables) {
+            PartitionStatus status = statuses.get(table.table());
+            if (status != null) {
+                result.add(status);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * En ileri bölümün kaç dönem ileride olduğunu ve varsayılan bölümde satır olup olmadığını kontrol eder
+     * Eşik önceden oluşturma sayısını aşamaz; aksi halde her gece yanlış alarm verilirdi.
+     */
+    private void checkHorizon(PartitionedTable table) {
+        if (!"p".equals(partitionDdl.relationKind(table.table()))) {
+            return;
+        }
+        LocalDateTime furthest = null;
+        for (PartitionDdl.Partition partition : partitionDdl.partitions(table)) {
+            if (partition.upperBound() != null && (furthest == null || partition.upperBound().isAfter(furthest))) {
+                furthest = partition.upperBound();
+            }
+        }
+
+        // Bugünkü dönemden sonra bölümü hazır olan tam dönem sayısı
+        int periodsAhead = 0;
+        if (furthest != null) {
+            LocalDate end = table.interval().next(table.interval().floor(LocalDate.now()));
+            while (!table.interval().next(end).atStartOfDay().isAfter(furthest)) {
+                periodsAhead++;
+                end = table.interval().next(end);
+            }
+        }
+        int threshold = Math.min(minPeriodsAhead, table.premake());
+        long defaultRows = partitionDdl.defaultPartitionRows(table);
+        boolean alert = periodsAhead < threshold || defaultRows > 0;
+        if (periodsAhead < threshold) {
+            log.error("Bölüm ufku eşiğin altında - Tablo: {}, En ileri sınır: {}, İleri dönem: {}, Eşik: {}",
+                    table.table(), furthest, periodsAhead, threshold);
+        }
+        if (defaultRows > 0) {
+            log.error("Varsayılan bölümde satır var, bölüm bakımı gecikmiş olabilir - Tablo: {}, Bölüm: {}, Satır: {}",
+                    table.table(), table.defaultPartitionName(), defaultRows);
+        }
+        if (alert) {
+            horizonAlerts.increment();
+        }
+        statuses.put(table.table(), new PartitionStatus(table.table(), furthest, periodsAhead, threshold,
+                defaultRows, alert, horizonAlerts.sum(), LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,131 @@
+package eticaret.demo.common.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * İçerik özetinden (fingerprint) türetilen versiyon
+ * Özetten güçlü (strong) ETag ve Last-Modified üretilir, böylece istemci ve CDN
+ * değişmeyen içerik için 304 alır ve sunucu hiçbir sorgu/serileştirme yapmaz.
+ * Özet veritabanındaki içerikten hesaplandığı için aynı içerik her node'da ve yeniden başlatmadan sonra
+ * aynı ETag'i verir; yük dengeleyici arkasında If-None-Match hangi node'a gelirse gelsin eşleşir.
+ * İlk özet hesaplanana kadar açılışa özgü bir ETag kullanılır, o sırada hiçbir istek yanlışlıkla eşleşmez.
+ * Last-Modified özetin bu node'da ilk görüldüğü zamandır; tarayıcılar If-None-Match gönderdiğinden belirleyici değildir.
+ */
+public final class ContentVersion {
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePublic();
+
+    private final String name;
+    private final AtomicLong counter = new AtomicLong(1);
+    private volatile Stamp stamp;
+    private Long fingerprint;
+
+    public ContentVersion(String name) {
+        this.name = name;
+        this.stamp = new Stamp("\"" + name + "-boot-" + Long.toString(System.currentTimeMillis(), 36) + "\"",
+                System.currentTimeMillis());
+    }
+
+    /**
+     * İçerik özetini günceller; özet değiştiyse yeni damga yayımlanır
+     *
+     * @return Özet değiştiyse true
+     */
+    public synchronized boolean update(long fingerprint) {
+        if (this.fingerprint != null && this.fingerprint == fingerprint) {
+            return false;
+        }
+        this.fingerprint = fingerprint;
+        counter.incrementAndGet();
+        stamp = new Stamp("\"" + name + "-" + Long.toHexString(fingerprint) + "\"", System.currentTimeMillis());
+        return true;
+    }
+
+    /**
+     * Özet sorgusu satırlarından (ör. COUNT, MAX(id), MAX(updated_at)) JVM'den bağımsız özet
+     */
+    public static long fingerprintOf(List<Object[]> rows) {
+        long hash = 1L;
+        for (Object[] row : rows) {
+            hash = 31 * hash + Arrays.hashCode(row);
+        }
+        return hash;
+    }
+
+    /**
+     * Güncel versiyon damgası
+     * Yanıt verisi okunmadan ÖNCE alınmalıdır; böylece damga en kötü ihtimalle veriden eskidir
+     * ve istemci bir sonraki istekte tekrar doğrular, hiçbir zaman eski veriyi yeni damgayla saklamaz.
+     */
+    public Stamp current() {
+        return stamp;
+    }
+
+    /**
+     * Bu node'da görülen özet değişikliği sayısı (yalnızca loglama için, node'lar arasında farklıdır)
+     */
+    public long getVersion() {
+        return counter.get();
+    }
+
+    /**
+     * Belirli bir versiyonun ETag ve değişiklik zamanı
+     */
+    public record Stamp(String eTag, long lastModified) {
+
+        /**
+         * İstekteki If-None-Match / If-Modified-Since başlıkları bu damgayla eşleşiyor mu?
+         * If-None-Match varsa If-Modified-Since yok sayılır (RFC 9110).
+         */
+        public boolean matches(HttpServletRequest request) {
+            String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+            if (ifNoneMatch != null) {
+                for (String candidate : ifNoneMatch.split(",")) {
+                    String tag = candidate.trim();
+                    if (tag.startsWith("W/")) {
+                        tag = tag.substring(2);
+                    }
+                    if (tag.equals("*") || tag.equals(eTag)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            try {
+                long ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+                return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Gövdesiz 304 yanıtı
+         */
+        public <T> ResponseEntity<T> notModified() {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .lastModified(lastModified)
+                    .cacheControl(CACHE_CONTROL)
+                    .build();
+        }
+
+        /**
+         * ETag, Last-Modified ve Cache-Control başlıkları eklenmiş 200 yanıtı
+         */
+        public ResponseEntity.BodyBuilder ok() {
+            return ResponseEntity.ok()
+                    .eTag(eTag)
+                    .lastModified(lastModified)
+                    .cacheControl(CACHE_CONTROL);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package eticaret.demo.contract;
 
 import eticaret.demo.auth.AppUser;
 import eticaret.demo.common.response.DataResponseMessage;
+import eticaret.demo.common.web.ContentVersion;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,11 +31,16 @@ public class ContractController {
     /**
      * Tüm aktif sözleşmeleri getir
      * GET /api/contracts
+     * Sözleşmeler değişmediyse (If-None-Match) sorgu yapılmadan 304 döner
      */
     @GetMapping
-    public ResponseEntity<DataResponseMessage<List<Contract>>> getAllActiveContracts() {
+    public ResponseEntity<DataResponseMessage<List<Contract>>> getAllActiveContracts(HttpServletRequest request) {
+        ContentVersion.Stamp stamp = contractService.currentVersion();
+        if (stamp.matches(request)) {
+            return stamp.notModified();
+        }
         List<Contract> contracts = contractService.getAllActiveContracts();
-        return ResponseEntity.ok(DataResponseMessage.success("Sözleşmeler başarıyla getirildi", contracts));
+        return stamp.ok().body(DataResponseMessage.success("Sözleşmeler başarıyla getirildi", contracts));
     }
 
     /**
@@ -42,10 +48,15 @@ public class ContractController {
      * GET /api/contracts/type/{type}
      */
     @GetMapping("/type/{type}")
-    public ResponseEntity<DataResponseMessage<Contract>> getContractByType(@PathVariable ContractType type) {
+    public ResponseEntity<DataResponseMessage<Contract>> getContractByType(@PathVariable ContractType type,
+                                                                        HttpServletRequest request) {
+        ContentVersion.Stamp stamp = contractService.currentVersion();
+        if (stamp.matches(request)) {
+            return stamp.notModified();
+        }
         try {
             Contract contract = contractService.getLatestActiveContractByType(type);
-            return ResponseEntity.ok(DataResponseMessage.success("Sözleşme başarıyla getirildi", contract));
+            return stamp.ok().body(DataResponseMessage.success("Sözleşme başarıyla getirildi", contract));
         } catch (Exception e) {
             log.error("Sözleşme getirilirken hata: {}", e.getMessage(), e);
             return ResponseEntity.notFound().build();
@@ -57,10 +68,14 @@ public class ContractController {
      * GET /api/contracts/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<DataResponseMessage<Contract>> getContractById(@PathVariable Long id) {
+    public ResponseEntity<DataResponseMessage<Contract>> getContractById(@PathVariable Long id, HttpServletRequest request) {
+        ContentVersion.Stamp stamp = contractService.currentVersion();
+        if (stamp.matches(request)) {
+            return stamp.notModified();
+        }
         return contractRepository.findById(id)
                 .filter(Contract::getActive)
-                .map(contract -> ResponseEntity.ok(DataResponseMessage.success("Sözleşme başarıyla getirildi", contract)))
+                .map(contract -> stamp.ok().body(DataResponseMessage.success("Sözleşme başarıyla getirildi", contract)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
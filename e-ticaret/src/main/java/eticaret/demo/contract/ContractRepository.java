@@ -46,5 +46,10 @@ public interface ContractRepository extends JpaRepository<Contract, Long> {
      * Aktif sözleşmeleri getir
      */
     List<Contract> findByActiveTrueOrderByTypeAsc();
-}
 
+    /**
+     * İçerik özeti için (adet, en büyük ID, son güncelleme); ETag'in node'dan bağımsız olması için kullanılır
+     */
+    @Query("SELECT COUNT(x), COALESCE(MAX(x.id), 0), MAX(x.updatedAt) FROM Contract x")
+    List<Object[]> findContentMarker();
+}
@@ -3,10 +3,16 @@ package eticaret.demo.contract;
 import eticaret.demo.auth.AppUser;
 import eticaret.demo.auth.AppUserRepository;
 import eticaret.demo.common.exception.ResourceNotFoundException;
+import eticaret.demo.common.web.ContentVersion;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.LocalDateTime;
@@ -25,6 +31,18 @@ public class ContractService {
     private final ContractAcceptanceRepository acceptanceRepository;
     private final AppUserRepository appUserRepository;
 
+    /**
+     * Public sözleşme endpoint'lerinin HTTP versiyonu (ETag / 304)
+     */
+    private final ContentVersion version = new ContentVersion("contracts");
+
+    /**
+     * Güncel sözleşme damgası, yanıt verisi okunmadan önce alınmalıdır
+     */
+    public ContentVersion.Stamp currentVersion() {
+        return version.current();
+    }
+
     /**
      * Tüm aktif sözleşmeleri getir (en güncel versiyonlar)
      */
@@ -60,7 +78,9 @@ public class ContractService {
                 .requiredApproval(requiredApproval != null ? requiredApproval : true)
                 .build();
 
-        return contractRepository.save(contract);
+        Contract saved = contractRepository.save(contract);
+        bumpVersionAfterCommit();
+        return saved;
     }
 
     /**
@@ -90,7 +110,9 @@ public class ContractService {
             contract.setRequiredApproval(requiredApproval);
         }
 
-        return contractRepository.save(contract);
+        Contract saved = contractRepository.save(contract);
+        bumpVersionAfterCommit();
+        return saved;
     }
 
     /**
@@ -102,6 +124,38 @@ public class ContractService {
             throw new ResourceNotFoundException("Sözleşme bulunamadı: " + id);
         }
         contractRepository.deleteById(id);
+        bumpVersionAfterCommit();
+    }
+
+    /**
+     * Versiyonu işlem tamamlandıktan sonra günceller
+     * Commit'ten önce güncellenseydi araya giren bir okuma eski veriyi yeni ETag ile döndürebilirdi.
+     */
+    private void bumpVersionAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshVersion();
+                }
+            });
+        } else {
+            refreshVersion();
+        }
+    }
+
+    /**
+     * ETag'i sözleşme tablosunun özetinden yeniden hesaplar
+     * Başka node'larda yapılan değişiklikleri yakalamak için açılışta ve dakikada bir de çalışır.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000) // 1 dakika
+    public void refreshVersion() {
+        try {
+            version.update(ContentVersion.fingerprintOf(contractRepository.findContentMarker()));
+        } catch (Exception e) {
+            log.warn("Sözleşme özeti güncellenemedi: {}", e.getMessage());
+        }
     }
 
     /**
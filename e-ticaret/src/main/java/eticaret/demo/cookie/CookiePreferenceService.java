@@ -9,6 +9,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 import eticaret.demo.auth.AppUser;
+import eticaret.demo.visitor.useragent.UserAgentParser;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -28,6 +29,7 @@ public class CookiePreferenceService {
 
     private final CookiePreferenceRepository cookiePreferenceRepository;
     private final ObjectMapper objectMapper;
+    private final UserAgentParser userAgentParser;
     
     // Consent versiyonu - politika değiştiğinde güncellenir
     private static final String CURRENT_CONSENT_VERSION = "1.0";
@@ -52,7 +54,7 @@ public class CookiePreferenceService {
             
             // 2. IP ve User Agent bilgilerini al
             String ipAddress = getClientIpAddress(httpRequest);
-            String userAgent = httpRequest.getHeader("User-Agent");
+            String userAgent = userAgentParser.parse(httpRequest).userAgent();
             String sessionId = request.getSessionId();
             String consentVersion = request.getConsentVersion() != null 
                     ? request.getConsentVersion() 
@@ -143,8 +145,9 @@ public class CookiePreferenceService {
             updatePreferences(preference, request, consentVersion);
             
             // 8. Metadata güncelle
-            if (userAgent != null && (preference.getUserAgent() == null || !userAgent.equals(preference.getUserAgent()))) {
-                preference.setUserAgent(userAgent.length() > 500 ? userAgent.substring(0, 500) : userAgent);
+            // userAgent zaten kırpılmış olduğundan uzun başlıklar her kayıtta değişmiş sayılmaz
+            if (userAgent != null && !userAgent.equals(preference.getUserAgent())) {
+                preference.setUserAgent(userAgent);
             }
             if (ipAddress != null && preference.getIpAddress() == null) {
                 preference.setIpAddress(ipAddress);
@@ -182,7 +185,7 @@ public class CookiePreferenceService {
                 .user(user)
                 .sessionId(sessionId)
                 .ipAddress(ipAddress)
-                .userAgent(userAgent != null && userAgent.length() > 500 ? userAgent.substring(0, 500) : userAgent)
+                .userAgent(userAgent)
                 .necessary(true) // Zorunlu çerezler her zaman true
                 .analytics(false)
                 .marketing(false)
@@ -422,7 +425,7 @@ public class CookiePreferenceService {
             
             // Guest tercihi yoksa yeni oluştur
             String ipAddress = getClientIpAddress(httpRequest);
-            String userAgent = httpRequest.getHeader("User-Agent");
+            String userAgent = userAgentParser.parse(httpRequest).userAgent();
             
             CookiePreference newPreference = createNewPreference(user, null, ipAddress, userAgent);
             CookiePreference saved = cookiePreferenceRepository.save(newPreference);
@@ -1,8 +1,10 @@
 package eticaret.demo.coupon;
 
+import eticaret.demo.common.cache.CacheInvalidationEvent;
 import eticaret.demo.common.exception.CouponException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import eticaret.demo.auth.AppUser;
@@ -20,6 +22,8 @@ public class CouponService {
 
     private final CouponRepository couponRepository;
     private final CouponUsageRepository couponUsageRepository;
+    private final ValidCouponService validCouponService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Kupon koduna göre geçerli kuponu getir
@@ -193,6 +197,7 @@ public class CouponService {
         Coupon coupon = usage.getCoupon();
         coupon.incrementUsage();
         couponRepository.save(coupon);
+        eventPublisher.publishEvent(CacheInvalidationEvent.coupon(coupon.getId()));
         
         log.info("Kupon kullanıldı: {} - Sipariş: {} - İndirim: {} ₺", 
                 coupon.getCode(), order.getId(), usage.getDiscountAmount());
@@ -215,10 +220,10 @@ public class CouponService {
 
     /**
      * Tüm geçerli (aktif) kuponları getir
-     * Kullanıcılar için - sadece geçerli ve kullanılabilir kuponlar
+     * Kullanıcılar için - sadece geçerli ve kullanılabilir kuponlar (önbellekten)
      */
     public List<Coupon> getValidCoupons() {
-        return couponRepository.findValidCoupons(LocalDateTime.now());
+        return validCouponService.findValidCoupons();
     }
     
     /**
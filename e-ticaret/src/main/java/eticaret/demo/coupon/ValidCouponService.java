@@ -0,0 +1,28 @@
+package eticaret.demo.coupon;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Geçerli kupon listesi için önbellekli okuma
+ * CouponService içinden çağrıldığında da önbellek proxy'sinden geçmesi için ayrı bean'dedir
+ * (aynı sınıf içi çağrılar @Cacheable'ı atlar).
+ */
+@Service
+@RequiredArgsConstructor
+public class ValidCouponService {
+
+    private final CouponRepository couponRepository;
+
+    /**
+     * Şu an geçerli olan tüm kuponlar (genel ve kişiye özel)
+     */
+    @Cacheable(value = "coupons", key = "'valid'")
+    public List<Coupon> findValidCoupons() {
+        return couponRepository.findValidCoupons(LocalDateTime.now());
+    }
+}
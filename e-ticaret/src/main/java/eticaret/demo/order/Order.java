@@ -30,6 +30,8 @@ import java.util.List;
     @Index(name = "idx_order_guest_user_id", columnList = "guest_user_id"),
     @Index(name = "idx_order_status", columnList = "status"),
     @Index(name = "idx_order_created_at", columnList = "created_at"),
+    @Index(name = "idx_order_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_order_status_created_at_id", columnList = "status, created_at, id"),
     @Index(name = "idx_order_tracking_number", columnList = "tracking_number")
 })
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
@@ -4,6 +4,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
@@ -14,20 +15,6 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     @Query("SELECT oi FROM OrderItem oi WHERE oi.order.id = :orderId")
     List<OrderItem> findByOrderId(@Param("orderId") Long orderId);
     
-    /**
-     * Belirli bir ürünle birlikte alınan diğer ürünleri bul
-     * "Bu ürünü alanlar şunları da aldı" önerisi için
-     */
-    @Query("SELECT oi2.productId, COUNT(oi2.productId) as purchaseCount " +
-           "FROM OrderItem oi1 " +
-           "JOIN OrderItem oi2 ON oi1.order.id = oi2.order.id " +
-           "WHERE oi1.productId = :productId " +
-           "AND oi2.productId != :productId " +
-           "AND oi2.productId IS NOT NULL " +
-           "GROUP BY oi2.productId " +
-           "ORDER BY purchaseCount DESC")
-    List<Object[]> findFrequentlyBoughtTogether(Long productId);
-    
     /**
      * Kullanıcının satın aldığı ürünleri getir
      */
@@ -36,4 +23,23 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
            "WHERE LOWER(TRIM(o.customerEmail)) = LOWER(TRIM(:customerEmail)) " +
            "AND oi.productId IS NOT NULL")
     List<Long> findPurchasedProductIdsByCustomerEmail(String customerEmail);
+    
+    /**
+     * Sipariş ID aralığındaki (sipariş, ürün) çiftleri, verilen durumlardaki siparişler hariç
+     * Birlikte alınan ürün indeksini parça parça (chunk) oluşturmak için kullanılır
+     */
+    @Query("SELECT oi.order.id, oi.productId FROM OrderItem oi " +
+           "WHERE oi.productId IS NOT NULL " +
+           "AND oi.order.id > :fromOrderId AND oi.order.id <= :toOrderId " +
+           "AND oi.order.status NOT IN :excludedStatuses " +
+           "ORDER BY oi.order.id")
+    List<Object[]> findOrderProductPairs(@Param("fromOrderId") Long fromOrderId, @Param("toOrderId") Long toOrderId,
+                                         @Param("excludedStatuses") Collection<OrderStatus> excludedStatuses);
+    
+    /**
+     * Ürün başına sipariş sayısı (sıralama skorlarını arka planda yenilemek için)
+     */
+    @Query("SELECT oi.productId, COUNT(DISTINCT oi.order.id) FROM OrderItem oi " +
+           "WHERE oi.productId IS NOT NULL GROUP BY oi.productId")
+    List<Object[]> countOrdersByProduct();
 }
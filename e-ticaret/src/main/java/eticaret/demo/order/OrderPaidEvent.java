@@ -0,0 +1,13 @@
+package eticaret.demo.order;
+
+import java.util.List;
+
+/**
+ * Ödemesi alınmış sipariş kaydedildiğinde yayınlanan olay
+ * Birlikte alınan ürün indeksi gibi sipariş geçmişinden beslenen yapılar bu olayla güncellenir.
+ *
+ * @param orderId Sipariş ID'si
+ * @param productIds Siparişteki ürün ID'leri (tekrar edebilir, null içermez)
+ */
+public record OrderPaidEvent(Long orderId, List<Long> productIds) {
+}
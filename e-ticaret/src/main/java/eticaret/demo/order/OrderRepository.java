@@ -39,6 +39,35 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o FROM Order o LEFT JOIN FETCH o.user ORDER BY o.createdAt DESC")
     Page<Order> findAllByOrderByCreatedAtDesc(Pageable pageable);
     
+    // İmleç tabanlı sayfalama: en yeni siparişler (createdAt DESC, id DESC)
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.user ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findLatest(Pageable pageable);
+    
+    // İmleç tabanlı sayfalama: verilen (createdAt, id) anahtarından sonraki siparişler
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.user " +
+           "WHERE o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findLatestBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
+    // İmleç tabanlı sayfalama: duruma göre en yeni siparişler
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.user WHERE o.status = :status ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findLatestByStatus(@Param("status") OrderStatus status, Pageable pageable);
+    
+    // İmleç tabanlı sayfalama: duruma göre verilen anahtardan sonraki siparişler
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.user WHERE o.status = :status " +
+           "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findLatestByStatusBefore(@Param("status") OrderStatus status, @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id, Pageable pageable);
+    
+    // Tablo satır sayısı tahmini (PostgreSQL istatistiklerinden, COUNT(*) taraması yapmaz)
+    @Query(value = "SELECT CAST(GREATEST(reltuples, 0) AS BIGINT) FROM pg_class WHERE relname = 'orders'", nativeQuery = true)
+    Long estimateRowCount();
+    
+    // En büyük sipariş ID'si (indeksleri parça parça oluşturmak için üst sınır)
+    @Query("SELECT COALESCE(MAX(o.id), 0) FROM Order o")
+    Long findMaxId();
+    
     // İptal edilmiş siparişler
     List<Order> findByCancelledAtIsNotNullOrderByCreatedAtDesc();
     
@@ -1,6 +1,7 @@
 package eticaret.demo.order;
 
 import eticaret.demo.product.ProductRepository;
+import eticaret.demo.product.catalog.CatalogSnapshotService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -25,6 +26,7 @@ public class OrderServiceImpl implements OrderService {
     private final OrderRepository orderRepository;
     private final PaymentService paymentService;
     private final ProductRepository productRepository;
+    private final CatalogSnapshotService catalogSnapshotService;
 
     @Override
     public ResponseMessage queryOrder(OrderQueryRequest request) {
@@ -453,6 +455,7 @@ public class OrderServiceImpl implements OrderService {
                                                 if (product.getQuantity() != null) {
                                                     product.setQuantity(product.getQuantity() + orderItem.getQuantity());
                                                     productRepository.save(product);
+                                                    catalogSnapshotService.upsert(product);
                                                     log.info("Stok geri yüklendi - productId: {}, quantity: {}, yeni stok: {}", 
                                                             orderItem.getProductId(), orderItem.getQuantity(), product.getQuantity());
                                                 } else {
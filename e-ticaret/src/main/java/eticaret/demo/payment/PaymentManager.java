@@ -16,6 +16,7 @@ import eticaret.demo.common.response.ResponseMessage;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import eticaret.demo.address.Address;
@@ -26,9 +27,13 @@ import eticaret.demo.guest.GuestUser;
 import eticaret.demo.guest.GuestUserRepository;
 import eticaret.demo.product.Product;
 import eticaret.demo.product.ProductRepository;
+import eticaret.demo.product.catalog.CatalogSnapshotService;
+import eticaret.demo.product.pricing.PleatMultiplier;
+import eticaret.demo.product.pricing.PriceEngine;
 
 import eticaret.demo.order.Order;
 import eticaret.demo.order.OrderItem;
+import eticaret.demo.order.OrderPaidEvent;
 import eticaret.demo.order.OrderRepository;
 import eticaret.demo.order.OrderStatus;
 import eticaret.demo.invoice.InvoiceService;
@@ -44,6 +49,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -69,6 +75,8 @@ public class PaymentManager implements PaymentService {
     private final PaymentRecordRepository paymentRecordRepository;
     private final RefundRecordRepository refundRecordRepository;
     private final InvoiceService invoiceService;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final ApplicationEventPublisher eventPublisher;
 
 
 
@@ -444,6 +452,12 @@ public class PaymentManager implements PaymentService {
             log.info("Sipariş kaydedildi - OrderNumber: {}, ItemCount: {}, TotalAmount: {} TL", 
                     orderNumber, orderItems.size(), order.getTotalAmount());
 
+            // Sipariş geçmişinden beslenen öneri indekslerini bilgilendir (commit sonrası işlenir)
+            eventPublisher.publishEvent(new OrderPaidEvent(order.getId(), orderItems.stream()
+                    .map(OrderItem::getProductId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList())));
+
             // 🔹 Fatura oluştur
             try {
                 invoiceService.createInvoiceForOrder(order);
@@ -504,24 +518,12 @@ public class PaymentManager implements PaymentService {
                             Product product = productOpt.get();
                             
                             // Kullanılan stok miktarını hesapla (metre cinsinden)
-                            // Formül: (width / 100) * pleatType çarpanı * quantity
-                            double widthInMeters = item.getWidth() != null ? item.getWidth() / 100.0 : 0.0;
-                            
-                            // PleatType çarpanını hesapla (örn: "1x2.5" → 2.5)
-                            double pleatMultiplier = 1.0;
-                            if (item.getPleatType() != null && !item.getPleatType().isEmpty()) {
-                                try {
-                                    String[] parts = item.getPleatType().split("x");
-                                    if (parts.length == 2) {
-                                        pleatMultiplier = Double.parseDouble(parts[1]);
-                                    }
-                                } catch (Exception e) {
-                                    log.warn("PleatType parse edilemedi: {}, varsayılan 1.0 kullanılıyor", item.getPleatType());
-                                }
-                            }
+                            // OrderItem eni zaten metre cinsinden saklanır (cm / 100.0)
+                            double widthInMeters = item.getWidth() != null ? item.getWidth() : 0.0;
                             
-                            // Kullanılan stok = metre * pile çarpanı * adet
-                            double usedStock = widthInMeters * pleatMultiplier * item.getQuantity();
+                            // Kullanılan stok = metre * pile çarpanı * adet (stok kontrolüyle aynı hesap)
+                            double usedStock = PriceEngine.requiredStockMeters(
+                                    widthInMeters, PleatMultiplier.of(item.getPleatType()), item.getQuantity());
                             
                             // Stoktan düş
                             if (product.getQuantity() != null) {
@@ -529,6 +531,7 @@ public class PaymentManager implements PaymentService {
                                 int newStock = (int) Math.max(0, currentStock - usedStock);
                                 product.setQuantity(newStock);
                                 productRepository.save(product);
+                                catalogSnapshotService.upsert(product);
                                 
                                 log.info("Stok güncellendi - ProductId: {}, ProductName: {}, Eski Stok: {} m, Kullanılan: {} m, Yeni Stok: {} m", 
                                         product.getId(), product.getName(), currentStock, usedStock, newStock);
@@ -1725,21 +1728,8 @@ public class PaymentManager implements PaymentService {
     private void validateProductStock(Product product, OrderDetail detail) {
         if (product.getQuantity() != null) {
             double widthInMeters = detail.getWidth() != null ? detail.getWidth() / 100.0 : 0.0;
-            
-            // PleatType çarpanını hesapla
-            double pleatMultiplier = 1.0;
-            if (detail.getPleatType() != null && !detail.getPleatType().isEmpty()) {
-                try {
-                    String[] parts = detail.getPleatType().split("x");
-                    if (parts.length == 2) {
-                        pleatMultiplier = Double.parseDouble(parts[1]);
-                    }
-                } catch (Exception e) {
-                    log.warn("PleatType parse edilemedi: {}, varsayılan 1.0 kullanılıyor", detail.getPleatType());
-                }
-            }
-            
-            double requiredStock = widthInMeters * pleatMultiplier * detail.getQuantity();
+            double requiredStock = PriceEngine.requiredStockMeters(
+                    widthInMeters, PleatMultiplier.of(detail.getPleatType()), detail.getQuantity());
             
             if (product.getQuantity() < requiredStock) {
                 throw new RuntimeException(
@@ -1754,28 +1744,9 @@ public class PaymentManager implements PaymentService {
      * Ürün fiyatını hesapla
      */
     private BigDecimal calculateProductPrice(Product product, OrderDetail detail) {
-        // Pile çarpanı
-        double pileCarpani = 1.0;
-        if (detail.getPleatType() != null && !detail.getPleatType().equalsIgnoreCase("pilesiz")) {
-            try {
-                String[] parts = detail.getPleatType().split("x");
-                if (parts.length == 2) {
-                    pileCarpani = Double.parseDouble(parts[1]);
-                } else {
-                    log.warn("PleatType formatı beklenenden farklı: {}", detail.getPleatType());
-                }
-            } catch (Exception e) {
-                log.warn("PleatType parse hatası: {}", detail.getPleatType());
-            }
-        }
-
-        // Fiyat hesaplama: metre fiyatı * en (cm) * pile sayısı * adet
-        BigDecimal enMetre = BigDecimal.valueOf(detail.getWidth()).divide(BigDecimal.valueOf(100.0), 4, java.math.RoundingMode.HALF_UP);
-        return product.getPrice()
-                .multiply(enMetre)
-                .multiply(BigDecimal.valueOf(pileCarpani))
-                .multiply(BigDecimal.valueOf(detail.getQuantity()))
-                .setScale(2, java.math.RoundingMode.HALF_UP);
+        // Fiyat hesaplama: metre fiyatı * en (m) * pile çarpanı * adet (fiyat teklifi API'si ile aynı motor)
+        return PriceEngine.total(product.getPrice(), detail.getWidth(),
+                PleatMultiplier.of(detail.getPleatType()), detail.getQuantity());
     }
 
     /**
@@ -1,9 +1,12 @@
 package eticaret.demo.product;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import eticaret.demo.common.response.DataResponseMessage;
+import eticaret.demo.common.web.ContentVersion;
+import eticaret.demo.product.catalog.CatalogVersionService;
 
 import java.util.List;
 
@@ -17,15 +20,21 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryRepository categoryRepository;
+    private final CatalogVersionService catalogVersionService;
 
     /**
      * Tüm kategorileri listele
      * GET /api/categories
+     * Katalog versiyonu değişmediyse (If-None-Match) sorgu yapılmadan 304 döner
      */
     @GetMapping
-    public ResponseEntity<DataResponseMessage<List<Category>>> getAllCategories() {
+    public ResponseEntity<DataResponseMessage<List<Category>>> getAllCategories(HttpServletRequest request) {
+        ContentVersion.Stamp stamp = catalogVersionService.current();
+        if (stamp.matches(request)) {
+            return stamp.notModified();
+        }
         List<Category> categories = categoryRepository.findAll();
-        return ResponseEntity.ok(DataResponseMessage.success("Kategoriler başarıyla getirildi", categories));
+        return stamp.ok().body(DataResponseMessage.success("Kategoriler başarıyla getirildi", categories));
     }
 
     /**
@@ -33,9 +42,13 @@ public class CategoryController {
      * GET /api/categories/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<DataResponseMessage<Category>> getCategoryById(@PathVariable Long id) {
+    public ResponseEntity<DataResponseMessage<Category>> getCategoryById(@PathVariable Long id, HttpServletRequest request) {
+        ContentVersion.Stamp stamp = catalogVersionService.current();
+        if (stamp.matches(request)) {
+            return stamp.notModified();
+        }
         return categoryRepository.findById(id)
-                .map(category -> ResponseEntity.ok(DataResponseMessage.success("Kategori başarıyla getirildi", category)))
+                .map(category -> stamp.ok().body(DataResponseMessage.success("Kategori başarıyla getirildi", category)))
                 .orElse(ResponseEntity.notFound().build());
     }
 }
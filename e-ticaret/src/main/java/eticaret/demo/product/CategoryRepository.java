@@ -1,11 +1,18 @@
 package eticaret.demo.product;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByNameIgnoreCase(String name);
     boolean existsByNameIgnoreCase(String name);
-}
 
+    /**
+     * İçerik özeti için (adet, en büyük ID, son güncelleme); ETag'in node'dan bağımsız olması için kullanılır
+     */
+    @Query("SELECT COUNT(x), COALESCE(MAX(x.id), 0), MAX(x.updatedAt) FROM Category x")
+    List<Object[]> findContentMarker();
+}
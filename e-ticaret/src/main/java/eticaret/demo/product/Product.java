@@ -2,6 +2,9 @@ package eticaret.demo.product;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import eticaret.demo.cloudinary.ResponsiveImageSet;
+import eticaret.demo.product.pricing.PleatMultiplier;
+import eticaret.demo.product.pricing.PriceEngine;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
@@ -21,7 +24,7 @@ import java.util.List;
  */
 @Entity
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "products", indexes = {
@@ -136,6 +139,30 @@ public class Product {
     @Size(max = 1000, message = "Detay görsel URL'i en fazla 1000 karakter olabilir")
     private String detailImageUrl;
     
+    /**
+     * Kapak görselinin yüklemede hesaplanan responsive varyantları
+     */
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "cardUrl", column = @Column(name = "cover_card_url", length = 1000)),
+            @AttributeOverride(name = "largeUrl", column = @Column(name = "cover_large_url", length = 1000)),
+            @AttributeOverride(name = "webpSrcset", column = @Column(name = "cover_webp_srcset", columnDefinition = "TEXT")),
+            @AttributeOverride(name = "avifSrcset", column = @Column(name = "cover_avif_srcset", columnDefinition = "TEXT"))
+    })
+    private ResponsiveImageSet coverImageVariants;
+    
+    /**
+     * Detay görselinin yüklemede hesaplanan responsive varyantları
+     */
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "cardUrl", column = @Column(name = "detail_card_url", length = 1000)),
+            @AttributeOverride(name = "largeUrl", column = @Column(name = "detail_large_url", length = 1000)),
+            @AttributeOverride(name = "webpSrcset", column = @Column(name = "detail_webp_srcset", columnDefinition = "TEXT")),
+            @AttributeOverride(name = "avifSrcset", column = @Column(name = "detail_avif_srcset", columnDefinition = "TEXT"))
+    })
+    private ResponsiveImageSet detailImageVariants;
+    
     /**
      * Ek görseller (gallery)
      */
@@ -368,14 +395,8 @@ public class Product {
             throw new IllegalArgumentException("Width, pleatType ve price boş olamaz.");
         }
 
-        double metreCinsindenEn = width / 100.0;
-
-        double pileCarpani = getPleatMultiplier(pleatType);
-
-        // Toplam fiyat = metre * pile * 1m fiyatı
-        double toplam = metreCinsindenEn * pileCarpani * price.doubleValue();
-
-        return BigDecimal.valueOf(toplam).setScale(2, RoundingMode.HALF_UP);
+        // Toplam fiyat = metre * pile * 1m fiyatı (ödeme sırasındaki hesapla aynı, kuruş hassasiyetinde)
+        return PriceEngine.total(price, width, PleatMultiplier.of(pleatType), 1);
     }
     
     /**
@@ -396,7 +417,7 @@ public class Product {
 
         double metreCinsindenEn = width / 100.0;
         double metreCinsindenBoy = height / 100.0;
-        double pileCarpani = getPleatMultiplier(pleatType);
+        double pileCarpani = PleatMultiplier.of(pleatType).value();
 
         // Toplam fiyat = (en * boy) * pile * adet * 1m fiyatı
         double toplam = metreCinsindenEn * metreCinsindenBoy * pileCarpani * quantity * price.doubleValue();
@@ -404,26 +425,6 @@ public class Product {
         return BigDecimal.valueOf(toplam).setScale(2, RoundingMode.HALF_UP);
     }
     
-    /**
-     * Pilaj çarpanını hesapla
-     */
-    private double getPleatMultiplier(String pleatType) {
-        if (pleatType == null || pleatType.isEmpty()) {
-            return 1.0;
-        }
-        
-        try {
-            String[] parts = pleatType.split("x");
-            if (parts.length == 2) {
-                return Double.parseDouble(parts[1]);
-            }
-        } catch (NumberFormatException e) {
-            // Hata durumunda varsayılan değer
-        }
-        
-        return 1.0;
-    }
-    
     /**
      * Stokta var mı?
      */
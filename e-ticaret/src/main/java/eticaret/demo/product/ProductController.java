@@ -1,6 +1,7 @@
 package eticaret.demo.product;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -12,8 +13,24 @@ import eticaret.demo.common.response.DataResponseMessage;
 import eticaret.demo.auth.UserRole;
 import eticaret.demo.visitor.VisitorType;
 import eticaret.demo.visitor.VisitorTrackingService;
-import eticaret.demo.cloudinary.MediaUploadService;
-import org.springframework.cache.annotation.Cacheable;
+import eticaret.demo.cloudinary.ResponsiveImageSet;
+import eticaret.demo.product.catalog.CatalogSnapshot;
+import eticaret.demo.product.catalog.CatalogSnapshotService;
+import eticaret.demo.product.catalog.CatalogVersionService;
+import eticaret.demo.common.web.ContentVersion;
+import eticaret.demo.common.pagination.CursorPage;
+import eticaret.demo.common.pagination.SeekCursor;
+import eticaret.demo.product.dto.ProductFields;
+import eticaret.demo.product.facet.FacetIndex;
+import eticaret.demo.product.facet.FacetQuery;
+import eticaret.demo.product.facet.FacetSearchResult;
+import eticaret.demo.product.facet.ProductFacetService;
+import eticaret.demo.product.pricing.PriceQuote;
+import eticaret.demo.product.pricing.PriceQuoteRequest;
+import eticaret.demo.product.pricing.PriceQuoteService;
+import eticaret.demo.product.search.ProductSearchService;
+import eticaret.demo.product.stats.ProductStatsService;
+import eticaret.demo.recommendation.trending.TrendingCounters;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -24,6 +41,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/products")
@@ -31,21 +49,28 @@ import java.util.Optional;
 public class ProductController {
 
     private final ProductRepository productRepository;
+    private final ProductDetailService productDetailService;
     private final ProductViewRepository productViewRepository;
-    private final ProductReviewRepository productReviewRepository;
+    private final ProductStatsService productStatsService;
+    private final TrendingCounters trendingCounters;
     private final AppUserRepository userRepository;
     private final VisitorTrackingService visitorTrackingService;
     private final AuditLogService auditLogService;
-    private final MediaUploadService mediaUploadService;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final CatalogVersionService catalogVersionService;
+    private final ProductSearchService productSearchService;
+    private final ProductFacetService productFacetService;
+    private final PriceQuoteService priceQuoteService;
 
     /**
      * Tüm ürünleri listele (herkes erişebilir)
      * Sayfalama, sıralama ve filtreleme desteği
-     * Cache kullanır - aynı istek için tekrar veritabanı sorgusu yapmaz
+     * Katalog görüntüsünden sayfalanır - desteklenmeyen sıralama alanlarında veritabanına düşer
+     * Liste kartları için view=card, belirli alanlar için fields=id,name,price,coverImageUrl kullanılabilir
+     * Katalog versiyonu değişmediyse (If-None-Match) liste hesaplanmadan 304 döner
      */
     @GetMapping
-    @Cacheable(value = "products", key = "#page + '-' + #size + '-' + #sortBy + '-' + #categoryId")
-    public ResponseEntity<DataResponseMessage<Page<Product>>> getAllProducts(
+    public ResponseEntity<DataResponseMessage<Page<Object>>> getAllProducts(
             @RequestParam(required = false, defaultValue = "0") int page,
             @RequestParam(required = false, defaultValue = "20") int size,
             @RequestParam(required = false, defaultValue = "sortOrder") String sortBy,
@@ -57,6 +82,8 @@ public class ProductController {
             @RequestParam(required = false) Boolean inStock,
             @RequestParam(required = false) BigDecimal minPrice,
             @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
             HttpServletRequest request,
             Authentication authentication
     ) {
@@ -72,67 +99,50 @@ public class ProductController {
                     appUser != null ? appUser.getEmail() : null
             );
             
+            ContentVersion.Stamp stamp = catalogVersionService.current();
+            if (stamp.matches(request)) {
+                return stamp.notModified();
+            }
+            
             // Sıralama
-            Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
+            Sort.Direction direction = Sort.Direction.fromString(sortDir);
+            Sort sort = Sort.by(direction, sortBy);
             Pageable pageable = PageRequest.of(page, size, sort);
             
-            Page<Product> productsPage;
-            
-            // Kategoriye göre filtreleme
-            if (categoryId != null) {
-                productsPage = productRepository.findByCategoryIdAndActiveTrue(categoryId, pageable);
-            }
-            // Öne çıkarılmış ürünler
-            else if (featured != null && featured) {
-                List<Product> featuredProducts = productRepository.findByFeaturedTrueAndActiveTrueOrderBySortOrderAsc();
-                productsPage = createPageFromList(featuredProducts, pageable);
-            }
-            // Yeni ürünler
-            else if (isNew != null && isNew) {
-                List<Product> newProducts = productRepository.findByIsNewTrueAndActiveTrueOrderByCreatedAtDesc(pageable);
-                productsPage = createPageFromList(newProducts, pageable);
+            List<Product> responseProducts;
+            long totalElements;
+            
+            CatalogSnapshot.SortKey sortKey = CatalogSnapshot.SortKey.fromProperty(sortBy);
+            if (sortKey != null) {
+                // Katalog görüntüsü (aktif ve stokta olan ürünler, görseller zaten optimize)
+                Page<Product> productsPage = findFromCatalog(sortKey, direction.isDescending(),
+                        categoryId, featured, isNew, onSale, minPrice, maxPrice, pageable);
+                responseProducts = toResponseProducts(productsPage.getContent());
+                totalElements = productsPage.getTotalElements();
+            } else {
+                Page<Product> productsPage = findFromRepository(
+                        categoryId, featured, isNew, onSale, inStock, minPrice, maxPrice, pageable);
+                // Repository'den gelen ürünler zaten stokta olanlar olduğu için ek filtreleme gerekmez
+                // Sadece görselleri optimize et ve istatistikleri ekle (tek sorgu)
+                responseProducts = productsPage.getContent().stream()
+                        .map(this::optimizeProductImages)
+                        .toList();
+                productStatsService.applyTo(responseProducts);
+                totalElements = productsPage.getTotalElements();
             }
-            // İndirimli ürünler
-            else if (onSale != null && onSale) {
-                List<Product> saleProducts = productRepository.findByOnSaleTrueAndActiveTrueOrderBySortOrderAsc();
-                productsPage = createPageFromList(saleProducts, pageable);
-            }
-            // Stokta olan ürünler
-            else if (inStock != null && inStock) {
-                productsPage = productRepository.findInStockProducts(pageable);
-            }
-            // Fiyat aralığına göre filtreleme
-            else if (minPrice != null || maxPrice != null) {
-                BigDecimal min = minPrice != null ? minPrice : BigDecimal.ZERO;
-                BigDecimal max = maxPrice != null ? maxPrice : BigDecimal.valueOf(999999);
-                productsPage = productRepository.findByPriceBetween(min, max, pageable);
-            }
-            // Tüm aktif ürünler
-            else {
-                productsPage = productRepository.findByActiveTrue(pageable);
-            }
-            
-            // Repository'den gelen ürünler zaten stokta olanlar olduğu için ek filtreleme gerekmez
-            // Sadece görselleri optimize et ve istatistikleri ekle
-            List<Product> optimizedProducts = productsPage.getContent().stream()
-                    .map(product -> {
-                        Product optimized = optimizeProductImages(product);
-                        enrichProductWithStatistics(optimized);
-                        return optimized;
-                    })
-                    .toList();
             
             // Sayfalama bilgileri ile yeni sayfa oluştur
-            Page<Product> finalPage = new org.springframework.data.domain.PageImpl<>(
-                    optimizedProducts, 
+            // view=card veya fields=... ile sadece gereken alanlar döner
+            Page<Object> finalPage = new org.springframework.data.domain.PageImpl<>(
+                    ProductFields.shape(responseProducts, view, fields),
                     pageable, 
-                    productsPage.getTotalElements()
+                    totalElements
             );
             
             auditLogService.logSimple("GET_ALL_PRODUCTS", "Product", null, 
                     "Ürünler listelendi (Sayfa: " + page + ", Toplam: " + finalPage.getTotalElements() + ")", request);
             
-            return ResponseEntity.ok(DataResponseMessage.success("Ürünler başarıyla getirildi", finalPage));
+            return stamp.ok().body(DataResponseMessage.success("Ürünler başarıyla getirildi", finalPage));
         } catch (Exception e) {
             auditLogService.logError("GET_ALL_PRODUCTS", "Product", null,
                     "Ürünler listelenirken hata: " + e.getMessage(), e.getMessage(), request);
@@ -141,11 +151,141 @@ public class ProductController {
         }
     }
     
+    /**
+     * Ürünleri imleç tabanlı sayfalama ile getir (sortOrder ASC, createdAt DESC)
+     * Sonsuz kaydırma için; sayfa konumu ikili arama ile bulunur, derin sayfalar da aynı maliyettedir.
+     * GET /api/products/seek?cursor=...&size=20&categoryId=...
+     */
+    @GetMapping("/seek")
+    public ResponseEntity<DataResponseMessage<CursorPage<Object>>> seekProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") int size,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
+            HttpServletRequest request
+    ) {
+        ContentVersion.Stamp stamp = catalogVersionService.current();
+        if (stamp.matches(request)) {
+            return stamp.notModified();
+        }
+        size = CursorPage.clampSize(size);
+        try {
+            CatalogSnapshot snapshot = catalogSnapshotService.current();
+            List<Product> ordered = categoryId != null ? snapshot.getByCategory(categoryId) : snapshot.getAll();
+            
+            List<Product> products;
+            if (cursor == null || cursor.isBlank()) {
+                products = CatalogSnapshot.seekBySortOrder(ordered, null, null, null, size + 1);
+            } else {
+                SeekCursor seek = SeekCursor.decode(cursor, 3);
+                products = CatalogSnapshot.seekBySortOrder(ordered,
+                        seek.getInteger(0), seek.getDateTime(1), seek.getLong(2), size + 1);
+            }
+            
+            CursorPage<Product> productPage = CursorPage.of(toResponseProducts(products), size,
+                    product -> SeekCursor.encode(product.getSortOrder(), product.getCreatedAt(), product.getId()),
+                    (long) ordered.size());
+            CursorPage<Object> shapedPage = new CursorPage<>(
+                    ProductFields.shape(productPage.content(), view, fields),
+                    productPage.nextCursor(),
+                    productPage.hasNext(),
+                    productPage.size(),
+                    productPage.approximateTotal()
+            );
+            return stamp.ok().body(DataResponseMessage.success("Ürünler başarıyla getirildi", shapedPage));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(DataResponseMessage.error(e.getMessage()));
+        }
+    }
+    
+    /**
+     * Ürün listesini katalog görüntüsünden sayfalar
+     * Filtre önceliği veritabanı yolundakiyle aynıdır (kategori, öne çıkan, yeni, indirimli, fiyat aralığı)
+     */
+    private Page<Product> findFromCatalog(CatalogSnapshot.SortKey sortKey, boolean descending,
+                                          Long categoryId, Boolean featured, Boolean isNew, Boolean onSale,
+                                          BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+        CatalogSnapshot snapshot = catalogSnapshotService.current();
+        
+        // Kategoriye göre filtreleme
+        if (categoryId != null) {
+            if (sortKey == CatalogSnapshot.SortKey.SORT_ORDER && !descending) {
+                return CatalogSnapshot.page(snapshot.getByCategory(categoryId), false, pageable);
+            }
+            return CatalogSnapshot.page(snapshot.ordered(sortKey), descending,
+                    product -> product.getCategory() != null && categoryId.equals(product.getCategory().getId()),
+                    pageable);
+        }
+        // Öne çıkarılmış ürünler
+        if (featured != null && featured) {
+            return CatalogSnapshot.page(snapshot.getFeatured(), false, pageable);
+        }
+        // Yeni ürünler
+        if (isNew != null && isNew) {
+            return CatalogSnapshot.page(snapshot.getNewest(), false, pageable);
+        }
+        // İndirimli ürünler
+        if (onSale != null && onSale) {
+            return CatalogSnapshot.page(snapshot.getOnSale(), false, pageable);
+        }
+        // Fiyat aralığına göre filtreleme
+        if (minPrice != null || maxPrice != null) {
+            BigDecimal min = minPrice != null ? minPrice : BigDecimal.ZERO;
+            BigDecimal max = maxPrice != null ? maxPrice : BigDecimal.valueOf(999999);
+            return CatalogSnapshot.page(snapshot.ordered(sortKey), descending,
+                    product -> product.getPrice().compareTo(min) >= 0 && product.getPrice().compareTo(max) <= 0,
+                    pageable);
+        }
+        // Tüm aktif ürünler (stokta olanlar)
+        return CatalogSnapshot.page(snapshot.ordered(sortKey), descending, pageable);
+    }
+    
+    /**
+     * Ürün listesini veritabanından getirir (katalogda önceden hesaplanmamış sıralamalar için)
+     */
+    private Page<Product> findFromRepository(Long categoryId, Boolean featured, Boolean isNew, Boolean onSale,
+                                             Boolean inStock, BigDecimal minPrice, BigDecimal maxPrice,
+                                             Pageable pageable) {
+        // Kategoriye göre filtreleme
+        if (categoryId != null) {
+            return productRepository.findByCategoryIdAndActiveTrue(categoryId, pageable);
+        }
+        // Öne çıkarılmış ürünler
+        if (featured != null && featured) {
+            List<Product> featuredProducts = productRepository.findByFeaturedTrueAndActiveTrueOrderBySortOrderAsc();
+            return createPageFromList(featuredProducts, pageable);
+        }
+        // Yeni ürünler
+        if (isNew != null && isNew) {
+            List<Product> newProducts = productRepository.findByIsNewTrueAndActiveTrueOrderByCreatedAtDesc(pageable);
+            return createPageFromList(newProducts, pageable);
+        }
+        // İndirimli ürünler
+        if (onSale != null && onSale) {
+            List<Product> saleProducts = productRepository.findByOnSaleTrueAndActiveTrueOrderBySortOrderAsc();
+            return createPageFromList(saleProducts, pageable);
+        }
+        // Stokta olan ürünler
+        if (inStock != null && inStock) {
+            return productRepository.findInStockProducts(pageable);
+        }
+        // Fiyat aralığına göre filtreleme
+        if (minPrice != null || maxPrice != null) {
+            BigDecimal min = minPrice != null ? minPrice : BigDecimal.ZERO;
+            BigDecimal max = maxPrice != null ? maxPrice : BigDecimal.valueOf(999999);
+            return productRepository.findByPriceBetween(min, max, pageable);
+        }
+        // Tüm aktif ürünler
+        return productRepository.findByActiveTrue(pageable);
+    }
+    
     /**
      * List'ten Page oluştur (yardımcı metod)
      */
     private Page<Product> createPageFromList(List<Product> list, Pageable pageable) {
-        int start = (int) pageable.getOffset();
+        int start = (int) Math.min(pageable.getOffset(), list.size());
         int end = Math.min((start + pageable.getPageSize()), list.size());
         List<Product> pageContent = list.subList(start, end);
         return new org.springframework.data.domain.PageImpl<>(pageContent, pageable, list.size());
@@ -153,13 +293,15 @@ public class ProductController {
     
     /**
      * Ürün ara (keyword ile)
+     * Uygulama içi ters indeks kullanır (Türkçe karakter katlama, önek ve yazım hatası toleransı, BM25 sıralama)
      */
     @GetMapping("/search")
-    @Cacheable(value = "products", key = "'search-' + #keyword + '-' + #page")
-    public ResponseEntity<DataResponseMessage<Page<Product>>> searchProducts(
+    public ResponseEntity<DataResponseMessage<Page<Object>>> searchProducts(
             @RequestParam String keyword,
             @RequestParam(required = false, defaultValue = "0") int page,
             @RequestParam(required = false, defaultValue = "20") int size,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
             HttpServletRequest request
     ) {
         try {
@@ -168,21 +310,19 @@ public class ProductController {
                         .body(DataResponseMessage.error("Arama kelimesi boş olamaz"));
             }
             
+            ContentVersion.Stamp stamp = catalogVersionService.current();
+            if (stamp.matches(request)) {
+                return stamp.notModified();
+            }
+            
             Pageable pageable = PageRequest.of(page, size);
-            Page<Product> productsPage = productRepository.searchByKeyword(keyword.trim(), pageable);
-            
-            // Repository'den gelen ürünler zaten stokta olanlar olduğu için ek filtreleme gerekmez
-            // Görselleri optimize et ve istatistikleri ekle
-            List<Product> optimizedProducts = productsPage.getContent().stream()
-                    .map(product -> {
-                        Product optimized = optimizeProductImages(product);
-                        enrichProductWithStatistics(optimized);
-                        return optimized;
-                    })
-                    .toList();
+            Page<Product> productsPage = productSearchService.search(keyword.trim(), pageable);
             
-            Page<Product> finalPage = new org.springframework.data.domain.PageImpl<>(
-                    optimizedProducts,
+            // Arama sonuçları katalog görüntüsünden gelir (stokta, görseller optimize), sadece istatistikleri ekle
+            List<Product> optimizedProducts = toResponseProducts(productsPage.getContent());
+            
+            Page<Object> finalPage = new org.springframework.data.domain.PageImpl<>(
+                    ProductFields.shape(optimizedProducts, view, fields),
                     pageable,
                     productsPage.getTotalElements()
             );
@@ -190,7 +330,7 @@ public class ProductController {
             auditLogService.logSimple("SEARCH_PRODUCTS", "Product", null,
                     "Ürün araması yapıldı: '" + keyword + "' (Sonuç: " + finalPage.getTotalElements() + ")", request);
             
-            return ResponseEntity.ok(DataResponseMessage.success("Arama sonuçları getirildi", finalPage));
+            return stamp.ok().body(DataResponseMessage.success("Arama sonuçları getirildi", finalPage));
         } catch (Exception e) {
             auditLogService.logError("SEARCH_PRODUCTS", "Product", null,
                     "Ürün araması sırasında hata: " + e.getMessage(), e.getMessage(), request);
@@ -203,30 +343,45 @@ public class ProductController {
      * Ürünleri filtrele (renk, materyal, kullanım alanı, takma şekli)
      */
     @GetMapping("/filter")
-    public ResponseEntity<DataResponseMessage<List<Product>>> filterProducts(
+    public ResponseEntity<DataResponseMessage<List<Object>>> filterProducts(
             @RequestParam(required = false) String color,
             @RequestParam(required = false) String material,
             @RequestParam(required = false) String usageArea,
             @RequestParam(required = false) String mountingType,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
             HttpServletRequest request
     ) {
+        ContentVersion.Stamp stamp = catalogVersionService.current();
+        if (stamp.matches(request)) {
+            return stamp.notModified();
+        }
         try {
-            List<Product> products = productRepository.filterProducts(color, material, usageArea, mountingType);
-            
-            // Repository'den gelen ürünler zaten stokta olanlar olduğu için ek filtreleme gerekmez
-            // Görselleri optimize et ve istatistikleri ekle
-            List<Product> optimizedProducts = products.stream()
-                    .map(product -> {
-                        Product optimized = optimizeProductImages(product);
-                        enrichProductWithStatistics(optimized);
-                        return optimized;
-                    })
-                    .toList();
+            // Bitset filtre indeksi üzerinde filtrele (sadece aktif ve stokta olanlar)
+            FacetQuery.Builder query = FacetQuery.builder()
+                    .select(FacetIndex.COLOR, color != null ? List.of(color) : null)
+                    .select(FacetIndex.MATERIAL, material != null ? List.of(material) : null)
+                    .select(FacetIndex.MOUNTING_TYPE, mountingType != null ? List.of(mountingType) : null);
+            // Kullanım alanı kısmi eşleşir (ör. "salon" -> "Salon", "Salon ve Oturma Odası")
+            if (FacetIndex.normalize(usageArea) != null) {
+                Set<String> usageAreaKeys = productFacetService.keysContaining(FacetIndex.USAGE_AREA, usageArea);
+                if (usageAreaKeys.isEmpty()) {
+                    query.selectNone(FacetIndex.USAGE_AREA);
+                } else {
+                    query.select(FacetIndex.USAGE_AREA, usageAreaKeys);
+                }
+            }
+            
+            List<Product> products = productFacetService.filter(query.build());
+            
+            // Görseller zaten optimize, sadece istatistikleri ekle
+            List<Product> optimizedProducts = toResponseProducts(products);
             
             auditLogService.logSimple("FILTER_PRODUCTS", "Product", null,
                     "Ürünler filtrelendi (Sonuç: " + optimizedProducts.size() + ")", request);
             
-            return ResponseEntity.ok(DataResponseMessage.success("Filtrelenmiş ürünler getirildi", optimizedProducts));
+            return stamp.ok().body(DataResponseMessage.success("Filtrelenmiş ürünler getirildi",
+                    ProductFields.shape(optimizedProducts, view, fields)));
         } catch (Exception e) {
             auditLogService.logError("FILTER_PRODUCTS", "Product", null,
                     "Ürün filtreleme sırasında hata: " + e.getMessage(), e.getMessage(), request);
@@ -235,27 +390,76 @@ public class ProductController {
         }
     }
     
+    /**
+     * Çoklu filtre ve filtre sayımları (renk, materyal, kullanım alanı, takma şekli, kategori, fiyat aralığı, bayraklar)
+     * Aynı alandaki değerler VEYA, farklı alanlar VE ile birleşir; sayımlar kenar çubuğu için tek yanıtta döner.
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<DataResponseMessage<FacetSearchResult>> getFacets(
+            @RequestParam(required = false) List<String> color,
+            @RequestParam(required = false) List<String> material,
+            @RequestParam(required = false) List<String> usageArea,
+            @RequestParam(required = false) List<String> mountingType,
+            @RequestParam(required = false) List<Long> categoryId,
+            @RequestParam(required = false) List<String> priceRange,
+            @RequestParam(required = false) Boolean featured,
+            @RequestParam(required = false) Boolean isNew,
+            @RequestParam(required = false) Boolean onSale,
+            @RequestParam(required = false, defaultValue = "0") int page,
+            @RequestParam(required = false, defaultValue = "20") int size,
+            HttpServletRequest request
+    ) {
+        ContentVersion.Stamp stamp = catalogVersionService.current();
+        if (stamp.matches(request)) {
+            return stamp.notModified();
+        }
+        try {
+            FacetQuery query = FacetQuery.builder()
+                    .select(FacetIndex.COLOR, color)
+                    .select(FacetIndex.MATERIAL, material)
+                    .select(FacetIndex.USAGE_AREA, usageArea)
+                    .select(FacetIndex.MOUNTING_TYPE, mountingType)
+                    .select(FacetIndex.CATEGORY, categoryId)
+                    .select(FacetIndex.PRICE, priceRange)
+                    .featured(featured)
+                    .isNew(isNew)
+                    .onSale(onSale)
+                    .build();
+            
+            FacetSearchResult result = productFacetService.search(query, PageRequest.of(page, size));
+            Page<Product> productsPage = result.products();
+            Page<Product> finalPage = new org.springframework.data.domain.PageImpl<>(
+                    toResponseProducts(productsPage.getContent()),
+                    productsPage.getPageable(),
+                    productsPage.getTotalElements()
+            );
+            
+            return stamp.ok().body(DataResponseMessage.success("Filtre sonuçları getirildi",
+                    new FacetSearchResult(finalPage, result.facets())));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(DataResponseMessage.error("Filtre sonuçları getirilemedi: " + e.getMessage()));
+        }
+    }
+    
     /**
      * Öne çıkarılmış ürünleri getir
      */
     @GetMapping("/featured")
-    @Cacheable(value = "products", key = "'featured'")
-    public ResponseEntity<DataResponseMessage<List<Product>>> getFeaturedProducts(
+    public ResponseEntity<DataResponseMessage<List<Object>>> getFeaturedProducts(
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
             HttpServletRequest request
     ) {
+        ContentVersion.Stamp stamp = catalogVersionService.current();
+        if (stamp.matches(request)) {
+            return stamp.notModified();
+        }
         try {
-            List<Product> products = productRepository.findByFeaturedTrueAndActiveTrueOrderBySortOrderAsc();
-            
-            List<Product> optimizedProducts = products.stream()
-                    .filter(product -> product.getQuantity() != null && product.getQuantity() > 0)
-                    .map(product -> {
-                        Product optimized = optimizeProductImages(product);
-                        enrichProductWithStatistics(optimized);
-                        return optimized;
-                    })
-                    .toList();
-            
-            return ResponseEntity.ok(DataResponseMessage.success("Öne çıkarılmış ürünler getirildi", optimizedProducts));
+            List<Product> optimizedProducts = toResponseProducts(catalogSnapshotService.current().getFeatured());
+            
+            return stamp.ok().body(DataResponseMessage.success("Öne çıkarılmış ürünler getirildi",
+                    ProductFields.shape(optimizedProducts, view, fields)));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(DataResponseMessage.error("Öne çıkarılmış ürünler getirilemedi: " + e.getMessage()));
@@ -266,25 +470,23 @@ public class ProductController {
      * Yeni ürünleri getir
      */
     @GetMapping("/new")
-    @Cacheable(value = "products", key = "'new'")
-    public ResponseEntity<DataResponseMessage<List<Product>>> getNewProducts(
+    public ResponseEntity<DataResponseMessage<List<Object>>> getNewProducts(
             @RequestParam(required = false, defaultValue = "10") int limit,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
             HttpServletRequest request
     ) {
+        ContentVersion.Stamp stamp = catalogVersionService.current();
+        if (stamp.matches(request)) {
+            return stamp.notModified();
+        }
         try {
-            Pageable pageable = PageRequest.of(0, limit);
-            List<Product> products = productRepository.findByIsNewTrueAndActiveTrueOrderByCreatedAtDesc(pageable);
-            
-            List<Product> optimizedProducts = products.stream()
-                    .filter(product -> product.getQuantity() != null && product.getQuantity() > 0)
-                    .map(product -> {
-                        Product optimized = optimizeProductImages(product);
-                        enrichProductWithStatistics(optimized);
-                        return optimized;
-                    })
-                    .toList();
-            
-            return ResponseEntity.ok(DataResponseMessage.success("Yeni ürünler getirildi", optimizedProducts));
+            List<Product> newest = catalogSnapshotService.current().getNewest();
+            List<Product> optimizedProducts = toResponseProducts(
+                    newest.subList(0, Math.min(Math.max(limit, 0), newest.size())));
+            
+            return stamp.ok().body(DataResponseMessage.success("Yeni ürünler getirildi",
+                    ProductFields.shape(optimizedProducts, view, fields)));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(DataResponseMessage.error("Yeni ürünler getirilemedi: " + e.getMessage()));
@@ -295,23 +497,20 @@ public class ProductController {
      * İndirimli ürünleri getir
      */
     @GetMapping("/sale")
-    @Cacheable(value = "products", key = "'sale'")
-    public ResponseEntity<DataResponseMessage<List<Product>>> getSaleProducts(
+    public ResponseEntity<DataResponseMessage<List<Object>>> getSaleProducts(
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
             HttpServletRequest request
     ) {
+        ContentVersion.Stamp stamp = catalogVersionService.current();
+        if (stamp.matches(request)) {
+            return stamp.notModified();
+        }
         try {
-            List<Product> products = productRepository.findByOnSaleTrueAndActiveTrueOrderBySortOrderAsc();
-            
-            List<Product> optimizedProducts = products.stream()
-                    .filter(product -> product.getQuantity() != null && product.getQuantity() > 0)
-                    .map(product -> {
-                        Product optimized = optimizeProductImages(product);
-                        enrichProductWithStatistics(optimized);
-                        return optimized;
-                    })
-                    .toList();
-            
-            return ResponseEntity.ok(DataResponseMessage.success("İndirimli ürünler getirildi", optimizedProducts));
+            List<Product> optimizedProducts = toResponseProducts(catalogSnapshotService.current().getOnSale());
+            
+            return stamp.ok().body(DataResponseMessage.success("İndirimli ürünler getirildi",
+                    ProductFields.shape(optimizedProducts, view, fields)));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(DataResponseMessage.error("İndirimli ürünler getirilemedi: " + e.getMessage()));
@@ -322,33 +521,33 @@ public class ProductController {
      * Kategoriye göre ürünleri getir
      */
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<DataResponseMessage<Page<Product>>> getProductsByCategory(
+    public ResponseEntity<DataResponseMessage<Page<Object>>> getProductsByCategory(
             @PathVariable Long categoryId,
             @RequestParam(required = false, defaultValue = "0") int page,
             @RequestParam(required = false, defaultValue = "20") int size,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
             HttpServletRequest request
     ) {
+        ContentVersion.Stamp stamp = catalogVersionService.current();
+        if (stamp.matches(request)) {
+            return stamp.notModified();
+        }
         try {
             Pageable pageable = PageRequest.of(page, size);
-            Page<Product> productsPage = productRepository.findByCategoryIdAndActiveTrue(categoryId, pageable);
-            
-            // Repository'den gelen ürünler zaten stokta olanlar olduğu için ek filtreleme gerekmez
-            // Görselleri optimize et ve istatistikleri ekle
-            List<Product> optimizedProducts = productsPage.getContent().stream()
-                    .map(product -> {
-                        Product optimized = optimizeProductImages(product);
-                        enrichProductWithStatistics(optimized);
-                        return optimized;
-                    })
-                    .toList();
+            Page<Product> productsPage = CatalogSnapshot.page(
+                    catalogSnapshotService.current().getByCategory(categoryId), false, pageable);
             
-            Page<Product> finalPage = new org.springframework.data.domain.PageImpl<>(
-                    optimizedProducts,
+            // Katalogdaki ürünler zaten stokta ve görselleri optimize, sadece istatistikleri ekle
+            List<Product> optimizedProducts = toResponseProducts(productsPage.getContent());
+            
+            Page<Object> finalPage = new org.springframework.data.domain.PageImpl<>(
+                    ProductFields.shape(optimizedProducts, view, fields),
                     pageable,
                     productsPage.getTotalElements()
             );
             
-            return ResponseEntity.ok(DataResponseMessage.success("Kategori ürünleri getirildi", finalPage));
+            return stamp.ok().body(DataResponseMessage.success("Kategori ürünleri getirildi", finalPage));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(DataResponseMessage.error("Kategori ürünleri getirilemedi: " + e.getMessage()));
@@ -363,6 +562,10 @@ public class ProductController {
             @PathVariable String sku,
             HttpServletRequest request
     ) {
+        ContentVersion.Stamp stamp = catalogVersionService.current();
+        if (stamp.matches(request)) {
+            return stamp.notModified();
+        }
         try {
             Optional<Product> productOpt = productRepository.findBySku(sku);
             
@@ -371,9 +574,9 @@ public class ProductController {
             }
             
             Product product = optimizeProductImages(productOpt.get());
-            enrichProductWithStatistics(product);
+            productStatsService.applyTo(product);
             
-            return ResponseEntity.ok(DataResponseMessage.success("Ürün bulundu", product));
+            return stamp.ok().body(DataResponseMessage.success("Ürün bulundu", product));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(DataResponseMessage.error("Ürün bulunamadı: " + e.getMessage()));
@@ -382,73 +585,73 @@ public class ProductController {
     
     /**
      * Ürün detayı getir (herkes erişebilir)
-     * Görüntüleme kaydı tutulur
-     * Cache kullanır - aynı ürün için tekrar veritabanı sorgusu yapmaz
+     * Ürün önbellekten gelir (ProductDetailService); görüntüleme kaydı, ziyaretçi takibi ve audit
+     * önbellek isabetinde de her istekte yapılır.
      */
     @GetMapping("/{id}")
-    @Cacheable(value = "productDetails", key = "#id")
     public ResponseEntity<DataResponseMessage<Product>> getProductById(
             @PathVariable Long id,
             HttpServletRequest request,
             Authentication authentication
     ) {
         // Sadece aktif ürünleri getir
-        Optional<Product> product = productRepository.findByIdAndActiveTrue(id);
-        if (product.isPresent()) {
-            Product productEntity = product.get();
+        Product product = productDetailService.findActiveProduct(id);
+        if (product == null) {
+            auditLogService.logError("GET_PRODUCT", "Product", id,
+                    "Ürün bulunamadı", "Ürün bulunamadı", request);
+            return ResponseEntity.notFound().build();
+        }
+        
+        // Ziyaretçi takibi
+        AppUser appUser = resolveAppUser(authentication);
+        visitorTrackingService.trackVisitor(
+                request,
+                "/products/" + id,
+                null,
+                resolveVisitorType(appUser),
+                appUser != null ? appUser.getId() : null,
+                appUser != null ? appUser.getEmail() : null
+        );
+        
+        recordProductView(id, request, appUser);
+        
+        auditLogService.logSimple("GET_PRODUCT", "Product", id, 
+                "Ürün detayı görüntülendi: " + product.getName(), request);
+        
+        return ResponseEntity.ok(DataResponseMessage.success("Ürün başarıyla getirildi", product));
+    }
+    
+    /**
+     * Görüntüleme kaydı oluştur, istatistik ve trend sayaçlarını artır
+     */
+    private void recordProductView(Long id, HttpServletRequest request, AppUser appUser) {
+        try {
+            String ipAddress = getClientIpAddress(request);
+            String userAgent = request.getHeader("User-Agent");
             
-            // Ziyaretçi takibi
-            AppUser appUser = resolveAppUser(authentication);
-            visitorTrackingService.trackVisitor(
-                    request,
-                    "/products/" + id,
-                    null,
-                    resolveVisitorType(appUser),
-                    appUser != null ? appUser.getId() : null,
-                    appUser != null ? appUser.getEmail() : null
+            AppUser user = appUser != null ? userRepository.findByEmailIgnoreCase(appUser.getEmail()).orElse(null) : null;
+            
+            // Aynı IP'den son 1 saatte aynı ürüne yapılan görüntülemeleri kontrol et (spam önleme)
+            LocalDateTime oneHourAgo = LocalDateTime.now().minusHours(1);
+            Long recentViews = productViewRepository.countByProductIdAndIpAddressSince(
+                id, ipAddress, oneHourAgo
             );
             
-            // Görüntüleme kaydı oluştur
-            try {
-                String ipAddress = getClientIpAddress(request);
-                String userAgent = request.getHeader("User-Agent");
-                
-                AppUser user = appUser != null ? userRepository.findByEmailIgnoreCase(appUser.getEmail()).orElse(null) : null;
-                
-                // Aynı IP'den son 1 saatte aynı ürüne yapılan görüntülemeleri kontrol et (spam önleme)
-                LocalDateTime oneHourAgo = LocalDateTime.now().minusHours(1);
-                Long recentViews = productViewRepository.countByProductIdAndIpAddressSince(
-                    id, ipAddress, oneHourAgo
-                );
-                
-                // Son 1 saatte aynı IP'den 5'ten fazla görüntüleme yoksa kaydet
-                if (recentViews == null || recentViews < 5) {
-                    ProductView view = ProductView.builder()
-                            .product(productEntity)
-                            .user(user)
-                            .ipAddress(ipAddress)
-                            .userAgent(userAgent != null ? (userAgent.length() > 500 ? userAgent.substring(0, 500) : userAgent) : null)
-                            .viewedAt(LocalDateTime.now())
-                            .build();
-                    productViewRepository.save(view);
-                }
-            } catch (Exception e) {
-                // Görüntüleme kaydı hatası ürün getirme işlemini engellemez
-                // Loglama yapılabilir
+            // Son 1 saatte aynı IP'den 5'ten fazla görüntüleme yoksa kaydet
+            if (recentViews == null || recentViews < 5) {
+                ProductView view = ProductView.builder()
+                        .product(productRepository.getReferenceById(id))
+                        .user(user)
+                        .ipAddress(ipAddress)
+                        .userAgent(userAgent != null ? (userAgent.length() > 500 ? userAgent.substring(0, 500) : userAgent) : null)
+                        .viewedAt(LocalDateTime.now())
+                        .build();
+                productViewRepository.save(view);
+                productStatsService.recordView(id);
+                trendingCounters.record(id);
             }
-            
-            // Görsel URL'lerini optimize et ve istatistikleri ekle
-            Product optimizedProduct = optimizeProductImages(productEntity);
-            enrichProductWithStatistics(optimizedProduct);
-            
-            auditLogService.logSimple("GET_PRODUCT", "Product", id, 
-                    "Ürün detayı görüntülendi: " + productEntity.getName(), request);
-            
-            return ResponseEntity.ok(DataResponseMessage.success("Ürün başarıyla getirildi", optimizedProduct));
-        } else {
-            auditLogService.logError("GET_PRODUCT", "Product", id,
-                    "Ürün bulunamadı", "Ürün bulunamadı", request);
-            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            // Görüntüleme kaydı hatası ürün getirme işlemini engellemez
         }
     }
     
@@ -482,55 +685,56 @@ public class ProductController {
             @PathVariable Long id,
             @RequestBody PriceCalculationRequest request,
             HttpServletRequest httpRequest) {
-        // Sadece aktif ürünler için fiyat hesaplama
-        Optional<Product> productOpt = productRepository.findByIdAndActiveTrue(id);
+        // Sadece aktif ürünler için fiyat hesaplama (önce katalog görüntüsü)
+        Product product = priceQuoteService.findActiveProduct(id);
         
-        if (productOpt.isEmpty()) {
+        if (product == null) {
             auditLogService.logError("CALCULATE_PRICE", "Product", id,
                     "Ürün bulunamadı veya aktif değil", "Ürün bulunamadı veya aktif değil", httpRequest);
             return ResponseEntity.notFound().build();
         }
 
-        Product product = productOpt.get();
-        
         // Request'ten gelen değerleri veya ürünün varsayılan değerlerini kullan
-        Double width = request.getWidth() != null ? request.getWidth() : product.getWidth();
-        Double height = request.getHeight() != null ? request.getHeight() : product.getHeight();
-        String pleatType = request.getPleatType() != null ? request.getPleatType() : product.getPleatType();
-        BigDecimal price = request.getPrice() != null ? request.getPrice() : product.getPrice();
+        PriceQuote quote = priceQuoteService.quote(product, request.getWidth(), request.getHeight(),
+                request.getPleatType(), 1, request.getPrice());
 
-        if (width == null || pleatType == null || price == null) {
+        if (quote.getError() != null) {
             auditLogService.logError("CALCULATE_PRICE", "Product", id,
                     "Fiyat hesaplama için gerekli parametreler eksik", "width, pleatType veya price eksik", httpRequest);
             return ResponseEntity.badRequest()
                     .body(DataResponseMessage.error("Fiyat hesaplamak için width, pleatType ve price gerekli"));
         }
 
-        // Geçici bir Product nesnesi oluştur ve fiyat hesapla
-        Product tempProduct = new Product();
-        tempProduct.setWidth(width);
-        tempProduct.setHeight(height);
-        tempProduct.setPleatType(pleatType);
-        tempProduct.setPrice(price);
-
-        BigDecimal calculatedPrice = tempProduct.fiyatHesapla();
-
         PriceCalculationResponse response = new PriceCalculationResponse();
         response.setProductId(id);
         response.setProductName(product.getName());
-        response.setWidth(width);
-        response.setHeight(height);
-        response.setPleatType(pleatType);
-        response.setPricePerMeter(price);
-        response.setCalculatedPrice(calculatedPrice);
-
-        auditLogService.logSuccess("CALCULATE_PRICE", "Product", id,
-                "Fiyat hesaplandı: " + calculatedPrice + " ₺ (Genişlik: " + width + "cm, Pile: " + pleatType + ")",
-                request, response, httpRequest);
+        response.setWidth(quote.getWidth());
+        response.setHeight(quote.getHeight());
+        response.setPleatType(quote.getPleatType());
+        response.setPricePerMeter(quote.getPricePerMeter());
+        response.setCalculatedPrice(quote.getTotalPrice());
 
+        // Yapılandırıcı her değişiklikte çağırdığı için başarılı hesaplamalar audit log'a yazılmaz
         return ResponseEntity.ok(DataResponseMessage.success("Fiyat başarıyla hesaplandı", response));
     }
 
+    /**
+     * Toplu fiyat teklifi (perde yapılandırıcısı için)
+     * Birden fazla (ürün, en, boy, pile, adet) kalemi tek istekte fiyatlanır; hesap ödeme sırasındaki
+     * fiyat ve stok kontrolüyle aynıdır. Hesaplanamayan kalemler error alanıyla döner.
+     */
+    @PostMapping("/price-quotes")
+    public ResponseEntity<DataResponseMessage<List<PriceQuote>>> quotePrices(
+            @Valid @RequestBody PriceQuoteRequest request) {
+        try {
+            List<PriceQuote> quotes = priceQuoteService.quote(request.getItems());
+            return ResponseEntity.ok(DataResponseMessage.success("Fiyatlar başarıyla hesaplandı", quotes));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(DataResponseMessage.error("Fiyatlar hesaplanamadı: " + e.getMessage()));
+        }
+    }
+
     /**
      * Fiyat hesaplama için request DTO
      */
@@ -589,67 +793,31 @@ public class ProductController {
     }
     
     /**
-     * Ürün görsel URL'lerini optimize eder (WebP, cache kullanır)
-     * Cache mekanizması sayesinde aynı görsel için tekrar istek atmaz
-     * 
-     * @param product Ürün entity'si
-     * @return Görsel URL'leri optimize edilmiş ürün
+     * Katalog görüntüsündeki ürünleri yanıt için kopyalar ve istatistikleri ekler (tek sorgu)
+     * Görüntüdeki nesneler paylaşımlı olduğu için doğrudan değiştirilmez
      */
-    private Product optimizeProductImages(Product product) {
-        if (product == null) {
-            return product;
+    private List<Product> toResponseProducts(List<Product> catalogProducts) {
+        List<Product> result = new java.util.ArrayList<>(catalogProducts.size());
+        for (Product product : catalogProducts) {
+            result.add(product.toBuilder().build());
         }
-        
-        try {
-            // Kapak görselini optimize et (liste görünümleri için 800x800)
-            if (product.getCoverImageUrl() != null && !product.getCoverImageUrl().isEmpty()) {
-                String optimizedCoverUrl = mediaUploadService.getOptimizedImageUrl(
-                        product.getCoverImageUrl(), 800, 800);
-                product.setCoverImageUrl(optimizedCoverUrl);
-            }
-            
-            // Detay görselini optimize et (detay sayfası için 1920x1920)
-            if (product.getDetailImageUrl() != null && !product.getDetailImageUrl().isEmpty()) {
-                String optimizedDetailUrl = mediaUploadService.getOptimizedImageUrl(
-                        product.getDetailImageUrl(), 1920, 1920);
-                product.setDetailImageUrl(optimizedDetailUrl);
-            }
-        } catch (Exception e) {
-            // Optimizasyon hatası ürün döndürmeyi engellemez
-            // Loglama yapılabilir ama exception fırlatılmaz
-        }
-        
-        return product;
+        productStatsService.applyTo(result);
+        return result;
     }
     
     /**
-     * Ürün istatistiklerini ekle (yorum sayısı, ortalama puan, görüntüleme sayısı)
+     * Ürün görsel URL'lerini yüklemede hesaplanmış varyantlarla değiştirir (kart 800, detay 1920 WebP)
+     * Varyantı olmayan (Cloudinary dışı) görseller olduğu gibi döner.
      * 
      * @param product Ürün entity'si
+     * @return Görsel URL'leri optimize edilmiş ürün
      */
-    private void enrichProductWithStatistics(Product product) {
-        if (product == null || product.getId() == null) {
-            return;
-        }
-        
-        try {
-            // Yorum istatistikleri
-            Long reviewCount = productReviewRepository.countByProductIdAndActiveTrue(product.getId());
-            Double averageRating = productReviewRepository.calculateAverageRatingByProductId(product.getId());
-            
-            product.setReviewCount(reviewCount != null ? reviewCount : 0L);
-            product.setAverageRating(averageRating != null ? averageRating : 0.0);
-            
-            // Görüntüleme istatistikleri
-            Long viewCount = productViewRepository.countByProductId(product.getId());
-            product.setViewCount(viewCount != null ? viewCount : 0L);
-        } catch (Exception e) {
-            // İstatistik hesaplama hatası ürün döndürmeyi engellemez
-            // Varsayılan değerler
-            product.setReviewCount(0L);
-            product.setAverageRating(0.0);
-            product.setViewCount(0L);
+    private Product optimizeProductImages(Product product) {
+        if (product == null) {
+            return product;
         }
+        product.setCoverImageUrl(ResponsiveImageSet.cardUrlOr(product.getCoverImageVariants(), product.getCoverImageUrl()));
+        product.setDetailImageUrl(ResponsiveImageSet.largeUrlOr(product.getDetailImageVariants(), product.getDetailImageUrl()));
+        return product;
     }
-}
-
+}
\ No newline at end of file
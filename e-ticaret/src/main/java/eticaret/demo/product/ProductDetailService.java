@@ -0,0 +1,35 @@
+package eticaret.demo.product;
+
+import eticaret.demo.cloudinary.ResponsiveImageSet;
+import eticaret.demo.product.stats.ProductStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Ürün detayı için önbellekli okuma
+ * Önbellek yalnızca ürünü tutar; görüntüleme kaydı, trend sayacı, ziyaretçi takibi ve audit
+ * önbellek isabetinde de çalışabilmesi için controller'da her istekte yapılır.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductDetailService {
+
+    private final ProductRepository productRepository;
+    private final ProductStatsService productStatsService;
+
+    /**
+     * Aktif ürünü görsel URL'leri optimize edilmiş ve istatistikleri eklenmiş olarak getirir, yoksa null
+     */
+    @Cacheable(value = "productDetails", key = "#id", unless = "#result == null")
+    public Product findActiveProduct(Long id) {
+        Product product = productRepository.findByIdAndActiveTrue(id).orElse(null);
+        if (product == null) {
+            return null;
+        }
+        product.setCoverImageUrl(ResponsiveImageSet.cardUrlOr(product.getCoverImageVariants(), product.getCoverImageUrl()));
+        product.setDetailImageUrl(ResponsiveImageSet.largeUrlOr(product.getDetailImageVariants(), product.getDetailImageUrl()));
+        productStatsService.applyTo(product);
+        return product;
+    }
+}
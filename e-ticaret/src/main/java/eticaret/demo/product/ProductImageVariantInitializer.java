@@ -0,0 +1,71 @@
+package eticaret.demo.product;
+
+import eticaret.demo.cloudinary.MediaUploadService;
+import eticaret.demo.cloudinary.ResponsiveImageSet;
+import eticaret.demo.product.catalog.CatalogSnapshotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Varyant kolonlarından önce yüklenmiş ürün görsellerinin responsive varyantlarını bir kez hesaplar
+ * Yeni yüklemeler varyantları zaten yükleme anında alır; bu initializer sadece eski kayıtları tamamlar.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@Order(20)
+public class ProductImageVariantInitializer implements CommandLineRunner {
+
+    private final ProductRepository productRepository;
+    private final MediaUploadService mediaUploadService;
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    @Override
+    public void run(String... args) {
+        try {
+            List<Product> products = productRepository.findWithMissingImageVariants();
+            if (products.isEmpty()) {
+                return;
+            }
+
+            int updated = 0;
+            for (Product product : products) {
+                boolean changed = false;
+                if (product.getCoverImageUrl() != null && cardUrlMissing(product.getCoverImageVariants())) {
+                    ResponsiveImageSet variants = mediaUploadService.buildResponsiveImageSet(product.getCoverImageUrl());
+                    if (variants != null) {
+                        product.setCoverImageVariants(variants);
+                        changed = true;
+                    }
+                }
+                if (product.getDetailImageUrl() != null && cardUrlMissing(product.getDetailImageVariants())) {
+                    ResponsiveImageSet variants = mediaUploadService.buildResponsiveImageSet(product.getDetailImageUrl());
+                    if (variants != null) {
+                        product.setDetailImageVariants(variants);
+                        changed = true;
+                    }
+                }
+                if (changed) {
+                    productRepository.save(product);
+                    updated++;
+                }
+            }
+
+            if (updated > 0) {
+                catalogSnapshotService.invalidate();
+            }
+            log.info("Ürün görsel varyantları tamamlandı - Güncellenen: {}, İncelenen: {}", updated, products.size());
+        } catch (Exception e) {
+            log.error("Ürün görsel varyantları hesaplanırken hata: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean cardUrlMissing(ResponsiveImageSet variants) {
+        return variants == null || variants.getCardUrl() == null;
+    }
+}
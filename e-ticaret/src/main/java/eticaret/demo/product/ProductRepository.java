@@ -28,7 +28,13 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      */
     @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.category WHERE p.active = true AND p.quantity > 0")
     List<Product> findAllActiveWithCategory();
-    
+
+    /**
+     * Katalog görüntüsü için aktif ürünleri kategori ve galeri görselleriyle tek sorguda getir (sadece stokta olanlar)
+     */
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.category LEFT JOIN FETCH p.imageUrls WHERE p.active = true AND p.quantity > 0")
+    List<Product> findAllActiveForCatalog();
+
     @Override
     @EntityGraph(attributePaths = {"category"})
     List<Product> findAll();
@@ -206,6 +212,13 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT p FROM Product p WHERE p.active = true AND p.quantity > 0 ORDER BY p.sortOrder ASC, p.createdAt DESC")
     List<Product> findAllActiveOrderBySortOrder();
     
+    /**
+     * Görseli olup responsive varyantları henüz hesaplanmamış ürünler (yükleme öncesi kayıtlar)
+     */
+    @Query("SELECT p FROM Product p WHERE (p.coverImageUrl IS NOT NULL AND p.coverImageVariants.cardUrl IS NULL) " +
+           "OR (p.detailImageUrl IS NOT NULL AND p.detailImageVariants.cardUrl IS NULL)")
+    List<Product> findWithMissingImageVariants();
+    
     /**
      * Aktif ürün sayısı
      */
@@ -67,6 +67,13 @@ public interface ProductReviewRepository extends JpaRepository<ProductReview, Lo
     @Query("SELECT COUNT(r) FROM ProductReview r WHERE r.product.id = :productId AND r.active = true")
     Long countByProductIdAndActiveTrue(Long productId);
 
+    /**
+     * Tüm ürünlerin aktif yorum sayısı ve ortalama puanı (ürün istatistiklerinin toplu hesaplanması için)
+     * Dönen satır: [productId, reviewCount, averageRating]
+     */
+    @Query("SELECT r.product.id, COUNT(r), AVG(r.rating) FROM ProductReview r WHERE r.active = true GROUP BY r.product.id")
+    List<Object[]> aggregateActiveReviewsByProduct();
+
     @Query("SELECT COUNT(r) FROM ProductReview r WHERE r.product.id = :productId AND r.active = true AND size(r.imageUrls) > 0")
     Long countActiveWithImages(Long productId);
 
@@ -86,5 +93,10 @@ public interface ProductReviewRepository extends JpaRepository<ProductReview, Lo
      */
     @Query("SELECT r FROM ProductReview r LEFT JOIN FETCH r.user LEFT JOIN FETCH r.product WHERE r.id = :id")
     Optional<ProductReview> findByIdWithUserAndProduct(Long id);
-}
 
+    /**
+     * İçerik özeti için (adet, en büyük ID, son güncelleme); ETag'in node'dan bağımsız olması için kullanılır
+     */
+    @Query("SELECT COUNT(x), COALESCE(MAX(x.id), 0), MAX(x.updatedAt) FROM ProductReview x")
+    List<Object[]> findContentMarker();
+}
@@ -1,5 +1,6 @@
 package eticaret.demo.product;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
@@ -60,27 +61,29 @@ public interface ProductViewRepository extends JpaRepository<ProductView, Long>
     List<Long> findViewedProductIdsByUserId(Long userId);
     
     /**
-     * IP adresine göre görüntülenen ürün ID'lerini getir (son N görüntüleme)
+     * Kullanıcının son görüntülediği ürün ID'leri (en yeni önce, sayfa boyutu kadar)
+     */
+    @Query("SELECT v.product.id FROM ProductView v " +
+           "WHERE v.user.id = :userId " +
+           "GROUP BY v.product.id " +
+           "ORDER BY MAX(v.viewedAt) DESC")
+    List<Long> findRecentViewedProductIdsByUserId(Long userId, Pageable pageable);
+
+    /**
+     * IP adresinden son görüntülenen ürün ID'leri (en yeni önce, sayfa boyutu kadar)
      */
     @Query("SELECT v.product.id FROM ProductView v " +
            "WHERE v.ipAddress = :ipAddress " +
-           "AND v.product.id IS NOT NULL " +
            "GROUP BY v.product.id " +
            "ORDER BY MAX(v.viewedAt) DESC")
-    List<Long> findViewedProductIdsByIpAddress(String ipAddress);
-    
+    List<Long> findRecentViewedProductIdsByIpAddress(String ipAddress, Pageable pageable);
+
     /**
-     * Belirli bir ürünü görüntüleyen kullanıcıların görüntülediği diğer ürünleri bul
+     * Benzerlik işi için görüntülemeleri ID sırasıyla parça parça getir (keyset sayfalama)
+     * Satır: [id, productId, userId (null olabilir), ipAddress]
      */
-    @Query("SELECT v2.product.id, COUNT(DISTINCT v2.user.id) as userCount " +
-           "FROM ProductView v1 " +
-           "JOIN ProductView v2 ON v1.user.id = v2.user.id " +
-           "WHERE v1.product.id = :productId " +
-           "AND v2.product.id != :productId " +
-           "AND v1.user.id IS NOT NULL " +
-           "AND v2.user.id IS NOT NULL " +
-           "GROUP BY v2.product.id " +
-           "ORDER BY userCount DESC")
-    List<Object[]> findSimilarProductsByUserViews(Long productId);
+    @Query("SELECT v.id, v.product.id, u.id, v.ipAddress FROM ProductView v LEFT JOIN v.user u " +
+           "WHERE v.id > :afterId AND v.viewedAt >= :since " +
+           "ORDER BY v.id")
+    List<Object[]> findViewChunk(Long afterId, LocalDateTime since, Pageable pageable);
 }
-
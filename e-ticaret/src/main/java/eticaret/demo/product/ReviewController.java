@@ -10,6 +10,7 @@ import eticaret.demo.order.OrderStatus;
 import eticaret.demo.product.dto.ProductReviewPageResponse;
 import eticaret.demo.product.dto.ProductReviewResponse;
 import eticaret.demo.product.dto.ReviewSortOption;
+import eticaret.demo.product.stats.ProductStatsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -47,6 +48,7 @@ public class ReviewController {
     private final MediaUploadService mediaUploadService;
     private final OrderRepository orderRepository;
     private final ReviewService reviewService;
+    private final ProductStatsService productStatsService;
 
     /**
      * Authentication'dan AppUser'ı al
@@ -235,6 +237,7 @@ public class ReviewController {
             }
 
             ProductReview updated = reviewRepository.save(review);
+            productStatsService.refreshReviewStats(updated.getProduct().getId());
             return ResponseEntity.ok(DataResponseMessage.success("Yorum başarıyla güncellendi.", updated));
 
         } catch (Exception e) {
@@ -275,6 +278,7 @@ public class ReviewController {
             // Soft delete
             review.setActive(false);
             reviewRepository.save(review);
+            productStatsService.refreshReviewStats(review.getProduct().getId());
 
             return ResponseEntity.ok(new DataResponseMessage<>("Yorum başarıyla silindi.", true, null));
 
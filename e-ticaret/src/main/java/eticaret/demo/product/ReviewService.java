@@ -6,6 +6,7 @@ import eticaret.demo.cloudinary.MediaUploadService;
 import eticaret.demo.order.Order;
 import eticaret.demo.order.OrderRepository;
 import eticaret.demo.order.OrderStatus;
+import eticaret.demo.product.stats.ProductStatsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
@@ -31,6 +32,7 @@ public class ReviewService {
     private final OrderRepository orderRepository;
     private final MediaUploadService mediaUploadService;
     private final AppUserRepository appUserRepository;
+    private final ProductStatsService productStatsService;
 
 
     /**
@@ -122,6 +124,7 @@ public class ReviewService {
                     .build();
 
             ProductReview saved = reviewRepository.save(review);
+            productStatsService.refreshReviewStats(productId);
             log.info("Asenkron yorum oluşturma tamamlandı - reviewId: {}, productId: {}, userId: {}", 
                     saved.getId(), productId, user.getId());
 
@@ -0,0 +1,15 @@
+package eticaret.demo.product.catalog;
+
+/**
+ * Katalog görüntüsü değiştiğinde yayınlanan olay
+ * Arama, filtre gibi katalog üzerine kurulu indeksler bu olayla kendini günceller.
+ *
+ * @param snapshot Yeni katalog görüntüsü
+ * @param productId Değişen ürün ID'si (null ise katalog baştan oluşturuldu)
+ */
+public record CatalogChangedEvent(CatalogSnapshot snapshot, Long productId) {
+
+    public boolean isFullRebuild() {
+        return productId == null;
+    }
+}
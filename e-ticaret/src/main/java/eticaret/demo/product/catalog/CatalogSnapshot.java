@@ -0,0 +1,306 @@
+package eticaret.demo.product.catalog;
+
+import eticaret.demo.product.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Vitrin kataloğunun değişmez (immutable) anlık görüntüsü
+ * Sadece aktif ve stokta olan ürünleri tutar, sıralamalar oluşturulurken bir kez hesaplanır.
+ * Liste endpoint'leri veritabanına gitmeden bu görüntü üzerinden sayfalanır.
+ */
+public final class CatalogSnapshot {
+
+    /**
+     * Önceden hesaplanmış sıralama anahtarları
+     */
+    public enum SortKey {
+        SORT_ORDER,
+        PRICE,
+        CREATED_AT;
+
+        /**
+         * İstekteki sortBy değerini anahtara çevirir, desteklenmiyorsa null döner
+         */
+        public static SortKey fromProperty(String property) {
+            if (property == null) {
+                return SORT_ORDER;
+            }
+            return switch (property) {
+                case "sortOrder" -> SORT_ORDER;
+                case "price" -> PRICE;
+                case "createdAt" -> CREATED_AT;
+                default -> null;
+            };
+        }
+    }
+
+    private static final Comparator<Product> SORT_ORDER_COMPARATOR = Comparator
+            .comparing(Product::getSortOrder, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Product::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Product::getId);
+
+    private static final Comparator<Product> PRICE_COMPARATOR = Comparator
+            .comparing(Product::getPrice, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Product::getId);
+
+    private static final Comparator<Product> CREATED_AT_COMPARATOR = Comparator
+            .comparing(Product::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Product::getId);
+
+    private final long version;
+    private final LocalDateTime builtAt;
+    private final Map<Long, Product> byId;
+    private final List<Product> bySortOrder;
+    private final List<Product> byPrice;
+    private final List<Product> byCreatedAt;
+    private final Map<Long, List<Product>> byCategory;
+    private final List<Product> featured;
+    private final List<Product> onSale;
+    private final List<Product> newest;
+    private final long fingerprint;
+
+    private CatalogSnapshot(long version, Collection<Product> products) {
+        this.version = version;
+        this.builtAt = LocalDateTime.now();
+
+        List<Product> sortOrderList = new ArrayList<>(products);
+        sortOrderList.sort(SORT_ORDER_COMPARATOR);
+        List<Product> priceList = new ArrayList<>(products);
+        priceList.sort(PRICE_COMPARATOR);
+        List<Product> createdAtList = new ArrayList<>(products);
+        createdAtList.sort(CREATED_AT_COMPARATOR);
+
+        Map<Long, Product> idMap = new HashMap<>(products.size() * 2);
+        Map<Long, List<Product>> categoryMap = new HashMap<>();
+        List<Product> featuredList = new ArrayList<>();
+        List<Product> saleList = new ArrayList<>();
+        long hash = 1L;
+        for (Product product : sortOrderList) {
+            hash = 31 * hash + fingerprintOf(product);
+            idMap.put(product.getId(), product);
+            if (product.getCategory() != null && product.getCategory().getId() != null) {
+                categoryMap.computeIfAbsent(product.getCategory().getId(), k -> new ArrayList<>()).add(product);
+            }
+            if (Boolean.TRUE.equals(product.getFeatured())) {
+                featuredList.add(product);
+            }
+            if (Boolean.TRUE.equals(product.getOnSale())) {
+                saleList.add(product);
+            }
+        }
+
+        List<Product> newList = new ArrayList<>();
+        for (int i = createdAtList.size() - 1; i >= 0; i--) {
+            Product product = createdAtList.get(i);
+            if (Boolean.TRUE.equals(product.getIsNew())) {
+                newList.add(product);
+            }
+        }
+
+        categoryMap.replaceAll((id, list) -> Collections.unmodifiableList(list));
+
+        this.byId = Collections.unmodifiableMap(idMap);
+        this.bySortOrder = Collections.unmodifiableList(sortOrderList);
+        this.byPrice = Collections.unmodifiableList(priceList);
+        this.byCreatedAt = Collections.unmodifiableList(createdAtList);
+        this.byCategory = Collections.unmodifiableMap(categoryMap);
+        this.featured = Collections.unmodifiableList(featuredList);
+        this.onSale = Collections.unmodifiableList(saleList);
+        this.newest = Collections.unmodifiableList(newList);
+        this.fingerprint = hash;
+    }
+
+    /**
+     * Vitrinde görünen alanların özeti
+     * Periyodik yenilemede içerik değişmediyse katalog versiyonunun artırılmaması için kullanılır.
+     */
+    private static int fingerprintOf(Product product) {
+        return Objects.hash(
+                product.getId(),
+                product.getUpdatedAt(),
+                product.getQuantity(),
+                product.getPrice(),
+                product.getSortOrder(),
+                product.getCategory() != null ? product.getCategory().getId() : null,
+                product.getCategory() != null ? product.getCategory().getName() : null,
+                product.getCoverImageUrl(),
+                product.getImageUrls());
+    }
+
+    /**
+     * Verilen ürünlerden yeni bir görüntü oluşturur
+     * Aktif olmayan veya stokta olmayan ürünler elenir.
+     */
+    static CatalogSnapshot of(long version, Collection<Product> products) {
+        List<Product> visible = new ArrayList<>(products.size());
+        for (Product product : products) {
+            if (isVisible(product)) {
+                visible.add(product);
+            }
+        }
+        return new CatalogSnapshot(version, visible);
+    }
+
+    static CatalogSnapshot empty() {
+        return new CatalogSnapshot(0L, List.of());
+    }
+
+    /**
+     * Ürün vitrinde gösterilebilir mi? (aktif ve stokta)
+     */
+    static boolean isVisible(Product product) {
+        return product != null
+                && product.getId() != null
+                && Boolean.TRUE.equals(product.getActive())
+                && product.isInStock();
+    }
+
+    /**
+     * Bu görüntüden bir ürünün çıkarılıp/değiştirildiği yeni bir görüntü üretir
+     */
+    CatalogSnapshot with(long newVersion, Long productId, Product replacement) {
+        Map<Long, Product> products = new LinkedHashMap<>(byId);
+        products.remove(productId);
+        if (replacement != null && isVisible(replacement)) {
+            products.put(replacement.getId(), replacement);
+        }
+        return new CatalogSnapshot(newVersion, products.values());
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Görüntüdeki ürünlerin içerik özeti, aynı içerik için aynı değeri üretir
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public LocalDateTime getBuiltAt() {
+        return builtAt;
+    }
+
+    public int size() {
+        return bySortOrder.size();
+    }
+
+    public Product get(Long id) {
+        return id != null ? byId.get(id) : null;
+    }
+
+    /**
+     * sortOrder ASC, createdAt DESC sırasıyla tüm ürünler
+     */
+    public List<Product> getAll() {
+        return bySortOrder;
+    }
+
+    public List<Product> getByCategory(Long categoryId) {
+        return byCategory.getOrDefault(categoryId, List.of());
+    }
+
+    public List<Product> getFeatured() {
+        return featured;
+    }
+
+    public List<Product> getOnSale() {
+        return onSale;
+    }
+
+    /**
+     * Yeni ürünler (createdAt DESC)
+     */
+    public List<Product> getNewest() {
+        return newest;
+    }
+
+    /**
+     * Önceden hesaplanmış sıralamayı döndürür (artan yönde)
+     */
+    public List<Product> ordered(SortKey sortKey) {
+        return switch (sortKey) {
+            case SORT_ORDER -> bySortOrder;
+            case PRICE -> byPrice;
+            case CREATED_AT -> byCreatedAt;
+        };
+    }
+
+    /**
+     * sortOrder sıralı listede verilen (sortOrder, createdAt, id) anahtarından sonraki ürünleri döndürür
+     * Başlangıç konumu ikili arama ile bulunur; arada ürün eklenip çıkarılsa da sayfalar kaymaz.
+     *
+     * @param ordered getAll() veya getByCategory() listesi
+     * @param id Son görülen ürünün ID'si, ilk sayfa için null
+     */
+    public static List<Product> seekBySortOrder(List<Product> ordered, Integer sortOrder, LocalDateTime createdAt,
+                                                Long id, int limit) {
+        int start = 0;
+        if (id != null) {
+            Product probe = Product.builder().id(id).sortOrder(sortOrder).createdAt(createdAt).build();
+            int position = Collections.binarySearch(ordered, probe, SORT_ORDER_COMPARATOR);
+            start = position >= 0 ? position + 1 : -position - 1;
+        }
+        int end = (int) Math.min(ordered.size(), (long) start + limit);
+        return start < end ? ordered.subList(start, end) : List.of();
+    }
+
+    /**
+     * Sıralı bir listeden sayfa keser
+     *
+     * @param ordered Önceden sıralanmış liste
+     * @param descending true ise liste sondan başa okunur
+     */
+    public static Page<Product> page(List<Product> ordered, boolean descending, Pageable pageable) {
+        return page(ordered, descending, null, pageable);
+    }
+
+    /**
+     * Sıralı liste üzerinde filtre uygulayıp sadece istenen sayfayı toplar
+     * Sıra bozulmaz, toplam eşleşme sayısı aynı geçişte hesaplanır.
+     */
+    public static Page<Product> page(List<Product> ordered, boolean descending,
+                                     Predicate<Product> filter, Pageable pageable) {
+        long offset = pageable.getOffset();
+        int pageSize = pageable.getPageSize();
+        int size = ordered.size();
+
+        if (filter == null) {
+            List<Product> content = new ArrayList<>(Math.min(pageSize, size));
+            for (long i = offset; i < size && content.size() < pageSize; i++) {
+                int index = descending ? size - 1 - (int) i : (int) i;
+                content.add(ordered.get(index));
+            }
+            return new PageImpl<>(content, pageable, size);
+        }
+
+        List<Product> content = new ArrayList<>(pageSize);
+        long matched = 0;
+        for (int i = 0; i < size; i++) {
+            Product product = ordered.get(descending ? size - 1 - i : i);
+            if (!filter.test(product)) {
+                continue;
+            }
+            if (matched >= offset && content.size() < pageSize) {
+                content.add(product);
+            }
+            matched++;
+        }
+        return new PageImpl<>(content, pageable, matched);
+    }
+}
@@ -0,0 +1,187 @@
+package eticaret.demo.product.catalog;
+
+import eticaret.demo.cloudinary.ResponsiveImageSet;
+import eticaret.demo.product.Product;
+import eticaret.demo.product.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Vitrin kataloğu anlık görüntüsünü yöneten servis
+ * Okumalar kilitsizdir (volatile referans), yazmalar yeni bir görüntü üretip referansı değiştirir.
+ * Admin ürün işlemleri ve stok düşümleri ilgili ürünü yamalar, periyodik yenileme ise
+ * diğer yollardan yapılan değişiklikleri yakalar.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogSnapshotService {
+
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicLong versionSequence = new AtomicLong();
+    private volatile CatalogSnapshot current;
+
+    /**
+     * Güncel katalog görüntüsünü döndürür, henüz oluşturulmamışsa oluşturur
+     */
+    public CatalogSnapshot current() {
+        CatalogSnapshot snapshot = current;
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = current;
+                if (snapshot == null) {
+                    snapshot = rebuild();
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Kataloğu veritabanından baştan oluşturur
+     */
+    public synchronized CatalogSnapshot rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            List<Product> products = productRepository.findAllActiveForCatalog();
+            List<Product> prepared = new ArrayList<>(products.size());
+            for (Product product : products) {
+                prepared.add(prepare(product));
+            }
+            CatalogSnapshot snapshot = CatalogSnapshot.of(versionSequence.incrementAndGet(), prepared);
+            current = snapshot;
+            publish(snapshot, null);
+            log.info("Katalog görüntüsü oluşturuldu - Versiyon: {}, Ürün: {}, Süre: {} ms",
+                    snapshot.getVersion(), snapshot.size(), System.currentTimeMillis() - start);
+            return snapshot;
+        } catch (Exception e) {
+            log.error("Katalog görüntüsü oluşturulurken hata: {}", e.getMessage(), e);
+            CatalogSnapshot previous = current;
+            return previous != null ? previous : CatalogSnapshot.empty();
+        }
+    }
+
+    /**
+     * Eklenen/güncellenen ürünü görüntüye yansıtır
+     * Ürün pasif veya stokta değilse görüntüden çıkarılır.
+     * İşlem içinden çağrılırsa commit'ten sonra uygulanır; geri alınan bir stok düşümü vitrine yansımaz.
+     */
+    public void upsert(Product product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        afterCommit(() -> applyUpsert(product));
+    }
+
+    /**
+     * Silinen ürünü görüntüden çıkarır (işlem içinden çağrılırsa commit'ten sonra)
+     */
+    public void remove(Long productId) {
+        if (productId == null) {
+            return;
+        }
+        afterCommit(() -> applyRemove(productId));
+    }
+
+    private void applyUpsert(Product product) {
+        try {
+            Product prepared = prepare(product);
+            synchronized (this) {
+                CatalogSnapshot base = current;
+                if (base == null) {
+                    return; // İlk okumada zaten baştan oluşturulacak
+                }
+                current = base.with(versionSequence.incrementAndGet(), product.getId(), prepared);
+                publish(current, product.getId());
+            }
+        } catch (Exception e) {
+            log.warn("Katalog görüntüsü güncellenemedi, yeniden oluşturulacak - ProductId: {}, Hata: {}",
+                    product.getId(), e.getMessage());
+            invalidate();
+        }
+    }
+
+    private synchronized void applyRemove(Long productId) {
+        CatalogSnapshot base = current;
+        if (base == null) {
+            return;
+        }
+        current = base.with(versionSequence.incrementAndGet(), productId, null);
+        publish(current, productId);
+    }
+
+    /**
+     * Görüntüyü geçersiz kılar, bir sonraki okuma baştan oluşturur
+     */
+    public synchronized void invalidate() {
+        current = null;
+    }
+
+    /**
+     * Ödeme, iade ve sepet onayı gibi admin dışı yollardan yapılan değişiklikleri yakalamak için
+     * periyodik yenileme
+     */
+    @Scheduled(fixedDelay = 300000, initialDelay = 300000) // 5 dakika
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Değişikliği işlem tamamlandıktan sonra uygular, işlem yoksa hemen
+     * Commit'ten önce uygulansaydı araya giren bir okuma henüz kalıcı olmayan stoğu görebilir,
+     * işlem geri alınırsa görüntü bir sonraki periyodik yenilemeye kadar yanlış kalırdı.
+     */
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    /**
+     * Değişikliği katalog üzerine kurulu indekslere bildirir
+     * Kilit içinde çağrılır, böylece dinleyiciler değişiklikleri sırasıyla görür.
+     */
+    private void publish(CatalogSnapshot snapshot, Long productId) {
+        try {
+            eventPublisher.publishEvent(new CatalogChangedEvent(snapshot, productId));
+        } catch (Exception e) {
+            log.error("Katalog değişikliği bildirilemedi - ProductId: {}, Hata: {}", productId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Entity'den bağımsız (detached) bir kopya oluşturur
+     * Görsel URL'leri yüklemede hesaplanıp ürün satırında saklanan varyantlardan alınır.
+     */
+    private Product prepare(Product product) {
+        return product.toBuilder()
+                .coverImageUrl(ResponsiveImageSet.cardUrlOr(product.getCoverImageVariants(), product.getCoverImageUrl()))
+                .detailImageUrl(ResponsiveImageSet.largeUrlOr(product.getDetailImageVariants(), product.getDetailImageUrl()))
+                .imageUrls(product.getImageUrls() != null ? new ArrayList<>(product.getImageUrls()) : new ArrayList<>())
+                .reviews(new ArrayList<>())
+                .views(new ArrayList<>())
+                .reviewCount(null)
+                .averageRating(null)
+                .viewCount(null)
+                .salesCount(null)
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package eticaret.demo.product.catalog;
+
+import eticaret.demo.common.cache.CacheInvalidationEvent;
+import eticaret.demo.common.web.ContentVersion;
+import eticaret.demo.product.CategoryRepository;
+import eticaret.demo.product.ProductReviewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Vitrin kataloğunun (ürün, kategori, yorum) HTTP versiyonu
+ * Storefront liste endpoint'leri ETag'i buradan alır ve If-None-Match eşleşirse 304 döner.
+ * ETag içerikten türetilir: ürünler için katalog görüntüsünün özeti, yorum ve kategoriler için
+ * (adet, en büyük ID, son güncelleme) özeti. Aynı katalog her node'da aynı ETag'i verir; başka bir node'da
+ * yapılan değişiklik bu node'a görüntü yenilemesi veya periyodik özet kontrolüyle yansır.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogVersionService {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final ProductReviewRepository productReviewRepository;
+    private final CategoryRepository categoryRepository;
+
+    private final ContentVersion version = new ContentVersion("catalog");
+    // this kilidi altında okunur ve yazılır
+    private CatalogSnapshot productSnapshot;
+    private Long reviewFingerprint;
+    private Long categoryFingerprint;
+
+    /**
+     * Güncel katalog damgası, yanıt verisi okunmadan önce alınmalıdır
+     */
+    public ContentVersion.Stamp current() {
+        return version.current();
+    }
+
+    public long getVersion() {
+        return version.getVersion();
+    }
+
+    @EventListener
+    public synchronized void onCatalogChanged(CatalogChangedEvent event) {
+        setSnapshot(event.snapshot());
+        publish(event.productId());
+    }
+
+    /**
+     * Yorum ve kategori özetleri değişiklik commit edildikten sonra yeniden okunur
+     * Ürün değişiklikleri katalog görüntüsü üzerinden gelir.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onCacheInvalidation(CacheInvalidationEvent event) {
+        try {
+            switch (event.scope()) {
+                case REVIEW -> reviewFingerprint = ContentVersion.fingerprintOf(productReviewRepository.findContentMarker());
+                case CATEGORY -> categoryFingerprint = ContentVersion.fingerprintOf(categoryRepository.findContentMarker());
+                default -> {
+                    // Ürünler görüntü olayıyla gelir, kupon değişiklikleri vitrin kataloğunu etkilemez
+                    return;
+                }
+            }
+            publish(event.id());
+        } catch (Exception e) {
+            log.warn("Katalog özeti güncellenemedi - Kapsam: {}, Hata: {}", event.scope(), e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /**
+     * Başka node'larda yapılan yorum ve kategori değişikliklerini yakalamak için özetleri yeniden okur
+     * Ürün özeti bellekteki görüntüden alınır (görüntü 5 dakikada bir veritabanından yenilenir).
+     */
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000) // 1 dakika
+    public void refresh() {
+        try {
+            // Görüntü kilit dışında alınır: görüntü servisi olayları kendi kilidi altında yayımlar
+            CatalogSnapshot snapshot = catalogSnapshotService.current();
+            long reviews = ContentVersion.fingerprintOf(productReviewRepository.findContentMarker());
+            long categories = ContentVersion.fingerprintOf(categoryRepository.findContentMarker());
+            synchronized (this) {
+                setSnapshot(snapshot);
+                reviewFingerprint = reviews;
+                categoryFingerprint = categories;
+                publish(null);
+            }
+        } catch (Exception e) {
+            log.warn("Katalog özeti yenilenemedi: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Olay ve periyodik yenileme yarışırsa eski görüntü yenisinin üzerine yazılmaz
+     */
+    private void setSnapshot(CatalogSnapshot snapshot) {
+        if (productSnapshot == null || snapshot.getVersion() >= productSnapshot.getVersion()) {
+            productSnapshot = snapshot;
+        }
+    }
+
+    /**
+     * Üç özet de biliniyorsa birleştirip damgayı günceller
+     */
+    private void publish(Long productId) {
+        if (productSnapshot == null || reviewFingerprint == null || categoryFingerprint == null) {
+            return;
+        }
+        long fingerprint = 31 * (31 * productSnapshot.getFingerprint() + reviewFingerprint) + categoryFingerprint;
+        if (version.update(fingerprint)) {
+            log.debug("Katalog versiyonu değişti - Versiyon: {}, ProductId: {}", version.getVersion(), productId);
+        }
+    }
+}
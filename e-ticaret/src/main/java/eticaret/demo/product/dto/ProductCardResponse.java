@@ -0,0 +1,75 @@
+package eticaret.demo.product.dto;
+
+import eticaret.demo.product.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Ürün kartı (liste görünümü) yanıtı
+ * Sadece kartta gösterilen alanları taşır; uzun açıklama, SEO alanları ve galeri görselleri yer almaz.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductCardResponse {
+    private Long id;
+    private String name;
+    private String sku;
+    private String shortDescription;
+    private BigDecimal price;
+    private BigDecimal oldPrice;
+    private Double discountPercentage;
+    private String coverImageUrl;
+    private String coverImageSrcset;
+    private String coverImageAvifSrcset;
+    private String color;
+    private String material;
+    private String mountingType;
+    private String usageArea;
+    private Integer pieceCount;
+    private Integer quantity;
+    private boolean inStock;
+    private Boolean featured;
+    private Boolean isNew;
+    private Boolean onSale;
+    private Long categoryId;
+    private String categoryName;
+    private Long reviewCount;
+    private Double averageRating;
+    private Long viewCount;
+
+    public static ProductCardResponse from(Product product) {
+        return ProductCardResponse.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .sku(product.getSku())
+                .shortDescription(product.getShortDescription())
+                .price(product.getPrice())
+                .oldPrice(product.getOldPrice())
+                .discountPercentage(product.getDiscountPercentage())
+                .coverImageUrl(product.getCoverImageUrl())
+                .coverImageSrcset(product.getCoverImageVariants() != null ? product.getCoverImageVariants().getWebpSrcset() : null)
+                .coverImageAvifSrcset(product.getCoverImageVariants() != null ? product.getCoverImageVariants().getAvifSrcset() : null)
+                .color(product.getColor())
+                .material(product.getMaterial())
+                .mountingType(product.getMountingType())
+                .usageArea(product.getUsageArea())
+                .pieceCount(product.getPieceCount())
+                .quantity(product.getQuantity())
+                .inStock(product.isInStock())
+                .featured(product.getFeatured())
+                .isNew(product.getIsNew())
+                .onSale(product.getOnSale())
+                .categoryId(product.getCategory() != null ? product.getCategory().getId() : null)
+                .categoryName(product.getCategory() != null ? product.getCategory().getName() : null)
+                .reviewCount(product.getReviewCount())
+                .averageRating(product.getAverageRating())
+                .viewCount(product.getViewCount())
+                .build();
+    }
+}
@@ -0,0 +1,118 @@
+package eticaret.demo.product.dto;
+
+import eticaret.demo.product.Product;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Ürün listeleri için yanıt şekillendirme
+ * view=card ise ürün kartı, fields=id,name,price ise sadece istenen alanlar döner.
+ * İkisi de verilmezse tam ürün (eski davranış) döner.
+ */
+public final class ProductFields {
+
+    public static final String VIEW_CARD = "card";
+
+    /**
+     * fields= parametresinde seçilebilecek alanlar
+     */
+    private static final Map<String, Function<Product, Object>> EXTRACTORS = new LinkedHashMap<>();
+
+    static {
+        EXTRACTORS.put("id", Product::getId);
+        EXTRACTORS.put("name", Product::getName);
+        EXTRACTORS.put("sku", Product::getSku);
+        EXTRACTORS.put("shortDescription", Product::getShortDescription);
+        EXTRACTORS.put("description", Product::getDescription);
+        EXTRACTORS.put("price", Product::getPrice);
+        EXTRACTORS.put("oldPrice", Product::getOldPrice);
+        EXTRACTORS.put("discountPercentage", Product::getDiscountPercentage);
+        EXTRACTORS.put("coverImageUrl", Product::getCoverImageUrl);
+        EXTRACTORS.put("detailImageUrl", Product::getDetailImageUrl);
+        EXTRACTORS.put("coverImageVariants", Product::getCoverImageVariants);
+        EXTRACTORS.put("detailImageVariants", Product::getDetailImageVariants);
+        EXTRACTORS.put("imageUrls", Product::getImageUrls);
+        EXTRACTORS.put("width", Product::getWidth);
+        EXTRACTORS.put("height", Product::getHeight);
+        EXTRACTORS.put("pleatType", Product::getPleatType);
+        EXTRACTORS.put("color", Product::getColor);
+        EXTRACTORS.put("material", Product::getMaterial);
+        EXTRACTORS.put("mountingType", Product::getMountingType);
+        EXTRACTORS.put("lightTransmittance", Product::getLightTransmittance);
+        EXTRACTORS.put("usageArea", Product::getUsageArea);
+        EXTRACTORS.put("pieceCount", Product::getPieceCount);
+        EXTRACTORS.put("quantity", Product::getQuantity);
+        EXTRACTORS.put("inStock", Product::isInStock);
+        EXTRACTORS.put("featured", Product::getFeatured);
+        EXTRACTORS.put("isNew", Product::getIsNew);
+        EXTRACTORS.put("onSale", Product::getOnSale);
+        EXTRACTORS.put("sortOrder", Product::getSortOrder);
+        EXTRACTORS.put("categoryId", product -> product.getCategory() != null ? product.getCategory().getId() : null);
+        EXTRACTORS.put("categoryName", product -> product.getCategory() != null ? product.getCategory().getName() : null);
+        EXTRACTORS.put("reviewCount", Product::getReviewCount);
+        EXTRACTORS.put("averageRating", Product::getAverageRating);
+        EXTRACTORS.put("viewCount", Product::getViewCount);
+        EXTRACTORS.put("createdAt", Product::getCreatedAt);
+    }
+
+    private ProductFields() {
+    }
+
+    /**
+     * Ürün listesini istenen görünüme çevirir
+     *
+     * @param view "card" ise ürün kartı
+     * @param fields Virgülle ayrılmış alan listesi (view'dan önceliklidir)
+     */
+    public static List<Object> shape(Collection<Product> products, String view, String fields) {
+        List<Object> result = new ArrayList<>(products.size());
+        Set<String> selected = parse(fields);
+        if (!selected.isEmpty()) {
+            for (Product product : products) {
+                result.add(select(product, selected));
+            }
+        } else if (VIEW_CARD.equalsIgnoreCase(view)) {
+            for (Product product : products) {
+                result.add(ProductCardResponse.from(product));
+            }
+        } else {
+            result.addAll(products);
+        }
+        return result;
+    }
+
+    /**
+     * Sadece istenen alanları içeren bir map üretir
+     */
+    public static Map<String, Object> select(Product product, Set<String> selected) {
+        Map<String, Object> values = new LinkedHashMap<>(selected.size() * 2);
+        for (String field : selected) {
+            values.put(field, EXTRACTORS.get(field).apply(product));
+        }
+        return values;
+    }
+
+    /**
+     * fields= parametresini ayrıştırır, bilinmeyen alanlar yok sayılır
+     */
+    public static Set<String> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return Set.of();
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (EXTRACTORS.containsKey(name)) {
+                selected.add(name);
+            }
+        }
+        return selected;
+    }
+}
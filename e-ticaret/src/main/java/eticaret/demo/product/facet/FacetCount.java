@@ -0,0 +1,11 @@
+package eticaret.demo.product.facet;
+
+/**
+ * Filtre kenar çubuğu için tek bir seçenek ve eşleşen ürün sayısı
+ *
+ * @param value Filtrede gönderilecek değer
+ * @param label Gösterim metni
+ * @param count Diğer seçili filtrelerle birlikte bu değeri seçince dönecek ürün sayısı
+ */
+public record FacetCount(String value, String label, int count) {
+}
@@ -0,0 +1,274 @@
+package eticaret.demo.product.facet;
+
+import eticaret.demo.product.Product;
+import eticaret.demo.product.catalog.CatalogSnapshot;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Katalog görüntüsü üzerinde bitset tabanlı filtre (facet) indeksi
+ * Her ürün, görüntüdeki sırası (sortOrder) kadar bir bit konumu alır; her alan değeri için
+ * o değere sahip ürünlerin bit kümesi tutulur. Filtreler bit kümesi VE/VEYA işlemleriyle,
+ * sayımlar kesişim kardinalitesiyle hesaplanır. Görüntü değişmez olduğundan indeks de değişmezdir.
+ */
+public final class FacetIndex {
+
+    public static final String COLOR = "color";
+    public static final String MATERIAL = "material";
+    public static final String USAGE_AREA = "usageArea";
+    public static final String MOUNTING_TYPE = "mountingType";
+    public static final String CATEGORY = "category";
+    public static final String PRICE = "price";
+
+    private static final List<String> FACETS = List.of(COLOR, MATERIAL, USAGE_AREA, MOUNTING_TYPE, CATEGORY, PRICE);
+
+    /**
+     * Metre fiyatı aralıklarının alt sınırları (TL)
+     */
+    private static final int[] PRICE_BUCKETS = {0, 250, 500, 1000, 2000, 5000};
+
+    private static final Locale TURKISH = Locale.forLanguageTag("tr");
+
+    private final long version;
+    private final List<Product> products;
+    private final BitSet all;
+    private final BitSet featured;
+    private final BitSet isNew;
+    private final BitSet onSale;
+    private final Map<String, Map<String, BitSet>> values;
+    private final Map<String, Map<String, String>> labels;
+
+    private FacetIndex(CatalogSnapshot snapshot) {
+        this.version = snapshot.getVersion();
+        this.products = snapshot.getAll();
+        int size = products.size();
+        this.all = new BitSet(size);
+        this.featured = new BitSet(size);
+        this.isNew = new BitSet(size);
+        this.onSale = new BitSet(size);
+
+        Map<String, Map<String, BitSet>> valueMap = new LinkedHashMap<>();
+        Map<String, Map<String, String>> labelMap = new LinkedHashMap<>();
+        for (String facet : FACETS) {
+            valueMap.put(facet, new TreeMap<>());
+            labelMap.put(facet, new TreeMap<>());
+        }
+        // Fiyat aralıkları alfabetik değil, artan sırada listelensin
+        valueMap.put(PRICE, new LinkedHashMap<>());
+        labelMap.put(PRICE, new LinkedHashMap<>());
+        for (int i = 0; i < PRICE_BUCKETS.length; i++) {
+            String bucket = priceBucketLabel(i);
+            valueMap.get(PRICE).put(bucket, new BitSet(size));
+            labelMap.get(PRICE).put(bucket, bucket);
+        }
+
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            Product product = products.get(ordinal);
+            all.set(ordinal);
+            if (Boolean.TRUE.equals(product.getFeatured())) {
+                featured.set(ordinal);
+            }
+            if (Boolean.TRUE.equals(product.getIsNew())) {
+                isNew.set(ordinal);
+            }
+            if (Boolean.TRUE.equals(product.getOnSale())) {
+                onSale.set(ordinal);
+            }
+
+            add(valueMap, labelMap, COLOR, product.getColor(), product.getColor(), ordinal, size);
+            add(valueMap, labelMap, MATERIAL, product.getMaterial(), product.getMaterial(), ordinal, size);
+            add(valueMap, labelMap, MOUNTING_TYPE, product.getMountingType(), product.getMountingType(), ordinal, size);
+            // Kullanım alanı birden fazla değer içerebilir ("Salon, Yatak Odası")
+            if (product.getUsageArea() != null) {
+                for (String area : product.getUsageArea().split("[,;/]")) {
+                    add(valueMap, labelMap, USAGE_AREA, area, area.trim(), ordinal, size);
+                }
+            }
+            if (product.getCategory() != null && product.getCategory().getId() != null) {
+                add(valueMap, labelMap, CATEGORY, product.getCategory().getId().toString(),
+                        product.getCategory().getName(), ordinal, size);
+            }
+            String priceBucket = priceBucket(product.getPrice());
+            add(valueMap, labelMap, PRICE, priceBucket, priceBucket, ordinal, size);
+        }
+
+        this.values = valueMap;
+        this.labels = labelMap;
+    }
+
+    public static FacetIndex build(CatalogSnapshot snapshot) {
+        return new FacetIndex(snapshot);
+    }
+
+    /**
+     * Filtre değerlerini karşılaştırma için normalize eder (Türkçe küçük harf, boşsa null)
+     */
+    public static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(TURKISH);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sorguya uyan ürünlerin bit kümesi
+     */
+    public BitSet match(FacetQuery query) {
+        BitSet result = flags(query);
+        for (Map.Entry<String, Set<String>> selection : query.selections().entrySet()) {
+            result.and(union(selection.getKey(), selection.getValue()));
+        }
+        return result;
+    }
+
+    /**
+     * Bit kümesindeki ürünleri katalog sırasıyla döndürür
+     */
+    public List<Product> products(BitSet matched, long offset, int limit) {
+        List<Product> result = new ArrayList<>(Math.max(0, Math.min(limit, matched.cardinality())));
+        long skipped = 0;
+        for (int ordinal = matched.nextSetBit(0); ordinal >= 0 && result.size() < limit; ordinal = matched.nextSetBit(ordinal + 1)) {
+            if (skipped++ < offset) {
+                continue;
+            }
+            result.add(products.get(ordinal));
+        }
+        return result;
+    }
+
+    /**
+     * Her alan için değer bazında ürün sayıları
+     * Bir alanın sayıları, o alan hariç diğer tüm seçimler uygulanarak hesaplanır;
+     * böylece aynı alanda başka bir değer seçildiğinde kaç ürün geleceği görülür.
+     */
+    public Map<String, List<FacetCount>> counts(FacetQuery query) {
+        BitSet flagged = flags(query);
+        Map<String, BitSet> selected = new LinkedHashMap<>();
+        for (Map.Entry<String, Set<String>> selection : query.selections().entrySet()) {
+            selected.put(selection.getKey(), union(selection.getKey(), selection.getValue()));
+        }
+
+        Map<String, List<FacetCount>> result = new LinkedHashMap<>();
+        for (String facet : FACETS) {
+            BitSet base = (BitSet) flagged.clone();
+            for (Map.Entry<String, BitSet> other : selected.entrySet()) {
+                if (!other.getKey().equals(facet)) {
+                    base.and(other.getValue());
+                }
+            }
+            List<FacetCount> facetCounts = new ArrayList<>();
+            Map<String, String> facetLabels = labels.get(facet);
+            for (Map.Entry<String, BitSet> value : values.get(facet).entrySet()) {
+                BitSet intersection = (BitSet) value.getValue().clone();
+                intersection.and(base);
+                int count = intersection.cardinality();
+                if (count > 0) {
+                    facetCounts.add(new FacetCount(value.getKey(), facetLabels.get(value.getKey()), count));
+                }
+            }
+            result.put(facet, facetCounts);
+        }
+
+        List<FacetCount> flagCounts = new ArrayList<>();
+        BitSet base = (BitSet) all.clone();
+        for (BitSet other : selected.values()) {
+            base.and(other);
+        }
+        flagCounts.add(new FacetCount("featured", "Öne Çıkan", intersectionCount(base, featured)));
+        flagCounts.add(new FacetCount("isNew", "Yeni", intersectionCount(base, isNew)));
+        flagCounts.add(new FacetCount("onSale", "İndirimli", intersectionCount(base, onSale)));
+        result.put("flags", flagCounts);
+        return result;
+    }
+
+    /**
+     * Bir alanda verilen parçayı içeren değer anahtarları (eski LIKE '%...%' davranışı için)
+     */
+    public Set<String> keysContaining(String facet, String fragment) {
+        String normalized = normalize(fragment);
+        if (normalized == null) {
+            return Collections.emptySet();
+        }
+        Set<String> keys = new HashSet<>();
+        for (String key : values.getOrDefault(facet, Map.of()).keySet()) {
+            if (key.contains(normalized)) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private BitSet flags(FacetQuery query) {
+        BitSet result = (BitSet) all.clone();
+        if (Boolean.TRUE.equals(query.featured())) {
+            result.and(featured);
+        }
+        if (Boolean.TRUE.equals(query.isNew())) {
+            result.and(isNew);
+        }
+        if (Boolean.TRUE.equals(query.onSale())) {
+            result.and(onSale);
+        }
+        return result;
+    }
+
+    private BitSet union(String facet, Set<String> keys) {
+        BitSet result = new BitSet(products.size());
+        Map<String, BitSet> facetValues = values.getOrDefault(facet, Map.of());
+        for (String key : keys) {
+            BitSet bits = facetValues.get(key);
+            if (bits != null) {
+                result.or(bits);
+            }
+        }
+        return result;
+    }
+
+    private static int intersectionCount(BitSet a, BitSet b) {
+        BitSet intersection = (BitSet) a.clone();
+        intersection.and(b);
+        return intersection.cardinality();
+    }
+
+    private static void add(Map<String, Map<String, BitSet>> valueMap, Map<String, Map<String, String>> labelMap,
+                            String facet, String rawValue, String label, int ordinal, int size) {
+        String key = normalize(rawValue);
+        if (key == null) {
+            return;
+        }
+        valueMap.get(facet).computeIfAbsent(key, k -> new BitSet(size)).set(ordinal);
+        labelMap.get(facet).putIfAbsent(key, label != null ? label.trim() : key);
+    }
+
+    private static String priceBucket(BigDecimal price) {
+        if (price == null) {
+            return null;
+        }
+        for (int i = PRICE_BUCKETS.length - 1; i > 0; i--) {
+            if (price.compareTo(BigDecimal.valueOf(PRICE_BUCKETS[i])) >= 0) {
+                return priceBucketLabel(i);
+            }
+        }
+        return priceBucketLabel(0);
+    }
+
+    private static String priceBucketLabel(int index) {
+        return index == PRICE_BUCKETS.length - 1
+                ? PRICE_BUCKETS[index] + "+"
+                : PRICE_BUCKETS[index] + "-" + PRICE_BUCKETS[index + 1];
+    }
+}
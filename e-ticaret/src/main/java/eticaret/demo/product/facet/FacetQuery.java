@@ -0,0 +1,69 @@
+package eticaret.demo.product.facet;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Filtre sorgusu
+ * Aynı alan içindeki değerler VEYA, farklı alanlar VE ile birleşir.
+ * Bayraklar (öne çıkan, yeni, indirimli) sadece true olduğunda filtre uygular.
+ */
+public record FacetQuery(Map<String, Set<String>> selections, Boolean featured, Boolean isNew, Boolean onSale) {
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final Map<String, Set<String>> selections = new HashMap<>();
+        private Boolean featured;
+        private Boolean isNew;
+        private Boolean onSale;
+
+        /**
+         * Alan için seçili değerleri ekler (boş/null değerler yok sayılır)
+         */
+        public Builder select(String facet, Collection<?> values) {
+            if (values == null) {
+                return this;
+            }
+            for (Object value : values) {
+                String key = value != null ? FacetIndex.normalize(value.toString()) : null;
+                if (key != null) {
+                    selections.computeIfAbsent(facet, f -> new LinkedHashSet<>()).add(key);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Alanı, hiçbir değere uymayacak şekilde boş seçimle işaretler
+         */
+        public Builder selectNone(String facet) {
+            selections.put(facet, new LinkedHashSet<>());
+            return this;
+        }
+
+        public Builder featured(Boolean featured) {
+            this.featured = featured;
+            return this;
+        }
+
+        public Builder isNew(Boolean isNew) {
+            this.isNew = isNew;
+            return this;
+        }
+
+        public Builder onSale(Boolean onSale) {
+            this.onSale = onSale;
+            return this;
+        }
+
+        public FacetQuery build() {
+            return new FacetQuery(Map.copyOf(selections), featured, isNew, onSale);
+        }
+    }
+}
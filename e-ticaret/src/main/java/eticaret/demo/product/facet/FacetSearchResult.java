@@ -0,0 +1,13 @@
+package eticaret.demo.product.facet;
+
+import eticaret.demo.product.Product;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Filtre sonucu: eşleşen ürünler ve her alan için seçenek sayıları
+ */
+public record FacetSearchResult(Page<Product> products, Map<String, List<FacetCount>> facets) {
+}
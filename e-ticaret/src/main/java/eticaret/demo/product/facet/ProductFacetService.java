@@ -0,0 +1,71 @@
+package eticaret.demo.product.facet;
+
+import eticaret.demo.product.Product;
+import eticaret.demo.product.catalog.CatalogChangedEvent;
+import eticaret.demo.product.catalog.CatalogSnapshot;
+import eticaret.demo.product.catalog.CatalogSnapshotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Ürün filtreleme (facet) servisi
+ * Katalog görüntüsü her değiştiğinde bitset indeksini yeniden kurar, sorgular veritabanına gitmez.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductFacetService {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    private volatile FacetIndex index;
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        index = FacetIndex.build(event.snapshot());
+    }
+
+    /**
+     * Filtreye uyan ürünleri sayfalar ve aynı geçişte alan sayımlarını hesaplar
+     */
+    public FacetSearchResult search(FacetQuery query, Pageable pageable) {
+        FacetIndex facetIndex = currentIndex();
+        BitSet matched = facetIndex.match(query);
+        List<Product> content = facetIndex.products(matched, pageable.getOffset(), pageable.getPageSize());
+        return new FacetSearchResult(
+                new PageImpl<>(content, pageable, matched.cardinality()),
+                facetIndex.counts(query)
+        );
+    }
+
+    /**
+     * Filtreye uyan tüm ürünler (katalog sırasıyla)
+     */
+    public List<Product> filter(FacetQuery query) {
+        FacetIndex facetIndex = currentIndex();
+        return facetIndex.products(facetIndex.match(query), 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Bir alanda verilen parçayı içeren değerler (kısmi eşleşme için)
+     */
+    public Set<String> keysContaining(String facet, String fragment) {
+        return currentIndex().keysContaining(facet, fragment);
+    }
+
+    private FacetIndex currentIndex() {
+        CatalogSnapshot snapshot = catalogSnapshotService.current();
+        FacetIndex facetIndex = index;
+        if (facetIndex == null || facetIndex.getVersion() != snapshot.getVersion()) {
+            facetIndex = FacetIndex.build(snapshot);
+            index = facetIndex;
+        }
+        return facetIndex;
+    }
+}
@@ -0,0 +1,72 @@
+package eticaret.demo.product.pricing;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Önceden ayrıştırılmış pile çarpanı
+ * "1x2.5" gibi pile tipleri bir kez ayrıştırılır; fiyat hesabı için tam sayı (unscaled + scale),
+ * stok hesabı için double değer birlikte tutulur.
+ * Ayrıştırma kuralı ödeme akışıyla aynıdır: "x" ile bölünür, iki parça varsa ikincisi çarpandır, aksi halde 1.0.
+ *
+ * @param value Stok hesabında kullanılan çarpan
+ * @param unscaled Fiyat hesabında kullanılan çarpanın ölçeksiz değeri (2.5 -> 25)
+ * @param scale Ondalık basamak sayısı (2.5 -> 1)
+ */
+public record PleatMultiplier(double value, long unscaled, int scale) {
+
+    public static final PleatMultiplier ONE = from(1.0);
+
+    private static final int MAX_CACHED = 256;
+
+    /**
+     * Sık kullanılan pile tipleri başlangıçta ayrıştırılır, diğerleri ilk görüldüğünde eklenir
+     */
+    private static final Map<String, PleatMultiplier> TABLE = new ConcurrentHashMap<>();
+
+    static {
+        for (String pleatType : new String[]{"1x1", "1x1.5", "1x2", "1x2.5", "1x3", "1x3.5", "1x4", "pilesiz"}) {
+            TABLE.put(pleatType, parse(pleatType));
+        }
+    }
+
+    /**
+     * Pile tipinin çarpanını döndürür (null/boş ise 1.0)
+     */
+    public static PleatMultiplier of(String pleatType) {
+        if (pleatType == null || pleatType.isEmpty()) {
+            return ONE;
+        }
+        PleatMultiplier multiplier = TABLE.get(pleatType);
+        if (multiplier != null) {
+            return multiplier;
+        }
+        multiplier = parse(pleatType);
+        if (TABLE.size() < MAX_CACHED) {
+            TABLE.putIfAbsent(pleatType, multiplier);
+        }
+        return multiplier;
+    }
+
+    private static PleatMultiplier parse(String pleatType) {
+        try {
+            String[] parts = pleatType.split("x");
+            if (parts.length == 2) {
+                return from(Double.parseDouble(parts[1]));
+            }
+        } catch (NumberFormatException | ArithmeticException e) {
+            // Hata durumunda varsayılan değer
+        }
+        return ONE;
+    }
+
+    private static PleatMultiplier from(double value) {
+        // BigDecimal.valueOf(double) ödeme akışındaki fiyat hesabıyla aynı ondalık gösterimi verir
+        BigDecimal decimal = BigDecimal.valueOf(value);
+        if (decimal.scale() < 0) {
+            decimal = decimal.setScale(0);
+        }
+        return new PleatMultiplier(value, decimal.unscaledValue().longValueExact(), decimal.scale());
+    }
+}
@@ -0,0 +1,102 @@
+package eticaret.demo.product.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Perde fiyat ve stok hesabı
+ * Fiyat = metre fiyatı * (en cm / 100, 4 basamak) * pile çarpanı * adet, kuruşa HALF_UP yuvarlanır.
+ * Hesap tam sayılarla (kuruş) yapılır, taşma ihtimalinde BigDecimal'e düşer; sonuç ödeme sırasındaki
+ * doğrulama ile birebir aynıdır. Stok = en (m) * pile çarpanı * adet (double, stok düşümüyle aynı).
+ */
+public final class PriceEngine {
+
+    private static final int WIDTH_SCALE = 4;
+    private static final int RESULT_SCALE = 2;
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+            10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L, 10_000_000_000_000_000L,
+            100_000_000_000_000_000L
+    };
+
+    private PriceEngine() {
+    }
+
+    /**
+     * Toplam fiyat (kuruş)
+     *
+     * @param pricePerMeter Metre fiyatı
+     * @param widthCm En (cm)
+     * @param multiplier Pile çarpanı
+     * @param quantity Adet
+     */
+    public static long totalKurus(BigDecimal pricePerMeter, double widthCm, PleatMultiplier multiplier, int quantity) {
+        long widthUnits = widthUnits(widthCm);
+        int scale = pricePerMeter.scale() + WIDTH_SCALE + multiplier.scale();
+        int drop = scale - RESULT_SCALE;
+        if (drop >= 0 && drop < POWERS_OF_TEN.length && pricePerMeter.scale() >= 0
+                && pricePerMeter.unscaledValue().bitLength() < 63) {
+            try {
+                long product = Math.multiplyExact(pricePerMeter.unscaledValue().longValue(), widthUnits);
+                product = Math.multiplyExact(product, multiplier.unscaled());
+                product = Math.multiplyExact(product, (long) quantity);
+                return roundHalfUp(product, POWERS_OF_TEN[drop]);
+            } catch (ArithmeticException e) {
+                // Taşma: BigDecimal ile hesapla
+            }
+        }
+        return totalPrice(pricePerMeter, widthCm, multiplier, quantity).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Toplam fiyat (TL, 2 basamak)
+     */
+    public static BigDecimal total(BigDecimal pricePerMeter, double widthCm, PleatMultiplier multiplier, int quantity) {
+        return BigDecimal.valueOf(totalKurus(pricePerMeter, widthCm, multiplier, quantity), RESULT_SCALE);
+    }
+
+    /**
+     * Kullanılacak stok miktarı (metre)
+     *
+     * @param widthMeters En (m) - cm / 100.0 olarak hesaplanmış
+     */
+    public static double requiredStockMeters(double widthMeters, PleatMultiplier multiplier, int quantity) {
+        return widthMeters * multiplier.value() * quantity;
+    }
+
+    /**
+     * BigDecimal ile referans hesap (taşma durumunda kullanılır)
+     */
+    static BigDecimal totalPrice(BigDecimal pricePerMeter, double widthCm, PleatMultiplier multiplier, int quantity) {
+        BigDecimal widthMeters = BigDecimal.valueOf(widthCm)
+                .divide(BigDecimal.valueOf(100.0), WIDTH_SCALE, RoundingMode.HALF_UP);
+        return pricePerMeter
+                .multiply(widthMeters)
+                .multiply(BigDecimal.valueOf(multiplier.value()))
+                .multiply(BigDecimal.valueOf(quantity))
+                .setScale(RESULT_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * En (cm) değerini metre cinsinden 4 basamaklı ölçeksiz tam sayıya çevirir (123.45 cm -> 12345)
+     */
+    private static long widthUnits(double widthCm) {
+        return BigDecimal.valueOf(widthCm)
+                .movePointLeft(2)
+                .setScale(WIDTH_SCALE, RoundingMode.HALF_UP)
+                .unscaledValue()
+                .longValueExact();
+    }
+
+    private static long roundHalfUp(long value, long divisor) {
+        if (divisor == 1L) {
+            return value;
+        }
+        long half = divisor / 2;
+        return value >= 0
+                ? Math.addExact(value, half) / divisor
+                : -(Math.addExact(Math.negateExact(value), half) / divisor);
+    }
+}
@@ -0,0 +1,32 @@
+package eticaret.demo.product.pricing;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Tek bir kalemin fiyat teklifi
+ * Hesaplanamayan kalemlerde sadece productId ve error dolu döner.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceQuote {
+    private Long productId;
+    private String productName;
+    private Double width;
+    private Double height;
+    private String pleatType;
+    private Integer quantity;
+    private BigDecimal pricePerMeter;
+    private Double pleatMultiplier;
+    private BigDecimal totalPrice;
+    private Double requiredStockMeters;
+    private Integer availableStock;
+    private boolean inStock;
+    private String error;
+}
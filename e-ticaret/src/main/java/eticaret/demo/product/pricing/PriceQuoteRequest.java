@@ -0,0 +1,52 @@
+package eticaret.demo.product.pricing;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Toplu fiyat teklifi isteği
+ * Perde yapılandırıcısı birden fazla ölçü/pile kombinasyonunu tek istekte fiyatlatır.
+ */
+@Data
+public class PriceQuoteRequest {
+
+    public static final int MAX_ITEMS = 100;
+
+    @NotEmpty(message = "En az bir fiyat kalemi gönderilmelidir.")
+    @Size(max = MAX_ITEMS, message = "Tek istekte en fazla " + MAX_ITEMS + " kalem fiyatlanabilir.")
+    @Valid
+    private List<Item> items;
+
+    @Data
+    public static class Item {
+
+        @NotNull(message = "Ürün ID boş olamaz.")
+        private Long productId;
+
+        /**
+         * En (cm), boşsa ürünün varsayılan eni kullanılır
+         */
+        @DecimalMin(value = "0.1", message = "En değeri 0'dan büyük olmalıdır.")
+        private Double width;
+
+        /**
+         * Boy (cm), fiyatı etkilemez
+         */
+        private Double height;
+
+        /**
+         * Pile sıklığı (ör. "1x2.5"), boşsa ürünün varsayılanı kullanılır
+         */
+        private String pleatType;
+
+        @Min(value = 1, message = "Adet en az 1 olmalıdır.")
+        private Integer quantity;
+    }
+}
@@ -0,0 +1,125 @@
+package eticaret.demo.product.pricing;
+
+import eticaret.demo.product.Product;
+import eticaret.demo.product.ProductRepository;
+import eticaret.demo.product.catalog.CatalogSnapshot;
+import eticaret.demo.product.catalog.CatalogSnapshotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fiyat teklifi servisi
+ * Ürünler katalog görüntüsünden okunur; sadece görüntüde olmayan (ör. stoğu bitmiş) aktif ürünler
+ * için tek bir toplu sorgu atılır.
+ */
+@Service
+@RequiredArgsConstructor
+public class PriceQuoteService {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final ProductRepository productRepository;
+
+    /**
+     * Kalemleri fiyatlar, sonuçlar istek sırasıyla döner
+     */
+    public List<PriceQuote> quote(List<PriceQuoteRequest.Item> items) {
+        Map<Long, Product> products = findProducts(items);
+        List<PriceQuote> quotes = new ArrayList<>(items.size());
+        for (PriceQuoteRequest.Item item : items) {
+            Product product = products.get(item.getProductId());
+            if (product == null) {
+                quotes.add(PriceQuote.builder()
+                        .productId(item.getProductId())
+                        .error("Ürün bulunamadı veya aktif değil")
+                        .build());
+                continue;
+            }
+            quotes.add(quote(product, item.getWidth(), item.getHeight(), item.getPleatType(),
+                    item.getQuantity() != null ? item.getQuantity() : 1, null));
+        }
+        return quotes;
+    }
+
+    /**
+     * Aktif bir ürünü getirir (önce katalog görüntüsü, yoksa veritabanı)
+     */
+    public Product findActiveProduct(Long productId) {
+        Product product = catalogSnapshotService.current().get(productId);
+        if (product != null) {
+            return product;
+        }
+        return productRepository.findByIdAndActiveTrue(productId).orElse(null);
+    }
+
+    /**
+     * Tek bir kalemi fiyatlar
+     * Boş bırakılan en ve pile tipi için ürünün varsayılanları kullanılır.
+     *
+     * @param pricePerMeter Metre fiyatı, null ise ürün fiyatı
+     */
+    public PriceQuote quote(Product product, Double width, Double height, String pleatType, int quantity,
+                            BigDecimal pricePerMeter) {
+        Double effectiveWidth = width != null ? width : product.getWidth();
+        Double effectiveHeight = height != null ? height : product.getHeight();
+        String effectivePleatType = pleatType != null ? pleatType : product.getPleatType();
+        BigDecimal price = pricePerMeter != null ? pricePerMeter : product.getPrice();
+
+        PriceQuote.PriceQuoteBuilder quote = PriceQuote.builder()
+                .productId(product.getId())
+                .productName(product.getName())
+                .width(effectiveWidth)
+                .height(effectiveHeight)
+                .pleatType(effectivePleatType)
+                .quantity(quantity)
+                .pricePerMeter(price)
+                .availableStock(product.getQuantity());
+
+        if (effectiveWidth == null || effectivePleatType == null || price == null) {
+            return quote.error("Fiyat hesaplamak için width, pleatType ve price gerekli").build();
+        }
+
+        PleatMultiplier multiplier = PleatMultiplier.of(effectivePleatType);
+        double requiredStock = PriceEngine.requiredStockMeters(effectiveWidth / 100.0, multiplier, quantity);
+        return quote
+                .pleatMultiplier(multiplier.value())
+                .totalPrice(PriceEngine.total(price, effectiveWidth, multiplier, quantity))
+                .requiredStockMeters(requiredStock)
+                // Ödeme sırasındaki stok kontrolüyle aynı: stok bilgisi yoksa kontrol yapılmaz
+                .inStock(product.getQuantity() == null || product.getQuantity() >= requiredStock)
+                .build();
+    }
+
+    private Map<Long, Product> findProducts(List<PriceQuoteRequest.Item> items) {
+        CatalogSnapshot snapshot = catalogSnapshotService.current();
+        Map<Long, Product> products = new HashMap<>(items.size() * 2);
+        Set<Long> missing = new HashSet<>();
+        for (PriceQuoteRequest.Item item : items) {
+            Long productId = item.getProductId();
+            if (products.containsKey(productId)) {
+                continue;
+            }
+            Product product = snapshot.get(productId);
+            if (product != null) {
+                products.put(productId, product);
+            } else {
+                missing.add(productId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Product product : productRepository.findAllById(missing)) {
+                if (Boolean.TRUE.equals(product.getActive())) {
+                    products.put(product.getId(), product);
+                }
+            }
+        }
+        return products;
+    }
+}
@@ -0,0 +1,276 @@
+package eticaret.demo.product.search;
+
+import eticaret.demo.product.Product;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ürün arama için ters indeks (inverted index)
+ * Alan ağırlıklı terim frekansları tutar ve BM25 ile sıralar.
+ * Sözlük sıralı tutulduğu için önek (prefix) eşleşmesi bir aralık okumasıdır,
+ * yazım hatalarına karşı aynı harfle başlayan terimlerde sınırlı düzenleme mesafesi aranır.
+ * Ürün başına güncellenebilir; okumalar ve yazmalar okuma/yazma kilidiyle ayrılır.
+ */
+class ProductSearchIndex {
+
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float ATTRIBUTE_WEIGHT = 2.0f;
+    private static final float SHORT_DESCRIPTION_WEIGHT = 1.5f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final double EXACT_BOOST = 1.0;
+    private static final double PREFIX_BOOST = 0.7;
+    private static final double FUZZY_BOOST = 0.5;
+
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * terim -> (ürün ID -> ağırlıklı terim frekansı)
+     */
+    private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+
+    /**
+     * ürün ID -> indekslenen terimler (silme için)
+     */
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+
+    /**
+     * ürün ID -> ağırlıklı doküman uzunluğu
+     */
+    private final Map<Long, Float> documentLengths = new HashMap<>();
+
+    private double totalLength;
+
+    /**
+     * İndeksi verilen ürünlerle baştan oluşturur
+     */
+    void rebuild(Collection<Product> products) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentTerms.clear();
+            documentLengths.clear();
+            totalLength = 0;
+            for (Product product : products) {
+                addDocument(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ürünü ekler veya günceller
+     */
+    void index(Product product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeDocument(product.getId());
+            addDocument(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ürünü indeksten çıkarır
+     */
+    void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documentLengths.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sorguyu çalıştırır ve eşleşen ürün ID'lerini skora göre azalan sırada döndürür
+     * Tüm sorgu kelimelerinin eşleştiği ürünler önceliklidir; hiç yoksa herhangi birinin eşleştiği ürünler döner.
+     */
+    List<Long> search(String query) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(TurkishTextAnalyzer.tokenize(query)));
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentCount = documentLengths.size();
+            if (documentCount == 0) {
+                return List.of();
+            }
+            double averageLength = totalLength / documentCount;
+
+            Map<Long, double[]> scores = new HashMap<>();
+            for (int q = 0; q < queryTerms.size(); q++) {
+                Map<String, Double> expansions = expand(queryTerms.get(q));
+                for (Map.Entry<String, Double> expansion : expansions.entrySet()) {
+                    Map<Long, Float> termPostings = postings.get(expansion.getKey());
+                    if (termPostings == null) {
+                        continue;
+                    }
+                    double idf = Math.log(1 + (documentCount - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+                    for (Map.Entry<Long, Float> posting : termPostings.entrySet()) {
+                        double tf = posting.getValue();
+                        double length = documentLengths.getOrDefault(posting.getKey(), 0f);
+                        double bm25 = idf * (tf * (K1 + 1)) / (tf + K1 * (1 - B + B * length / averageLength));
+                        double score = expansion.getValue() * bm25;
+                        double[] perTerm = scores.computeIfAbsent(posting.getKey(), id -> new double[queryTerms.size()]);
+                        // Aynı sorgu kelimesi için en iyi açılımın skoru alınır
+                        if (score > perTerm[q]) {
+                            perTerm[q] = score;
+                        }
+                    }
+                }
+            }
+
+            List<ScoredDocument> allMatched = new ArrayList<>();
+            List<ScoredDocument> anyMatched = new ArrayList<>();
+            for (Map.Entry<Long, double[]> entry : scores.entrySet()) {
+                double total = 0;
+                boolean all = true;
+                for (double termScore : entry.getValue()) {
+                    total += termScore;
+                    if (termScore <= 0) {
+                        all = false;
+                    }
+                }
+                ScoredDocument document = new ScoredDocument(entry.getKey(), total);
+                if (all) {
+                    allMatched.add(document);
+                }
+                anyMatched.add(document);
+            }
+
+            List<ScoredDocument> result = allMatched.isEmpty() ? anyMatched : allMatched;
+            result.sort((a, b) -> {
+                int compare = Double.compare(b.score(), a.score());
+                return compare != 0 ? compare : Long.compare(a.productId(), b.productId());
+            });
+            List<Long> ids = new ArrayList<>(result.size());
+            for (ScoredDocument document : result) {
+                ids.add(document.productId());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sorgu kelimesini sözlükteki terimlere açar: tam eşleşme, önek ve yazım hatası toleransı
+     * Okuma kilidi altında çağrılır.
+     */
+    private Map<String, Double> expand(String term) {
+        Map<String, Double> expansions = new HashMap<>();
+        if (postings.containsKey(term)) {
+            expansions.put(term, EXACT_BOOST);
+        }
+
+        NavigableMap<String, Map<Long, Float>> prefixRange = postings.subMap(term, false, term + Character.MAX_VALUE, false);
+        int prefixCount = 0;
+        for (String candidate : prefixRange.keySet()) {
+            if (prefixCount++ >= MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            expansions.putIfAbsent(candidate, PREFIX_BOOST);
+        }
+
+        if (expansions.isEmpty() && term.length() >= MIN_FUZZY_LENGTH) {
+            int maxDistance = term.length() >= 8 ? 2 : 1;
+            char first = term.charAt(0);
+            NavigableMap<String, Map<Long, Float>> sameInitial =
+                    postings.subMap(String.valueOf(first), true, String.valueOf((char) (first + 1)), false);
+            for (String candidate : sameInitial.keySet()) {
+                // Önek üzerinden de tolerans: "perdle" -> "perdeler" gibi kelimeler için aday terimin başı karşılaştırılır
+                boolean prefixOnly = candidate.length() > term.length() + maxDistance;
+                String comparable = prefixOnly ? candidate.substring(0, term.length()) : candidate;
+                if (TurkishTextAnalyzer.boundedEditDistance(term, comparable, maxDistance) <= maxDistance) {
+                    expansions.putIfAbsent(candidate, prefixOnly ? FUZZY_BOOST * PREFIX_BOOST : FUZZY_BOOST);
+                }
+            }
+        }
+        return expansions;
+    }
+
+    private void addDocument(Product product) {
+        Map<String, Float> frequencies = new HashMap<>();
+        float length = 0;
+        length += addField(frequencies, product.getName(), NAME_WEIGHT);
+        length += addField(frequencies, product.getColor(), ATTRIBUTE_WEIGHT);
+        length += addField(frequencies, product.getMaterial(), ATTRIBUTE_WEIGHT);
+        length += addField(frequencies, product.getShortDescription(), SHORT_DESCRIPTION_WEIGHT);
+        length += addField(frequencies, product.getDescription(), DESCRIPTION_WEIGHT);
+        if (frequencies.isEmpty()) {
+            return;
+        }
+
+        Long productId = product.getId();
+        for (Map.Entry<String, Float> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(productId, entry.getValue());
+        }
+        documentTerms.put(productId, new HashSet<>(frequencies.keySet()));
+        documentLengths.put(productId, length);
+        totalLength += length;
+    }
+
+    private float addField(Map<String, Float> frequencies, String text, float weight) {
+        List<String> tokens = TurkishTextAnalyzer.tokenize(text);
+        for (String token : tokens) {
+            frequencies.merge(token, weight, Float::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    private void removeDocument(Long productId) {
+        Set<String> terms = documentTerms.remove(productId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Float> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(productId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        Float length = documentLengths.remove(productId);
+        if (length != null) {
+            totalLength -= length;
+        }
+    }
+
+    private record ScoredDocument(Long productId, double score) {
+    }
+}
@@ -0,0 +1,91 @@
+package eticaret.demo.product.search;
+
+import eticaret.demo.product.Product;
+import eticaret.demo.product.catalog.CatalogChangedEvent;
+import eticaret.demo.product.catalog.CatalogSnapshot;
+import eticaret.demo.product.catalog.CatalogSnapshotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Uygulama içi ürün arama servisi
+ * Ad, kısa açıklama, açıklama, renk ve materyal alanlarını Türkçe'ye duyarlı ters indeksle arar.
+ * İndeks katalog görüntüsünü izler; ürün değiştikçe sadece o ürün yeniden indekslenir.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchService {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    // İndeks yazımları this kilidi altında yapılır; okuma kilitsizdir
+    private final ProductSearchIndex index = new ProductSearchIndex();
+    private volatile long indexedVersion = -1;
+
+    /**
+     * Katalog değişikliklerini indekse yansıtır
+     * İndeksin zaten içerdiği (aramadaki tembel kurulumla gelmiş) eski görüntüler atlanır;
+     * böylece versiyon geriye gitmez ve eski bir görüntü yenisinin üzerine yazılmaz.
+     */
+    @EventListener
+    public synchronized void onCatalogChanged(CatalogChangedEvent event) {
+        CatalogSnapshot snapshot = event.snapshot();
+        if (snapshot.getVersion() <= indexedVersion) {
+            return;
+        }
+        if (event.isFullRebuild()) {
+            long start = System.currentTimeMillis();
+            index.rebuild(snapshot.getAll());
+            log.info("Arama indeksi oluşturuldu - Ürün: {}, Süre: {} ms", index.size(), System.currentTimeMillis() - start);
+        } else {
+            Product product = snapshot.get(event.productId());
+            if (product != null) {
+                index.index(product);
+            } else {
+                index.remove(event.productId());
+            }
+        }
+        indexedVersion = snapshot.getVersion();
+    }
+
+    /**
+     * Anahtar kelimeyle arama yapar, sonuçlar alaka düzeyine göre sıralı sayfalanır
+     * Sadece aktif ve stokta olan ürünler döner.
+     */
+    public Page<Product> search(String keyword, Pageable pageable) {
+        CatalogSnapshot snapshot = catalogSnapshotService.current();
+        if (indexedVersion < 0) {
+            synchronized (this) {
+                // Bu arada bir olay daha yeni görüntüyü indekslemiş olabilir
+                if (snapshot.getVersion() > indexedVersion) {
+                    index.rebuild(snapshot.getAll());
+                    indexedVersion = snapshot.getVersion();
+                }
+            }
+        }
+
+        List<Long> rankedIds = index.search(keyword);
+        List<Product> content = new ArrayList<>(pageable.getPageSize());
+        long matched = 0;
+        for (Long productId : rankedIds) {
+            Product product = snapshot.get(productId);
+            if (product == null) {
+                continue; // İndeks ile görüntü arasındaki kısa geçiş anı
+            }
+            if (matched >= pageable.getOffset() && content.size() < pageable.getPageSize()) {
+                content.add(product);
+            }
+            matched++;
+        }
+        return new PageImpl<>(content, pageable, matched);
+    }
+}
@@ -0,0 +1,118 @@
+package eticaret.demo.product.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Türkçe metin çözümleyici
+ * Metni tek geçişte kelimelere ayırır ve Türkçe karakterleri katlar (İ/ı/I → i, ş → s, ğ → g, ü → u, ö → o, ç → c).
+ * Böylece "PERDE", "perde" ve "Perde" ile "şönil"/"sonil" aynı terime düşer.
+ */
+final class TurkishTextAnalyzer {
+
+    /**
+     * İndekslenmeyecek kadar kısa kelimeler
+     */
+    static final int MIN_TOKEN_LENGTH = 2;
+
+    /**
+     * Aramada anlam taşımayan sık kelimeler (katlanmış halleriyle)
+     */
+    private static final Set<String> STOP_WORDS = Set.of(
+            "ve", "ile", "bir", "icin", "bu", "da", "de", "ya", "veya", "gibi", "en", "cok", "olan", "her"
+    );
+
+    private TurkishTextAnalyzer() {
+    }
+
+    /**
+     * Metni katlanmış kelimelere ayırır (sıra korunur, tekrarlar kalır)
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder(16);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(fold(c));
+            } else if (current.length() > 0) {
+                addToken(tokens, current);
+            }
+        }
+        if (current.length() > 0) {
+            addToken(tokens, current);
+        }
+        return tokens;
+    }
+
+    private static void addToken(List<String> tokens, StringBuilder current) {
+        if (current.length() >= MIN_TOKEN_LENGTH) {
+            String token = current.toString();
+            if (!STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        current.setLength(0);
+    }
+
+    /**
+     * Tek karakteri küçük harfe çevirip Türkçe aksanları katlar
+     * Locale'e bağlı toLowerCase kullanılmaz ("I" Türkçe'de "ı", İngilizce'de "i" olur).
+     */
+    static char fold(char c) {
+        return switch (c) {
+            case 'I', 'İ', 'ı', 'i', 'Î', 'î' -> 'i';
+            case 'Ş', 'ş' -> 's';
+            case 'Ğ', 'ğ' -> 'g';
+            case 'Ü', 'ü', 'Û', 'û' -> 'u';
+            case 'Ö', 'ö' -> 'o';
+            case 'Ç', 'ç' -> 'c';
+            case 'Â', 'â' -> 'a';
+            default -> Character.toLowerCase(c);
+        };
+    }
+
+    /**
+     * İki terim arasındaki düzenleme mesafesi (yer değiştirme dahil), maxDistance'ı aşarsa maxDistance + 1 döner
+     */
+    static int boundedEditDistance(String a, String b, int maxDistance) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > maxDistance) {
+            return maxDistance + 1;
+        }
+        int[] previousPrevious = new int[m + 1];
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= n; i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= m; j++) {
+                char cb = b.charAt(j - 1);
+                int cost = ca == cb ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && ca == b.charAt(j - 2) && a.charAt(i - 2) == cb) {
+                    value = Math.min(value, previousPrevious[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] temp = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = temp;
+        }
+        return Math.min(previous[m], maxDistance + 1);
+    }
+}
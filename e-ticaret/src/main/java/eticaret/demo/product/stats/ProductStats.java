@@ -0,0 +1,72 @@
+package eticaret.demo.product.stats;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ürün istatistikleri (yorum sayısı, ortalama puan, görüntüleme sayısı)
+ * Yorum ve görüntüleme yazımlarında artımlı olarak güncellenir,
+ * liste sayfaları tek sorguda tüm sayfanın istatistiklerini okur.
+ */
+@Entity
+@Table(name = "product_stats")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductStats {
+
+    /**
+     * Ürün ID'si (products tablosuna ait)
+     */
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    /**
+     * Aktif yorum sayısı
+     */
+    @Column(name = "review_count", nullable = false)
+    @Builder.Default
+    private Long reviewCount = 0L;
+
+    /**
+     * Aktif yorumların ortalama puanı
+     */
+    @Column(name = "average_rating", nullable = false)
+    @Builder.Default
+    private Double averageRating = 0.0;
+
+    /**
+     * Toplam görüntüleme sayısı
+     */
+    @Column(name = "view_count", nullable = false)
+    @Builder.Default
+    private Long viewCount = 0L;
+
+    /**
+     * Son güncelleme tarihi
+     */
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    public void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+        if (this.reviewCount == null) {
+            this.reviewCount = 0L;
+        }
+        if (this.averageRating == null) {
+            this.averageRating = 0.0;
+        }
+        if (this.viewCount == null) {
+            this.viewCount = 0L;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package eticaret.demo.product.stats;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Açılışta ürün istatistiklerini hesaplar
+ * Örnek yorum/ürün initializer'larından sonra çalışır.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@Order(20) // Diğer initializer'lardan sonra çalışsın
+public class ProductStatsInitializer implements CommandLineRunner {
+
+    private final ProductStatsService productStatsService;
+
+    @Override
+    public void run(String... args) {
+        log.info("Ürün istatistikleri hesaplanıyor...");
+        productStatsService.rebuildAll();
+    }
+}
@@ -0,0 +1,35 @@
+package eticaret.demo.product.stats;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface ProductStatsRepository extends JpaRepository<ProductStats, Long> {
+
+    /**
+     * Görüntüleme sayısını veritabanında atomik olarak 1 artır
+     *
+     * @return Güncellenen satır sayısı (istatistik kaydı yoksa 0)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ProductStats s SET s.viewCount = s.viewCount + 1, s.updatedAt = :now WHERE s.productId = :productId")
+    int incrementViewCount(@Param("productId") Long productId, @Param("now") LocalDateTime now);
+
+    /**
+     * Yorum istatistiklerini güncelle
+     *
+     * @return Güncellenen satır sayısı (istatistik kaydı yoksa 0)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ProductStats s SET s.reviewCount = :reviewCount, s.averageRating = :averageRating, s.updatedAt = :now WHERE s.productId = :productId")
+    int updateReviewStats(@Param("productId") Long productId,
+                          @Param("reviewCount") Long reviewCount,
+                          @Param("averageRating") Double averageRating,
+                          @Param("now") LocalDateTime now);
+}
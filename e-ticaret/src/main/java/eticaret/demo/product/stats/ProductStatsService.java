@@ -0,0 +1,194 @@
+package eticaret.demo.product.stats;
+
+import eticaret.demo.common.cache.CacheInvalidationEvent;
+import eticaret.demo.product.Product;
+import eticaret.demo.product.ProductReviewRepository;
+import eticaret.demo.product.ProductViewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Ürün istatistikleri servisi
+ * Liste sayfalarında ürün başına 3 sorgu yerine tüm sayfa için tek sorgu ile istatistik okur.
+ * Yorum yazımlarında ilgili ürünün yorum istatistikleri, görüntülemelerde ise sayaç güncellenir.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductStatsService {
+
+    private final ProductStatsRepository productStatsRepository;
+    private final ProductReviewRepository productReviewRepository;
+    private final ProductViewRepository productViewRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Verilen ürünlerin istatistiklerini tek sorguda getir
+     */
+    public Map<Long, ProductStats> getStats(Collection<Long> productIds) {
+        List<Long> ids = productIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, ProductStats> result = new HashMap<>(ids.size() * 2);
+        for (ProductStats stats : productStatsRepository.findAllById(ids)) {
+            result.put(stats.getProductId(), stats);
+        }
+        return result;
+    }
+
+    /**
+     * Ürünlere yorum sayısı, ortalama puan ve görüntüleme sayısını ekle (tek sorgu)
+     * İstatistik kaydı olmayan ürünler için 0 kullanılır.
+     */
+    public void applyTo(Collection<Product> products) {
+        if (products == null || products.isEmpty()) {
+            return;
+        }
+        Map<Long, ProductStats> statsById;
+        try {
+            statsById = getStats(products.stream().map(Product::getId).toList());
+        } catch (Exception e) {
+            log.warn("Ürün istatistikleri okunamadı: {}", e.getMessage());
+            statsById = Map.of();
+        }
+        for (Product product : products) {
+            ProductStats stats = product.getId() != null ? statsById.get(product.getId()) : null;
+            product.setReviewCount(stats != null ? stats.getReviewCount() : 0L);
+            product.setAverageRating(stats != null ? stats.getAverageRating() : 0.0);
+            product.setViewCount(stats != null ? stats.getViewCount() : 0L);
+        }
+    }
+
+    /**
+     * Tek bir ürüne istatistikleri ekle
+     */
+    public void applyTo(Product product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        applyTo(List.of(product));
+    }
+
+    /**
+     * Ürün görüntülemesi kaydedildiğinde sayacı artır
+     */
+    public void recordView(Long productId) {
+        if (productId == null) {
+            return;
+        }
+        try {
+            if (productStatsRepository.incrementViewCount(productId, LocalDateTime.now()) == 0) {
+                createStats(productId);
+            }
+        } catch (Exception e) {
+            log.warn("Görüntüleme istatistiği güncellenemedi - ProductId: {}, Hata: {}", productId, e.getMessage());
+        }
+    }
+
+    /**
+     * Yorum eklendiğinde/güncellendiğinde/silindiğinde ürünün yorum istatistiklerini yeniden hesapla
+     * Sadece ilgili ürün için iki sorgu çalışır (yazma yolunda, okuma yolunda değil).
+     */
+    public void refreshReviewStats(Long productId) {
+        if (productId == null) {
+            return;
+        }
+        try {
+            Long reviewCount = productReviewRepository.countByProductIdAndActiveTrue(productId);
+            Double averageRating = productReviewRepository.calculateAverageRatingByProductId(productId);
+            int updated = productStatsRepository.updateReviewStats(
+                    productId,
+                    reviewCount != null ? reviewCount : 0L,
+                    averageRating != null ? averageRating : 0.0,
+                    LocalDateTime.now());
+            if (updated == 0) {
+                createStats(productId);
+            }
+            eventPublisher.publishEvent(CacheInvalidationEvent.review(productId));
+        } catch (Exception e) {
+            log.warn("Yorum istatistiği güncellenemedi - ProductId: {}, Hata: {}", productId, e.getMessage());
+        }
+    }
+
+    /**
+     * Ürün silindiğinde istatistik kaydını kaldır
+     */
+    public void remove(Long productId) {
+        if (productId != null && productStatsRepository.existsById(productId)) {
+            productStatsRepository.deleteById(productId);
+        }
+    }
+
+    /**
+     * Tüm istatistikleri toplu sorgularla baştan hesapla
+     * Açılışta ve her gece sapmaları düzeltmek için çalışır.
+     */
+    @Scheduled(cron = "0 30 3 * * ?") // Her gün saat 03:30
+    public void rebuildAll() {
+        long start = System.currentTimeMillis();
+        try {
+            Map<Long, ProductStats> statsById = new HashMap<>();
+            for (ProductStats stats : productStatsRepository.findAll()) {
+                stats.setReviewCount(0L);
+                stats.setAverageRating(0.0);
+                stats.setViewCount(0L);
+                statsById.put(stats.getProductId(), stats);
+            }
+
+            for (Object[] row : productReviewRepository.aggregateActiveReviewsByProduct()) {
+                ProductStats stats = statsById.computeIfAbsent((Long) row[0], this::emptyStats);
+                stats.setReviewCount(row[1] != null ? ((Number) row[1]).longValue() : 0L);
+                stats.setAverageRating(row[2] != null ? ((Number) row[2]).doubleValue() : 0.0);
+            }
+
+            for (Object[] row : productViewRepository.findMostViewedProducts()) {
+                ProductStats stats = statsById.computeIfAbsent((Long) row[0], this::emptyStats);
+                stats.setViewCount(row[1] != null ? ((Number) row[1]).longValue() : 0L);
+            }
+
+            productStatsRepository.saveAll(new ArrayList<>(statsById.values()));
+            log.info("Ürün istatistikleri yeniden hesaplandı - Ürün: {}, Süre: {} ms",
+                    statsById.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Ürün istatistikleri yeniden hesaplanırken hata: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * İlk kez istatistiği oluşan ürün için kaydı tam değerlerle oluştur
+     */
+    private void createStats(Long productId) {
+        Long reviewCount = productReviewRepository.countByProductIdAndActiveTrue(productId);
+        Double averageRating = productReviewRepository.calculateAverageRatingByProductId(productId);
+        Long viewCount = productViewRepository.countByProductId(productId);
+        ProductStats stats = ProductStats.builder()
+                .productId(productId)
+                .reviewCount(reviewCount != null ? reviewCount : 0L)
+                .averageRating(averageRating != null ? averageRating : 0.0)
+                .viewCount(viewCount != null ? viewCount : 0L)
+                .build();
+        try {
+            productStatsRepository.save(stats);
+        } catch (DataIntegrityViolationException e) {
+            // Eşzamanlı başka bir istek kaydı oluşturdu, değerler zaten güncel sayılır
+            log.debug("Ürün istatistiği eşzamanlı oluşturuldu - ProductId: {}", productId);
+        }
+    }
+
+    private ProductStats emptyStats(Long productId) {
+        return ProductStats.builder().productId(productId).build();
+    }
+}
@@ -112,14 +112,16 @@ public class RecommendationController {
     
     /**
      * Trend ürünler
-     * GET /api/recommendations/trending
+     * GET /api/recommendations/trending?halfLifeHours=24
+     * halfLifeHours: Trend penceresinin yarı ömrü (varsayılan: 1, 24, 168 saat), verilmezse varsayılan pencere
      */
     @GetMapping("/trending")
     public ResponseEntity<DataResponseMessage<List<Product>>> getTrendingProducts(
             @RequestParam(value = "limit", defaultValue = "10") int limit,
+            @RequestParam(value = "halfLifeHours", required = false) Double halfLifeHours,
             HttpServletRequest request) {
         try {
-            List<Product> recommendations = recommendationService.getTrendingProducts(limit);
+            List<Product> recommendations = recommendationService.getTrendingProducts(limit, halfLifeHours);
             
             return ResponseEntity.ok(DataResponseMessage.success(
                     "Trend ürünler başarıyla getirildi", recommendations));
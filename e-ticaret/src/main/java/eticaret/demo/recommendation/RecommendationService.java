@@ -1,19 +1,25 @@
 package eticaret.demo.recommendation;
 
-import eticaret.demo.order.OrderItemRepository;
 import eticaret.demo.product.Product;
 import eticaret.demo.product.ProductRepository;
-import eticaret.demo.product.ProductReviewRepository;
 import eticaret.demo.product.ProductViewRepository;
+import eticaret.demo.product.catalog.CatalogSnapshot;
+import eticaret.demo.product.catalog.CatalogSnapshotService;
+import eticaret.demo.recommendation.copurchase.CoPurchaseIndex;
+import eticaret.demo.recommendation.coview.CoViewNeighbourIndex;
+import eticaret.demo.recommendation.mixed.RecommendationFanOut;
+import eticaret.demo.recommendation.ranking.RankingScoreStore;
+import eticaret.demo.recommendation.ranking.TopK;
+import eticaret.demo.recommendation.similar.ProductFeatureIndex;
+import eticaret.demo.recommendation.trending.TrendingCounters;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -26,51 +32,47 @@ import java.util.stream.Collectors;
 public class RecommendationService {
 
     private final ProductRepository productRepository;
-    private final OrderItemRepository orderItemRepository;
     private final ProductViewRepository productViewRepository;
-    private final ProductReviewRepository productReviewRepository;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final CoPurchaseIndex coPurchaseIndex;
+    private final CoViewNeighbourIndex coViewNeighbourIndex;
+    private final RankingScoreStore rankingScoreStore;
+    private final TrendingCounters trendingCounters;
+    private final RecommendationFanOut recommendationFanOut;
+    private final ProductFeatureIndex productFeatureIndex;
 
     private static final int MAX_RECOMMENDATIONS = 10;
-    private static final int MIN_PURCHASE_COUNT = 2; // En az 2 kez birlikte alınmış olmalı
     private static final int MIN_RATING = 4; // Minimum rating (4+ yıldız)
-    private static final int TREND_DAYS = 30; // Trend ürünler için son 30 gün
+    // Karma öneri stratejileri (ölçümlerde bu adlarla görünür)
+    private static final String STRATEGY_FREQUENTLY_BOUGHT = "frequently-bought";
+    private static final String STRATEGY_RATING = "rating";
+    private static final String STRATEGY_BROWSING = "browsing-history";
+    private static final String STRATEGY_SIMILAR = "similar";
+    private static final String STRATEGY_CATEGORY = "category";
+    private static final Pageable RECENT_VIEWS = PageRequest.of(0, 10); // Gezinme geçmişinde dikkate alınan son görüntüleme
 
     /**
      * "Bu ürünü alanlar şunları da aldı" önerisi
-     * Collaborative Filtering - Birlikte alınan ürünleri bulur
+     * Collaborative Filtering - Birlikte alınma matrisindeki en iyi K komşudan okunur (SQL yok),
+     * ürünler katalog görüntüsünden gelir (sadece aktif ve stokta olanlar)
      */
-    @Transactional(readOnly = true)
-    @Cacheable(value = "recommendations", key = "'frequently-bought-' + #productId")
     public List<Product> getFrequentlyBoughtTogether(Long productId) {
         try {
-            // Bu ürünle birlikte alınan ürünleri bul
-            List<Object[]> results = orderItemRepository.findFrequentlyBoughtTogether(productId);
-            
+            CatalogSnapshot snapshot = catalogSnapshotService.current();
             List<Product> recommendations = new ArrayList<>();
             
-            for (Object[] result : results) {
-                Long recommendedProductId = ((Number) result[0]).longValue();
-                Long purchaseCount = ((Number) result[1]).longValue();
-                
-                // En az MIN_PURCHASE_COUNT kez birlikte alınmış olmalı
-                if (purchaseCount >= MIN_PURCHASE_COUNT) {
-                    Optional<Product> productOpt = productRepository.findById(recommendedProductId);
-                    if (productOpt.isPresent()) {
-                        Product product = productOpt.get();
-                        // Stoğu biten ürünleri önerme
-                        if (product.getQuantity() != null && product.getQuantity() > 0) {
-                            recommendations.add(product);
-                        }
+            for (long recommendedProductId : coPurchaseIndex.neighbours(productId)) {
+                Product product = snapshot.get(recommendedProductId);
+                if (product != null) {
+                    recommendations.add(product);
+                    // Maksimum öneri sayısına ulaşıldıysa dur
+                    if (recommendations.size() >= MAX_RECOMMENDATIONS) {
+                        break;
                     }
                 }
-                
-                // Maksimum öneri sayısına ulaşıldıysa dur
-                if (recommendations.size() >= MAX_RECOMMENDATIONS) {
-                    break;
-                }
             }
             
-            log.info("Ürün {} için {} adet 'birlikte alınan' önerisi bulundu", productId, recommendations.size());
+            log.debug("Ürün {} için {} adet 'birlikte alınan' önerisi bulundu", productId, recommendations.size());
             return recommendations;
         } catch (Exception e) {
             log.error("Birlikte alınan ürünler bulunurken hata: ", e);
@@ -80,56 +82,49 @@ public class RecommendationService {
 
     /**
      * Kullanıcının gezinme geçmişine göre öneriler
-     * Content-Based Filtering - Benzer ürünleri önerir
+     * Item-Item Collaborative Filtering - Son görüntülenen ürünlerin önceden hesaplanmış birlikte görüntülenme
+     * komşuları bellekte birleştirilir (benzerlik toplamı), ürünler katalog görüntüsünden gelir
      */
-    @Transactional(readOnly = true)
     public List<Product> getRecommendationsBasedOnBrowsingHistory(Long userId, String ipAddress) {
         try {
-            List<Long> viewedProductIds = new ArrayList<>();
+            List<Long> recentViewedIds = Collections.emptyList();
             
-            // Kullanıcı giriş yapmışsa user ID ile, yoksa IP ile
+            // Kullanıcı giriş yapmışsa user ID ile, yoksa IP ile (son 10 görüntülenen ürün)
             if (userId != null) {
-                viewedProductIds = productViewRepository.findViewedProductIdsByUserId(userId);
+                recentViewedIds = productViewRepository.findRecentViewedProductIdsByUserId(userId, RECENT_VIEWS);
             } else if (ipAddress != null && !ipAddress.isEmpty()) {
-                viewedProductIds = productViewRepository.findViewedProductIdsByIpAddress(ipAddress);
+                recentViewedIds = productViewRepository.findRecentViewedProductIdsByIpAddress(ipAddress, RECENT_VIEWS);
             }
             
-            if (viewedProductIds.isEmpty()) {
+            if (recentViewedIds.isEmpty()) {
                 log.info("Görüntüleme geçmişi bulunamadı (userId: {}, ipAddress: {})", userId, ipAddress);
                 return Collections.emptyList();
             }
             
-            // Son 10 görüntülenen ürünü al
-            List<Long> recentViewedIds = viewedProductIds.stream()
-                    .limit(10)
-                    .collect(Collectors.toList());
-            
-            // Bu ürünleri görüntüleyen kullanıcıların görüntülediği diğer ürünleri bul
-            Map<Long, Integer> productScores = new HashMap<>();
-            
+            // Görüntülenen ürünlerin komşu listelerini birleştir
+            Set<Long> viewed = new HashSet<>(recentViewedIds);
+            Map<Long, Float> productScores = new HashMap<>();
             for (Long viewedProductId : recentViewedIds) {
-                List<Object[]> similarProducts = productViewRepository.findSimilarProductsByUserViews(viewedProductId);
-                
-                for (Object[] result : similarProducts) {
-                    Long similarProductId = ((Number) result[0]).longValue();
-                    Integer userCount = ((Number) result[1]).intValue();
-                    
+                CoViewNeighbourIndex.Neighbours neighbours = coViewNeighbourIndex.neighbours(viewedProductId);
+                for (int i = 0; i < neighbours.size(); i++) {
+                    long similarProductId = neighbours.ids()[i];
                     // Zaten görüntülenen ürünleri önerme
-                    if (!recentViewedIds.contains(similarProductId)) {
-                        productScores.put(similarProductId, 
-                                productScores.getOrDefault(similarProductId, 0) + userCount);
+                    if (!viewed.contains(similarProductId)) {
+                        productScores.merge(similarProductId, neighbours.scores()[i], Float::sum);
                     }
                 }
             }
             
-            // Skora göre sırala ve ürünleri getir
-            List<Product> recommendations = productScores.entrySet().stream()
-                    .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed())
-                    .limit(MAX_RECOMMENDATIONS)
-                    .map(entry -> productRepository.findById(entry.getKey()))
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .filter(product -> product.getQuantity() != null && product.getQuantity() > 0) // Stoğu biten ürünleri önerme
+            // Skora göre en iyi ürünler (sadece aktif ve stokta olanlar)
+            CatalogSnapshot snapshot = catalogSnapshotService.current();
+            List<Product> recommendations = TopK.select(
+                    productScores.entrySet(),
+                    MAX_RECOMMENDATIONS,
+                    entry -> snapshot.get(entry.getKey()) != null,
+                    Map.Entry.<Long, Float>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.<Long, Float>comparingByKey()))
+                    .stream()
+                    .map(entry -> snapshot.get(entry.getKey()))
                     .collect(Collectors.toList());
             
             log.info("Kullanıcı {} için {} adet 'gezinme geçmişine göre' önerisi bulundu", 
@@ -144,49 +139,25 @@ public class RecommendationService {
     /**
      * Kategori bazlı öneriler (fallback)
      * Aynı kategorideki diğer ürünleri önerir
-     * Rating ve popülerlik bazlı sıralama
+     * Rating ve popülerlik bazlı sıralama - skorlar önceden hesaplanmış skor tablosundan okunur (SQL yok)
      */
-    @Transactional(readOnly = true)
-    @Cacheable(value = "recommendations", key = "'category-' + #productId + '-' + #limit")
     public List<Product> getRecommendationsByCategory(Long productId, int limit) {
         try {
-            Optional<Product> productOpt = productRepository.findByIdAndActiveTrue(productId);
-            if (productOpt.isEmpty() || productOpt.get().getCategory() == null) {
+            CatalogSnapshot snapshot = catalogSnapshotService.current();
+            Product product = snapshot.get(productId);
+            if (product == null || product.getCategory() == null) {
                 return Collections.emptyList();
             }
             
-            Long categoryId = productOpt.get().getCategory().getId();
+            // Aynı kategorideki aktif ve stokta olan ürünler, önce rating'e sonra görüntüleme sayısına göre
+            List<Product> recommendations = TopK.select(
+                    snapshot.getByCategory(product.getCategory().getId()),
+                    limit,
+                    p -> !p.getId().equals(productId), // Aynı ürünü önerme
+                    Comparator.<Product>comparingDouble(p -> rankingScoreStore.rating(p.getId())).reversed()
+                            .thenComparing(Comparator.<Product>comparingLong(p -> rankingScoreStore.views(p.getId())).reversed()));
             
-            // Aynı kategorideki aktif ürünleri getir
-            List<Product> categoryProducts = productRepository.findByCategoryIdAndActiveTrue(categoryId);
-            
-            // Rating ve görüntüleme sayısına göre sırala
-            List<Product> recommendations = categoryProducts.stream()
-                    .filter(p -> !p.getId().equals(productId)) // Aynı ürünü önerme
-                    .filter(p -> Boolean.TRUE.equals(p.getActive())) // Sadece aktif ürünler
-                    .filter(p -> p.getQuantity() != null && p.getQuantity() > 0) // Stoğu biten ürünleri önerme
-                    .sorted((p1, p2) -> {
-                        // Önce rating'e göre, sonra görüntüleme sayısına göre
-                        Double rating1 = productReviewRepository.calculateAverageRatingByProductId(p1.getId());
-                        Double rating2 = productReviewRepository.calculateAverageRatingByProductId(p2.getId());
-                        Long views1 = productViewRepository.countByProductId(p1.getId());
-                        Long views2 = productViewRepository.countByProductId(p2.getId());
-                        
-                        int ratingCompare = Double.compare(
-                                rating2 != null ? rating2 : 0.0,
-                                rating1 != null ? rating1 : 0.0
-                        );
-                        if (ratingCompare != 0) return ratingCompare;
-                        
-                        return Long.compare(
-                                views2 != null ? views2 : 0L,
-                                views1 != null ? views1 : 0L
-                        );
-                    })
-                    .limit(limit)
-                    .collect(Collectors.toList());
-            
-            log.info("Ürün {} için kategori bazlı {} adet öneri bulundu", productId, recommendations.size());
+            log.debug("Ürün {} için kategori bazlı {} adet öneri bulundu", productId, recommendations.size());
             return recommendations;
         } catch (Exception e) {
             log.error("Kategori bazlı öneriler bulunurken hata: ", e);
@@ -196,56 +167,41 @@ public class RecommendationService {
     
     /**
      * Rating bazlı öneriler
-     * Yüksek puanlı benzer ürünleri önerir
+     * Yüksek puanlı benzer ürünleri önerir - skorlar önceden hesaplanmış skor tablosundan okunur (SQL yok)
      */
-    @Transactional(readOnly = true)
-    @Cacheable(value = "recommendations", key = "'rating-' + #productId + '-' + #limit")
     public List<Product> getRecommendationsByRating(Long productId, int limit) {
         try {
-            Optional<Product> productOpt = productRepository.findByIdAndActiveTrue(productId);
-            if (productOpt.isEmpty()) {
+            CatalogSnapshot snapshot = catalogSnapshotService.current();
+            Product product = snapshot.get(productId);
+            if (product == null) {
                 return Collections.emptyList();
             }
             
-            Product product = productOpt.get();
-            Double productRating = productReviewRepository.calculateAverageRatingByProductId(productId);
-            
-            if (productRating == null || productRating < MIN_RATING) {
+            double productRating = rankingScoreStore.rating(productId);
+            if (productRating < MIN_RATING) {
                 return Collections.emptyList();
             }
             
-            // Aynı kategorideki yüksek puanlı ürünleri getir
+            // Aynı kategori veya benzer rating (±1), rating'e sonra popülerliğe göre
             Long categoryId = product.getCategory() != null ? product.getCategory().getId() : null;
-            
-            List<Product> allProducts = productRepository.findByActiveTrue();
-            
-            List<Product> recommendations = allProducts.stream()
-                    .filter(p -> !p.getId().equals(productId))
-                    .filter(p -> Boolean.TRUE.equals(p.getActive()))
-                    .filter(p -> p.getQuantity() != null && p.getQuantity() > 0)
-                    .filter(p -> {
-                        // Aynı kategori veya benzer rating
-                        boolean sameCategory = categoryId != null && 
-                                p.getCategory() != null && 
-                                p.getCategory().getId().equals(categoryId);
-                        Double pRating = productReviewRepository.calculateAverageRatingByProductId(p.getId());
-                        boolean similarRating = pRating != null && 
-                                pRating >= MIN_RATING && 
-                                Math.abs(pRating - productRating) <= 1.0;
+            List<Product> recommendations = TopK.select(
+                    snapshot.getAll(),
+                    limit,
+                    p -> {
+                        if (p.getId().equals(productId)) {
+                            return false;
+                        }
+                        boolean sameCategory = categoryId != null &&
+                                p.getCategory() != null &&
+                                categoryId.equals(p.getCategory().getId());
+                        double pRating = rankingScoreStore.rating(p.getId());
+                        boolean similarRating = pRating >= MIN_RATING && Math.abs(pRating - productRating) <= 1.0;
                         return sameCategory || similarRating;
-                    })
-                    .sorted((p1, p2) -> {
-                        Double r1 = productReviewRepository.calculateAverageRatingByProductId(p1.getId());
-                        Double r2 = productReviewRepository.calculateAverageRatingByProductId(p2.getId());
-                        return Double.compare(
-                                r2 != null ? r2 : 0.0,
-                                r1 != null ? r1 : 0.0
-                        );
-                    })
-                    .limit(limit)
-                    .collect(Collectors.toList());
+                    },
+                    Comparator.<Product>comparingDouble(p -> rankingScoreStore.rating(p.getId())).reversed()
+                            .thenComparing(Comparator.<Product>comparingDouble(p -> rankingScoreStore.popularity(p.getId())).reversed()));
             
-            log.info("Ürün {} için rating bazlı {} adet öneri bulundu", productId, recommendations.size());
+            log.debug("Ürün {} için rating bazlı {} adet öneri bulundu", productId, recommendations.size());
             return recommendations;
         } catch (Exception e) {
             log.error("Rating bazlı öneriler bulunurken hata: ", e);
@@ -254,84 +210,68 @@ public class RecommendationService {
     }
     
     /**
-     * Trend ürünler (son 30 günde popüler olan)
+     * Trend ürünler (son dönemde popüler olan)
+     * Zamanla sönümlenen görüntüleme sayaçlarının önceden hesaplanmış sıralamasından okunur (SQL yok),
+     * ürünler katalog görüntüsünden gelir (sadece aktif ve stokta olanlar)
      */
-    @Transactional(readOnly = true)
-    @Cacheable(value = "recommendations", key = "'trend-' + #limit")
     public List<Product> getTrendingProducts(int limit) {
+        return getTrendingProducts(limit, null);
+    }
+
+    /**
+     * Trend ürünler
+     *
+     * @param halfLifeHours Sayaç yarı ömrü (saat, ör. 1, 24, 168), null ise varsayılan
+     */
+    public List<Product> getTrendingProducts(int limit, Double halfLifeHours) {
         try {
-            LocalDateTime since = LocalDateTime.now().minusDays(TREND_DAYS);
+            CatalogSnapshot snapshot = catalogSnapshotService.current();
+            List<Product> trending = new ArrayList<>();
             
-            // Son 30 günde en çok görüntülenen ürünler
-            List<Object[]> mostViewed = productViewRepository.findMostViewedProducts();
-            
-            List<Product> trending = mostViewed.stream()
-                    .map(result -> {
-                        Long productId = ((Number) result[0]).longValue();
-                        return productRepository.findByIdAndActiveTrue(productId);
-                    })
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .filter(p -> Boolean.TRUE.equals(p.getActive()))
-                    .filter(p -> p.getQuantity() != null && p.getQuantity() > 0)
-                    .filter(p -> {
-                        // Son 30 günde görüntülenmiş olmalı
-                        Long recentViews = productViewRepository.countByProductIdAndDateRange(
-                                p.getId(), since, LocalDateTime.now());
-                        return recentViews != null && recentViews > 0;
-                    })
-                    .limit(limit)
-                    .collect(Collectors.toList());
+            for (long productId : trendingCounters.ranked(halfLifeHours)) {
+                if (trending.size() >= limit) {
+                    break;
+                }
+                Product product = snapshot.get(productId);
+                if (product != null) {
+                    trending.add(product);
+                }
+            }
             
-            log.info("{} adet trend ürün bulundu", trending.size());
+            log.debug("{} adet trend ürün bulundu", trending.size());
             return trending;
         } catch (Exception e) {
             log.error("Trend ürünler bulunurken hata: ", e);
             return Collections.emptyList();
         }
     }
-    
+
     /**
-     * Benzer ürünler (özellik bazlı - renk, materyal, kullanım alanı)
+     * Benzer ürünler (özellik bazlı - renk, materyal, kullanım alanı, montaj/pile tipi, fiyat, ölçüler)
+     * Özellik vektörleri üzerinde en yakın komşu araması yapılır (SQL yok), birebir eşleşme gerekmez
      */
-    @Transactional(readOnly = true)
-    @Cacheable(value = "recommendations", key = "'similar-' + #productId + '-' + #limit")
     public List<Product> getSimilarProducts(Long productId, int limit) {
         try {
-            Optional<Product> productOpt = productRepository.findByIdAndActiveTrue(productId);
-            if (productOpt.isEmpty()) {
-                return Collections.emptyList();
+            CatalogSnapshot snapshot = catalogSnapshotService.current();
+            Product product = snapshot.get(productId);
+            if (product == null) {
+                // Vitrinde olmayan (ör. stoğu biten) ürünün sayfasında da benzerleri gösterilir
+                product = productRepository.findByIdAndActiveTrue(productId).orElse(null);
+                if (product == null) {
+                    return Collections.emptyList();
+                }
             }
             
-            Product product = productOpt.get();
-            
-            // Benzer özelliklere sahip ürünleri bul
-            List<Product> similar = productRepository.filterProducts(
-                    product.getColor(),
-                    product.getMaterial(),
-                    product.getUsageArea(),
-                    product.getMountingType()
-            );
-            
-            List<Product> recommendations = similar.stream()
-                    .filter(p -> !p.getId().equals(productId))
-                    .filter(p -> Boolean.TRUE.equals(p.getActive()))
-                    .filter(p -> p.getQuantity() != null && p.getQuantity() > 0)
-                    .sorted((p1, p2) -> {
-                        // Fiyat benzerliğine göre sırala
-                        BigDecimal price1 = p1.getPrice() != null ? p1.getPrice() : BigDecimal.ZERO;
-                        BigDecimal price2 = p2.getPrice() != null ? p2.getPrice() : BigDecimal.ZERO;
-                        BigDecimal productPrice = product.getPrice() != null ? product.getPrice() : BigDecimal.ZERO;
-                        
-                        BigDecimal diff1 = price1.subtract(productPrice).abs();
-                        BigDecimal diff2 = price2.subtract(productPrice).abs();
-                        
-                        return diff1.compareTo(diff2);
-                    })
-                    .limit(limit)
-                    .collect(Collectors.toList());
+            // En yakın ürünler (sadece aktif ve stokta olanlar indekste bulunur)
+            List<Product> recommendations = new ArrayList<>(limit);
+            for (long similarProductId : productFeatureIndex.nearest(product, limit)) {
+                Product similar = snapshot.get(similarProductId);
+                if (similar != null) {
+                    recommendations.add(similar);
+                }
+            }
             
-            log.info("Ürün {} için {} adet benzer ürün bulundu", productId, recommendations.size());
+            log.debug("Ürün {} için {} adet benzer ürün bulundu", productId, recommendations.size());
             return recommendations;
         } catch (Exception e) {
             log.error("Benzer ürünler bulunurken hata: ", e);
@@ -341,51 +281,61 @@ public class RecommendationService {
 
     /**
      * Karma öneri sistemi (gelişmiş)
-     * Farklı yöntemlerden gelen önerileri ağırlıklı olarak birleştirir
+     * Farklı yöntemlerden gelen önerileri ağırlıklı olarak birleştirir.
+     * Yöntemler paralel çalışır; süre bütçesi dolduğunda o ana kadar gelen sonuçlar birleştirilir,
+     * yavaş kalan yöntem ürün sayfasını bekletmez.
      */
-    @Transactional(readOnly = true)
     public List<Product> getMixedRecommendations(Long productId, Long userId, String ipAddress) {
-        Map<Product, Double> productScores = new HashMap<>();
+        Map<String, Supplier<List<Product>>> strategies = new LinkedHashMap<>();
+        strategies.put(STRATEGY_FREQUENTLY_BOUGHT, () -> getFrequentlyBoughtTogether(productId));
+        strategies.put(STRATEGY_RATING, () -> getRecommendationsByRating(productId, MAX_RECOMMENDATIONS));
+        strategies.put(STRATEGY_BROWSING, () -> getRecommendationsBasedOnBrowsingHistory(userId, ipAddress));
+        strategies.put(STRATEGY_SIMILAR, () -> getSimilarProducts(productId, MAX_RECOMMENDATIONS));
+        // Kategori bazlı öneriler sadece yeterli öneri yoksa kullanılır, beklememek için baştan başlatılır
+        strategies.put(STRATEGY_CATEGORY, () -> getRecommendationsByCategory(productId, MAX_RECOMMENDATIONS));
         
-        // 1. Birlikte alınan ürünler (ağırlık: 3.0)
-        List<Product> frequentlyBought = getFrequentlyBoughtTogether(productId);
-        for (Product p : frequentlyBought) {
-            productScores.put(p, productScores.getOrDefault(p, 0.0) + 3.0);
-        }
+        Map<String, List<Product>> results = recommendationFanOut.run(strategies);
         
-        // 2. Rating bazlı (ağırlık: 2.5)
-        List<Product> ratingBased = getRecommendationsByRating(productId, MAX_RECOMMENDATIONS);
-        for (Product p : ratingBased) {
-            productScores.put(p, productScores.getOrDefault(p, 0.0) + 2.5);
-        }
+        Map<Long, Product> products = new LinkedHashMap<>();
+        Map<Long, Double> productScores = new HashMap<>();
         
+        // 1. Birlikte alınan ürünler (ağırlık: 3.0)
+        addScores(results.get(STRATEGY_FREQUENTLY_BOUGHT), 3.0, products, productScores);
+        // 2. Rating bazlı (ağırlık: 2.5)
+        addScores(results.get(STRATEGY_RATING), 2.5, products, productScores);
         // 3. Gezinme geçmişine göre (ağırlık: 2.0)
-        List<Product> browsingBased = getRecommendationsBasedOnBrowsingHistory(userId, ipAddress);
-        for (Product p : browsingBased) {
-            productScores.put(p, productScores.getOrDefault(p, 0.0) + 2.0);
-        }
-        
+        addScores(results.get(STRATEGY_BROWSING), 2.0, products, productScores);
         // 4. Benzer ürünler (ağırlık: 1.5)
-        List<Product> similar = getSimilarProducts(productId, MAX_RECOMMENDATIONS);
-        for (Product p : similar) {
-            productScores.put(p, productScores.getOrDefault(p, 0.0) + 1.5);
-        }
+        addScores(results.get(STRATEGY_SIMILAR), 1.5, products, productScores);
         
         // 5. Eğer yeterli öneri yoksa kategori bazlı ekle (ağırlık: 1.0)
-        if (productScores.size() < MAX_RECOMMENDATIONS) {
+        List<Product> categoryBased = results.get(STRATEGY_CATEGORY);
+        if (productScores.size() < MAX_RECOMMENDATIONS && categoryBased != null) {
             int remaining = MAX_RECOMMENDATIONS - productScores.size();
-            List<Product> categoryBased = getRecommendationsByCategory(productId, remaining);
-            for (Product p : categoryBased) {
-                productScores.put(p, productScores.getOrDefault(p, 0.0) + 1.0);
-            }
+            addScores(categoryBased.subList(0, Math.min(remaining, categoryBased.size())), 1.0,
+                    products, productScores);
         }
         
         // Skora göre sırala ve en iyi önerileri döndür
         return productScores.entrySet().stream()
-                .sorted(Map.Entry.<Product, Double>comparingByValue().reversed())
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
                 .limit(MAX_RECOMMENDATIONS)
-                .map(Map.Entry::getKey)
+                .map(entry -> products.get(entry.getKey()))
                 .collect(Collectors.toList());
     }
+
+    private static void addScores(List<Product> recommendations, double weight,
+                                  Map<Long, Product> products, Map<Long, Double> productScores) {
+        if (recommendations == null) {
+            return;
+        }
+        for (Product p : recommendations) {
+            if (p == null || p.getId() == null) {
+                continue;
+            }
+            products.putIfAbsent(p.getId(), p);
+            productScores.merge(p.getId(), weight, Double::sum);
+        }
+    }
 }
 
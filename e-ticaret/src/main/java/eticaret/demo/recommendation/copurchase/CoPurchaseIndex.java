@@ -0,0 +1,368 @@
+package eticaret.demo.recommendation.copurchase;
+
+import eticaret.demo.common.collection.LongIntHashMap;
+import eticaret.demo.order.OrderItemRepository;
+import eticaret.demo.order.OrderPaidEvent;
+import eticaret.demo.order.OrderRepository;
+import eticaret.demo.order.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ürün-ürün birlikte satın alma matrisi ("Bu ürünü alanlar şunları da aldı")
+ * Her ürün için birlikte alındığı ürünlerin sayaçları seyrek, kutulamasız bir tabloda tutulur ve
+ * en iyi K komşu önceden sıralanmış bir dizi olarak saklanır. Okuma O(K) ve kilitsizdir.
+ * Matris order_items tablosundan parça parça ayrı bir tabloda kurulur (önce yalnızca sayaçlar, sonra her satırın
+ * en iyi K listesi bir kez) ve hazır olunca eskisinin yerine geçer. Arada her ödenmiş siparişle artımlı
+ * güncellenir: sayaçlar yalnızca arttığı için en iyi K listesine yalnızca artan komşu girebilir.
+ * <p>
+ * Bilinen sınırlar:
+ * - İptal ve iade edilen siparişler canlı olarak düşülmez; yükleme bu siparişleri almadığından her gece
+ *   yeniden kurulan matriste düzelir.
+ * - Yükleme sınırının (en büyük sipariş ID'si) altındaki ID ile yükleme sürerken commit edilen sipariş
+ *   iki kez sayılmamak için canlı olarak atlanır; okunan parçada yoksa bir sonraki yeniden kurulumda eklenir.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CoPurchaseIndex {
+
+    /**
+     * Ürün başına saklanan komşu sayısı
+     */
+    public static final int TOP_K = 20;
+
+    /**
+     * Komşu sayılması için gereken en az ortak sipariş sayısı
+     */
+    public static final int MIN_COUNT = 2;
+
+    /**
+     * Matrise alınmayan sipariş durumları
+     */
+    static final List<OrderStatus> EXCLUDED_STATUSES = List.of(OrderStatus.IPTAL_EDILDI, OrderStatus.IADE_YAPILDI);
+
+    private static final int BOOTSTRAP_CHUNK = 5000;
+    private static final long[] NONE = new long[0];
+
+    private final OrderItemRepository orderItemRepository;
+    private final OrderRepository orderRepository;
+
+    private volatile ConcurrentHashMap<Long, Row> rows = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    private final AtomicBoolean loading = new AtomicBoolean(false);
+
+    /**
+     * Canlı siparişlerle yükleme arasındaki sınır; liveLock altında okunur ve yazılır
+     * cutoff: son yüklemenin okuduğu en büyük sipariş ID'si (-1: henüz yüklenmedi)
+     * pending: yükleme sürerken veya ilk yüklemeden önce gelen siparişler (yükleme yoksa null)
+     */
+    private final Object liveLock = new Object();
+    private long cutoff = -1;
+    private List<OrderPaidEvent> pending = new ArrayList<>();
+
+    /**
+     * Ürünle en sık birlikte alınan ürün ID'leri (çok alınandan aza)
+     * Dönen dizi değiştirilmemelidir.
+     */
+    public long[] neighbours(Long productId) {
+        Row row = productId != null ? rows.get(productId) : null;
+        return row != null ? row.top : NONE;
+    }
+
+    /**
+     * Açılış yüklemesi tamamlandı mı?
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Bir siparişteki ürünleri matrise ekler
+     * Aynı ürün siparişte birden fazla satırda olsa da bir kez sayılır.
+     */
+    public void record(Collection<Long> productIds) {
+        record(rows, productIds);
+    }
+
+    private static void record(ConcurrentHashMap<Long, Row> target, Collection<Long> productIds) {
+        Set<Long> distinct = distinct(productIds);
+        if (distinct.size() < 2) {
+            return;
+        }
+        for (Long productId : distinct) {
+            Row row = target.computeIfAbsent(productId, id -> new Row());
+            synchronized (row) {
+                for (Long other : distinct) {
+                    if (!other.equals(productId)) {
+                        row.increment(other);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Siparişi yalnızca sayaçlara ekler; en iyi K listeleri yükleme sonunda refreshAll() ile hesaplanır
+     * Kurulmakta olan tablo yalnızca yükleme thread'inde görülür.
+     */
+    private static void count(ConcurrentHashMap<Long, Row> target, Collection<Long> productIds) {
+        Set<Long> distinct = distinct(productIds);
+        if (distinct.size() < 2) {
+            return;
+        }
+        for (Long productId : distinct) {
+            Row row = target.computeIfAbsent(productId, id -> new Row());
+            for (Long other : distinct) {
+                if (!other.equals(productId)) {
+                    row.counts.addTo(other, 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Her satırın en iyi K listesini sayaçlardan seçer
+     */
+    private static void refreshAll(ConcurrentHashMap<Long, Row> target) {
+        for (Row row : target.values()) {
+            row.refreshTop();
+        }
+    }
+
+    private static Set<Long> distinct(Collection<Long> productIds) {
+        Set<Long> distinct = new LinkedHashSet<>();
+        for (Long productId : productIds) {
+            if (productId != null && productId > 0) {
+                distinct.add(productId);
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * Ödenmiş sipariş commit edildikten sonra matrisi günceller
+     * Son yüklemenin okuduğu siparişler atlanır; yükleme sürüyorsa sipariş yeni tabloya da eklenmek üzere saklanır.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderPaid(OrderPaidEvent event) {
+        try {
+            synchronized (liveLock) {
+                if (event.orderId() != null && event.orderId() <= cutoff) {
+                    return;
+                }
+                if (pending != null) {
+                    pending.add(event);
+                }
+                if (cutoff >= 0) {
+                    record(rows, event.productIds());
+                }
+            }
+        } catch (Exception e) {
+            log.error("Birlikte alınan ürün matrisi güncellenemedi - OrderId: {}, Hata: {}",
+                    event.orderId(), e.getMessage(), e);
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        load();
+    }
+
+    /**
+     * İptal ve iadeleri matristen düşmek için her gece baştan kurar
+     */
+    @Scheduled(cron = "0 30 4 * * *") // Her gün saat 04:30'da
+    public void rebuild() {
+        load();
+    }
+
+    /**
+     * Matrisi order_items tablosundan yeni bir tabloda kurar ve eskisinin yerine koyar
+     * Başlangıçtaki en büyük sipariş ID'sine kadar okunur; sonraki siparişler olaylarla gelir. Yükleme sürerken
+     * gelen siparişler sınırın üstündeyse yeni tabloya da eklenir, böylece hiçbir sipariş iki kez sayılmaz.
+     */
+    private void load() {
+        if (!loading.compareAndSet(false, true)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        synchronized (liveLock) {
+            if (pending == null) {
+                pending = new ArrayList<>();
+            }
+        }
+        try {
+            long maxOrderId = orderRepository.findMaxId();
+            ConcurrentHashMap<Long, Row> next = new ConcurrentHashMap<>();
+            long orders = 0;
+            for (long from = 0; from < maxOrderId; from += BOOTSTRAP_CHUNK) {
+                List<Object[]> pairs = orderItemRepository.findOrderProductPairs(
+                        from, Math.min(from + BOOTSTRAP_CHUNK, maxOrderId), EXCLUDED_STATUSES);
+                orders += recordPairs(next, pairs);
+            }
+            refreshAll(next);
+
+            synchronized (liveLock) {
+                for (OrderPaidEvent event : pending) {
+                    if (event.orderId() == null || event.orderId() > maxOrderId) {
+                        record(next, event.productIds());
+                    }
+                }
+                rows = next;
+                cutoff = maxOrderId;
+                pending = null;
+            }
+            ready = true;
+            log.info("Birlikte alınan ürün matrisi oluşturuldu - Sipariş: {}, Ürün: {}, Sınır: {}, Süre: {} ms",
+                    orders, next.size(), maxOrderId, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Birlikte alınan ürün matrisi oluşturulamadı: {}", e.getMessage(), e);
+            synchronized (liveLock) {
+                // İlk yükleme başarısızsa bekleyen siparişler boş tabloya eklenir, sonraki turda tekrar denenir
+                if (cutoff < 0) {
+                    for (OrderPaidEvent event : pending) {
+                        record(rows, event.productIds());
+                    }
+                    cutoff = 0;
+                }
+                pending = null;
+            }
+        } finally {
+            loading.set(false);
+        }
+    }
+
+    /**
+     * Sipariş ID'sine göre sıralı (sipariş, ürün) çiftlerini sipariş sipariş sayaçlara ekler
+     */
+    private static long recordPairs(ConcurrentHashMap<Long, Row> target, List<Object[]> pairs) {
+        long orders = 0;
+        long currentOrderId = -1;
+        List<Long> basket = new ArrayList<>();
+        for (Object[] pair : pairs) {
+            long orderId = ((Number) pair[0]).longValue();
+            if (orderId != currentOrderId) {
+                if (!basket.isEmpty()) {
+                    count(target, basket);
+                    orders++;
+                }
+                basket.clear();
+                currentOrderId = orderId;
+            }
+            basket.add(((Number) pair[1]).longValue());
+        }
+        if (!basket.isEmpty()) {
+            count(target, basket);
+            orders++;
+        }
+        return orders;
+    }
+
+    /**
+     * Bir ürünün birlikte alınma sayaçları ve önceden hesaplanmış en iyi K komşusu
+     */
+    private static final class Row {
+
+        private final LongIntHashMap counts = new LongIntHashMap();
+        private volatile long[] top = NONE;
+        private int[] topScores = new int[0];
+
+        /**
+         * Komşunun sayacını bir artırır ve en iyi K listesini artımlı günceller
+         * Yalnızca artan komşunun yeri değişebilir: listedeyse yukarı kayar, değilse son elemanı geçerse girer.
+         * Liste her değişiklikte kopyalanır; okuyucular hiçbir zaman yarım güncellenmiş dizi görmez.
+         * Satır kilidi altında çağrılır.
+         */
+        void increment(long id) {
+            int count = counts.addTo(id, 1);
+            if (count < MIN_COUNT) {
+                return;
+            }
+            long[] ids = top;
+            int n = ids.length;
+            int pos = 0;
+            while (pos < n && ids[pos] != id) {
+                pos++;
+            }
+            long[] nextIds;
+            int[] nextScores;
+            if (pos < n) {
+                nextIds = ids.clone();
+                nextScores = topScores.clone();
+            } else if (n < TOP_K) {
+                nextIds = Arrays.copyOf(ids, n + 1);
+                nextScores = Arrays.copyOf(topScores, n + 1);
+                pos = n;
+            } else if (better(count, id, topScores[n - 1], ids[n - 1])) {
+                nextIds = ids.clone();
+                nextScores = topScores.clone();
+                pos = n - 1;
+            } else {
+                return;
+            }
+            while (pos > 0 && better(count, id, nextScores[pos - 1], nextIds[pos - 1])) {
+                nextIds[pos] = nextIds[pos - 1];
+                nextScores[pos] = nextScores[pos - 1];
+                pos--;
+            }
+            nextIds[pos] = id;
+            nextScores[pos] = count;
+            topScores = nextScores;
+            top = nextIds;
+        }
+
+        /**
+         * En iyi K komşuyu yeniden seçer (sayaç azalan, eşitlikte ID artan)
+         * Satır kilidi altında veya henüz yayımlanmamış tabloda çağrılır.
+         */
+        void refreshTop() {
+            long[] ids = new long[TOP_K];
+            int[] scores = new int[TOP_K];
+            int[] filled = {0};
+            counts.forEach((id, count) -> {
+                if (count < MIN_COUNT) {
+                    return;
+                }
+                int n = filled[0];
+                if (n == TOP_K && !better(count, id, scores[n - 1], ids[n - 1])) {
+                    return;
+                }
+                int pos = n < TOP_K ? n : TOP_K - 1;
+                while (pos > 0 && better(count, id, scores[pos - 1], ids[pos - 1])) {
+                    ids[pos] = ids[pos - 1];
+                    scores[pos] = scores[pos - 1];
+                    pos--;
+                }
+                ids[pos] = id;
+                scores[pos] = count;
+                if (n < TOP_K) {
+                    filled[0] = n + 1;
+                }
+            });
+            topScores = Arrays.copyOf(scores, filled[0]);
+            top = Arrays.copyOf(ids, filled[0]);
+        }
+
+        private static boolean better(int count, long id, int otherCount, long otherId) {
+            return count > otherCount || (count == otherCount && id < otherId);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package eticaret.demo.recommendation.coview;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Birlikte görüntülenme komşu tablosu (ürün -> en iyi K benzer ürün)
+ * İstek yolu sadece bellekteki değişmez tablodan okur; tablo benzerlik işi bittiğinde
+ * product_coview_neighbors tablosuna yazılıp tek seferde değiştirilir.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CoViewNeighbourIndex {
+
+    private final ProductCoViewNeighborsRepository repository;
+
+    private volatile Map<Long, Neighbours> table = Map.of();
+
+    /**
+     * Ürünün komşuları (benzerlik azalan), yoksa boş
+     */
+    public Neighbours neighbours(Long productId) {
+        Neighbours neighbours = productId != null ? table.get(productId) : null;
+        return neighbours != null ? neighbours : Neighbours.EMPTY;
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    /**
+     * Kalıcı komşu tablosunu belleğe yükler
+     *
+     * @return Yüklenen ürün sayısı
+     */
+    @Transactional(readOnly = true)
+    public int load() {
+        Map<Long, Neighbours> loaded = new HashMap<>();
+        for (ProductCoViewNeighbors row : repository.findAll()) {
+            Neighbours neighbours = Neighbours.decode(row.getNeighbors());
+            if (neighbours.size() > 0) {
+                loaded.put(row.getProductId(), neighbours);
+            }
+        }
+        table = Map.copyOf(loaded);
+        return loaded.size();
+    }
+
+    /**
+     * Yeni hesaplanan komşuları kalıcı tabloya yazar ve bellekteki tabloyu değiştirir
+     * Mevcut satırlar yerinde güncellenir, artık komşusu olmayan ürünlerin satırları silinir.
+     */
+    @Transactional
+    public void replace(Map<Long, Neighbours> computed) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ProductCoViewNeighbors> existing = new HashMap<>();
+        for (ProductCoViewNeighbors row : repository.findAll()) {
+            existing.put(row.getProductId(), row);
+        }
+
+        List<ProductCoViewNeighbors> rows = new ArrayList<>(computed.size());
+        computed.forEach((productId, neighbours) -> {
+            ProductCoViewNeighbors row = existing.remove(productId);
+            if (row == null) {
+                row = ProductCoViewNeighbors.builder().productId(productId).build();
+            }
+            row.setNeighbors(neighbours.encode());
+            row.setComputedAt(now);
+            rows.add(row);
+        });
+        repository.saveAll(rows);
+        if (!existing.isEmpty()) {
+            repository.deleteAllByIdInBatch(existing.keySet());
+        }
+
+        table = Map.copyOf(computed);
+        log.info("Birlikte görüntülenme komşu tablosu güncellendi - Ürün: {}, Silinen: {}",
+                computed.size(), existing.size());
+    }
+
+    /**
+     * Bir ürünün komşu ID'leri ve benzerlik skorları (paralel diziler, benzerlik azalan)
+     * Diziler değiştirilmemelidir.
+     */
+    public record Neighbours(long[] ids, float[] scores) {
+
+        public static final Neighbours EMPTY = new Neighbours(new long[0], new float[0]);
+
+        public int size() {
+            return ids.length;
+        }
+
+        String encode() {
+            StringBuilder sb = new StringBuilder(ids.length * 16);
+            for (int i = 0; i < ids.length; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append(ids[i]).append(':').append(scores[i]);
+            }
+            return sb.toString();
+        }
+
+        static Neighbours decode(String value) {
+            if (value == null || value.isBlank()) {
+                return EMPTY;
+            }
+            String[] parts = value.split(",");
+            long[] ids = new long[parts.length];
+            float[] scores = new float[parts.length];
+            int n = 0;
+            for (String part : parts) {
+                int colon = part.indexOf(':');
+                if (colon <= 0) {
+                    continue;
+                }
+                try {
+                    ids[n] = Long.parseLong(part.substring(0, colon).trim());
+                    scores[n] = Float.parseFloat(part.substring(colon + 1).trim());
+                    n++;
+                } catch (NumberFormatException ignored) {
+                    // Bozuk çift atlanır
+                }
+            }
+            if (n < parts.length) {
+                long[] trimmedIds = new long[n];
+                float[] trimmedScores = new float[n];
+                System.arraycopy(ids, 0, trimmedIds, 0, n);
+                System.arraycopy(scores, 0, trimmedScores, 0, n);
+                return new Neighbours(trimmedIds, trimmedScores);
+            }
+            return new Neighbours(ids, scores);
+        }
+    }
+}
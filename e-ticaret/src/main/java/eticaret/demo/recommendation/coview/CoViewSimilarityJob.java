@@ -0,0 +1,287 @@
+package eticaret.demo.recommendation.coview;
+
+import eticaret.demo.product.ProductViewRepository;
+import eticaret.demo.recommendation.coview.CoViewNeighbourIndex.Neighbours;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ürün görüntülemelerinden ürün-ürün benzerliği hesaplayan arka plan işi
+ * product_views tablosu ID sırasıyla parça parça okunur; her ürün için ziyaretçi kümesi
+ * (giriş yapmışsa kullanıcı, değilse IP) sabit boyutlu bir MinHash imzasına (one-permutation, 64 kutu) indirgenir.
+ * Bellek kullanımı görüntüleme sayısından bağımsızdır, ürün başına 64 long.
+ * Benzerlik imzalardan tahmin edilen Jaccard katsayısıdır; her ürünün en iyi K komşusu kalıcı tabloya yazılır.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CoViewSimilarityJob {
+
+    /**
+     * Ürün başına saklanan komşu sayısı
+     */
+    public static final int TOP_K = 20;
+
+    /**
+     * Hesaba katılan görüntüleme penceresi (gün)
+     */
+    static final int WINDOW_DAYS = 180;
+
+    /**
+     * Komşu sayılması için gereken en az ortak imza kutusu (yaklaşık ortak ziyaretçi sayısı)
+     */
+    private static final int MIN_SHARED = 2;
+
+    private static final int CHUNK_SIZE = 10000;
+    private static final int BINS = 64;
+    private static final int BIN_SHIFT = 58;
+    private static final long VALUE_MASK = (1L << BIN_SHIFT) - 1;
+    private static final long EMPTY = Long.MAX_VALUE;
+    private static final long IP_SEED = 0x9e3779b97f4a7c15L;
+
+    private final ProductViewRepository productViewRepository;
+    private final CoViewNeighbourIndex coViewNeighbourIndex;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    /**
+     * Açılışta kalıcı komşu tablosunu yükler, tablo boşsa hemen hesaplar
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            int loaded = coViewNeighbourIndex.load();
+            if (loaded > 0) {
+                log.info("Birlikte görüntülenme komşu tablosu yüklendi - Ürün: {}", loaded);
+                return;
+            }
+        } catch (Exception e) {
+            log.error("Birlikte görüntülenme komşu tablosu yüklenemedi: {}", e.getMessage(), e);
+        }
+        run();
+    }
+
+    /**
+     * Benzerlikleri yeniden hesaplar ve komşu tablosunu değiştirir
+     */
+    @Scheduled(cron = "0 0 4 * * ?") // Her gün saat 04:00
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            log.debug("Benzerlik işi zaten çalışıyor, atlandı");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            Map<Long, long[]> signatures = collectSignatures(LocalDateTime.now().minusDays(WINDOW_DAYS));
+            Map<Long, Neighbours> neighbours = computeNeighbours(signatures);
+            coViewNeighbourIndex.replace(neighbours);
+            log.info("Birlikte görüntülenme benzerlikleri hesaplandı - İmza: {}, Komşulu ürün: {}, Süre: {} ms",
+                    signatures.size(), neighbours.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Birlikte görüntülenme benzerlikleri hesaplanamadı: {}", e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Görüntülemeleri parça parça okuyup ürün başına MinHash imzası oluşturur
+     * Aynı ziyaretçinin tekrar eden görüntülemeleri imzayı değiştirmez (küme semantiği).
+     */
+    private Map<Long, long[]> collectSignatures(LocalDateTime since) {
+        Map<Long, long[]> signatures = new HashMap<>();
+        Pageable chunk = PageRequest.of(0, CHUNK_SIZE);
+        long afterId = 0;
+        while (true) {
+            List<Object[]> views = productViewRepository.findViewChunk(afterId, since, chunk);
+            for (Object[] view : views) {
+                afterId = ((Number) view[0]).longValue();
+                if (view[1] == null || (view[2] == null && view[3] == null)) {
+                    continue;
+                }
+                long visitor = visitorHash((Number) view[2], (String) view[3]);
+                long[] signature = signatures.computeIfAbsent(((Number) view[1]).longValue(),
+                        id -> emptySignature());
+                int bin = (int) (visitor >>> BIN_SHIFT);
+                long value = visitor & VALUE_MASK;
+                if (value < signature[bin]) {
+                    signature[bin] = value;
+                }
+            }
+            if (views.size() < CHUNK_SIZE) {
+                return signatures;
+            }
+        }
+    }
+
+    /**
+     * İmzalardan her ürünün en iyi K komşusunu bulur
+     * Sadece en az bir imza kutusunu paylaşan ürün çiftleri karşılaştırılır (kutu minimumu -> ürünler ters indeksi).
+     */
+    private Map<Long, Neighbours> computeNeighbours(Map<Long, long[]> signatures) {
+        List<Long> idList = new ArrayList<>(signatures.size());
+        List<long[]> signatureList = new ArrayList<>(signatures.size());
+        signatures.forEach((productId, signature) -> {
+            if (filledBins(signature) >= MIN_SHARED) {
+                idList.add(productId);
+                signatureList.add(signature);
+            }
+        });
+        int n = idList.size();
+        long[] productIds = new long[n];
+        long[][] sigs = new long[n][];
+        for (int i = 0; i < n; i++) {
+            productIds[i] = idList.get(i);
+            sigs[i] = signatureList.get(i);
+        }
+
+        Map<Long, List<Integer>> postings = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            for (int bin = 0; bin < BINS; bin++) {
+                if (sigs[i][bin] != EMPTY) {
+                    postings.computeIfAbsent(postingKey(bin, sigs[i][bin]), k -> new ArrayList<>()).add(i);
+                }
+            }
+        }
+
+        Map<Long, Neighbours> result = new HashMap<>();
+        int[] shared = new int[n];
+        int[] touched = new int[n];
+        for (int i = 0; i < n; i++) {
+            int touchedCount = 0;
+            for (int bin = 0; bin < BINS; bin++) {
+                if (sigs[i][bin] == EMPTY) {
+                    continue;
+                }
+                for (int j : postings.get(postingKey(bin, sigs[i][bin]))) {
+                    if (j != i && shared[j]++ == 0) {
+                        touched[touchedCount++] = j;
+                    }
+                }
+            }
+
+            TopNeighbours top = new TopNeighbours();
+            for (int t = 0; t < touchedCount; t++) {
+                int j = touched[t];
+                if (shared[j] >= MIN_SHARED) {
+                    top.offer(productIds[j], jaccard(sigs[i], sigs[j], shared[j]));
+                }
+                shared[j] = 0;
+            }
+            if (top.size > 0) {
+                result.put(productIds[i], top.toNeighbours());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * One-permutation MinHash Jaccard tahmini: eşleşen kutu / en az birinde dolu olan kutu
+     */
+    private static float jaccard(long[] a, long[] b, int matches) {
+        int union = 0;
+        for (int bin = 0; bin < BINS; bin++) {
+            if (a[bin] != EMPTY || b[bin] != EMPTY) {
+                union++;
+            }
+        }
+        return union > 0 ? (float) matches / union : 0f;
+    }
+
+    private static int filledBins(long[] signature) {
+        int filled = 0;
+        for (long value : signature) {
+            if (value != EMPTY) {
+                filled++;
+            }
+        }
+        return filled;
+    }
+
+    private static long[] emptySignature() {
+        long[] signature = new long[BINS];
+        Arrays.fill(signature, EMPTY);
+        return signature;
+    }
+
+    private static long postingKey(int bin, long value) {
+        return ((long) bin << BIN_SHIFT) | value;
+    }
+
+    /**
+     * Ziyaretçi anahtarının 64 bitlik özeti (kullanıcı ID'si veya IP adresi)
+     */
+    private static long visitorHash(Number userId, String ipAddress) {
+        if (userId != null) {
+            return mix(userId.longValue());
+        }
+        long h = IP_SEED;
+        for (int i = 0; i < ipAddress.length(); i++) {
+            h = (h ^ ipAddress.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    /**
+     * MurmurHash3 fmix64
+     */
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    /**
+     * Bir ürün için en iyi K komşu (benzerlik azalan, eşitlikte ID artan)
+     */
+    private static final class TopNeighbours {
+
+        private final long[] ids = new long[TOP_K];
+        private final float[] scores = new float[TOP_K];
+        private int size;
+
+        void offer(long id, float score) {
+            if (size == TOP_K && !better(score, id, scores[size - 1], ids[size - 1])) {
+                return;
+            }
+            int pos = size < TOP_K ? size : TOP_K - 1;
+            while (pos > 0 && better(score, id, scores[pos - 1], ids[pos - 1])) {
+                ids[pos] = ids[pos - 1];
+                scores[pos] = scores[pos - 1];
+                pos--;
+            }
+            ids[pos] = id;
+            scores[pos] = score;
+            if (size < TOP_K) {
+                size++;
+            }
+        }
+
+        Neighbours toNeighbours() {
+            return new Neighbours(Arrays.copyOf(ids, size), Arrays.copyOf(scores, size));
+        }
+
+        private static boolean better(float score, long id, float otherScore, long otherId) {
+            return score > otherScore || (score == otherScore && id < otherId);
+        }
+    }
+}
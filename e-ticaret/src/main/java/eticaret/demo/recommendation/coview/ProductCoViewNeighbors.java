@@ -0,0 +1,42 @@
+package eticaret.demo.recommendation.coview;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bir ürünün birlikte görüntülenme komşuları (en iyi K)
+ * Benzerlik işi tarafından periyodik olarak yazılır, açılışta belleğe yüklenir.
+ * Komşular "id:skor" çiftleri olarak tek satırda, benzerlik azalan sırada tutulur.
+ */
+@Entity
+@Table(name = "product_coview_neighbors")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductCoViewNeighbors {
+
+    /**
+     * Ürün ID'si (products tablosuna ait)
+     */
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    /**
+     * Komşular: "12:0.4213,57:0.3011" (benzerlik azalan)
+     */
+    @Column(name = "neighbors", columnDefinition = "TEXT", nullable = false)
+    private String neighbors;
+
+    /**
+     * Hesaplama tarihi
+     */
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+}
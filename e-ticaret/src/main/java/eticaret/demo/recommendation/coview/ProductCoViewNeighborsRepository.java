@@ -0,0 +1,6 @@
+package eticaret.demo.recommendation.coview;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ProductCoViewNeighborsRepository extends JpaRepository<ProductCoViewNeighbors, Long> {
+}
@@ -0,0 +1,147 @@
+package eticaret.demo.recommendation.mixed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Öneri stratejilerini paralel çalıştırıp süre bütçesi dolduğunda gelen sonuçları toplayan yardımcı
+ * Stratejiler ayrı bir thread pool'da çalışır; istek thread'i en fazla bütçe kadar bekler,
+ * yetişemeyen stratejiler arka planda tamamlanır ama sonuçları o isteğe katılmaz.
+ * Strateji başına süre, zaman aşımı ve hata ölçümleri tutulur.
+ */
+@Component
+@Slf4j
+public class RecommendationFanOut {
+
+    private final Executor executor;
+    private final long deadlineNanos;
+    private final ConcurrentHashMap<String, StrategyMetrics> metrics = new ConcurrentHashMap<>();
+
+    public RecommendationFanOut(@Qualifier("recommendationExecutor") Executor executor,
+                                @Value("${recommendation.mixed.deadline-ms:150}") long deadlineMillis) {
+        this.executor = executor;
+        this.deadlineNanos = TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+    }
+
+    /**
+     * Stratejileri paralel çalıştırır ve bütçe içinde tamamlananların sonuçlarını döndürür
+     * Yetişemeyen, hata veren veya başlatılamayan stratejiler sonuçta yer almaz.
+     *
+     * @param strategies Strateji adı -> çalıştırılacak iş (sıra korunur)
+     */
+    public <T> Map<String, T> run(Map<String, Supplier<T>> strategies) {
+        long deadline = System.nanoTime() + deadlineNanos;
+        Map<String, CompletableFuture<T>> futures = new LinkedHashMap<>();
+        strategies.forEach((name, strategy) -> {
+            StrategyMetrics strategyMetrics = metricsOf(name);
+            strategyMetrics.calls.increment();
+            try {
+                futures.put(name, CompletableFuture.supplyAsync(() -> timed(name, strategyMetrics, strategy), executor));
+            } catch (RejectedExecutionException e) {
+                strategyMetrics.rejected.increment();
+                log.warn("Öneri stratejisi başlatılamadı (thread pool dolu): {}", name);
+            }
+        });
+
+        try {
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Bütçe doldu, tamamlananlar aşağıda toplanır
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Tek tek stratejilerin hataları aşağıda ayrıştırılır
+        }
+
+        Map<String, T> results = new LinkedHashMap<>();
+        futures.forEach((name, future) -> {
+            if (!future.isDone()) {
+                metricsOf(name).timeouts.increment();
+                log.debug("Öneri stratejisi süre bütçesine yetişemedi: {}", name);
+            } else if (!future.isCompletedExceptionally()) {
+                results.put(name, future.join());
+            }
+        });
+        return results;
+    }
+
+    /**
+     * Strateji başına ölçümler
+     */
+    public List<StrategyStatistics> getStatistics() {
+        List<StrategyStatistics> statistics = new ArrayList<>();
+        metrics.forEach((name, strategyMetrics) -> statistics.add(strategyMetrics.toStatistics(name)));
+        statistics.sort((a, b) -> a.name().compareTo(b.name()));
+        return statistics;
+    }
+
+    public long getDeadlineMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(deadlineNanos);
+    }
+
+    private <T> T timed(String name, StrategyMetrics strategyMetrics, Supplier<T> strategy) {
+        long start = System.nanoTime();
+        try {
+            return strategy.get();
+        } catch (RuntimeException e) {
+            strategyMetrics.failures.increment();
+            log.warn("Öneri stratejisi hata verdi: {} - {}", name, e.getMessage());
+            throw e;
+        } finally {
+            strategyMetrics.record(System.nanoTime() - start);
+        }
+    }
+
+    private StrategyMetrics metricsOf(String name) {
+        return metrics.computeIfAbsent(name, k -> new StrategyMetrics());
+    }
+
+    private static final class StrategyMetrics {
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos) {
+            completed.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        StrategyStatistics toStatistics(String name) {
+            long callCount = calls.sum();
+            long completedCount = completed.sum();
+            long timeoutCount = timeouts.sum();
+            return new StrategyStatistics(
+                    name,
+                    callCount,
+                    timeoutCount,
+                    failures.sum(),
+                    rejected.sum(),
+                    callCount > 0 ? (double) timeoutCount / callCount : 0.0,
+                    completedCount > 0 ? totalNanos.sum() / (double) completedCount / 1_000_000.0 : 0.0,
+                    maxNanos.get() / 1_000_000.0);
+        }
+    }
+}
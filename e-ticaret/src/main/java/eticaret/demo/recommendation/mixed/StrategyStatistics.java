@@ -0,0 +1,21 @@
+package eticaret.demo.recommendation.mixed;
+
+/**
+ * Karma öneri stratejisi ölçümleri
+ *
+ * @param calls Başlatılan çalıştırma sayısı
+ * @param timeouts Süre bütçesine yetişemeyen çalıştırma sayısı (sonucu birleştirilmedi)
+ * @param failures Hata ile biten çalıştırma sayısı
+ * @param rejected Thread pool dolu olduğu için hiç başlatılamayan çalıştırma sayısı
+ */
+public record StrategyStatistics(
+        String name,
+        long calls,
+        long timeouts,
+        long failures,
+        long rejected,
+        double timeoutRate,
+        double averageMillis,
+        double maxMillis
+) {
+}
@@ -0,0 +1,153 @@
+package eticaret.demo.recommendation.ranking;
+
+import eticaret.demo.common.collection.LongIntHashMap;
+import eticaret.demo.order.OrderItemRepository;
+import eticaret.demo.product.stats.ProductStats;
+import eticaret.demo.product.stats.ProductStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Öneri sıralamaları için ürün skorları (puan, görüntülenme, popülerlik)
+ * Skorlar kolon bazlı kutulamasız dizilerde tutulur ve arka planda periyodik yenilenir;
+ * istek yolu sadece bu dizilerden okur, veritabanına gitmez.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RankingScoreStore {
+
+    private final ProductStatsRepository productStatsRepository;
+    private final OrderItemRepository orderItemRepository;
+
+    private volatile Scores scores = Scores.EMPTY;
+
+    /**
+     * Ortalama puan (yorum yoksa 0)
+     */
+    public double rating(long productId) {
+        Scores current = scores;
+        int index = current.indexOf(productId);
+        return index >= 0 ? current.ratings[index] : 0.0;
+    }
+
+    /**
+     * Toplam görüntülenme
+     */
+    public long views(long productId) {
+        Scores current = scores;
+        int index = current.indexOf(productId);
+        return index >= 0 ? current.views[index] : 0L;
+    }
+
+    /**
+     * Popülerlik skoru: log(1 + görüntülenme) + 2 * log(1 + sipariş) + puan * yorum ağırlığı
+     * Yorumu az olan ürünlerin tek bir 5 yıldızla öne geçmemesi için puan, yorum sayısıyla sönümlenir.
+     */
+    public double popularity(long productId) {
+        Scores current = scores;
+        int index = current.indexOf(productId);
+        return index >= 0 ? current.popularity[index] : 0.0;
+    }
+
+    public int size() {
+        return scores.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /**
+     * Skorları product_stats ve sipariş sayılarından yeniden hesaplar
+     */
+    @Scheduled(fixedDelay = 300000, initialDelay = 300000) // 5 dakika
+    public void refresh() {
+        long start = System.currentTimeMillis();
+        try {
+            List<ProductStats> stats = productStatsRepository.findAll();
+            List<Object[]> orderCounts = orderItemRepository.countOrdersByProduct();
+
+            LongIntHashMap indexById = new LongIntHashMap(stats.size() + orderCounts.size());
+            long[] ids = new long[stats.size() + orderCounts.size()];
+            double[] ratings = new double[ids.length];
+            int[] reviewCounts = new int[ids.length];
+            long[] views = new long[ids.length];
+            long[] orders = new long[ids.length];
+            int size = 0;
+
+            for (ProductStats stat : stats) {
+                if (stat.getProductId() == null || stat.getProductId() <= 0) {
+                    continue;
+                }
+                int index = size++;
+                ids[index] = stat.getProductId();
+                indexById.put(stat.getProductId(), index + 1);
+                ratings[index] = stat.getAverageRating() != null ? stat.getAverageRating() : 0.0;
+                reviewCounts[index] = stat.getReviewCount() != null ? stat.getReviewCount().intValue() : 0;
+                views[index] = stat.getViewCount() != null ? stat.getViewCount() : 0L;
+            }
+            for (Object[] row : orderCounts) {
+                long productId = ((Number) row[0]).longValue();
+                if (productId <= 0) {
+                    continue;
+                }
+                int index = indexById.get(productId) - 1;
+                if (index < 0) {
+                    index = size++;
+                    ids[index] = productId;
+                    indexById.put(productId, index + 1);
+                }
+                orders[index] = ((Number) row[1]).longValue();
+            }
+
+            double[] popularity = new double[size];
+            for (int i = 0; i < size; i++) {
+                double ratingWeight = reviewCounts[i] / (reviewCounts[i] + 3.0);
+                popularity[i] = Math.log1p(views[i]) + 2 * Math.log1p(orders[i]) + ratings[i] * ratingWeight;
+            }
+
+            scores = new Scores(indexById, Arrays.copyOf(ratings, size), Arrays.copyOf(views, size), popularity);
+            log.debug("Sıralama skorları yenilendi - Ürün: {}, Süre: {} ms", size, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Sıralama skorları yenilenirken hata: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Değişmez skor tablosu; ID -> dizi indeksi (+1) eşlemesi ve kolon dizileri
+     * Yenileme yeni bir tablo üretip referansı değiştirir, okuyucular kilitsiz okur.
+     */
+    private static final class Scores {
+
+        static final Scores EMPTY = new Scores(new LongIntHashMap(), new double[0], new long[0], new double[0]);
+
+        private final LongIntHashMap indexById;
+        private final double[] ratings;
+        private final long[] views;
+        private final double[] popularity;
+
+        Scores(LongIntHashMap indexById, double[] ratings, long[] views, double[] popularity) {
+            this.indexById = indexById;
+            this.ratings = ratings;
+            this.views = views;
+            this.popularity = popularity;
+        }
+
+        int indexOf(long productId) {
+            return productId > 0 ? indexById.get(productId) - 1 : -1;
+        }
+
+        int size() {
+            return ratings.length;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package eticaret.demo.recommendation.ranking;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Sınırlı yığın (bounded heap) ile en iyi K eleman seçimi
+ * Tüm adayları sıralamak yerine O(N log K) çalışır.
+ */
+public final class TopK {
+
+    private TopK() {
+    }
+
+    /**
+     * Filtreyi geçen adaylardan sıralamaya göre en iyi K tanesini (en iyiden başlayarak) döndürür
+     *
+     * @param order Önce gelmesi gereken eleman "küçük" sayılır (ör. puana göre azalan karşılaştırıcı)
+     */
+    public static <T> List<T> select(Iterable<T> candidates, int k, Predicate<? super T> filter,
+                                     Comparator<? super T> order) {
+        if (k <= 0) {
+            return Collections.emptyList();
+        }
+        // Yığının tepesinde o ana kadar seçilenlerin en kötüsü durur
+        PriorityQueue<T> heap = new PriorityQueue<>(k + 1, Collections.reverseOrder(order));
+        for (T candidate : candidates) {
+            if (!filter.test(candidate)) {
+                continue;
+            }
+            if (heap.size() < k) {
+                heap.add(candidate);
+            } else if (order.compare(candidate, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(candidate);
+            }
+        }
+        List<T> result = new ArrayList<>(heap);
+        result.sort(order);
+        return result;
+    }
+}
@@ -0,0 +1,185 @@
+package eticaret.demo.recommendation.similar;
+
+import eticaret.demo.product.Product;
+import eticaret.demo.product.facet.FacetIndex;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Ürün özelliklerini sabit boyutlu, ağırlıklı bir özellik vektörüne çevirir
+ * Kategorik alanlar (renk, materyal, kullanım alanı, montaj tipi, pile tipi, ışık geçirgenliği, kategori)
+ * alan başına ayrı bir bloğa hash'lenerek tek-sıcak (one-hot) kodlanır; virgülle ayrılmış çoklu değerler
+ * bloğa eşit paylaştırılır. Fiyat (log), en, boy ve pile oranı katalog ortalaması/sapmasıyla standartlaştırılır.
+ * İki vektör arasındaki kare Öklid uzaklığı ürünlerin ne kadar farklı olduğunu gösterir.
+ */
+final class ProductFeatureEncoder {
+
+    private static final int BUCKETS = 32;
+
+    private static final CategoricalField[] CATEGORICAL_FIELDS = {
+            new CategoricalField(Product::getColor, 1.0f, false),
+            new CategoricalField(Product::getMaterial, 1.0f, false),
+            new CategoricalField(p -> p.getCategory() != null ? String.valueOf(p.getCategory().getId()) : null, 1.0f, false),
+            new CategoricalField(Product::getUsageArea, 0.8f, true),
+            new CategoricalField(Product::getMountingType, 0.8f, false),
+            new CategoricalField(Product::getPleatType, 0.6f, false),
+            new CategoricalField(Product::getLightTransmittance, 0.6f, false)
+    };
+
+    private static final float PRICE_WEIGHT = 1.0f;
+    private static final float WIDTH_WEIGHT = 0.5f;
+    private static final float HEIGHT_WEIGHT = 0.5f;
+    private static final float PLEAT_RATIO_WEIGHT = 0.4f;
+    private static final int NUMERIC_FIELDS = 4;
+
+    /**
+     * Vektör boyutu
+     */
+    static final int DIMENSIONS = CATEGORICAL_FIELDS.length * BUCKETS + NUMERIC_FIELDS;
+
+    private final Standardizer price;
+    private final Standardizer width;
+    private final Standardizer height;
+    private final Standardizer pleatRatio;
+
+    private ProductFeatureEncoder(Standardizer price, Standardizer width, Standardizer height, Standardizer pleatRatio) {
+        this.price = price;
+        this.width = width;
+        this.height = height;
+        this.pleatRatio = pleatRatio;
+    }
+
+    /**
+     * Sayısal alanların ortalama/sapmasını verilen ürünlerden hesaplar
+     */
+    static ProductFeatureEncoder fit(Collection<Product> products) {
+        return new ProductFeatureEncoder(
+                Standardizer.fit(products, ProductFeatureEncoder::logPrice),
+                Standardizer.fit(products, Product::getWidth),
+                Standardizer.fit(products, Product::getHeight),
+                Standardizer.fit(products, ProductFeatureEncoder::pleatRatio));
+    }
+
+    /**
+     * Ürünün özellik vektörü
+     */
+    float[] encode(Product product) {
+        float[] vector = new float[DIMENSIONS];
+        for (int field = 0; field < CATEGORICAL_FIELDS.length; field++) {
+            CATEGORICAL_FIELDS[field].encode(product, vector, field * BUCKETS, field);
+        }
+        int offset = CATEGORICAL_FIELDS.length * BUCKETS;
+        vector[offset] = PRICE_WEIGHT * price.apply(logPrice(product));
+        vector[offset + 1] = WIDTH_WEIGHT * width.apply(product.getWidth());
+        vector[offset + 2] = HEIGHT_WEIGHT * height.apply(product.getHeight());
+        vector[offset + 3] = PLEAT_RATIO_WEIGHT * pleatRatio.apply(pleatRatio(product));
+        return vector;
+    }
+
+    /**
+     * Kare Öklid uzaklığı; eşik aşılınca erken çıkar
+     * Döngü sade tutulmuştur, JIT tarafından vektörleştirilebilir.
+     */
+    static float distance(float[] a, float[] b, float limit) {
+        float sum = 0f;
+        for (int i = 0; i < DIMENSIONS; i += BUCKETS) {
+            int end = Math.min(i + BUCKETS, DIMENSIONS);
+            for (int j = i; j < end; j++) {
+                float d = a[j] - b[j];
+                sum += d * d;
+            }
+            if (sum > limit) {
+                return sum;
+            }
+        }
+        return sum;
+    }
+
+    private static Double logPrice(Product product) {
+        return product.getPrice() != null ? Math.log1p(product.getPrice().doubleValue()) : null;
+    }
+
+    /**
+     * "1x2.5" gibi pile tipinden pile oranı (2.5), okunamazsa null
+     */
+    private static Double pleatRatio(Product product) {
+        String pleatType = product.getPleatType();
+        if (pleatType == null) {
+            return null;
+        }
+        int x = pleatType.toLowerCase().lastIndexOf('x');
+        try {
+            return Double.parseDouble(pleatType.substring(x + 1).trim().replace(',', '.'));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record CategoricalField(Function<Product, String> extractor, float weight, boolean multiValued) {
+
+        void encode(Product product, float[] vector, int offset, int salt) {
+            String raw = extractor.apply(product);
+            if (raw == null) {
+                return;
+            }
+            String[] values = multiValued ? raw.split(",") : new String[]{raw};
+            int count = 0;
+            int[] buckets = new int[values.length];
+            for (String value : values) {
+                String key = FacetIndex.normalize(value);
+                if (key != null) {
+                    buckets[count++] = bucket(key, salt);
+                }
+            }
+            // Çoklu değerlerde blok normu tek değerle aynı kalır
+            float share = count > 0 ? weight / (float) Math.sqrt(count) : 0f;
+            for (int i = 0; i < count; i++) {
+                vector[offset + buckets[i]] += share;
+            }
+        }
+
+        private static int bucket(String key, int salt) {
+            long h = key.hashCode() * 0x9e3779b97f4a7c15L + salt;
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            return (int) Math.floorMod(h, (long) BUCKETS);
+        }
+    }
+
+    /**
+     * z-skoru dönüşümü; değer yoksa 0 (ortalama) kabul edilir, uç değerler ±3 ile sınırlanır
+     */
+    private record Standardizer(double mean, double std) {
+
+        static Standardizer fit(Collection<Product> products, Function<Product, Double> extractor) {
+            double sum = 0;
+            double sumSquares = 0;
+            int count = 0;
+            for (Product product : products) {
+                Double value = extractor.apply(product);
+                if (value != null && !value.isNaN()) {
+                    sum += value;
+                    sumSquares += value * value;
+                    count++;
+                }
+            }
+            if (count == 0) {
+                return new Standardizer(0, 1);
+            }
+            double mean = sum / count;
+            double variance = Math.max(0, sumSquares / count - mean * mean);
+            double std = Math.sqrt(variance);
+            return new Standardizer(mean, std > 1e-9 ? std : 1);
+        }
+
+        float apply(Double value) {
+            if (value == null || value.isNaN()) {
+                return 0f;
+            }
+            double z = (value - mean) / std;
+            return (float) Math.max(-3, Math.min(3, z));
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package eticaret.demo.recommendation.similar;
+
+import eticaret.demo.common.collection.LongIntHashMap;
+import eticaret.demo.product.Product;
+import eticaret.demo.product.catalog.CatalogChangedEvent;
+import eticaret.demo.product.catalog.CatalogSnapshot;
+import eticaret.demo.product.catalog.CatalogSnapshotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Ürün özellik vektörleri üzerinde en yakın K komşu (kNN) indeksi ("benzer perdeler")
+ * Vitrindeki (aktif ve stokta) ürünlerin vektörleri bellekte tutulur, arama kaba kuvvet (brute-force)
+ * tarama ile yapılır; birkaç bin ürün için mikrosaniyeler sürer, SQL çalışmaz.
+ * İndeks katalog görüntüsünü izler; ürün değiştikçe sadece o ürünün vektörü yeniden hesaplanır.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductFeatureIndex {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    private volatile Vectors vectors;
+
+    /**
+     * Katalog değişikliklerini indekse yansıtır
+     */
+    @EventListener
+    public synchronized void onCatalogChanged(CatalogChangedEvent event) {
+        CatalogSnapshot snapshot = event.snapshot();
+        Vectors current = vectors;
+        if (event.isFullRebuild() || current == null) {
+            long start = System.currentTimeMillis();
+            vectors = Vectors.build(snapshot.getAll());
+            log.debug("Benzer ürün indeksi oluşturuldu - Ürün: {}, Süre: {} ms",
+                    vectors.size(), System.currentTimeMillis() - start);
+        } else {
+            vectors = current.with(event.productId(), snapshot.get(event.productId()));
+        }
+    }
+
+    /**
+     * Ürüne en yakın K ürünün ID'leri (yakından uzağa), ürünün kendisi hariç
+     * Ürün vitrinde değilse (ör. stokta yok) verilen entity'den vektör hesaplanır.
+     *
+     * @param product Referans ürün
+     */
+    public long[] nearest(Product product, int k) {
+        if (product == null || product.getId() == null || k <= 0) {
+            return new long[0];
+        }
+        Vectors current = currentVectors();
+        int index = current.indexOf(product.getId());
+        float[] query = index >= 0 ? current.rows[index] : current.encoder.encode(product);
+        return current.nearest(query, product.getId(), k);
+    }
+
+    private Vectors currentVectors() {
+        Vectors current = vectors;
+        if (current == null) {
+            synchronized (this) {
+                current = vectors;
+                if (current == null) {
+                    current = Vectors.build(catalogSnapshotService.current().getAll());
+                    vectors = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Değişmez vektör tablosu
+     * Satırlar ayrı dizilerdir; tek ürün güncellemesinde sadece satır referansları kopyalanır.
+     * Sayısal alanların ölçekleri tam oluşturmada hesaplanır, artımlı güncellemelerde korunur.
+     */
+    private static final class Vectors {
+
+        private final ProductFeatureEncoder encoder;
+        private final long[] ids;
+        private final float[][] rows;
+        private final LongIntHashMap indexById;
+
+        private Vectors(ProductFeatureEncoder encoder, long[] ids, float[][] rows) {
+            this.encoder = encoder;
+            this.ids = ids;
+            this.rows = rows;
+            this.indexById = new LongIntHashMap(ids.length);
+            for (int i = 0; i < ids.length; i++) {
+                // 0 boş anahtar değeri olduğundan konum 1 fazlasıyla saklanır
+                indexById.put(ids[i], i + 1);
+            }
+        }
+
+        static Vectors build(List<Product> products) {
+            ProductFeatureEncoder encoder = ProductFeatureEncoder.fit(products);
+            long[] ids = new long[products.size()];
+            float[][] rows = new float[products.size()][];
+            for (int i = 0; i < ids.length; i++) {
+                Product product = products.get(i);
+                ids[i] = product.getId();
+                rows[i] = encoder.encode(product);
+            }
+            return new Vectors(encoder, ids, rows);
+        }
+
+        /**
+         * Bir ürünün eklendiği/güncellendiği/çıkarıldığı yeni tablo
+         *
+         * @param product Ürünün yeni hali, vitrinden çıktıysa null
+         */
+        Vectors with(Long productId, Product product) {
+            int index = indexOf(productId);
+            if (product == null) {
+                if (index < 0) {
+                    return this;
+                }
+                // Son satır silinen satırın yerine taşınır
+                int last = ids.length - 1;
+                long[] newIds = Arrays.copyOf(ids, last);
+                float[][] newRows = Arrays.copyOf(rows, last);
+                if (index < last) {
+                    newIds[index] = ids[last];
+                    newRows[index] = rows[last];
+                }
+                return new Vectors(encoder, newIds, newRows);
+            }
+            if (index >= 0) {
+                float[][] newRows = rows.clone();
+                newRows[index] = encoder.encode(product);
+                return new Vectors(encoder, ids, newRows);
+            }
+            long[] newIds = Arrays.copyOf(ids, ids.length + 1);
+            float[][] newRows = Arrays.copyOf(rows, rows.length + 1);
+            newIds[ids.length] = product.getId();
+            newRows[rows.length] = encoder.encode(product);
+            return new Vectors(encoder, newIds, newRows);
+        }
+
+        int indexOf(Long productId) {
+            return productId != null && productId != 0 ? indexById.get(productId) - 1 : -1;
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        /**
+         * Kaba kuvvet kNN: sınırlı bir en iyi K listesi tutulur, K. en iyi uzaklığı aşan adaylar erken elenir
+         */
+        long[] nearest(float[] query, long excludeId, int k) {
+            int limit = Math.min(k, ids.length);
+            long[] bestIds = new long[limit];
+            float[] bestDistances = new float[limit];
+            int size = 0;
+            for (int i = 0; i < ids.length; i++) {
+                long id = ids[i];
+                if (id == excludeId || limit == 0) {
+                    continue;
+                }
+                float bound = size == limit ? bestDistances[size - 1] : Float.MAX_VALUE;
+                float distance = ProductFeatureEncoder.distance(query, rows[i], bound);
+                if (size == limit && !closer(distance, id, bestDistances[size - 1], bestIds[size - 1])) {
+                    continue;
+                }
+                int pos = size < limit ? size : limit - 1;
+                while (pos > 0 && closer(distance, id, bestDistances[pos - 1], bestIds[pos - 1])) {
+                    bestIds[pos] = bestIds[pos - 1];
+                    bestDistances[pos] = bestDistances[pos - 1];
+                    pos--;
+                }
+                bestIds[pos] = id;
+                bestDistances[pos] = distance;
+                if (size < limit) {
+                    size++;
+                }
+            }
+            return size < limit ? Arrays.copyOf(bestIds, size) : bestIds;
+        }
+
+        private static boolean closer(float distance, long id, float otherDistance, long otherId) {
+            return distance < otherDistance || (distance == otherDistance && id < otherId);
+        }
+    }
+}
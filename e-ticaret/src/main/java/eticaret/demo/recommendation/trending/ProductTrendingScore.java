@@ -0,0 +1,42 @@
+package eticaret.demo.recommendation.trending;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Trend sayaçlarının kalıcı kontrol noktası (checkpoint)
+ * Bellekteki sönümlenen sayaçlar periyodik olarak yazılır, açılışta geçen süre kadar sönümlenerek geri yüklenir.
+ */
+@Entity
+@Table(name = "product_trending_scores")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductTrendingScore {
+
+    /**
+     * Ürün ID'si (products tablosuna ait)
+     */
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    /**
+     * Yarı ömür (saat) -> skor çiftleri: "1.0:3.52,24.0:41.7"
+     * Yarı ömür ayarı değişirse eşleşmeyen skorlar yok sayılır.
+     */
+    @Column(name = "scores", columnDefinition = "TEXT", nullable = false)
+    private String scores;
+
+    /**
+     * Skorların yazıldığı an (geri yüklemede sönümleme için)
+     */
+    @Column(name = "checkpointed_at", nullable = false)
+    private LocalDateTime checkpointedAt;
+}
@@ -0,0 +1,6 @@
+package eticaret.demo.recommendation.trending;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ProductTrendingScoreRepository extends JpaRepository<ProductTrendingScore, Long> {
+}
@@ -0,0 +1,341 @@
+package eticaret.demo.recommendation.trending;
+
+import eticaret.demo.recommendation.ranking.TopK;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Zamanla sönümlenen (exponential decay) ürün trend sayaçları
+ * Ürün detay görüntülemeleri kilitsiz, kutulamasız sayaç dizilerine eklenir; her dakika bekleyen sayılar
+ * her yarı ömür (ör. 1 saat, 24 saat, 7 gün) için skorlara katlanır ve sıralamalar önceden hesaplanır.
+ * Skorlar periyodik olarak ve kapanışta product_trending_scores tablosuna yazılır, açılışta geri yüklenir.
+ * Okuma yolu SQL çalıştırmaz.
+ */
+@Component
+@Slf4j
+public class TrendingCounters {
+
+    /**
+     * Yarı ömür başına saklanan sıralı ürün sayısı
+     */
+    public static final int MAX_RANKED = 500;
+
+    /**
+     * Sıralamaya girmek için gereken en düşük skor (tek görüntüleme ~5 yarı ömür sonra düşer)
+     */
+    private static final double MIN_SCORE = 0.03;
+
+    /**
+     * Kontrol noktasına yazılacak en düşük skor
+     */
+    private static final double MIN_PERSISTED_SCORE = 0.001;
+
+    private static final int SEGMENT_BITS = 10;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+    private static final double MILLIS_PER_HOUR = 3_600_000.0;
+    private static final long[] NONE = new long[0];
+
+    private final ProductTrendingScoreRepository repository;
+    private final double[] halfLifeHours;
+    private final int defaultWindow;
+
+    // Sıcak yol: ürün -> slot eşlemesi ve slot başına bekleyen görüntüleme sayısı (kilitsiz)
+    private final ConcurrentHashMap<Long, Integer> slots = new ConcurrentHashMap<>();
+    private volatile AtomicIntegerArray[] pending = new AtomicIntegerArray[0];
+
+    // Slot ataması (sadece yeni ürün ilk kez görüntülendiğinde)
+    private final Object slotLock = new Object();
+    private long[] slotIds = NONE;
+    private int slotCount;
+
+    // Sadece tick/checkpoint/restore (bu nesnenin kilidi altında) kullanılır
+    private double[][] scores;
+    private long lastTickAt = System.currentTimeMillis();
+
+    private volatile long[][] rankings;
+
+    public TrendingCounters(ProductTrendingScoreRepository repository,
+                            @Value("${recommendation.trending.half-life-hours:1,24,168}") double[] halfLifeHours,
+                            @Value("${recommendation.trending.default-half-life-hours:24}") double defaultHalfLifeHours) {
+        if (halfLifeHours.length == 0) {
+            throw new IllegalArgumentException("En az bir trend yarı ömrü tanımlanmalı");
+        }
+        for (double halfLife : halfLifeHours) {
+            if (!(halfLife > 0)) {
+                throw new IllegalArgumentException("Trend yarı ömrü pozitif olmalı: " + halfLife);
+            }
+        }
+        this.repository = repository;
+        this.halfLifeHours = halfLifeHours.clone();
+        this.scores = new double[halfLifeHours.length][0];
+        this.rankings = new long[halfLifeHours.length][0];
+        int window = indexOf(defaultHalfLifeHours);
+        this.defaultWindow = window >= 0 ? window : 0;
+    }
+
+    /**
+     * Ürün detay görüntülemesini sayar (kilitsiz, SQL yok)
+     */
+    public void record(Long productId) {
+        if (productId == null) {
+            return;
+        }
+        Integer slot = slots.get(productId);
+        if (slot == null) {
+            slot = assignSlot(productId);
+        }
+        pending[slot >>> SEGMENT_BITS].incrementAndGet(slot & SEGMENT_MASK);
+    }
+
+    /**
+     * Yarı ömre göre trend skoru azalan ürün ID'leri (en fazla MAX_RANKED)
+     * Dönen dizi değiştirilmemelidir.
+     *
+     * @param halfLifeHours Yarı ömür (saat), null veya tanımsızsa varsayılan yarı ömür kullanılır
+     */
+    public long[] ranked(Double halfLifeHours) {
+        int window = halfLifeHours != null ? indexOf(halfLifeHours) : -1;
+        return rankings[window >= 0 ? window : defaultWindow];
+    }
+
+    /**
+     * Tanımlı yarı ömürler (saat)
+     */
+    public double[] getHalfLifeHours() {
+        return halfLifeHours.clone();
+    }
+
+    /**
+     * Bekleyen görüntülemeleri sönümlenmiş skorlara katlar ve sıralamaları yeniler
+     */
+    @Scheduled(fixedRate = 60000) // 1 dakika
+    public synchronized void tick() {
+        long now = System.currentTimeMillis();
+        double elapsedHours = Math.max(0, now - lastTickAt) / MILLIS_PER_HOUR;
+        lastTickAt = now;
+
+        int count;
+        long[] ids;
+        synchronized (slotLock) {
+            count = slotCount;
+            ids = slotIds;
+        }
+        AtomicIntegerArray[] segments = pending;
+        ensureCapacity(count);
+
+        double[] decay = new double[halfLifeHours.length];
+        for (int w = 0; w < halfLifeHours.length; w++) {
+            decay[w] = Math.pow(0.5, elapsedHours / halfLifeHours[w]);
+        }
+        for (int slot = 0; slot < count; slot++) {
+            int views = segments[slot >>> SEGMENT_BITS].getAndSet(slot & SEGMENT_MASK, 0);
+            for (int w = 0; w < halfLifeHours.length; w++) {
+                scores[w][slot] = scores[w][slot] * decay[w] + views;
+            }
+        }
+        publishRankings(ids, count);
+    }
+
+    /**
+     * Skorları kalıcı tabloya yazar
+     * Mevcut satırlar yerinde güncellenir, skoru tamamen sönen ürünlerin satırları silinir.
+     */
+    @Scheduled(fixedDelay = 300000, initialDelay = 300000) // 5 dakika
+    public synchronized void checkpoint() {
+        long start = System.currentTimeMillis();
+        try {
+            tick();
+            int count;
+            long[] ids;
+            synchronized (slotLock) {
+                count = slotCount;
+                ids = slotIds;
+            }
+
+            Map<Long, ProductTrendingScore> existing = new HashMap<>();
+            for (ProductTrendingScore row : repository.findAll()) {
+                existing.put(row.getProductId(), row);
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            List<ProductTrendingScore> rows = new ArrayList<>();
+            for (int slot = 0; slot < count; slot++) {
+                String encoded = encode(slot);
+                if (encoded == null) {
+                    continue;
+                }
+                ProductTrendingScore row = existing.remove(ids[slot]);
+                if (row == null) {
+                    row = ProductTrendingScore.builder().productId(ids[slot]).build();
+                }
+                row.setScores(encoded);
+                row.setCheckpointedAt(now);
+                rows.add(row);
+            }
+            repository.saveAll(rows);
+            if (!existing.isEmpty()) {
+                repository.deleteAllByIdInBatch(existing.keySet());
+            }
+            log.debug("Trend sayaçları kaydedildi - Ürün: {}, Silinen: {}, Süre: {} ms",
+                    rows.size(), existing.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Trend sayaçları kaydedilemedi: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Açılışta son kontrol noktasını geçen süre kadar sönümleyerek geri yükler
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void restore() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int restored = 0;
+            for (ProductTrendingScore row : repository.findAll()) {
+                double elapsedHours = row.getCheckpointedAt() != null
+                        ? Math.max(0, Duration.between(row.getCheckpointedAt(), now).toMillis()) / MILLIS_PER_HOUR
+                        : 0;
+                int slot = -1;
+                for (String pair : row.getScores().split(",")) {
+                    int colon = pair.indexOf(':');
+                    if (colon <= 0) {
+                        continue;
+                    }
+                    try {
+                        int window = indexOf(Double.parseDouble(pair.substring(0, colon)));
+                        if (window < 0) {
+                            continue;
+                        }
+                        double score = Double.parseDouble(pair.substring(colon + 1))
+                                * Math.pow(0.5, elapsedHours / halfLifeHours[window]);
+                        if (slot < 0) {
+                            Integer existing = slots.get(row.getProductId());
+                            slot = existing != null ? existing : assignSlot(row.getProductId());
+                            ensureCapacity(slot + 1);
+                        }
+                        scores[window][slot] += score;
+                    } catch (NumberFormatException ignored) {
+                        // Bozuk çift atlanır
+                    }
+                }
+                if (slot >= 0) {
+                    restored++;
+                }
+            }
+            tick();
+            log.info("Trend sayaçları geri yüklendi - Ürün: {}", restored);
+        } catch (Exception e) {
+            log.error("Trend sayaçları geri yüklenemedi: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Kapanışta bekleyen görüntülemeleri kaybetmemek için son kez kaydeder
+     */
+    @PreDestroy
+    public void shutdown() {
+        checkpoint();
+    }
+
+    private int assignSlot(long productId) {
+        synchronized (slotLock) {
+            Integer existing = slots.get(productId);
+            if (existing != null) {
+                return existing;
+            }
+            int slot = slotCount;
+            AtomicIntegerArray[] segments = pending;
+            if ((slot >>> SEGMENT_BITS) >= segments.length) {
+                AtomicIntegerArray[] grown = Arrays.copyOf(segments, segments.length + 1);
+                grown[segments.length] = new AtomicIntegerArray(SEGMENT_SIZE);
+                pending = grown;
+            }
+            if (slot >= slotIds.length) {
+                slotIds = Arrays.copyOf(slotIds, Math.max(SEGMENT_SIZE, slotIds.length * 2));
+            }
+            slotIds[slot] = productId;
+            slotCount = slot + 1;
+            // Segment yayınlandıktan sonra eşleme görünür olur, record() her zaman hazır segmente yazar
+            slots.put(productId, slot);
+            return slot;
+        }
+    }
+
+    private void ensureCapacity(int count) {
+        if (scores[0].length >= count) {
+            return;
+        }
+        int capacity = Math.max(count, Math.max(SEGMENT_SIZE, scores[0].length * 2));
+        for (int w = 0; w < scores.length; w++) {
+            scores[w] = Arrays.copyOf(scores[w], capacity);
+        }
+    }
+
+    private void publishRankings(long[] ids, int count) {
+        long[][] published = new long[halfLifeHours.length][];
+        for (int w = 0; w < halfLifeHours.length; w++) {
+            double[] windowScores = scores[w];
+            List<Integer> candidates = new ArrayList<>();
+            for (int slot = 0; slot < count; slot++) {
+                if (windowScores[slot] >= MIN_SCORE) {
+                    candidates.add(slot);
+                }
+            }
+            List<Integer> top = TopK.select(candidates, MAX_RANKED, slot -> true,
+                    Comparator.<Integer>comparingDouble(slot -> -windowScores[slot])
+                            .thenComparingLong(slot -> ids[slot]));
+            long[] ranked = new long[top.size()];
+            for (int i = 0; i < ranked.length; i++) {
+                ranked[i] = ids[top.get(i)];
+            }
+            published[w] = ranked;
+        }
+        rankings = published;
+    }
+
+    /**
+     * Slotun skorlarını "yarıömür:skor" çiftleri olarak kodlar, hepsi sönmüşse null döner
+     */
+    private String encode(int slot) {
+        StringBuilder sb = null;
+        for (int w = 0; w < halfLifeHours.length; w++) {
+            double score = scores[w][slot];
+            if (score < MIN_PERSISTED_SCORE) {
+                continue;
+            }
+            if (sb == null) {
+                sb = new StringBuilder();
+            } else {
+                sb.append(',');
+            }
+            sb.append(halfLifeHours[w]).append(':').append(score);
+        }
+        return sb != null ? sb.toString() : null;
+    }
+
+    private int indexOf(double halfLife) {
+        for (int w = 0; w < halfLifeHours.length; w++) {
+            if (Double.compare(halfLifeHours[w], halfLife) == 0) {
+                return w;
+            }
+        }
+        return -1;
+    }
+}
@@ -99,7 +99,7 @@ public class SecurityConfig {
         config.setAllowedHeaders(List.of("*"));
         config.setAllowCredentials(true); // cookie / token taşıyacaksa
         config.setMaxAge(3600L); // 1 saat cache
-        config.setExposedHeaders(List.of("Authorization", "Content-Type", "Location"));
+        config.setExposedHeaders(List.of("Authorization", "Content-Type", "Location", "ETag", "Last-Modified"));
         // OAuth2 redirect'ler için önemli
         config.setAllowPrivateNetwork(true);
 
@@ -1,15 +1,19 @@
 package eticaret.demo.visitor;
 
+import eticaret.demo.visitor.rollup.RollupCounts;
+import eticaret.demo.visitor.rollup.VisitorRollupService;
+import eticaret.demo.visitor.session.ActiveVisitorCounter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Visitor analytics service
@@ -20,105 +24,133 @@ import java.util.stream.Collectors;
 @Slf4j
 public class VisitorAnalyticsService {
     
-    private final ActiveVisitorRepository activeVisitorRepository;
-    private final VisitorPageViewRepository pageViewRepository;
+    private final ActiveVisitorCounter activeVisitorCounter;
+    private final VisitorRollupService rollupService;
     
     /**
      * Genel ziyaretçi istatistikleri
+     * Sayfa görüntüleme, cihaz, tarayıcı ve sayfa dağılımları özet tablolarından (saat hassasiyetinde),
+     * aktif ziyaretçiler bellekteki kayan pencereden (en fazla son 1 saat) okunur.
      */
-    @Transactional(readOnly = true)
     public VisitorStatistics getVisitorStatistics(LocalDateTime since) {
         VisitorStatistics stats = new VisitorStatistics();
         stats.setSince(since);
         
         // Aktif ziyaretçiler
-        long activeCount = activeVisitorRepository.countActiveVisitors(since);
-        stats.setActiveVisitors(activeCount);
+        int activeMinutes = activeWindowMinutes(since);
+        stats.setActiveVisitors(activeVisitorCounter.count(activeMinutes));
         
         // Tip bazlı aktif ziyaretçiler
-        stats.setActiveGuests(activeVisitorRepository.countActiveVisitorsByType(since, VisitorType.MISAFIR));
-        stats.setActiveUsers(activeVisitorRepository.countActiveVisitorsByType(since, VisitorType.KULLANICI));
-        stats.setActiveAdmins(activeVisitorRepository.countActiveVisitorsByType(since, VisitorType.YONETICI));
+        stats.setActiveGuests(activeVisitorCounter.count(activeMinutes, VisitorType.MISAFIR));
+        stats.setActiveUsers(activeVisitorCounter.count(activeMinutes, VisitorType.KULLANICI));
+        stats.setActiveAdmins(activeVisitorCounter.count(activeMinutes, VisitorType.YONETICI));
         
+        RollupCounts counts = rollupService.summarize(since);
+
         // Sayfa görüntülemeleri
-        long totalPageViews = pageViewRepository.countByCreatedAtAfter(since);
-        stats.setTotalPageViews(totalPageViews);
+        stats.setTotalPageViews(counts.getPageViews());
         
-        // Benzersiz ziyaretçiler (session bazlı)
-        long uniqueVisitors = pageViewRepository.countDistinctSessions(since);
-        stats.setUniqueVisitors(uniqueVisitors);
+        // Benzersiz ziyaretçiler (session bazlı) ve giriş yapmış kullanıcılar (HyperLogLog tahmini)
+        stats.setUniqueVisitors(counts.getUniqueSessions());
+        stats.setUniqueUsers(counts.getUniqueUsers());
         
         // Ortalama sayfa görüntüleme süresi
-        Double avgDuration = pageViewRepository.calculateAverageDuration(since);
-        stats.setAveragePageViewDuration(avgDuration != null ? avgDuration : 0.0);
+        stats.setAveragePageViewDuration(counts.getAverageDuration());
         
         // Cihaz istatistikleri
-        Map<String, Long> deviceStats = new HashMap<>();
-        for (VisitorPageView.DeviceType deviceType : VisitorPageView.DeviceType.values()) {
-            long count = pageViewRepository.countByDeviceTypeAndCreatedAtAfter(deviceType, since);
-            deviceStats.put(deviceType.name(), count);
-        }
-        stats.setDeviceStatistics(deviceStats);
+        stats.setDeviceStatistics(deviceStatistics(counts));
         
         // Tarayıcı istatistikleri
-        List<Object[]> browserStats = pageViewRepository.findBrowserStatistics(since);
-        Map<String, Long> browserMap = browserStats.stream()
-                .collect(Collectors.toMap(
-                    arr -> (String) arr[0],
-                    arr -> (Long) arr[1]
-                ));
-        stats.setBrowserStatistics(browserMap);
+        stats.setBrowserStatistics(toMap(RollupCounts.top(counts.getBrowsers(), Integer.MAX_VALUE)));
         
         // En çok görüntülenen sayfalar
-        List<Object[]> topPages = pageViewRepository.findMostViewedPages(since);
-        Map<String, Long> topPagesMap = topPages.stream()
-                .limit(10)
-                .collect(Collectors.toMap(
-                    arr -> (String) arr[0],
-                    arr -> (Long) arr[1]
-                ));
-        stats.setTopPages(topPagesMap);
+        stats.setTopPages(toMap(RollupCounts.top(counts.getPages(), 10)));
         
         return stats;
     }
     
     /**
-     * Ziyaretçi trend analizi (günlük)
+     * Ziyaretçi trend analizi (günlük tekil oturum)
      */
-    @Transactional(readOnly = true)
     public Map<String, Long> getDailyVisitorTrend(int days) {
-        Map<String, Long> trend = new HashMap<>();
-        LocalDateTime now = LocalDateTime.now();
-        
-        for (int i = days - 1; i >= 0; i--) {
-            LocalDateTime dayStart = now.minusDays(i).withHour(0).withMinute(0).withSecond(0);
-            
-            long count = pageViewRepository.countDistinctSessions(dayStart);
-            String dateKey = dayStart.toLocalDate().toString();
-            trend.put(dateKey, count);
-        }
-        
+        Map<String, Long> trend = new LinkedHashMap<>();
+        rollupService.daily(days).forEach((day, counts) -> trend.put(day.toString(), counts.getUniqueSessions()));
         return trend;
     }
     
     /**
-     * Sayfa görüntüleme trend analizi
+     * Sayfa görüntüleme trend analizi (günlük)
      */
-    @Transactional(readOnly = true)
     public Map<String, Long> getPageViewTrend(int days) {
-        Map<String, Long> trend = new HashMap<>();
-        LocalDateTime now = LocalDateTime.now();
-        
-        for (int i = days - 1; i >= 0; i--) {
-            LocalDateTime dayStart = now.minusDays(i).withHour(0).withMinute(0).withSecond(0);
-            
-            long count = pageViewRepository.countByCreatedAtAfter(dayStart);
-            String dateKey = dayStart.toLocalDate().toString();
-            trend.put(dateKey, count);
-        }
-        
+        Map<String, Long> trend = new LinkedHashMap<>();
+        rollupService.daily(days).forEach((day, counts) -> trend.put(day.toString(), counts.getPageViews()));
         return trend;
     }
+
+    /**
+     * Verilen aralıktaki tekil oturum ve kullanıcı sayıları
+     * Saatlik/günlük HyperLogLog taslakları birleştirilerek tahmin edilir (~%2 hata), ham tabloya gidilmez.
+     */
+    public Map<String, Object> getUniqueVisitors(LocalDateTime from, LocalDateTime to) {
+        RollupCounts counts = rollupService.summarize(from, to);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("from", from);
+        result.put("to", to);
+        result.put("uniqueSessions", counts.getUniqueSessions());
+        result.put("uniqueUsers", counts.getUniqueUsers());
+        result.put("pageViews", counts.getPageViews());
+        return result;
+    }
+
+    /**
+     * En çok görüntülenen sayfalar ([sayfa, görüntüleme] azalan)
+     */
+    public List<Object[]> getTopPages(LocalDateTime since) {
+        return toRows(RollupCounts.top(rollupService.summarize(since).getPages(), Integer.MAX_VALUE));
+    }
+
+    /**
+     * Cihaz tipine göre görüntüleme sayıları
+     */
+    public Map<String, Long> getDeviceStatistics(LocalDateTime since) {
+        return deviceStatistics(rollupService.summarize(since));
+    }
+
+    /**
+     * Tarayıcıya göre görüntüleme sayıları ([tarayıcı, görüntüleme] azalan)
+     */
+    public List<Object[]> getBrowserStatistics(LocalDateTime since) {
+        return toRows(RollupCounts.top(rollupService.summarize(since).getBrowsers(), Integer.MAX_VALUE));
+    }
+
+    private static int activeWindowMinutes(LocalDateTime since) {
+        long minutes = ChronoUnit.MINUTES.between(since, LocalDateTime.now());
+        return (int) Math.max(1, Math.min(minutes, ActiveVisitorCounter.WINDOW_MINUTES));
+    }
+
+    private static Map<String, Long> deviceStatistics(RollupCounts counts) {
+        Map<String, Long> deviceStats = new HashMap<>();
+        for (VisitorPageView.DeviceType deviceType : VisitorPageView.DeviceType.values()) {
+            deviceStats.put(deviceType.name(), counts.getDevices().getOrDefault(deviceType.name(), 0L));
+        }
+        return deviceStats;
+    }
+
+    private static Map<String, Long> toMap(List<Map.Entry<String, Long>> entries) {
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : entries) {
+            map.put(entry.getKey(), entry.getValue());
+        }
+        return map;
+    }
+
+    private static List<Object[]> toRows(List<Map.Entry<String, Long>> entries) {
+        List<Object[]> rows = new ArrayList<>(entries.size());
+        for (Map.Entry<String, Long> entry : entries) {
+            rows.add(new Object[]{entry.getKey(), entry.getValue()});
+        }
+        return rows;
+    }
     
     /**
      * Visitor statistics DTO
@@ -131,6 +163,7 @@ public class VisitorAnalyticsService {
         private long activeAdmins;
         private long totalPageViews;
         private long uniqueVisitors;
+        private long uniqueUsers;
         private double averagePageViewDuration;
         private Map<String, Long> deviceStatistics;
         private Map<String, Long> browserStatistics;
@@ -158,6 +191,9 @@ public class VisitorAnalyticsService {
         public long getUniqueVisitors() { return uniqueVisitors; }
         public void setUniqueVisitors(long uniqueVisitors) { this.uniqueVisitors = uniqueVisitors; }
         
+        public long getUniqueUsers() { return uniqueUsers; }
+        public void setUniqueUsers(long uniqueUsers) { this.uniqueUsers = uniqueUsers; }
+        
         public double getAveragePageViewDuration() { return averagePageViewDuration; }
         public void setAveragePageViewDuration(double averagePageViewDuration) { 
             this.averagePageViewDuration = averagePageViewDuration; 
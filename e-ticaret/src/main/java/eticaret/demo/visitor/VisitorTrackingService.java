@@ -1,19 +1,19 @@
 package eticaret.demo.visitor;
 
+import eticaret.demo.visitor.session.ActiveVisitorCounter;
+import eticaret.demo.visitor.session.VisitorHit;
+import eticaret.demo.visitor.session.VisitorSessionTable;
+import eticaret.demo.visitor.useragent.UserAgentInfo;
+import eticaret.demo.visitor.useragent.UserAgentParser;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.hibernate.exception.ConstraintViolationException;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
-import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
@@ -21,28 +21,18 @@ import java.util.regex.Pattern;
 public class VisitorTrackingService {
 
     private final ActiveVisitorRepository visitorRepository;
-    private final VisitorPageViewRepository pageViewRepository;
-    
-    // User-Agent parsing için pattern'ler
-    private static final Pattern MOBILE_PATTERN = Pattern.compile(
-        "(?i)(android|webos|iphone|ipad|ipod|blackberry|iemobile|opera mini)");
-    private static final Pattern TABLET_PATTERN = Pattern.compile(
-        "(?i)(ipad|android(?!.*mobile)|tablet)");
-    private static final Pattern CHROME_PATTERN = Pattern.compile("(?i)chrome/([\\d.]+)");
-    private static final Pattern FIREFOX_PATTERN = Pattern.compile("(?i)firefox/([\\d.]+)");
-    private static final Pattern SAFARI_PATTERN = Pattern.compile("(?i)version/([\\d.]+).*safari");
-    private static final Pattern EDGE_PATTERN = Pattern.compile("(?i)edg?e?/([\\d.]+)");
-    private static final Pattern WINDOWS_PATTERN = Pattern.compile("(?i)windows");
-    private static final Pattern MACOS_PATTERN = Pattern.compile("(?i)mac os x|macintosh");
-    private static final Pattern LINUX_PATTERN = Pattern.compile("(?i)linux");
-    private static final Pattern ANDROID_PATTERN = Pattern.compile("(?i)android");
-    private static final Pattern IOS_PATTERN = Pattern.compile("(?i)(iphone|ipad|ipod)");
+    private final VisitorSessionTable visitorSessionTable;
+    private final ActiveVisitorCounter activeVisitorCounter;
+    private final UserAgentParser userAgentParser;
+
+    private static final int ACTIVE_WINDOW_MINUTES = 5;
 
     /**
      * Ziyaretçi aktivitesini kaydet veya güncelle
-     * Sayfa görüntüleme kaydı da oluşturur
+     * Sayfa görüntüleme kaydı da oluşturur.
+     * Oturum bellekteki ziyaretçi tablosunda güncellenir ve birkaç saniyede bir toplu yazılır;
+     * istek yolunda veritabanına gidilmez.
      */
-    @Transactional
     public String trackVisitor(
             HttpServletRequest request,
             String currentPage,
@@ -52,162 +42,31 @@ public class VisitorTrackingService {
             String userEmail
     ) {
         try {
-            String ipAddress = getClientIpAddress(request);
             String userAgent = request.getHeader("User-Agent");
             String referrer = request.getHeader("Referer");
             String language = request.getHeader("Accept-Language");
             String sessionId = resolveSessionId(request, providedSessionId);
             
-            // Device ve browser bilgilerini parse et
-            DeviceInfo deviceInfo = parseDeviceInfo(userAgent);
-
-            // Mevcut ziyaretçiyi bul (session ID ile)
-            Optional<ActiveVisitor> existingVisitorOpt = visitorRepository.findBySessionId(sessionId);
-            
-            ActiveVisitor visitor;
-            boolean isNewVisitor = false;
+            // Device ve browser bilgileri (önbellekli)
+            UserAgentInfo deviceInfo = userAgentParser.parse(userAgent);
+
+            visitorSessionTable.record(new VisitorHit(
+                    sessionId,
+                    getClientIpAddress(request),
+                    deviceInfo.userAgent(),
+                    trimPagePath(currentPage),
+                    referrer != null && !referrer.isBlank() ? trimReferrer(referrer) : null,
+                    extractLanguage(language),
+                    visitorType != null ? visitorType : VisitorType.MISAFIR,
+                    userId,
+                    userEmail != null ? trimEmail(userEmail) : null,
+                    deviceInfo.deviceType(),
+                    deviceInfo.browser(),
+                    deviceInfo.operatingSystem(),
+                    LocalDateTime.now()
+            ));
             
-            if (existingVisitorOpt.isPresent()) {
-                // Mevcut ziyaretçiyi güncelle
-                visitor = existingVisitorOpt.get();
-                visitor.setLastActivityAt(LocalDateTime.now());
-                visitor.incrementPageView();
-                visitor.updateCurrentPage(currentPage);
-                visitor.setVisitorType(visitorType != null ? visitorType : VisitorType.MISAFIR);
-
-                if (userId != null) {
-                    visitor.setUserId(userId);
-                }
-                if (userEmail != null) {
-                    visitor.setUserEmail(trimEmail(userEmail));
-                }
-                if (userAgent != null && !userAgent.isBlank()) {
-                    visitor.setUserAgent(trimUserAgent(userAgent));
-                }
-                
-                // Device bilgilerini güncelle
-                if (deviceInfo.deviceType != null) {
-                    visitor.setDeviceType(deviceInfo.deviceType);
-                }
-                if (deviceInfo.browser != null) {
-                    visitor.setBrowser(deviceInfo.browser);
-                }
-                if (deviceInfo.operatingSystem != null) {
-                    visitor.setOperatingSystem(deviceInfo.operatingSystem);
-                }
-                if (referrer != null && !referrer.isBlank()) {
-                    visitor.setReferrer(trimReferrer(referrer));
-                }
-                if (language != null && !language.isBlank()) {
-                    visitor.setLanguage(extractLanguage(language));
-                }
-            } else {
-                // Yeni ziyaretçi oluştur
-                isNewVisitor = true;
-                visitor = ActiveVisitor.builder()
-                        .ipAddress(ipAddress)
-                        .userAgent(userAgent != null ? trimUserAgent(userAgent) : null)
-                        .sessionId(sessionId)
-                        .firstSeenAt(LocalDateTime.now())
-                        .lastActivityAt(LocalDateTime.now())
-                        .pageViews(1)
-                        .currentPage(currentPage)
-                        .visitorType(visitorType != null ? visitorType : VisitorType.MISAFIR)
-                        .userId(userId)
-                        .userEmail(userEmail != null ? trimEmail(userEmail) : null)
-                        .deviceType(deviceInfo.deviceType)
-                        .browser(deviceInfo.browser)
-                        .operatingSystem(deviceInfo.operatingSystem)
-                        .referrer(referrer != null ? trimReferrer(referrer) : null)
-                        .language(language != null ? extractLanguage(language) : null)
-                        .totalSessionDuration(0)
-                        .build();
-            }
-
-            try {
-                visitor = visitorRepository.save(visitor);
-            } catch (DataIntegrityViolationException | ConstraintViolationException e) {
-                // Duplicate key hatası - eşzamanlı istek durumunda mevcut kaydı bul ve güncelle
-                if (e.getCause() instanceof org.hibernate.exception.ConstraintViolationException ||
-                    e.getMessage() != null && e.getMessage().contains("duplicate key")) {
-                    log.debug("Duplicate key hatası yakalandı, mevcut kayıt güncelleniyor: SessionId={}", sessionId);
-                    Optional<ActiveVisitor> retryVisitorOpt = visitorRepository.findBySessionId(sessionId);
-                    if (retryVisitorOpt.isPresent()) {
-                        visitor = retryVisitorOpt.get();
-                        visitor.setLastActivityAt(LocalDateTime.now());
-                        visitor.incrementPageView();
-                        visitor.updateCurrentPage(currentPage);
-                        visitor.setVisitorType(visitorType != null ? visitorType : VisitorType.MISAFIR);
-                        
-                        if (userId != null) {
-                            visitor.setUserId(userId);
-                        }
-                        if (userEmail != null) {
-                            visitor.setUserEmail(trimEmail(userEmail));
-                        }
-                        if (userAgent != null && !userAgent.isBlank()) {
-                            visitor.setUserAgent(trimUserAgent(userAgent));
-                        }
-                        
-                        // Device bilgilerini güncelle
-                        if (deviceInfo.deviceType != null) {
-                            visitor.setDeviceType(deviceInfo.deviceType);
-                        }
-                        if (deviceInfo.browser != null) {
-                            visitor.setBrowser(deviceInfo.browser);
-                        }
-                        if (deviceInfo.operatingSystem != null) {
-                            visitor.setOperatingSystem(deviceInfo.operatingSystem);
-                        }
-                        if (referrer != null && !referrer.isBlank()) {
-                            visitor.setReferrer(trimReferrer(referrer));
-                        }
-                        if (language != null && !language.isBlank()) {
-                            visitor.setLanguage(extractLanguage(language));
-                        }
-                        
-                        visitor = visitorRepository.save(visitor);
-                        isNewVisitor = false;
-                    } else {
-                        // Hala bulunamadıysa, yeni bir session ID oluştur
-                        log.warn("Duplicate key hatası sonrası kayıt bulunamadı, yeni session ID oluşturuluyor: SessionId={}", sessionId);
-                        sessionId = UUID.randomUUID().toString();
-                        visitor = ActiveVisitor.builder()
-                                .ipAddress(ipAddress)
-                                .userAgent(userAgent != null ? trimUserAgent(userAgent) : null)
-                                .sessionId(sessionId)
-                                .firstSeenAt(LocalDateTime.now())
-                                .lastActivityAt(LocalDateTime.now())
-                                .pageViews(1)
-                                .currentPage(currentPage)
-                                .visitorType(visitorType != null ? visitorType : VisitorType.MISAFIR)
-                                .userId(userId)
-                                .userEmail(userEmail != null ? trimEmail(userEmail) : null)
-                                .deviceType(deviceInfo.deviceType)
-                                .browser(deviceInfo.browser)
-                                .operatingSystem(deviceInfo.operatingSystem)
-                                .referrer(referrer != null ? trimReferrer(referrer) : null)
-                                .language(language != null ? extractLanguage(language) : null)
-                                .totalSessionDuration(0)
-                                .build();
-                        visitor = visitorRepository.save(visitor);
-                        isNewVisitor = true;
-                    }
-                } else {
-                    throw e;
-                }
-            }
-            
-            // Sayfa görüntüleme kaydı oluştur (ayrı transaction'da)
-            try {
-                createPageView(visitor, currentPage, referrer, deviceInfo, language, request);
-            } catch (Exception e) {
-                // Sayfa görüntüleme hatası ana transaction'ı etkilemez
-                log.warn("Sayfa görüntüleme kaydı oluşturulamadı: {}", e.getMessage());
-            }
-            
-            log.debug("Ziyaretçi takip edildi: SessionId={}, Page={}, Type={}, New={}", 
-                sessionId, currentPage, visitorType, isNewVisitor);
+            log.debug("Ziyaretçi takip edildi: SessionId={}, Page={}, Type={}", sessionId, currentPage, visitorType);
 
             return sessionId;
         } catch (Exception e) {
@@ -216,95 +75,6 @@ public class VisitorTrackingService {
             return providedSessionId != null ? providedSessionId : UUID.randomUUID().toString();
         }
     }
-    
-    /**
-     * Sayfa görüntüleme kaydı oluştur (ayrı transaction'da)
-     */
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW)
-    private void createPageView(ActiveVisitor visitor, String currentPage, String referrer, 
-                                DeviceInfo deviceInfo, String language, HttpServletRequest request) {
-        try {
-            VisitorPageView pageView = VisitorPageView.builder()
-                    .sessionId(visitor.getSessionId())
-                    .userId(visitor.getUserId())
-                    .ipAddress(visitor.getIpAddress())
-                    .pagePath(currentPage != null ? trimPagePath(currentPage) : "/")
-                    .referrer(referrer != null ? trimReferrer(referrer) : null)
-                    .userAgent(visitor.getUserAgent())
-                    .deviceType(deviceInfo.deviceType)
-                    .browser(deviceInfo.browser)
-                    .operatingSystem(deviceInfo.operatingSystem)
-                    .language(language != null ? extractLanguage(language) : null)
-                    .visitorType(visitor.getVisitorType())
-                    .createdAt(LocalDateTime.now())
-                    .build();
-            
-            pageViewRepository.save(pageView);
-        } catch (Exception e) {
-            log.warn("Sayfa görüntüleme kaydı oluşturulamadı: {}", e.getMessage());
-            throw e; // Yeni transaction'da exception fırlatılabilir
-        }
-    }
-    
-    /**
-     * Device bilgilerini parse et
-     */
-    private DeviceInfo parseDeviceInfo(String userAgent) {
-        DeviceInfo info = new DeviceInfo();
-        
-        if (userAgent == null || userAgent.isBlank()) {
-            info.deviceType = VisitorPageView.DeviceType.UNKNOWN;
-            return info;
-        }
-        
-        // Device type
-        if (TABLET_PATTERN.matcher(userAgent).find()) {
-            info.deviceType = VisitorPageView.DeviceType.TABLET;
-        } else if (MOBILE_PATTERN.matcher(userAgent).find()) {
-            info.deviceType = VisitorPageView.DeviceType.MOBILE;
-        } else {
-            info.deviceType = VisitorPageView.DeviceType.DESKTOP;
-        }
-        
-        // Browser
-        if (CHROME_PATTERN.matcher(userAgent).find()) {
-            info.browser = "Chrome";
-        } else if (FIREFOX_PATTERN.matcher(userAgent).find()) {
-            info.browser = "Firefox";
-        } else if (EDGE_PATTERN.matcher(userAgent).find()) {
-            info.browser = "Edge";
-        } else if (SAFARI_PATTERN.matcher(userAgent).find()) {
-            info.browser = "Safari";
-        } else {
-            info.browser = "Unknown";
-        }
-        
-        // Operating System
-        if (WINDOWS_PATTERN.matcher(userAgent).find()) {
-            info.operatingSystem = "Windows";
-        } else if (MACOS_PATTERN.matcher(userAgent).find()) {
-            info.operatingSystem = "macOS";
-        } else if (ANDROID_PATTERN.matcher(userAgent).find()) {
-            info.operatingSystem = "Android";
-        } else if (IOS_PATTERN.matcher(userAgent).find()) {
-            info.operatingSystem = "iOS";
-        } else if (LINUX_PATTERN.matcher(userAgent).find()) {
-            info.operatingSystem = "Linux";
-        } else {
-            info.operatingSystem = "Unknown";
-        }
-        
-        return info;
-    }
-    
-    /**
-     * Device bilgileri için inner class
-     */
-    private static class DeviceInfo {
-        VisitorPageView.DeviceType deviceType;
-        String browser;
-        String operatingSystem;
-    }
 
     /**
      * Client IP adresini al
@@ -355,11 +125,6 @@ public class VisitorTrackingService {
         return sessionId;
     }
 
-    private String trimUserAgent(String userAgent) {
-        if (userAgent == null) return null;
-        return userAgent.length() > 500 ? userAgent.substring(0, 500) : userAgent;
-    }
-
     private String trimEmail(String email) {
         if (email == null) return null;
         if (email.length() <= 255) {
@@ -411,42 +176,18 @@ public class VisitorTrackingService {
     }
     
     /**
-     * Eski sayfa görüntüleme kayıtlarını temizle (her gün)
-     * 90 günden eski kayıtları sil
-     */
-    @Scheduled(cron = "0 0 2 * * *") // Her gün saat 02:00'da
-    @Transactional
-    public void cleanupOldPageViews() {
-        try {
-            LocalDateTime cutoff = LocalDateTime.now().minusDays(90);
-            List<VisitorPageView> oldViews = pageViewRepository.findByCreatedAtAfter(cutoff);
-            // 90 günden eski kayıtları sil
-            pageViewRepository.deleteAll(
-                pageViewRepository.findAll().stream()
-                    .filter(v -> v.getCreatedAt().isBefore(cutoff))
-                    .toList()
-            );
-            log.info("Eski sayfa görüntüleme kayıtları temizlendi: {} kayıt silindi", 
-                oldViews.size());
-        } catch (Exception e) {
-            log.warn("Sayfa görüntüleme temizleme hatası: {}", e.getMessage());
-        }
-    }
-    
-    /**
-     * Aktif ziyaretçi sayısını getir
+     * Aktif ziyaretçi sayısını getir (son 5 dakika)
+     * Bellekteki kayan pencereden okunur, veritabanı sorgusu yapılmaz.
      */
     public long getActiveVisitorCount() {
-        LocalDateTime since = LocalDateTime.now().minusMinutes(5);
-        return visitorRepository.countActiveVisitors(since);
+        return activeVisitorCounter.count(ACTIVE_WINDOW_MINUTES);
     }
     
     /**
-     * Belirli bir tip için aktif ziyaretçi sayısını getir
+     * Belirli bir tip için aktif ziyaretçi sayısını getir (son 5 dakika)
      */
     public long getActiveVisitorCountByType(VisitorType type) {
-        LocalDateTime since = LocalDateTime.now().minusMinutes(5);
-        return visitorRepository.countActiveVisitorsByType(since, type);
+        return activeVisitorCounter.count(ACTIVE_WINDOW_MINUTES, type);
     }
 }
 
@@ -0,0 +1,123 @@
+package eticaret.demo.visitor.rollup;
+
+import eticaret.demo.common.collection.HyperLogLog;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bir veya birden çok özet diliminin toplamı
+ * Sayfa görüntüleme, süre ve dağılımlar toplanır; tekil oturum ve kullanıcı sayıları dilimlerin
+ * HyperLogLog taslakları birleştirilerek tahmin edilir (~%2 hata), dilimler arası tekrarlar bir kez sayılır.
+ */
+@Getter
+public final class RollupCounts {
+
+    private long pageViews;
+    @Getter(AccessLevel.NONE)
+    private final HyperLogLog sessions = new HyperLogLog();
+    @Getter(AccessLevel.NONE)
+    private final HyperLogLog users = new HyperLogLog();
+    // Taslağı olmayan (eski) satırların tekil sayıları, tahmine eklenir
+    @Getter(AccessLevel.NONE)
+    private long unsketchedSessions;
+    @Getter(AccessLevel.NONE)
+    private long unsketchedUsers;
+    private long durationSum;
+    private long durationCount;
+    private final Map<String, Long> devices = new HashMap<>();
+    private final Map<String, Long> browsers = new HashMap<>();
+    private final Map<String, Long> pages = new HashMap<>();
+
+    /**
+     * Aynı (cihaz, tarayıcı, sayfa) grubundaki görüntülemeleri ekler
+     */
+    void addGroup(String device, String browser, String page, long count, long groupDurationSum,
+                  long groupDurationCount) {
+        pageViews += count;
+        durationSum += groupDurationSum;
+        durationCount += groupDurationCount;
+        if (device != null) {
+            devices.merge(device, count, Long::sum);
+        }
+        if (browser != null) {
+            browsers.merge(browser, count, Long::sum);
+        }
+        if (page != null) {
+            pages.merge(page, count, Long::sum);
+        }
+    }
+
+    /**
+     * Oturum ve kullanıcı taslaklarına bir görüntüleme ekler
+     */
+    void addVisitor(String sessionId, Long userId) {
+        sessions.add(sessionId);
+        if (userId != null) {
+            users.add(userId);
+        }
+    }
+
+    void merge(VisitorRollup rollup, Map<String, Long> rollupDevices, Map<String, Long> rollupBrowsers,
+               Map<String, Long> rollupPages) {
+        pageViews += rollup.getPageViews();
+        if (rollup.getSessionSketch() != null) {
+            sessions.merge(HyperLogLog.fromBytes(rollup.getSessionSketch()));
+        } else {
+            unsketchedSessions += rollup.getUniqueSessions();
+        }
+        if (rollup.getUserSketch() != null) {
+            users.merge(HyperLogLog.fromBytes(rollup.getUserSketch()));
+        } else {
+            unsketchedUsers += rollup.getUniqueUsers();
+        }
+        durationSum += rollup.getDurationSum();
+        durationCount += rollup.getDurationCount();
+        rollupDevices.forEach((key, count) -> devices.merge(key, count, Long::sum));
+        rollupBrowsers.forEach((key, count) -> browsers.merge(key, count, Long::sum));
+        rollupPages.forEach((key, count) -> pages.merge(key, count, Long::sum));
+    }
+
+    /**
+     * Tekil oturum sayısı tahmini
+     */
+    public long getUniqueSessions() {
+        return sessions.estimate() + unsketchedSessions;
+    }
+
+    /**
+     * Tekil giriş yapmış kullanıcı sayısı tahmini
+     */
+    public long getUniqueUsers() {
+        return users.estimate() + unsketchedUsers;
+    }
+
+    byte[] sessionSketch() {
+        return sessions.toBytes();
+    }
+
+    byte[] userSketch() {
+        return users.toBytes();
+    }
+
+    /**
+     * Ortalama sayfa görüntüleme süresi (saniye), süre bilgisi yoksa 0
+     */
+    public double getAverageDuration() {
+        return durationCount > 0 ? (double) durationSum / durationCount : 0.0;
+    }
+
+    /**
+     * Sayaca göre azalan ilk N kayıt
+     */
+    public static List<Map.Entry<String, Long>> top(Map<String, Long> counts, int limit) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(counts.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+        return entries.size() > limit ? new ArrayList<>(entries.subList(0, limit)) : entries;
+    }
+}
@@ -0,0 +1,96 @@
+package eticaret.demo.visitor.rollup;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sayfa görüntülemelerinin saatlik/günlük özet satırı
+ * Toplama işi tarafından visitor_page_views tablosundan üretilir; yönetim paneli ham tabloya değil bu satırlara bakar.
+ * Cihaz, tarayıcı ve sayfa dağılımları JSON nesnesi ({"anahtar": sayı}) olarak tutulur.
+ * Tekil oturum/kullanıcı sayıları toplanamadığı için her satır birleştirilebilir HyperLogLog taslakları da taşır.
+ */
+@Entity
+@Table(name = "visitor_rollups", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_visitor_rollup_bucket", columnNames = {"granularity", "bucket_start"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VisitorRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", length = 10, nullable = false)
+    private Granularity granularity;
+
+    /**
+     * Dilimin başlangıcı (saat başı veya gün başı)
+     */
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "page_views", nullable = false)
+    private long pageViews;
+
+    /**
+     * Dilim içindeki tekil oturum sayısı (taslak tahmini)
+     */
+    @Column(name = "unique_sessions", nullable = false)
+    private long uniqueSessions;
+
+    /**
+     * Dilim içindeki tekil giriş yapmış kullanıcı sayısı (taslak tahmini)
+     */
+    @Column(name = "unique_users", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long uniqueUsers;
+
+    /**
+     * Oturum ID'lerinin HyperLogLog taslağı, aralık sorgularında birleştirilir
+     */
+    @Column(name = "session_sketch")
+    private byte[] sessionSketch;
+
+    /**
+     * Kullanıcı ID'lerinin HyperLogLog taslağı
+     */
+    @Column(name = "user_sketch")
+    private byte[] userSketch;
+
+    @Column(name = "duration_sum", nullable = false)
+    private long durationSum;
+
+    @Column(name = "duration_count", nullable = false)
+    private long durationCount;
+
+    @Column(name = "device_counts", columnDefinition = "TEXT")
+    private String deviceCounts;
+
+    @Column(name = "browser_counts", columnDefinition = "TEXT")
+    private String browserCounts;
+
+    /**
+     * En çok görüntülenen sayfalar (dilim başına sınırlı)
+     */
+    @Column(name = "page_counts", columnDefinition = "TEXT")
+    private String pageCounts;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+
+    /**
+     * Özet dilimi
+     */
+    public enum Granularity {
+        HOUR,
+        DAY
+    }
+}
@@ -0,0 +1,96 @@
+package eticaret.demo.visitor.rollup;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ziyaretçi özetlerini artımlı güncelleyen arka plan işi
+ * Her turda yalnızca son toplanan saatten (geç gelen yazımlar için bir saat geriden) şimdiki saate kadar olan
+ * saatler ve bu saatlerin günleri yeniden hesaplanır. Özet tablosu boşsa açılışta ham tablodaki en eski
+ * kayıttan itibaren (en fazla saklama süresi kadar geriye) doldurulur.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VisitorRollupJob {
+
+    /**
+     * Saatlik satırların saklama süresi (gün), ham görüntülemelerle aynı
+     */
+    static final int HOURLY_RETENTION_DAYS = 90;
+
+    private final VisitorRollupService rollupService;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    /**
+     * Açılışta eksik saatleri tamamlar (ilk kurulumda geçmişi doldurur)
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        run();
+    }
+
+    @Scheduled(fixedDelay = 300000, initialDelay = 300000) // 5 dakika
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            log.debug("Ziyaretçi özet işi zaten çalışıyor, atlandı");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            LocalDateTime currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+            LocalDateTime retentionStart = currentHour.minusDays(HOURLY_RETENTION_DAYS);
+            LocalDateTime from = resolveStartHour(currentHour);
+            if (from.isBefore(retentionStart)) {
+                from = retentionStart;
+            }
+
+            Set<LocalDate> days = new TreeSet<>();
+            int hours = 0;
+            for (LocalDateTime hour = from; !hour.isAfter(currentHour); hour = hour.plusHours(1)) {
+                rollupService.rollUpHour(hour);
+                days.add(hour.toLocalDate());
+                hours++;
+            }
+            for (LocalDate day : days) {
+                rollupService.rollUpDay(day);
+            }
+            int deleted = rollupService.deleteHoursBefore(retentionStart);
+            log.debug("Ziyaretçi özetleri güncellendi - Saat: {}, Gün: {}, Silinen saatlik: {}, Süre: {} ms",
+                    hours, days.size(), deleted, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Ziyaretçi özetleri güncellenemedi: {}", e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Yeniden hesaplamanın başlayacağı saat
+     */
+    private LocalDateTime resolveStartHour(LocalDateTime currentHour) {
+        Optional<LocalDateTime> latest = rollupService.findLatestHour();
+        if (latest.isPresent()) {
+            LocalDateTime previous = latest.get().minusHours(1);
+            return previous.isAfter(currentHour) ? currentHour : previous;
+        }
+        return rollupService.findEarliestPageView()
+                .map(earliest -> earliest.truncatedTo(ChronoUnit.HOURS))
+                .orElse(currentHour);
+    }
+}
@@ -0,0 +1,39 @@
+package eticaret.demo.visitor.rollup;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * VisitorRollup repository
+ */
+public interface VisitorRollupRepository extends JpaRepository<VisitorRollup, Long> {
+
+    Optional<VisitorRollup> findByGranularityAndBucketStart(VisitorRollup.Granularity granularity,
+                                                           LocalDateTime bucketStart);
+
+    /**
+     * [from, to) aralığındaki dilimler (başlangıca göre artan)
+     */
+    @Query("SELECT r FROM VisitorRollup r WHERE r.granularity = :granularity " +
+           "AND r.bucketStart >= :from AND r.bucketStart < :to ORDER BY r.bucketStart ASC")
+    List<VisitorRollup> findRange(@Param("granularity") VisitorRollup.Granularity granularity,
+                                  @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to);
+
+    /**
+     * En son toplanan dilimin başlangıcı
+     */
+    @Query("SELECT MAX(r.bucketStart) FROM VisitorRollup r WHERE r.granularity = :granularity")
+    Optional<LocalDateTime> findLatestBucketStart(@Param("granularity") VisitorRollup.Granularity granularity);
+
+    @Modifying
+    @Query("DELETE FROM VisitorRollup r WHERE r.granularity = :granularity AND r.bucketStart < :before")
+    int deleteOlderThan(@Param("granularity") VisitorRollup.Granularity granularity,
+                        @Param("before") LocalDateTime before);
+}
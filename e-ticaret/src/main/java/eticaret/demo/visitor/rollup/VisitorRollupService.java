@@ -0,0 +1,216 @@
+package eticaret.demo.visitor.rollup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Ziyaretçi özet tabloları (saatlik/günlük)
+ * Yazma: bir saatin ham görüntülemeleri tek GROUP BY ile toplanıp, tekil oturum/kullanıcılar HyperLogLog
+ * taslaklarına eklenerek saatlik satıra; günün saatlik satırları birleştirilerek günlük satıra yazılır.
+ * Okuma: istenen aralık, kısmi günler için saatlik, tam günler için günlük satırlardan birleştirilir;
+ * ham tablo büyüdükçe okunan satır sayısı değişmez.
+ * Aralıklar saat hassasiyetindedir (başlangıç saat başına yuvarlanır).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VisitorRollupService {
+
+    /**
+     * Dilim başına saklanan en çok görüntülenen sayfa sayısı
+     */
+    static final int MAX_PAGES = 100;
+
+    private static final TypeReference<Map<String, Long>> COUNTS_TYPE = new TypeReference<>() {
+    };
+
+    private static final String AGGREGATE_SQL =
+            "SELECT device_type, browser, page_path, COUNT(*), COALESCE(SUM(duration_seconds), 0), " +
+            "COUNT(duration_seconds) FROM visitor_page_views " +
+            "WHERE created_at >= ? AND created_at < ? GROUP BY device_type, browser, page_path";
+
+    private static final String VISITORS_SQL =
+            "SELECT DISTINCT session_id, user_id FROM visitor_page_views WHERE created_at >= ? AND created_at < ?";
+
+    private final VisitorRollupRepository rollupRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Bir saatin ham görüntülemelerini toplayıp saatlik satırı yazar (varsa günceller)
+     */
+    @Transactional
+    public void rollUpHour(LocalDateTime hourStart) {
+        LocalDateTime hourEnd = hourStart.plusHours(1);
+        RollupCounts counts = new RollupCounts();
+        RowCallbackHandler handler = rs -> counts.addGroup(rs.getString(1), rs.getString(2), rs.getString(3),
+                rs.getLong(4), rs.getLong(5), rs.getLong(6));
+        jdbcTemplate.query(AGGREGATE_SQL, handler, hourStart, hourEnd);
+        RowCallbackHandler visitors = rs -> {
+            long userId = rs.getLong(2);
+            counts.addVisitor(rs.getString(1), rs.wasNull() ? null : userId);
+        };
+        jdbcTemplate.query(VISITORS_SQL, visitors, hourStart, hourEnd);
+        save(VisitorRollup.Granularity.HOUR, hourStart, counts);
+    }
+
+    /**
+     * Günün saatlik satırlarını (taslaklar dahil) birleştirip günlük satırı yazar
+     * Ham tabloya gidilmez.
+     */
+    @Transactional
+    public void rollUpDay(LocalDate day) {
+        LocalDateTime dayStart = day.atStartOfDay();
+        RollupCounts counts = merge(rollupRepository.findRange(VisitorRollup.Granularity.HOUR, dayStart,
+                dayStart.plusDays(1)));
+        save(VisitorRollup.Granularity.DAY, dayStart, counts);
+    }
+
+    /**
+     * Verilen andan bugüne kadar olan özet
+     */
+    @Transactional(readOnly = true)
+    public RollupCounts summarize(LocalDateTime since) {
+        return summarize(since, LocalDateTime.now());
+    }
+
+    /**
+     * [from, to) aralığının özeti, uçlar saate yuvarlanır (başlangıç aşağı, bitiş yukarı)
+     * Baştaki ve sondaki kısmi günler saatlik, aradaki tam günler günlük satırlardan okunur.
+     */
+    @Transactional(readOnly = true)
+    public RollupCounts summarize(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = from.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime end = to.truncatedTo(ChronoUnit.HOURS);
+        if (end.isBefore(to)) {
+            end = end.plusHours(1);
+        }
+        if (!start.isBefore(end)) {
+            return new RollupCounts();
+        }
+        LocalDateTime firstMidnight = start.toLocalDate().atStartOfDay();
+        if (firstMidnight.isBefore(start)) {
+            firstMidnight = firstMidnight.plusDays(1);
+        }
+        LocalDateTime lastMidnight = end.toLocalDate().atStartOfDay();
+        if (!firstMidnight.isBefore(lastMidnight)) {
+            return merge(rollupRepository.findRange(VisitorRollup.Granularity.HOUR, start, end));
+        }
+        RollupCounts counts = merge(rollupRepository.findRange(VisitorRollup.Granularity.HOUR, start, firstMidnight));
+        mergeInto(counts, rollupRepository.findRange(VisitorRollup.Granularity.DAY, firstMidnight, lastMidnight));
+        mergeInto(counts, rollupRepository.findRange(VisitorRollup.Granularity.HOUR, lastMidnight, end));
+        return counts;
+    }
+
+    /**
+     * Son N günün günlük satırları (eski günden yeniye, satırı olmayan gün boş özet)
+     */
+    @Transactional(readOnly = true)
+    public Map<LocalDate, RollupCounts> daily(int days) {
+        LocalDate today = LocalDate.now();
+        LocalDate first = today.minusDays(Math.max(days, 1) - 1L);
+        Map<LocalDate, RollupCounts> result = new LinkedHashMap<>();
+        for (LocalDate day = first; !day.isAfter(today); day = day.plusDays(1)) {
+            result.put(day, new RollupCounts());
+        }
+        for (VisitorRollup rollup : rollupRepository.findRange(VisitorRollup.Granularity.DAY,
+                first.atStartOfDay(), today.plusDays(1).atStartOfDay())) {
+            RollupCounts counts = result.get(rollup.getBucketStart().toLocalDate());
+            if (counts != null) {
+                mergeInto(counts, List.of(rollup));
+            }
+        }
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> findLatestHour() {
+        return rollupRepository.findLatestBucketStart(VisitorRollup.Granularity.HOUR);
+    }
+
+    /**
+     * Ham tablodaki en eski görüntüleme zamanı
+     */
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> findEarliestPageView() {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(
+                "SELECT MIN(created_at) FROM visitor_page_views", LocalDateTime.class));
+    }
+
+    /**
+     * Saklama süresini aşan saatlik satırları siler (günlük satırlar tutulur)
+     */
+    @Transactional
+    public int deleteHoursBefore(LocalDateTime before) {
+        return rollupRepository.deleteOlderThan(VisitorRollup.Granularity.HOUR, before);
+    }
+
+    private RollupCounts merge(List<VisitorRollup> rollups) {
+        RollupCounts counts = new RollupCounts();
+        mergeInto(counts, rollups);
+        return counts;
+    }
+
+    private void mergeInto(RollupCounts counts, List<VisitorRollup> rollups) {
+        for (VisitorRollup rollup : rollups) {
+            counts.merge(rollup, decode(rollup.getDeviceCounts()), decode(rollup.getBrowserCounts()),
+                    decode(rollup.getPageCounts()));
+        }
+    }
+
+    private void save(VisitorRollup.Granularity granularity, LocalDateTime bucketStart, RollupCounts counts) {
+        VisitorRollup rollup = rollupRepository.findByGranularityAndBucketStart(granularity, bucketStart)
+                .orElseGet(() -> VisitorRollup.builder().granularity(granularity).bucketStart(bucketStart).build());
+        rollup.setPageViews(counts.getPageViews());
+        rollup.setUniqueSessions(counts.getUniqueSessions());
+        rollup.setUniqueUsers(counts.getUniqueUsers());
+        rollup.setSessionSketch(counts.sessionSketch());
+        rollup.setUserSketch(counts.userSketch());
+        rollup.setDurationSum(counts.getDurationSum());
+        rollup.setDurationCount(counts.getDurationCount());
+        rollup.setDeviceCounts(encode(counts.getDevices()));
+        rollup.setBrowserCounts(encode(counts.getBrowsers()));
+        Map<String, Long> topPages = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : RollupCounts.top(counts.getPages(), MAX_PAGES)) {
+            topPages.put(entry.getKey(), entry.getValue());
+        }
+        rollup.setPageCounts(encode(topPages));
+        rollup.setComputedAt(LocalDateTime.now());
+        rollupRepository.save(rollup);
+    }
+
+    private String encode(Map<String, Long> counts) {
+        try {
+            return objectMapper.writeValueAsString(counts);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Özet dağılımı yazılamadı: " + e.getMessage(), e);
+        }
+    }
+
+    private Map<String, Long> decode(String json) {
+        if (json == null || json.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(json, COUNTS_TYPE);
+        } catch (JsonProcessingException e) {
+            log.warn("Bozuk özet dağılımı atlandı: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+}
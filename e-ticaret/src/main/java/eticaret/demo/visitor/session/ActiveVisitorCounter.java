@@ -0,0 +1,123 @@
+package eticaret.demo.visitor.session;
+
+import eticaret.demo.visitor.VisitorType;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Aktif ziyaretçi sayıları için dakikalık dilimli kayan pencere
+ * Her oturum, son görüldüğü dakikanın diliminde ve o anki ziyaretçi tipinde tam olarak bir kez sayılır;
+ * oturum yeni bir dakikada görüldüğünde eski dilimden düşülüp yenisine eklenir. Böylece
+ * "son N dakikada aktif" sorusu N+1 dilimin toplanmasıyla, veritabanına gitmeden cevaplanır
+ * (COUNT(DISTINCT) ile aynı anlam: tekil oturum, güncel tip).
+ * Pencere dakika hassasiyetindedir; en eski dilim tam dakika olarak dahil edilir.
+ */
+@Component
+public class ActiveVisitorCounter {
+
+    /**
+     * Sorgulanabilecek en uzun pencere (dakika)
+     */
+    public static final int WINDOW_MINUTES = 60;
+
+    // Pencere + kısmi en eski dakika + dönüşte temizlenen yedek dilim
+    private static final int BUCKETS = WINDOW_MINUTES + 2;
+    private static final VisitorType[] TYPES = VisitorType.values();
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS * TYPES.length);
+    private final Object rotationLock = new Object();
+    private volatile long currentMinute = epochMinute(System.currentTimeMillis());
+
+    /**
+     * Şu anki dakika (epoch dakikası)
+     */
+    long now() {
+        long minute = epochMinute(System.currentTimeMillis());
+        advance(minute);
+        return minute;
+    }
+
+    static long epochMinute(LocalDateTime time) {
+        return epochMinute(time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private static long epochMinute(long millis) {
+        return Math.floorDiv(millis, 60_000L);
+    }
+
+    /**
+     * Oturumun sayıldığı dilimi ve tipi değiştirir
+     * Pencereden çıkmış (dilimi yeniden kullanılmış olabilecek) eski kayıt düşülmez.
+     *
+     * @param fromMinute Önceki dilim, ilk kez sayılıyorsa -1
+     * @param toMinute Yeni dilim, oturum artık sayılmayacaksa (bellekten çıkarıldıysa) -1
+     */
+    void move(long fromMinute, VisitorType fromType, long toMinute, VisitorType toType) {
+        long minute = currentMinute;
+        if (fromMinute >= 0 && fromType != null && fromMinute >= minute - WINDOW_MINUTES && fromMinute <= minute) {
+            counts.decrementAndGet(index(fromMinute, fromType));
+        }
+        if (toMinute >= 0 && toType != null && toMinute >= minute - WINDOW_MINUTES && toMinute <= minute) {
+            counts.incrementAndGet(index(toMinute, toType));
+        }
+    }
+
+    /**
+     * Son N dakikada aktif olan tekil oturum sayısı
+     */
+    public long count(int minutes) {
+        return count(minutes, null);
+    }
+
+    /**
+     * Son N dakikada aktif olan, verilen tipteki tekil oturum sayısı
+     *
+     * @param type null ise tüm tipler
+     */
+    public long count(int minutes, VisitorType type) {
+        if (minutes < 1 || minutes > WINDOW_MINUTES) {
+            throw new IllegalArgumentException("Pencere 1-" + WINDOW_MINUTES + " dakika olmalı: " + minutes);
+        }
+        long minute = now();
+        long total = 0;
+        for (long m = minute - minutes; m <= minute; m++) {
+            if (type != null) {
+                total += counts.get(index(m, type));
+            } else {
+                for (VisitorType t : TYPES) {
+                    total += counts.get(index(m, t));
+                }
+            }
+        }
+        return Math.max(0, total);
+    }
+
+    /**
+     * Dakika ilerlediyse yeniden kullanılacak dilimleri temizler
+     */
+    private void advance(long minute) {
+        if (minute <= currentMinute) {
+            return;
+        }
+        synchronized (rotationLock) {
+            long last = currentMinute;
+            if (minute <= last) {
+                return;
+            }
+            long from = Math.max(last + 1, minute - BUCKETS + 1);
+            for (long m = from; m <= minute; m++) {
+                for (VisitorType t : TYPES) {
+                    counts.set(index(m, t), 0);
+                }
+            }
+            currentMinute = minute;
+        }
+    }
+
+    private static int index(long minute, VisitorType type) {
+        return (int) Math.floorMod(minute, (long) BUCKETS) * TYPES.length + type.ordinal();
+    }
+}
@@ -0,0 +1,27 @@
+package eticaret.demo.visitor.session;
+
+import eticaret.demo.visitor.VisitorPageView;
+import eticaret.demo.visitor.VisitorType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tek bir ziyaretçi isteği (heartbeat veya sayfa görüntüleme)
+ * Alanlar kırpılmış/normalize edilmiş olarak gelir.
+ */
+public record VisitorHit(
+        String sessionId,
+        String ipAddress,
+        String userAgent,
+        String pagePath,
+        String referrer,
+        String language,
+        VisitorType visitorType,
+        Long userId,
+        String userEmail,
+        VisitorPageView.DeviceType deviceType,
+        String browser,
+        String operatingSystem,
+        LocalDateTime at
+) {
+}
@@ -0,0 +1,448 @@
+package eticaret.demo.visitor.session;
+
+import eticaret.demo.visitor.ActiveVisitor;
+import eticaret.demo.visitor.ActiveVisitorRepository;
+import eticaret.demo.visitor.VisitorPageView;
+import eticaret.demo.visitor.VisitorType;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aktif ziyaretçi oturumları için bellek içi, parçalı (sharded) ve geri yazmalı (write-behind) tablo
+ * Heartbeat ve sayfa isteklerinde veritabanına gidilmez; oturum bellekte güncellenir, sayfa görüntülemesi
+ * sınırlı bir tampona eklenir. Değişen oturumlar ve tampondaki görüntülemeler birkaç saniyede bir
+ * JDBC batch ile yazılır, kapanışta son kez boşaltılır.
+ * Bellek sınırlıdır: parça başına oturum sayısı aşılınca en uzun süredir görülmeyen oturum çıkarılır,
+ * tampon doluysa sayfa görüntülemesi düşürülür (sayılır). Çıkarılan oturumların yazılmamış değişiklikleri
+ * oturum başına tek satırda birleştirilerek bekletilir; veritabanı uzun süre erişilemezse bu bekleme listesi de
+ * sınırlıdır, dolunca yeni oturumların değişiklikleri düşürülür (sayılır).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VisitorSessionTable {
+
+    private static final int SHARD_COUNT = 16;
+    private static final int MAX_SESSIONS = 100_000;
+    private static final int MAX_SESSIONS_PER_SHARD = MAX_SESSIONS / SHARD_COUNT;
+    private static final int MAX_PENDING_PAGE_VIEWS = 50_000;
+    private static final int MAX_EVICTED_PER_SHARD = MAX_SESSIONS_PER_SHARD;
+
+    /**
+     * Bu süre boyunca görülmeyen ve yazılmış oturumlar bellekten çıkarılır
+     * Aktif ziyaretçi penceresinden uzun tutulur; pencere içindeki oturum geri dönerse iki kez sayılmaz.
+     */
+    private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(ActiveVisitorCounter.WINDOW_MINUTES + 5);
+
+    private final VisitorSessionWriter writer;
+    private final ActiveVisitorCounter activeVisitorCounter;
+    private final ActiveVisitorRepository activeVisitorRepository;
+
+    private final Shard[] shards = createShards();
+    private final ArrayBlockingQueue<VisitorHit> pendingPageViews = new ArrayBlockingQueue<>(MAX_PENDING_PAGE_VIEWS);
+    private final Object flushLock = new Object();
+
+    private final LongAdder flushedSessions = new LongAdder();
+    private final LongAdder flushedPageViews = new LongAdder();
+    private final LongAdder droppedPageViews = new LongAdder();
+    private final LongAdder droppedSessions = new LongAdder();
+
+    /**
+     * İsteği oturuma işler ve sayfa görüntülemesini tampona ekler (SQL yok)
+     */
+    public void record(VisitorHit hit) {
+        Shard shard = shardOf(hit.sessionId());
+        long minute = activeVisitorCounter.now();
+        VisitorHit pageView;
+        synchronized (shard) {
+            VisitorSession session = shard.sessions.get(hit.sessionId());
+            if (session == null) {
+                session = new VisitorSession(hit);
+                shard.sessions.put(hit.sessionId(), session);
+            } else {
+                session.apply(hit);
+            }
+            session.countActive(activeVisitorCounter, minute);
+            pageView = session.pageView(hit);
+        }
+        if (!pendingPageViews.offer(pageView)) {
+            droppedPageViews.increment();
+        }
+    }
+
+    /**
+     * Açılışta son pencere içinde aktif olan oturumları veritabanından yükler
+     * Yeniden başlatma sonrası aktif ziyaretçi sayıları sıfırdan başlamaz; bu arada gelen oturumların üzerine yazılmaz.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            LocalDateTime since = LocalDateTime.now().minusMinutes(ActiveVisitorCounter.WINDOW_MINUTES);
+            List<ActiveVisitor> visitors = activeVisitorRepository.findActiveVisitors(since);
+            int loaded = 0;
+            for (ActiveVisitor visitor : visitors) {
+                Shard shard = shardOf(visitor.getSessionId());
+                synchronized (shard) {
+                    if (shard.sessions.containsKey(visitor.getSessionId())) {
+                        continue;
+                    }
+                    VisitorSession session = new VisitorSession(visitor);
+                    shard.sessions.put(visitor.getSessionId(), session);
+                    session.countActive(activeVisitorCounter, ActiveVisitorCounter.epochMinute(session.lastActivityAt));
+                    loaded++;
+                }
+            }
+            log.info("Ziyaretçi tablosu yüklendi - Aktif oturum: {}", loaded);
+        } catch (Exception e) {
+            log.warn("Aktif ziyaretçiler yüklenemedi, sayılar yeni gelen oturumlarla oluşacak: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Bellekteki oturum sayısı
+     */
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                size += shard.sessions.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Değişen oturumları ve bekleyen sayfa görüntülemelerini veritabanına yazar
+     */
+    @Scheduled(fixedDelay = 5000) // 5 saniye
+    public void flush() {
+        synchronized (flushLock) {
+            LocalDateTime idleCutoff = LocalDateTime.now().minus(IDLE_TIMEOUT);
+            List<SessionRow> rows = new ArrayList<>();
+            for (Shard shard : shards) {
+                synchronized (shard) {
+                    rows.addAll(shard.evicted.values());
+                    shard.evicted.clear();
+                    Iterator<VisitorSession> iterator = shard.sessions.values().iterator();
+                    while (iterator.hasNext()) {
+                        VisitorSession session = iterator.next();
+                        if (session.dirty) {
+                            rows.add(session.drain());
+                        } else if (session.lastActivityAt.isBefore(idleCutoff)) {
+                            iterator.remove();
+                        }
+                    }
+                }
+            }
+            if (!rows.isEmpty()) {
+                try {
+                    writer.writeSessions(rows);
+                    flushedSessions.add(rows.size());
+                } catch (Exception e) {
+                    log.warn("Ziyaretçi oturumları yazılamadı, sonraki turda tekrar denenecek - Oturum: {}, Hata: {}",
+                            rows.size(), e.getMessage());
+                    restore(rows);
+                }
+            }
+
+            List<VisitorHit> pageViews = new ArrayList<>(Math.min(pendingPageViews.size(), MAX_PENDING_PAGE_VIEWS));
+            pendingPageViews.drainTo(pageViews);
+            if (!pageViews.isEmpty()) {
+                try {
+                    writer.writePageViews(pageViews);
+                    flushedPageViews.add(pageViews.size());
+                } catch (Exception e) {
+                    droppedPageViews.add(pageViews.size());
+                    log.warn("Sayfa görüntülemeleri yazılamadı - Kayıt: {}, Hata: {}", pageViews.size(), e.getMessage());
+                }
+            }
+            log.debug("Ziyaretçi tablosu yazıldı - Oturum: {}, Sayfa görüntüleme: {}, Düşürülen (toplam): {}, Düşürülen oturum (toplam): {}",
+                    rows.size(), pageViews.size(), droppedPageViews.sum(), droppedSessions.sum());
+        }
+    }
+
+    /**
+     * Kapanışta bekleyen tüm yazımları boşaltır
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        log.info("Ziyaretçi tablosu kapanışta boşaltıldı - Yazılan oturum: {}, Yazılan sayfa görüntüleme: {}, Düşürülen: {}, Düşürülen oturum: {}",
+                flushedSessions.sum(), flushedPageViews.sum(), droppedPageViews.sum(), droppedSessions.sum());
+    }
+
+    /**
+     * Yazılamayan oturum değişikliklerini bir sonraki tur için geri koyar
+     */
+    private void restore(List<SessionRow> rows) {
+        for (SessionRow row : rows) {
+            Shard shard = shardOf(row.sessionId());
+            synchronized (shard) {
+                VisitorSession session = shard.sessions.get(row.sessionId());
+                if (session != null) {
+                    session.pendingPageViews += row.pageViewDelta();
+                    session.dirty = true;
+                } else {
+                    shard.addEvicted(row);
+                }
+            }
+        }
+    }
+
+    private Shard shardOf(String sessionId) {
+        int h = sessionId.hashCode();
+        return shards[(h ^ (h >>> 16)) & (SHARD_COUNT - 1)];
+    }
+
+    private Shard[] createShards() {
+        Shard[] shards = new Shard[SHARD_COUNT];
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            shards[i] = new Shard();
+        }
+        return shards;
+    }
+
+    /**
+     * Bir parça: kendi kilidiyle korunan, erişim sıralı oturum tablosu
+     */
+    private final class Shard {
+
+        // Tablodan çıkarılmış ama henüz yazılamamış oturumlar (oturum başına tek satır)
+        private final LinkedHashMap<String, SessionRow> evicted = new LinkedHashMap<>();
+
+        // accessOrder=true: baştaki kayıt en uzun süredir görülmeyen oturumdur
+        private final LinkedHashMap<String, VisitorSession> sessions = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VisitorSession> eldest) {
+                if (size() <= MAX_SESSIONS_PER_SHARD) {
+                    return false;
+                }
+                VisitorSession session = eldest.getValue();
+                // Yazılmamış değişiklikler kaybolmasın
+                if (session.dirty) {
+                    addEvicted(session.drain());
+                }
+                // Tablodan çıkan oturum aktif ziyaretçi penceresinde sayılı kalmasın
+                session.uncount(activeVisitorCounter);
+                return true;
+            }
+        };
+
+        /**
+         * Yazılamamış satırı bekletir; aynı oturumun önceki satırıyla birleştirilir, liste doluysa düşürülür
+         */
+        void addEvicted(SessionRow row) {
+            SessionRow previous = evicted.get(row.sessionId());
+            if (previous != null) {
+                evicted.put(row.sessionId(), row.mergeWith(previous));
+            } else if (evicted.size() < MAX_EVICTED_PER_SHARD) {
+                evicted.put(row.sessionId(), row);
+            } else {
+                droppedSessions.increment();
+            }
+        }
+    }
+
+    /**
+     * Bellekteki oturum durumu (parça kilidi altında değiştirilir)
+     */
+    private static final class VisitorSession {
+
+        private final String sessionId;
+        private final LocalDateTime firstSeenAt;
+        private String ipAddress;
+        private String userAgent;
+        private LocalDateTime lastActivityAt;
+        private String currentPage;
+        private String previousPage;
+        private VisitorType visitorType;
+        private Long userId;
+        private String userEmail;
+        private VisitorPageView.DeviceType deviceType;
+        private String browser;
+        private String operatingSystem;
+        private String referrer;
+        private String language;
+        private int pendingPageViews;
+        private boolean dirty;
+        // Aktif ziyaretçi penceresinde sayıldığı dakika ve tip
+        private long countedMinute = -1;
+        private VisitorType countedType;
+
+        VisitorSession(VisitorHit hit) {
+            this.sessionId = hit.sessionId();
+            this.firstSeenAt = hit.at();
+            this.ipAddress = hit.ipAddress();
+            this.userAgent = hit.userAgent();
+            this.userId = hit.userId();
+            this.userEmail = hit.userEmail();
+            this.deviceType = hit.deviceType();
+            this.browser = hit.browser();
+            this.operatingSystem = hit.operatingSystem();
+            this.referrer = hit.referrer();
+            this.language = hit.language();
+            this.currentPage = hit.pagePath();
+            this.visitorType = hit.visitorType() != null ? hit.visitorType() : VisitorType.MISAFIR;
+            this.lastActivityAt = hit.at();
+            this.pendingPageViews = 1;
+            this.dirty = true;
+        }
+
+        /**
+         * Veritabanındaki kayıttan, yazılacak değişikliği olmayan oturum oluşturur
+         */
+        VisitorSession(ActiveVisitor visitor) {
+            this.sessionId = visitor.getSessionId();
+            this.firstSeenAt = visitor.getFirstSeenAt();
+            this.ipAddress = visitor.getIpAddress();
+            this.userAgent = visitor.getUserAgent();
+            this.userId = visitor.getUserId();
+            this.userEmail = visitor.getUserEmail();
+            this.deviceType = visitor.getDeviceType();
+            this.browser = visitor.getBrowser();
+            this.operatingSystem = visitor.getOperatingSystem();
+            this.referrer = visitor.getReferrer();
+            this.language = visitor.getLanguage();
+            this.currentPage = visitor.getCurrentPage();
+            this.previousPage = visitor.getPreviousPage();
+            this.visitorType = visitor.getVisitorType() != null ? visitor.getVisitorType() : VisitorType.MISAFIR;
+            this.lastActivityAt = visitor.getLastActivityAt();
+            this.pendingPageViews = 0;
+            this.dirty = false;
+        }
+
+        /**
+         * Oturumu aktif ziyaretçi penceresinde verilen dakikaya taşır
+         * Aynı dakika ve tipte tekrar gelen isteklerde sayaç değişmez.
+         */
+        void countActive(ActiveVisitorCounter counter, long minute) {
+            if (minute != countedMinute || visitorType != countedType) {
+                counter.move(countedMinute, countedType, minute, visitorType);
+                countedMinute = minute;
+                countedType = visitorType;
+            }
+        }
+
+        /**
+         * Oturumu aktif ziyaretçi penceresinden düşer (bellekten çıkarılırken)
+         * Tekrar gelirse yeni oturum olarak yeniden sayılır.
+         */
+        void uncount(ActiveVisitorCounter counter) {
+            counter.move(countedMinute, countedType, -1, null);
+            countedMinute = -1;
+            countedType = null;
+        }
+
+        void apply(VisitorHit hit) {
+            lastActivityAt = hit.at();
+            pendingPageViews++;
+            if (currentPage != null && !currentPage.equals(hit.pagePath())) {
+                previousPage = currentPage;
+            }
+            currentPage = hit.pagePath();
+            visitorType = hit.visitorType() != null ? hit.visitorType() : VisitorType.MISAFIR;
+            if (hit.userId() != null) {
+                userId = hit.userId();
+            }
+            if (hit.userEmail() != null) {
+                userEmail = hit.userEmail();
+            }
+            if (hit.userAgent() != null) {
+                userAgent = hit.userAgent();
+            }
+            if (hit.deviceType() != null) {
+                deviceType = hit.deviceType();
+            }
+            if (hit.browser() != null) {
+                browser = hit.browser();
+            }
+            if (hit.operatingSystem() != null) {
+                operatingSystem = hit.operatingSystem();
+            }
+            if (hit.referrer() != null) {
+                referrer = hit.referrer();
+            }
+            if (hit.language() != null) {
+                language = hit.language();
+            }
+            dirty = true;
+        }
+
+        /**
+         * Sayfa görüntüleme kaydı oturumun birleşik bilgileriyle oluşturulur
+         */
+        VisitorHit pageView(VisitorHit hit) {
+            return new VisitorHit(sessionId, ipAddress, userAgent, hit.pagePath(), hit.referrer(), hit.language(),
+                    visitorType, userId, userEmail, hit.deviceType(), hit.browser(), hit.operatingSystem(), hit.at());
+        }
+
+        /**
+         * Yazılacak satırı üretir ve bekleyen artışı sıfırlar
+         */
+        SessionRow drain() {
+            SessionRow row = new SessionRow(sessionId, ipAddress, userAgent, firstSeenAt, lastActivityAt,
+                    pendingPageViews, currentPage, previousPage, visitorType, userId, userEmail, deviceType,
+                    browser, operatingSystem, referrer, language,
+                    (int) Duration.between(firstSeenAt, lastActivityAt).getSeconds());
+            pendingPageViews = 0;
+            dirty = false;
+            return row;
+        }
+    }
+
+    /**
+     * Veritabanına yazılacak oturum durumu
+     *
+     * @param pageViewDelta Son yazımdan bu yana eklenen sayfa görüntüleme sayısı
+     */
+    record SessionRow(
+            String sessionId,
+            String ipAddress,
+            String userAgent,
+            LocalDateTime firstSeenAt,
+            LocalDateTime lastActivityAt,
+            int pageViewDelta,
+            String currentPage,
+            String previousPage,
+            VisitorType visitorType,
+            Long userId,
+            String userEmail,
+            VisitorPageView.DeviceType deviceType,
+            String browser,
+            String operatingSystem,
+            String referrer,
+            String language,
+            int totalSessionDuration
+    ) {
+
+        /**
+         * Aynı oturumun iki bekleyen satırını birleştirir
+         * Durum alanları daha yeni satırdan alınır, sayfa görüntüleme artışları toplanır.
+         */
+        SessionRow mergeWith(SessionRow other) {
+            SessionRow newer = other.lastActivityAt().isAfter(lastActivityAt) ? other : this;
+            SessionRow older = newer == this ? other : this;
+            LocalDateTime firstSeen = older.firstSeenAt().isBefore(newer.firstSeenAt()) ? older.firstSeenAt() : newer.firstSeenAt();
+            return new SessionRow(newer.sessionId(), newer.ipAddress(), newer.userAgent(), firstSeen,
+                    newer.lastActivityAt(), pageViewDelta + other.pageViewDelta(), newer.currentPage(),
+                    newer.previousPage(), newer.visitorType(), newer.userId(), newer.userEmail(), newer.deviceType(),
+                    newer.browser(), newer.operatingSystem(), newer.referrer(), newer.language(),
+                    (int) Duration.between(firstSeen, newer.lastActivityAt()).getSeconds());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package eticaret.demo.visitor.session;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ziyaretçi oturumlarını ve sayfa görüntülemelerini JDBC batch ile yazar
+ * Oturumlar session_id üzerinden upsert edilir; sayfa görüntüleme sayısı bellekteki artış (delta) olarak eklenir,
+ * böylece uygulama yeniden başlasa da veritabanındaki sayaç geriye gitmez.
+ */
+@Component
+@RequiredArgsConstructor
+public class VisitorSessionWriter {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT_SESSION_SQL =
+            "INSERT INTO active_visitors (session_id, ip_address, user_agent, first_seen_at, last_activity_at, " +
+            "page_views, current_page, previous_page, visitor_type, user_id, user_email, device_type, browser, " +
+            "operating_system, referrer, language, total_session_duration) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (session_id) DO UPDATE SET " +
+            "first_seen_at = LEAST(active_visitors.first_seen_at, EXCLUDED.first_seen_at), " +
+            "last_activity_at = GREATEST(active_visitors.last_activity_at, EXCLUDED.last_activity_at), " +
+            "page_views = active_visitors.page_views + EXCLUDED.page_views, " +
+            "current_page = EXCLUDED.current_page, " +
+            "previous_page = COALESCE(EXCLUDED.previous_page, active_visitors.previous_page), " +
+            "visitor_type = EXCLUDED.visitor_type, " +
+            "user_id = COALESCE(EXCLUDED.user_id, active_visitors.user_id), " +
+            "user_email = COALESCE(EXCLUDED.user_email, active_visitors.user_email), " +
+            "user_agent = COALESCE(EXCLUDED.user_agent, active_visitors.user_agent), " +
+            "device_type = COALESCE(EXCLUDED.device_type, active_visitors.device_type), " +
+            "browser = COALESCE(EXCLUDED.browser, active_visitors.browser), " +
+            "operating_system = COALESCE(EXCLUDED.operating_system, active_visitors.operating_system), " +
+            "referrer = COALESCE(EXCLUDED.referrer, active_visitors.referrer), " +
+            "language = COALESCE(EXCLUDED.language, active_visitors.language), " +
+            "total_session_duration = CAST(EXTRACT(EPOCH FROM (" +
+            "GREATEST(active_visitors.last_activity_at, EXCLUDED.last_activity_at) - " +
+            "LEAST(active_visitors.first_seen_at, EXCLUDED.first_seen_at))) AS INTEGER)";
+
+    private static final String INSERT_PAGE_VIEW_SQL =
+            "INSERT INTO visitor_page_views (session_id, user_id, ip_address, page_path, referrer, user_agent, " +
+            "device_type, browser, operating_system, language, visitor_type, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Oturum satırlarını tek transaction'da upsert eder
+     */
+    @Transactional
+    public void writeSessions(List<VisitorSessionTable.SessionRow> rows) {
+        List<Object[]> args = new ArrayList<>(Math.min(rows.size(), BATCH_SIZE));
+        for (VisitorSessionTable.SessionRow row : rows) {
+            args.add(new Object[]{
+                    row.sessionId(),
+                    row.ipAddress(),
+                    row.userAgent(),
+                    row.firstSeenAt(),
+                    row.lastActivityAt(),
+                    row.pageViewDelta(),
+                    row.currentPage(),
+                    row.previousPage(),
+                    row.visitorType() != null ? row.visitorType().name() : null,
+                    row.userId(),
+                    row.userEmail(),
+                    row.deviceType() != null ? row.deviceType().name() : null,
+                    row.browser(),
+                    row.operatingSystem(),
+                    row.referrer(),
+                    row.language(),
+                    row.totalSessionDuration()
+            });
+            if (args.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(UPSERT_SESSION_SQL, args);
+                args.clear();
+            }
+        }
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SESSION_SQL, args);
+        }
+    }
+
+    /**
+     * Sayfa görüntüleme satırlarını tek transaction'da ekler
+     */
+    @Transactional
+    public void writePageViews(List<VisitorHit> hits) {
+        List<Object[]> args = new ArrayList<>(Math.min(hits.size(), BATCH_SIZE));
+        for (VisitorHit hit : hits) {
+            args.add(new Object[]{
+                    hit.sessionId(),
+                    hit.userId(),
+                    hit.ipAddress(),
+                    hit.pagePath(),
+                    hit.referrer(),
+                    hit.userAgent(),
+                    hit.deviceType() != null ? hit.deviceType().name() : null,
+                    hit.browser(),
+                    hit.operatingSystem(),
+                    hit.language(),
+                    hit.visitorType() != null ? hit.visitorType().name() : null,
+                    hit.at()
+            });
+            if (args.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_PAGE_VIEW_SQL, args);
+                args.clear();
+            }
+        }
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PAGE_VIEW_SQL, args);
+        }
+    }
+}
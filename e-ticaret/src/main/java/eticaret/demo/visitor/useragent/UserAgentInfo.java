@@ -0,0 +1,27 @@
+package eticaret.demo.visitor.useragent;
+
+import eticaret.demo.visitor.VisitorPageView;
+
+/**
+ * User-Agent başlığından çıkarılan cihaz, tarayıcı ve işletim sistemi bilgisi
+ * userAgent alanı kolon sınırına (500) kırpılmış başlıktır; aynı başlık için aynı örnek paylaşılır.
+ */
+public record UserAgentInfo(
+        String userAgent,
+        VisitorPageView.DeviceType deviceType,
+        String browser,
+        String operatingSystem
+) {
+
+    static final int MAX_USER_AGENT_LENGTH = 500;
+
+    /**
+     * Başlık yoksa veya boşsa kullanılır
+     */
+    public static final UserAgentInfo UNKNOWN =
+            new UserAgentInfo(null, VisitorPageView.DeviceType.UNKNOWN, null, null);
+
+    static String trim(String userAgent) {
+        return userAgent.length() > MAX_USER_AGENT_LENGTH ? userAgent.substring(0, MAX_USER_AGENT_LENGTH) : userAgent;
+    }
+}
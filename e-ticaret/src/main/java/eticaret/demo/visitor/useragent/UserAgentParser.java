@@ -0,0 +1,132 @@
+package eticaret.demo.visitor.useragent;
+
+import eticaret.demo.common.cache.CacheStatistics;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Önbellekli User-Agent sınıflandırıcı
+ * Aynı başlıklar sürekli tekrar ettiği için sonuç, başlık metni anahtarıyla boyut sınırlı bir LRU önbellekte tutulur;
+ * ıskada başlık {@link UserAgentScanner} ile tek geçişte taranır.
+ * Önbellek kilit çakışmasını azaltmak için parçalara (shard) bölünmüştür.
+ * Ziyaretçi takibi, audit log ve çerez tercihleri aynı sonucu paylaşır.
+ */
+@Component
+public class UserAgentParser {
+
+    private static final int SHARD_COUNT = 16;
+    /**
+     * Bundan uzun başlıklar (genellikle bot/saldırı trafiği) önbelleğe alınmaz
+     */
+    private static final int MAX_CACHED_KEY_LENGTH = 1024;
+
+    private final int maxSize;
+    private final Shard[] shards;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserAgentParser(@Value("${visitor.user-agent.cache-size:4096}") int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("User-Agent cache boyutu pozitif olmalı");
+        }
+        this.maxSize = maxSize;
+        this.shards = new Shard[SHARD_COUNT];
+        int perShard = Math.max(1, (maxSize + SHARD_COUNT - 1) / SHARD_COUNT);
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            shards[i] = new Shard(perShard);
+        }
+    }
+
+    /**
+     * İsteğin User-Agent başlığını sınıflandırır
+     */
+    public UserAgentInfo parse(HttpServletRequest request) {
+        return parse(request != null ? request.getHeader("User-Agent") : null);
+    }
+
+    /**
+     * User-Agent başlığını sınıflandırır, başlık yoksa {@link UserAgentInfo#UNKNOWN} döner
+     */
+    public UserAgentInfo parse(String userAgent) {
+        if (userAgent == null || userAgent.isBlank()) {
+            return UserAgentInfo.UNKNOWN;
+        }
+        if (userAgent.length() > MAX_CACHED_KEY_LENGTH) {
+            misses.increment();
+            return UserAgentScanner.classify(userAgent);
+        }
+
+        Shard shard = shards[(userAgent.hashCode() & 0x7fffffff) % SHARD_COUNT];
+        UserAgentInfo info;
+        synchronized (shard) {
+            info = shard.get(userAgent);
+        }
+        if (info != null) {
+            hits.increment();
+            return info;
+        }
+
+        // Tarama kilit dışında yapılır; aynı başlık için eşzamanlı iki ıska aynı sonucu üretir
+        misses.increment();
+        info = UserAgentScanner.classify(userAgent);
+        synchronized (shard) {
+            UserAgentInfo existing = shard.putIfAbsent(userAgent, info);
+            return existing != null ? existing : info;
+        }
+    }
+
+    /**
+     * Anlık önbellek istatistikleri
+     */
+    public CacheStatistics getStatistics() {
+        int size = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                size += shard.size();
+            }
+        }
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        return new CacheStatistics(
+                "userAgents",
+                size,
+                maxSize,
+                0L,
+                hitCount,
+                missCount,
+                total > 0 ? (double) hitCount / total : 0.0,
+                evictions.sum(),
+                0L
+        );
+    }
+
+    /**
+     * Erişim sıralı (LRU) önbellek parçası, erişimler parça nesnesi üzerinde senkronize edilir
+     */
+    private final class Shard extends LinkedHashMap<String, UserAgentInfo> {
+
+        private final int capacity;
+
+        private Shard(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, UserAgentInfo> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
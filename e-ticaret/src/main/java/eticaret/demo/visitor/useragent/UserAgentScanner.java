@@ -0,0 +1,164 @@
+package eticaret.demo.visitor.useragent;
+
+import eticaret.demo.visitor.VisitorPageView;
+
+/**
+ * Düzenli ifade kullanmadan User-Agent sınıflandırması
+ * Başlık tek geçişte taranır; her konumda yalnızca o harfle başlayan anahtar kelimeler (ASCII, büyük/küçük harf
+ * duyarsız) denenir. Sonuçlar eski regex kurallarıyla aynıdır:
+ * tablet (ipad, tablet, arkasında "mobile" geçmeyen android) > mobil > masaüstü,
+ * tarayıcı Chrome > Firefox > Edge > Safari, işletim sistemi Windows > macOS > Android > iOS > Linux sırasıyla seçilir.
+ */
+final class UserAgentScanner {
+
+    private UserAgentScanner() {
+    }
+
+    static UserAgentInfo classify(String userAgent) {
+        if (userAgent == null || userAgent.isBlank()) {
+            return UserAgentInfo.UNKNOWN;
+        }
+
+        int length = userAgent.length();
+        int androidLast = -1;
+        int mobileLast = -1;
+        int versionFirst = -1;
+        boolean ipad = false, iphone = false, ipod = false, tablet = false, webos = false;
+        boolean blackberry = false, ieMobile = false, operaMini = false;
+        boolean chrome = false, firefox = false, edge = false, safari = false;
+        boolean windows = false, mac = false, linux = false;
+
+        for (int i = 0; i < length; i++) {
+            switch (lower(userAgent.charAt(i))) {
+                case 'a' -> {
+                    if (at(userAgent, i, "android")) androidLast = i;
+                }
+                case 'b' -> {
+                    if (at(userAgent, i, "blackberry")) blackberry = true;
+                }
+                case 'c' -> {
+                    if (!chrome && at(userAgent, i, "chrome/") && versionAt(userAgent, i + 7)) chrome = true;
+                }
+                case 'e' -> {
+                    if (!edge && isEdgeToken(userAgent, i)) edge = true;
+                }
+                case 'f' -> {
+                    if (!firefox && at(userAgent, i, "firefox/") && versionAt(userAgent, i + 8)) firefox = true;
+                }
+                case 'i' -> {
+                    if (at(userAgent, i, "ipad")) ipad = true;
+                    else if (at(userAgent, i, "iphone")) iphone = true;
+                    else if (at(userAgent, i, "ipod")) ipod = true;
+                    else if (at(userAgent, i, "iemobile")) ieMobile = true;
+                }
+                case 'l' -> {
+                    if (at(userAgent, i, "linux")) linux = true;
+                }
+                case 'm' -> {
+                    if (at(userAgent, i, "mobile")) mobileLast = i;
+                    else if (at(userAgent, i, "mac os x") || at(userAgent, i, "macintosh")) mac = true;
+                }
+                case 'o' -> {
+                    if (at(userAgent, i, "opera mini")) operaMini = true;
+                }
+                case 's' -> {
+                    // "version/<sürüm>" ifadesinden sonra gelen "safari"
+                    if (versionFirst >= 0 && i >= versionFirst + 9 && at(userAgent, i, "safari")) safari = true;
+                }
+                case 't' -> {
+                    if (at(userAgent, i, "tablet")) tablet = true;
+                }
+                case 'v' -> {
+                    if (versionFirst < 0 && at(userAgent, i, "version/") && versionAt(userAgent, i + 8)) versionFirst = i;
+                }
+                case 'w' -> {
+                    if (at(userAgent, i, "windows")) windows = true;
+                    else if (at(userAgent, i, "webos")) webos = true;
+                }
+                default -> {
+                }
+            }
+        }
+
+        boolean android = androidLast >= 0;
+        VisitorPageView.DeviceType deviceType;
+        if (ipad || tablet || (android && mobileLast < androidLast + 7)) {
+            deviceType = VisitorPageView.DeviceType.TABLET;
+        } else if (android || webos || iphone || ipod || blackberry || ieMobile || operaMini) {
+            deviceType = VisitorPageView.DeviceType.MOBILE;
+        } else {
+            deviceType = VisitorPageView.DeviceType.DESKTOP;
+        }
+
+        String browser;
+        if (chrome) {
+            browser = "Chrome";
+        } else if (firefox) {
+            browser = "Firefox";
+        } else if (edge) {
+            browser = "Edge";
+        } else if (safari) {
+            browser = "Safari";
+        } else {
+            browser = "Unknown";
+        }
+
+        String operatingSystem;
+        if (windows) {
+            operatingSystem = "Windows";
+        } else if (mac) {
+            operatingSystem = "macOS";
+        } else if (android) {
+            operatingSystem = "Android";
+        } else if (iphone || ipad || ipod) {
+            operatingSystem = "iOS";
+        } else if (linux) {
+            operatingSystem = "Linux";
+        } else {
+            operatingSystem = "Unknown";
+        }
+
+        return new UserAgentInfo(UserAgentInfo.trim(userAgent), deviceType, browser, operatingSystem);
+    }
+
+    /**
+     * "ed/", "edg/", "ede/" veya "edge/" ve ardından sürüm numarası
+     */
+    private static boolean isEdgeToken(String userAgent, int i) {
+        if (!at(userAgent, i, "ed")) {
+            return false;
+        }
+        int j = i + 2;
+        if (j < userAgent.length() && lower(userAgent.charAt(j)) == 'g') j++;
+        if (j < userAgent.length() && lower(userAgent.charAt(j)) == 'e') j++;
+        return j < userAgent.length() && userAgent.charAt(j) == '/' && versionAt(userAgent, j + 1);
+    }
+
+    private static boolean versionAt(String userAgent, int i) {
+        if (i >= userAgent.length()) {
+            return false;
+        }
+        char c = userAgent.charAt(i);
+        return (c >= '0' && c <= '9') || c == '.';
+    }
+
+    /**
+     * token (küçük harf) i konumunda ASCII büyük/küçük harf duyarsız olarak geçiyor mu?
+     */
+    private static boolean at(String userAgent, int i, String token) {
+        int end = i + token.length();
+        if (end > userAgent.length()) {
+            return false;
+        }
+        for (int k = 0; k < token.length(); k++) {
+            if (lower(userAgent.charAt(i + k)) != token.charAt(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char lower(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+}
@@ -0,0 +1,239 @@
+package eticaret.demo.common.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedRingBufferTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int PER_PRODUCER = 50_000;
+
+    @Test
+    void capacityIsRoundedUpToPowerOfTwo() {
+        assertEquals(2, new BoundedRingBuffer<>(2).capacity());
+        assertEquals(4, new BoundedRingBuffer<>(3).capacity());
+        assertEquals(1024, new BoundedRingBuffer<>(1000).capacity());
+        assertEquals(1024, new BoundedRingBuffer<>(1024).capacity());
+        assertEquals(2048, new BoundedRingBuffer<>(1025).capacity());
+    }
+
+    @Test
+    void rejectsInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedRingBuffer<>(1));
+        assertThrows(IllegalArgumentException.class, () -> new BoundedRingBuffer<>(0));
+        assertThrows(IllegalArgumentException.class, () -> new BoundedRingBuffer<>(-8));
+        assertThrows(IllegalArgumentException.class, () -> new BoundedRingBuffer<>((1 << 30) + 1));
+    }
+
+    @Test
+    void rejectsNullElement() {
+        BoundedRingBuffer<String> buffer = new BoundedRingBuffer<>(4);
+        assertThrows(NullPointerException.class, () -> buffer.offer(null));
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void emptyBufferPollsNull() {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(4);
+        List<Integer> target = new ArrayList<>();
+
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.drainTo(target, 10));
+        assertTrue(target.isEmpty());
+    }
+
+    @Test
+    void fullBufferRejectsOfferUntilConsumed() {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(8);
+        for (int i = 0; i < 8; i++) {
+            assertTrue(buffer.offer(i));
+        }
+
+        assertFalse(buffer.offer(8));
+        assertEquals(8, buffer.size());
+
+        assertEquals(0, buffer.poll());
+        assertTrue(buffer.offer(8));
+        assertFalse(buffer.offer(9));
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(8, buffer.drainTo(drained, 100));
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8), drained);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void keepsFifoOrderAcrossWrapAround() {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(4);
+        int next = 0;
+        int expected = 0;
+        for (int round = 0; round < 1_000; round++) {
+            // Her turda farklı sayıda eleman ekleyip alarak yuvaların sıra numaraları kaydırılır
+            int batch = 1 + round % 4;
+            for (int i = 0; i < batch; i++) {
+                assertTrue(buffer.offer(next++));
+            }
+            for (int i = 0; i < batch; i++) {
+                assertEquals(expected++, buffer.poll());
+            }
+        }
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    void drainToRespectsMax() {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(16);
+        for (int i = 0; i < 10; i++) {
+            buffer.offer(i);
+        }
+        List<Integer> target = new ArrayList<>();
+
+        assertEquals(4, buffer.drainTo(target, 4));
+        assertEquals(List.of(0, 1, 2, 3), target);
+        assertEquals(6, buffer.size());
+        assertEquals(0, buffer.drainTo(target, 0));
+        assertEquals(6, buffer.drainTo(target, 100));
+        assertEquals(10, target.size());
+    }
+
+    @Test
+    void multipleProducersLoseAndDuplicateNothing() throws Exception {
+        // Küçük tampon: üreticiler sık sık dolu tampona çarpar ve yeniden dener
+        BoundedRingBuffer<Long> buffer = new BoundedRingBuffer<>(256);
+        long total = (long) PRODUCERS * PER_PRODUCER;
+        ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int p = 0; p < PRODUCERS; p++) {
+                long producer = p;
+                executor.submit(() -> {
+                    start.await();
+                    for (long seq = 0; seq < PER_PRODUCER; seq++) {
+                        Long element = producer * PER_PRODUCER + seq;
+                        while (!buffer.offer(element)) {
+                            // Tek çekirdekli makinede de diğer thread ilerleyebilsin
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                });
+            }
+            Future<List<Long>> consumer = executor.submit(() -> {
+                start.await();
+                List<Long> received = new ArrayList<>((int) total);
+                List<Long> batch = new ArrayList<>(64);
+                while (received.size() < total) {
+                    batch.clear();
+                    if (buffer.drainTo(batch, 64) == 0) {
+                        Thread.yield();
+                    }
+                    received.addAll(batch);
+                }
+                return received;
+            });
+
+            start.countDown();
+            List<Long> received = consumer.get(60, TimeUnit.SECONDS);
+
+            assertEquals(total, received.size());
+            BitSet seen = new BitSet((int) total);
+            long[] lastSeq = new long[PRODUCERS];
+            Arrays.fill(lastSeq, -1);
+            for (Long element : received) {
+                int value = element.intValue();
+                assertFalse(seen.get(value), "Tekrarlanan eleman: " + value);
+                seen.set(value);
+                // Aynı üreticinin elemanları eklendiği sırayla çıkar
+                int producer = value / PER_PRODUCER;
+                long seq = value % PER_PRODUCER;
+                assertTrue(seq > lastSeq[producer], "Sıra bozuldu: " + value);
+                lastSeq[producer] = seq;
+            }
+            assertEquals(total, seen.cardinality());
+            assertNull(buffer.poll());
+            assertEquals(0, buffer.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void rejectedOffersUnderContentionAreNeverDelivered() throws Exception {
+        // Üreticiler yeniden denemez: kabul edilen her eleman tam bir kez tüketilmeli, reddedilen hiç görünmemeli
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(64);
+        int total = PRODUCERS * PER_PRODUCER;
+        BitSet accepted = new BitSet(total);
+        AtomicInteger acceptedCount = new AtomicInteger();
+        AtomicBoolean producing = new AtomicBoolean(true);
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<BitSet>> producers = new ArrayList<>();
+            for (int p = 0; p < PRODUCERS; p++) {
+                int producer = p;
+                producers.add(executor.submit(() -> {
+                    start.await();
+                    BitSet mine = new BitSet(total);
+                    for (int seq = 0; seq < PER_PRODUCER; seq++) {
+                        int element = producer * PER_PRODUCER + seq;
+                        if (buffer.offer(element)) {
+                            mine.set(element);
+                            acceptedCount.incrementAndGet();
+                        } else {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return mine;
+                }));
+            }
+            Future<List<Integer>> consumer = executor.submit(() -> {
+                start.await();
+                List<Integer> received = new ArrayList<>();
+                while (producing.get() || buffer.size() > 0) {
+                    if (buffer.drainTo(received, 16) == 0) {
+                        Thread.yield();
+                    }
+                }
+                buffer.drainTo(received, Integer.MAX_VALUE);
+                return received;
+            });
+
+            start.countDown();
+            for (Future<BitSet> producer : producers) {
+                accepted.or(producer.get(60, TimeUnit.SECONDS));
+            }
+            producing.set(false);
+            List<Integer> received = consumer.get(60, TimeUnit.SECONDS);
+
+            assertEquals(total, acceptedCount.get() + rejected.get());
+            assertEquals(acceptedCount.get(), received.size());
+            BitSet seen = new BitSet(total);
+            for (Integer element : received) {
+                assertTrue(accepted.get(element), "Reddedilen eleman tüketildi: " + element);
+                assertFalse(seen.get(element), "Tekrarlanan eleman: " + element);
+                seen.set(element);
+            }
+            assertEquals(accepted, seen);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package eticaret.demo.common.collection;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    private static final int SPARSE_FORMAT = 1;
+    private static final int DENSE_FORMAT = 2;
+
+    @Test
+    void emptySketchRoundTrips() {
+        HyperLogLog sketch = new HyperLogLog();
+        HyperLogLog restored = HyperLogLog.fromBytes(sketch.toBytes());
+
+        assertTrue(restored.isEmpty());
+        assertEquals(0, restored.estimate());
+        assertEquals(SPARSE_FORMAT, sketch.toBytes()[1]);
+    }
+
+    @Test
+    void sparseSketchRoundTrips() {
+        HyperLogLog sketch = sketch(0, 300);
+        byte[] bytes = sketch.toBytes();
+
+        assertEquals(SPARSE_FORMAT, bytes[1]);
+        assertRoundTrip(sketch);
+    }
+
+    @Test
+    void denseSketchRoundTrips() {
+        HyperLogLog sketch = sketch(0, 200_000);
+        byte[] bytes = sketch.toBytes();
+
+        assertEquals(DENSE_FORMAT, bytes[1]);
+        assertEquals(2 + (1 << HyperLogLog.PRECISION) * 6 / 8, bytes.length);
+        assertRoundTrip(sketch);
+    }
+
+    @Test
+    void stringValuesRoundTrip() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 50_000; i++) {
+            sketch.add("session-" + i);
+        }
+        sketch.add((String) null);
+
+        assertRoundTrip(sketch);
+        assertWithinError(50_000, sketch.estimate());
+    }
+
+    @Test
+    void duplicatesDoNotChangeSketch() {
+        HyperLogLog sketch = sketch(0, 10_000);
+        byte[] before = sketch.toBytes();
+        for (int repeat = 0; repeat < 3; repeat++) {
+            for (long i = 0; i < 10_000; i++) {
+                sketch.add(i);
+            }
+        }
+
+        assertArrayEquals(before, sketch.toBytes());
+    }
+
+    @Test
+    void mergeEqualsUnion() {
+        HyperLogLog left = sketch(0, 60_000);
+        HyperLogLog right = sketch(40_000, 100_000);
+        HyperLogLog union = sketch(0, 100_000);
+
+        HyperLogLog leftThenRight = HyperLogLog.fromBytes(left.toBytes());
+        leftThenRight.merge(right);
+        HyperLogLog rightThenLeft = HyperLogLog.fromBytes(right.toBytes());
+        rightThenLeft.merge(left);
+
+        assertArrayEquals(union.toBytes(), leftThenRight.toBytes());
+        assertArrayEquals(union.toBytes(), rightThenLeft.toBytes());
+        assertEquals(union.estimate(), leftThenRight.estimate());
+    }
+
+    @Test
+    void mergeOfRestoredSparseSketchesEqualsUnion() {
+        // Saatlik taslaklar veritabanından okunup birleştirildiğinde ham kayıtlarla aynı sonucu vermeli
+        HyperLogLog merged = new HyperLogLog();
+        for (int hour = 0; hour < 24; hour++) {
+            merged.merge(HyperLogLog.fromBytes(sketch(hour * 20L, hour * 20L + 50).toBytes()));
+        }
+
+        assertArrayEquals(sketch(0, 23 * 20 + 50).toBytes(), merged.toBytes());
+    }
+
+    @Test
+    void mergeIsIdempotent() {
+        HyperLogLog sketch = sketch(0, 5_000);
+        byte[] before = sketch.toBytes();
+        sketch.merge(HyperLogLog.fromBytes(before));
+
+        assertArrayEquals(before, sketch.toBytes());
+    }
+
+    @Test
+    void estimateStaysWithinErrorBound() {
+        long[] cardinalities = {1, 10, 100, 1_000, 5_000, 10_000, 50_000, 100_000, 1_000_000};
+        for (long cardinality : cardinalities) {
+            assertWithinError(cardinality, sketch(0, cardinality).estimate());
+            // Farklı değer aralığı farklı hash'ler demektir; sonuç tek bir şanslı aralığa bağlı kalmamalı
+            assertWithinError(cardinality, sketch(1L << 40, (1L << 40) + cardinality).estimate());
+        }
+    }
+
+    @Test
+    void rejectsInvalidBytes() {
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(null));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[]{HyperLogLog.PRECISION}));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[]{14, SPARSE_FORMAT, 0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[]{HyperLogLog.PRECISION, 3}));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[]{HyperLogLog.PRECISION, DENSE_FORMAT, 0}));
+    }
+
+    private static HyperLogLog sketch(long fromInclusive, long toExclusive) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long value = fromInclusive; value < toExclusive; value++) {
+            sketch.add(value);
+        }
+        return sketch;
+    }
+
+    private static void assertRoundTrip(HyperLogLog sketch) {
+        byte[] bytes = sketch.toBytes();
+        HyperLogLog restored = HyperLogLog.fromBytes(bytes);
+
+        assertArrayEquals(bytes, restored.toBytes());
+        assertEquals(sketch.estimate(), restored.estimate());
+    }
+
+    /**
+     * Standart hata 1,04 / sqrt(4096) ~ %1,6; üç standart sapma (%5) sınırı sabit girdide kararlıdır.
+     * Küçük sayılarda doğrusal sayım neredeyse kesin olduğundan en az 1 birimlik pay yeterlidir.
+     */
+    private static void assertWithinError(long expected, long actual) {
+        double tolerance = Math.max(1.0, expected * 0.05);
+        assertTrue(Math.abs(actual - expected) <= tolerance,
+                "Beklenen ~" + expected + ", tahmin " + actual);
+    }
+}
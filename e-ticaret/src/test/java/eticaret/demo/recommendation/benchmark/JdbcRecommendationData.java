@@ -0,0 +1,146 @@
+package eticaret.demo.recommendation.benchmark;
+
+import eticaret.demo.product.Category;
+import eticaret.demo.product.Product;
+import eticaret.demo.product.stats.ProductStats;
+import eticaret.demo.recommendation.coview.ProductCoViewNeighbors;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Öneri girdilerini bir veritabanı kopyasından okur (sadece SELECT)
+ * Replay'in gerçek siparişlerle çalışması içindir; canlı veritabanı yerine yedekten açılmış bir kopya kullanılmalıdır.
+ */
+final class JdbcRecommendationData {
+
+    private static final int RECENT_VIEWS = 10;
+    private static final int VIEW_DAYS = 30;
+    private static final int TRENDING_DAYS = 7;
+    private static final int MAX_VIEW_ROWS = 500_000;
+
+    private JdbcRecommendationData() {
+    }
+
+    static RecommendationData load(String url, String username, String password) {
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(url, username, password));
+        return new RecommendationData(
+                products(jdbc),
+                baskets(jdbc),
+                stats(jdbc),
+                coViewNeighbours(jdbc),
+                recentViews(jdbc),
+                trendingViews(jdbc));
+    }
+
+    private static List<Product> products(JdbcTemplate jdbc) {
+        Map<Long, Category> categories = new HashMap<>();
+        return jdbc.query("""
+                SELECT p.id, p.name, p.sku, p.category_id, c.name AS category_name, p.color, p.material,
+                       p.usage_area, p.mounting_type, p.pleat_type, p.light_transmittance, p.price,
+                       p.width, p.height, p.quantity, p.active
+                FROM products p LEFT JOIN categories c ON c.id = p.category_id
+                WHERE p.active = TRUE
+                ORDER BY p.id
+                """, (rs, rowNum) -> {
+            long categoryId = rs.getLong("category_id");
+            boolean hasCategory = !rs.wasNull();
+            String categoryName = rs.getString("category_name");
+            Category category = hasCategory ? categories.computeIfAbsent(categoryId,
+                    id -> Category.builder().id(id).name(categoryName).build()) : null;
+            return Product.builder()
+                    .id(rs.getLong("id"))
+                    .name(rs.getString("name"))
+                    .sku(rs.getString("sku"))
+                    .category(category)
+                    .color(rs.getString("color"))
+                    .material(rs.getString("material"))
+                    .usageArea(rs.getString("usage_area"))
+                    .mountingType(rs.getString("mounting_type"))
+                    .pleatType(rs.getString("pleat_type"))
+                    .lightTransmittance(rs.getString("light_transmittance"))
+                    .price(rs.getBigDecimal("price"))
+                    .width(rs.getObject("width", Double.class))
+                    .height(rs.getObject("height", Double.class))
+                    .quantity(rs.getInt("quantity"))
+                    .active(rs.getBoolean("active"))
+                    .build();
+        });
+    }
+
+    /**
+     * Siparişler eskiden yeniye; holdout için sondaki siparişler ayrılır
+     */
+    private static List<List<Long>> baskets(JdbcTemplate jdbc) {
+        Map<Long, Set<Long>> byOrder = new LinkedHashMap<>();
+        RowCallbackHandler handler = rs -> byOrder
+                .computeIfAbsent(rs.getLong(1), id -> new LinkedHashSet<>())
+                .add(rs.getLong(2));
+        jdbc.query("SELECT order_id, product_id FROM order_items WHERE product_id IS NOT NULL ORDER BY order_id, id",
+                handler);
+        List<List<Long>> baskets = new ArrayList<>(byOrder.size());
+        for (Set<Long> basket : byOrder.values()) {
+            baskets.add(List.copyOf(basket));
+        }
+        return baskets;
+    }
+
+    private static List<ProductStats> stats(JdbcTemplate jdbc) {
+        return jdbc.query("SELECT product_id, review_count, average_rating, view_count, updated_at FROM product_stats",
+                (rs, rowNum) -> ProductStats.builder()
+                        .productId(rs.getLong("product_id"))
+                        .reviewCount(rs.getLong("review_count"))
+                        .averageRating(rs.getDouble("average_rating"))
+                        .viewCount(rs.getLong("view_count"))
+                        .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+                        .build());
+    }
+
+    private static List<ProductCoViewNeighbors> coViewNeighbours(JdbcTemplate jdbc) {
+        return jdbc.query("SELECT product_id, neighbors, computed_at FROM product_coview_neighbors",
+                (rs, rowNum) -> ProductCoViewNeighbors.builder()
+                        .productId(rs.getLong("product_id"))
+                        .neighbors(rs.getString("neighbors"))
+                        .computedAt(toLocalDateTime(rs.getTimestamp("computed_at")))
+                        .build());
+    }
+
+    /**
+     * Kullanıcı başına son görüntülenen farklı ürünler (yeniden eskiye)
+     */
+    private static Map<Long, List<Long>> recentViews(JdbcTemplate jdbc) {
+        Map<Long, Set<Long>> byUser = new LinkedHashMap<>();
+        RowCallbackHandler handler = rs -> {
+            Set<Long> recent = byUser.computeIfAbsent(rs.getLong(1), id -> new LinkedHashSet<>());
+            if (recent.size() < RECENT_VIEWS) {
+                recent.add(rs.getLong(2));
+            }
+        };
+        jdbc.query("SELECT user_id, product_id FROM product_views "
+                + "WHERE user_id IS NOT NULL AND viewed_at >= NOW() - make_interval(days => ?) "
+                + "ORDER BY viewed_at DESC LIMIT ?", handler, VIEW_DAYS, MAX_VIEW_ROWS);
+        Map<Long, List<Long>> recentViews = new LinkedHashMap<>();
+        byUser.forEach((userId, recent) -> recentViews.put(userId, List.copyOf(recent)));
+        return recentViews;
+    }
+
+    private static List<Long> trendingViews(JdbcTemplate jdbc) {
+        return jdbc.queryForList("SELECT product_id FROM product_views "
+                + "WHERE viewed_at >= NOW() - make_interval(days => ?) ORDER BY viewed_at DESC LIMIT ?",
+                Long.class, TRENDING_DAYS, MAX_VIEW_ROWS);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
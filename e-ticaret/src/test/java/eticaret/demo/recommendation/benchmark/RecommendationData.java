@@ -0,0 +1,36 @@
+package eticaret.demo.recommendation.benchmark;
+
+import eticaret.demo.product.Product;
+import eticaret.demo.product.stats.ProductStats;
+import eticaret.demo.recommendation.coview.ProductCoViewNeighbors;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Öneri stratejilerini veritabanısız çalıştırmak için gereken girdiler
+ * Sentetik üreticiden (SyntheticCatalog) veya veritabanı dökümünden (JdbcRecommendationData) gelir.
+ *
+ * @param products Vitrindeki ürünler
+ * @param baskets Birlikte alma matrisinin öğrenildiği siparişler (eskiden yeniye, her biri ürün ID'leri)
+ * @param stats Ürün istatistikleri (puan, yorum, görüntülenme)
+ * @param coViewNeighbours Birlikte görüntülenme komşu satırları
+ * @param recentViews Kullanıcı ID -> son görüntülenen ürün ID'leri (yeniden eskiye)
+ * @param trendingViews Trend sayaçlarına işlenecek görüntülemeler (ürün ID'leri)
+ */
+record RecommendationData(
+        List<Product> products,
+        List<List<Long>> baskets,
+        List<ProductStats> stats,
+        List<ProductCoViewNeighbors> coViewNeighbours,
+        Map<Long, List<Long>> recentViews,
+        List<Long> trendingViews
+) {
+
+    /**
+     * Aynı veri, birlikte alma matrisi yalnızca verilen siparişlerden öğrenilecek şekilde
+     */
+    RecommendationData withBaskets(List<List<Long>> trainingBaskets) {
+        return new RecommendationData(products, trainingBaskets, stats, coViewNeighbours, recentViews, trendingViews);
+    }
+}
@@ -0,0 +1,174 @@
+package eticaret.demo.recommendation.benchmark;
+
+import eticaret.demo.order.OrderItemRepository;
+import eticaret.demo.order.OrderRepository;
+import eticaret.demo.product.Product;
+import eticaret.demo.product.ProductRepository;
+import eticaret.demo.product.ProductViewRepository;
+import eticaret.demo.product.catalog.CatalogChangedEvent;
+import eticaret.demo.product.catalog.CatalogSnapshotService;
+import eticaret.demo.product.stats.ProductStatsRepository;
+import eticaret.demo.recommendation.RecommendationService;
+import eticaret.demo.recommendation.copurchase.CoPurchaseIndex;
+import eticaret.demo.recommendation.coview.CoViewNeighbourIndex;
+import eticaret.demo.recommendation.coview.ProductCoViewNeighborsRepository;
+import eticaret.demo.recommendation.mixed.RecommendationFanOut;
+import eticaret.demo.recommendation.ranking.RankingScoreStore;
+import eticaret.demo.recommendation.similar.ProductFeatureIndex;
+import eticaret.demo.recommendation.trending.ProductTrendingScoreRepository;
+import eticaret.demo.recommendation.trending.TrendingCounters;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gerçek RecommendationService'i veritabanı ve Spring context olmadan kurar
+ * İndeksler (katalog görüntüsü, birlikte alma matrisi, komşu tablosu, skorlar, trend sayaçları, özellik vektörleri)
+ * uygulamadaki sınıfların kendisidir; sadece repository'ler verilen girdilerden cevap veren stub'lardır.
+ * Karma öneriler için ayrı bir thread pool açılır, iş bitince close() çağrılmalıdır.
+ * Sonucu doğrulayan testler {@link #buildSynchronous} kullanır: stratejiler çağıran thread'de çalışır ve
+ * süre bütçesi hiçbir stratejiyi dışarıda bırakmaz, böylece sonuç makinenin hızına bağlı olmaz.
+ */
+final class RecommendationFixture implements AutoCloseable {
+
+    /**
+     * Karma önerilerin uygulamadaki varsayılan süre bütçesi
+     */
+    static final long DEADLINE_MILLIS = 150;
+
+    private final RecommendationService service;
+    private final CoPurchaseIndex coPurchaseIndex;
+    // Eşzamanlı kurulumda null
+    private final ExecutorService executor;
+
+    private RecommendationFixture(RecommendationService service, CoPurchaseIndex coPurchaseIndex,
+                                  ExecutorService executor) {
+        this.service = service;
+        this.coPurchaseIndex = coPurchaseIndex;
+        this.executor = executor;
+    }
+
+    /**
+     * Uygulamadaki gibi thread pool ve {@link #DEADLINE_MILLIS} bütçesiyle kurar (benchmark ve rapor için)
+     */
+    static RecommendationFixture build(RecommendationData data) {
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(2, Runtime.getRuntime().availableProcessors()), daemonThreads());
+        return build(data, executor, new RecommendationFanOut(executor, DEADLINE_MILLIS));
+    }
+
+    /**
+     * Karma stratejileri çağıran thread'de sırayla çalıştırarak kurar
+     * Tüm stratejiler bütçe kontrolünden önce tamamlandığı için karma sonuç yavaş makinede de aynıdır.
+     */
+    static RecommendationFixture buildSynchronous(RecommendationData data) {
+        return build(data, null, new RecommendationFanOut(Runnable::run, TimeUnit.HOURS.toMillis(1)));
+    }
+
+    private static RecommendationFixture build(RecommendationData data, ExecutorService executor,
+                                               RecommendationFanOut fanOut) {
+        Map<Long, Product> productsById = new HashMap<>();
+        for (Product product : data.products()) {
+            productsById.put(product.getId(), product);
+        }
+
+        ProductRepository productRepository = RepositoryStubs.stub(ProductRepository.class, Map.of(
+                "findAllActiveForCatalog", args -> data.products(),
+                "findByIdAndActiveTrue", args -> Optional.ofNullable(productsById.get((Long) args[0]))));
+        ProductViewRepository productViewRepository = RepositoryStubs.stub(ProductViewRepository.class, Map.of(
+                "findRecentViewedProductIdsByUserId",
+                args -> data.recentViews().getOrDefault((Long) args[0], List.of())));
+        ProductStatsRepository productStatsRepository = RepositoryStubs.stub(ProductStatsRepository.class, Map.of(
+                "findAll", args -> data.stats()));
+        List<Object[]> orderCounts = orderCounts(data.baskets());
+        OrderItemRepository orderItemRepository = RepositoryStubs.stub(OrderItemRepository.class, Map.of(
+                "countOrdersByProduct", args -> orderCounts));
+        ProductCoViewNeighborsRepository coViewRepository = RepositoryStubs.stub(ProductCoViewNeighborsRepository.class,
+                Map.of("findAll", args -> data.coViewNeighbours()));
+
+        // Katalog değişiklikleri uygulamadaki gibi özellik indeksine iletilir
+        ProductFeatureIndex[] featureIndex = new ProductFeatureIndex[1];
+        ApplicationEventPublisher publisher = event -> {
+            if (event instanceof CatalogChangedEvent changed && featureIndex[0] != null) {
+                featureIndex[0].onCatalogChanged(changed);
+            }
+        };
+        CatalogSnapshotService catalogSnapshotService = new CatalogSnapshotService(productRepository, publisher);
+        featureIndex[0] = new ProductFeatureIndex(catalogSnapshotService);
+        catalogSnapshotService.rebuild();
+
+        CoPurchaseIndex coPurchaseIndex = new CoPurchaseIndex(orderItemRepository,
+                RepositoryStubs.stub(OrderRepository.class));
+        for (List<Long> basket : data.baskets()) {
+            coPurchaseIndex.record(basket);
+        }
+
+        CoViewNeighbourIndex coViewNeighbourIndex = new CoViewNeighbourIndex(coViewRepository);
+        coViewNeighbourIndex.load();
+
+        RankingScoreStore rankingScoreStore = new RankingScoreStore(productStatsRepository, orderItemRepository);
+        rankingScoreStore.refresh();
+
+        TrendingCounters trendingCounters = new TrendingCounters(
+                RepositoryStubs.stub(ProductTrendingScoreRepository.class), new double[]{1, 24, 168}, 24);
+        for (Long productId : data.trendingViews()) {
+            trendingCounters.record(productId);
+        }
+        trendingCounters.tick();
+
+        RecommendationService service = new RecommendationService(productRepository, productViewRepository,
+                catalogSnapshotService, coPurchaseIndex, coViewNeighbourIndex, rankingScoreStore, trendingCounters,
+                fanOut, featureIndex[0]);
+        return new RecommendationFixture(service, coPurchaseIndex, executor);
+    }
+
+    RecommendationService service() {
+        return service;
+    }
+
+    CoPurchaseIndex coPurchaseIndex() {
+        return coPurchaseIndex;
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * countOrdersByProduct() cevabı: ürün başına kaç farklı siparişte geçtiği
+     */
+    private static List<Object[]> orderCounts(List<List<Long>> baskets) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (List<Long> basket : baskets) {
+            Set<Long> distinct = new LinkedHashSet<>(basket);
+            for (Long productId : distinct) {
+                counts.merge(productId, 1L, Long::sum);
+            }
+        }
+        List<Object[]> rows = new ArrayList<>(counts.size());
+        counts.forEach((productId, count) -> rows.add(new Object[]{productId, count}));
+        return rows;
+    }
+
+    private static java.util.concurrent.ThreadFactory daemonThreads() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "recommendation-bench-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,153 @@
+package eticaret.demo.recommendation.benchmark;
+
+import eticaret.demo.product.Product;
+import eticaret.demo.recommendation.RecommendationService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Öneri stratejilerinin siparişler üzerinde çevrimdışı değerlendirmesi (offline replay)
+ * Her siparişin her ürünü için strateji çağrılır; aynı sepetteki diğer ürünler "doğru cevap" kabul edilir.
+ * Strateji başına gecikme yüzdelikleri (p50/p95/p99) ve isabet oranı, precision@K, recall@K hesaplanır.
+ * Değerlendirilen siparişler birlikte alma matrisinin öğrenildiği siparişlerden ayrı tutulmalıdır (holdout),
+ * aksi halde o stratejinin isabetleri iyimser olur.
+ */
+final class RecommendationReplay {
+
+    /**
+     * Stratejilerin döndürdüğü en uzun liste
+     */
+    static final int MAX_K = 10;
+
+    private RecommendationReplay() {
+    }
+
+    /**
+     * Siparişleri stratejiler üzerinden tekrar oynatır
+     *
+     * @param baskets Değerlendirilecek siparişler (en az iki farklı ürün içerenler dikkate alınır)
+     * @param k Öneri listesinin değerlendirilen uzunluğu
+     */
+    static ReplayReport replay(RecommendationService service, List<List<Long>> baskets, int k) {
+        if (k <= 0 || k > MAX_K) {
+            throw new IllegalArgumentException("K değeri 1-" + MAX_K + " arasında olmalı");
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.currentTimeMillis();
+        List<List<Long>> evaluated = new ArrayList<>(baskets.size());
+        for (List<Long> basket : baskets) {
+            if (new HashSet<>(basket).size() >= 2) {
+                evaluated.add(basket);
+            }
+        }
+
+        List<StrategyReplayResult> results = new ArrayList<>();
+        strategies(service, k).forEach((name, strategy) -> results.add(evaluate(name, strategy, evaluated, k)));
+        return new ReplayReport(startedAt, System.currentTimeMillis() - start, evaluated.size(), k, results);
+    }
+
+    /**
+     * Değerlendirilen stratejiler (ürün -> öneriler)
+     * Gezinme geçmişi stratejisi siparişten türetilemediği için dahil değildir;
+     * trend ürünler kişiselleştirilmemiş karşılaştırma tabanıdır.
+     */
+    private static Map<String, Function<Long, List<Product>>> strategies(RecommendationService service, int k) {
+        Map<String, Function<Long, List<Product>>> strategies = new LinkedHashMap<>();
+        strategies.put("frequently-bought", service::getFrequentlyBoughtTogether);
+        strategies.put("rating", productId -> service.getRecommendationsByRating(productId, k));
+        strategies.put("similar", productId -> service.getSimilarProducts(productId, k));
+        strategies.put("category", productId -> service.getRecommendationsByCategory(productId, k));
+        strategies.put("mixed", productId -> service.getMixedRecommendations(productId, null, null));
+        strategies.put("trending", productId -> service.getTrendingProducts(k));
+        return strategies;
+    }
+
+    private static StrategyReplayResult evaluate(String name, Function<Long, List<Product>> strategy,
+                                                 List<List<Long>> baskets, int k) {
+        List<Long> latencies = new ArrayList<>();
+        int seeds = 0;
+        int hits = 0;
+        int nonEmpty = 0;
+        double precisionSum = 0;
+        double recallSum = 0;
+
+        for (List<Long> basket : baskets) {
+            for (Long seed : new HashSet<>(basket)) {
+                Set<Long> expected = new HashSet<>(basket);
+                expected.remove(seed);
+
+                long begin = System.nanoTime();
+                List<Product> recommendations = strategy.apply(seed);
+                latencies.add(System.nanoTime() - begin);
+
+                int returned = Math.min(k, recommendations.size());
+                int matched = 0;
+                for (int i = 0; i < returned; i++) {
+                    Product product = recommendations.get(i);
+                    if (product != null && expected.contains(product.getId())) {
+                        matched++;
+                    }
+                }
+                seeds++;
+                if (returned > 0) {
+                    nonEmpty++;
+                }
+                if (matched > 0) {
+                    hits++;
+                }
+                precisionSum += (double) matched / k;
+                recallSum += (double) matched / expected.size();
+            }
+        }
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return new StrategyReplayResult(
+                name,
+                seeds,
+                ratio(hits, seeds),
+                seeds > 0 ? precisionSum / seeds : 0.0,
+                seeds > 0 ? recallSum / seeds : 0.0,
+                ratio(nonEmpty, seeds),
+                percentileMillis(sorted, 0.50),
+                percentileMillis(sorted, 0.95),
+                percentileMillis(sorted, 0.99),
+                sorted.length > 0 ? sorted[sorted.length - 1] / 1_000_000.0 : 0.0);
+    }
+
+    /**
+     * Raporu tablo olarak yazdırılabilir metne çevirir
+     */
+    static String format(ReplayReport report) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Sipariş: %d, K: %d, Süre: %d ms%n", report.orders(), report.k(), report.durationMillis()));
+        sb.append(String.format("%-18s %8s %8s %8s %8s %8s %9s %9s %9s %9s%n",
+                "strateji", "çağrı", "isabet", "prec@K", "rec@K", "kapsam", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (StrategyReplayResult result : report.strategies()) {
+            sb.append(String.format("%-18s %8d %8.3f %8.3f %8.3f %8.3f %9.3f %9.3f %9.3f %9.3f%n",
+                    result.name(), result.seeds(), result.hitRate(), result.precisionAtK(), result.recallAtK(),
+                    result.coverage(), result.p50Millis(), result.p95Millis(), result.p99Millis(), result.maxMillis()));
+        }
+        return sb.toString();
+    }
+
+    private static double ratio(int count, int total) {
+        return total > 0 ? (double) count / total : 0.0;
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, Math.min(index, sortedNanos.length - 1))] / 1_000_000.0;
+    }
+}
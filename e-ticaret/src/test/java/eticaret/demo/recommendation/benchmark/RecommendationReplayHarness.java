@@ -0,0 +1,74 @@
+package eticaret.demo.recommendation.benchmark;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Öneri stratejilerinin çevrimdışı değerlendirmesini komut satırından çalıştırır
+ * Son siparişler değerlendirme için ayrılır (holdout), birlikte alma matrisi yalnızca öncekilerden öğrenilir.
+ * <p>
+ * Sentetik katalog (varsayılan):
+ * <pre>
+ * mvn -Pbenchmark exec:exec -Dbenchmark.main=eticaret.demo.recommendation.benchmark.RecommendationReplayHarness \
+ *     -Dbenchmark.args="products=5000 orders=50000 holdout=2000 seed=42 k=10"
+ * </pre>
+ * Veritabanı kopyası (yalnızca okunur, canlı veritabanına bağlanmayın):
+ * <pre>
+ * mvn -Pbenchmark exec:exec -Dbenchmark.main=eticaret.demo.recommendation.benchmark.RecommendationReplayHarness \
+ *     -Dbenchmark.args="source=jdbc url=jdbc:postgresql://localhost:5432/eticaret_copy user=... password=... holdout=1000"
+ * </pre>
+ */
+public final class RecommendationReplayHarness {
+
+    private RecommendationReplayHarness() {
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = parse(args);
+        int holdout = Integer.parseInt(options.getOrDefault("holdout", "1000"));
+        int k = Integer.parseInt(options.getOrDefault("k", String.valueOf(RecommendationReplay.MAX_K)));
+
+        RecommendationData data;
+        if ("jdbc".equals(options.getOrDefault("source", "synthetic"))) {
+            data = JdbcRecommendationData.load(required(options, "url"), options.get("user"), options.get("password"));
+        } else {
+            data = SyntheticCatalog.generate(
+                    Integer.parseInt(options.getOrDefault("products", "5000")),
+                    Integer.parseInt(options.getOrDefault("orders", "50000")),
+                    Long.parseLong(options.getOrDefault("seed", String.valueOf(SyntheticCatalog.DEFAULT_SEED))));
+        }
+
+        List<List<Long>> baskets = data.baskets();
+        int split = Math.max(0, baskets.size() - holdout);
+        List<List<Long>> evaluated = baskets.subList(split, baskets.size());
+        System.out.printf("Ürün: %d, Eğitim siparişi: %d, Değerlendirilen sipariş: %d%n",
+                data.products().size(), split, evaluated.size());
+
+        try (RecommendationFixture fixture = RecommendationFixture.build(data.withBaskets(baskets.subList(0, split)))) {
+            // İlk turda JIT ısınır; raporlanan gecikmeler ikinci turdan
+            RecommendationReplay.replay(fixture.service(), evaluated, k);
+            System.out.print(RecommendationReplay.format(RecommendationReplay.replay(fixture.service(), evaluated, k)));
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Seçenekler anahtar=değer biçiminde olmalı: " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static String required(Map<String, String> options, String key) {
+        String value = options.get(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Eksik seçenek: " + key);
+        }
+        return value;
+    }
+}
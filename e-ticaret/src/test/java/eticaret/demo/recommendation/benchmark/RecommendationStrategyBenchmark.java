@@ -0,0 +1,124 @@
+package eticaret.demo.recommendation.benchmark;
+
+import eticaret.demo.product.Product;
+import eticaret.demo.recommendation.RecommendationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Öneri stratejilerinin mikro benchmark'ları (JMH)
+ * Her strateji tohumlanmış sentetik katalog üzerinde, gerçek indekslerle ve veritabanısız çalışır.
+ * Tohum ürünler popülerliğe göre değil düzgün dağılımla seçilir; sonuçlar ortalama ürün sayfasını temsil eder.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="RecommendationStrategyBenchmark.similar -p products=20000"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecommendationStrategyBenchmark {
+
+    private static final int LIMIT = 10;
+    private static final int SEEDS = 1024;
+
+    @Param({"1000", "10000"})
+    public int products;
+
+    private RecommendationFixture fixture;
+    private RecommendationService service;
+    private long[] productIds;
+    private long[] userIds;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RecommendationData data = SyntheticCatalog.generate(products, products * 10, SyntheticCatalog.DEFAULT_SEED);
+        fixture = RecommendationFixture.build(data);
+        service = fixture.service();
+
+        Random random = new Random(SyntheticCatalog.DEFAULT_SEED);
+        productIds = new long[SEEDS];
+        for (int i = 0; i < SEEDS; i++) {
+            productIds[i] = data.products().get(random.nextInt(data.products().size())).getId();
+        }
+        List<Long> users = new ArrayList<>(data.recentViews().keySet());
+        userIds = new long[SEEDS];
+        for (int i = 0; i < SEEDS; i++) {
+            userIds[i] = users.get(random.nextInt(users.size()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public List<Product> frequentlyBought() {
+        return service.getFrequentlyBoughtTogether(nextProduct());
+    }
+
+    @Benchmark
+    public List<Product> browsingHistory() {
+        return service.getRecommendationsBasedOnBrowsingHistory(nextUser(), null);
+    }
+
+    @Benchmark
+    public List<Product> category() {
+        return service.getRecommendationsByCategory(nextProduct(), LIMIT);
+    }
+
+    @Benchmark
+    public List<Product> rating() {
+        return service.getRecommendationsByRating(nextProduct(), LIMIT);
+    }
+
+    @Benchmark
+    public List<Product> trending() {
+        return service.getTrendingProducts(LIMIT);
+    }
+
+    @Benchmark
+    public List<Product> similar() {
+        return service.getSimilarProducts(nextProduct(), LIMIT);
+    }
+
+    @Benchmark
+    public List<Product> mixed() {
+        int index = next();
+        return service.getMixedRecommendations(productIds[index], userIds[index], null);
+    }
+
+    private Long nextProduct() {
+        return productIds[next()];
+    }
+
+    private Long nextUser() {
+        return userIds[next()];
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (SEEDS - 1);
+        return cursor;
+    }
+}
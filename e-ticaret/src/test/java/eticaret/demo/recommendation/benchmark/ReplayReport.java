@@ -0,0 +1,19 @@
+package eticaret.demo.recommendation.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Öneri stratejilerinin geçmiş siparişlerle çevrimdışı değerlendirme raporu
+ *
+ * @param orders Değerlendirilen sipariş sayısı (en az iki farklı ürün içeren)
+ * @param k Değerlendirilen öneri listesi uzunluğu
+ */
+record ReplayReport(
+        LocalDateTime startedAt,
+        long durationMillis,
+        int orders,
+        int k,
+        List<StrategyReplayResult> strategies
+) {
+}
@@ -0,0 +1,64 @@
+package eticaret.demo.recommendation.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Spring Data repository arayüzleri için veritabanısız sahte (stub) nesneler
+ * Verilen metot adları cevaplanır; diğer metotlar dönüş tipinin boş değerini döndürür (boş liste, Optional.empty, 0).
+ * Mockito yerine dinamik proxy kullanılır; çağrı maliyeti benchmark ölçümlerini bozmayacak kadar düşüktür.
+ */
+final class RepositoryStubs {
+
+    private RepositoryStubs() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args != null ? args : new Object[0]);
+            }
+            switch (method.getName()) {
+                case "toString":
+                    return type.getSimpleName() + "Stub";
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    return emptyValue(method.getReturnType());
+            }
+        });
+    }
+
+    static <T> T stub(Class<T> type) {
+        return stub(type, Map.of());
+    }
+
+    private static Object emptyValue(Class<?> returnType) {
+        if (returnType == List.class || returnType == Iterable.class) {
+            return List.of();
+        }
+        if (returnType == Optional.class) {
+            return Optional.empty();
+        }
+        if (returnType == boolean.class) {
+            return false;
+        }
+        if (returnType == long.class) {
+            return 0L;
+        }
+        if (returnType == int.class) {
+            return 0;
+        }
+        if (returnType == double.class) {
+            return 0.0;
+        }
+        return null;
+    }
+}
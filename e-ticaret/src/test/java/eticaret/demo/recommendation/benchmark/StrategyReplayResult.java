@@ -0,0 +1,24 @@
+package eticaret.demo.recommendation.benchmark;
+
+/**
+ * Bir öneri stratejisinin geçmiş siparişler üzerindeki tekrar oynatma (replay) sonucu
+ *
+ * @param seeds Stratejinin çağrıldığı (sipariş, ürün) sayısı
+ * @param hitRate Sepetteki diğer ürünlerden en az birini ilk K içinde bulan çağrı oranı
+ * @param precisionAtK İlk K içindeki isabetli ürün oranı (ortalama)
+ * @param recallAtK Sepetteki diğer ürünlerden ilk K içinde bulunan oran (ortalama)
+ * @param coverage Boş olmayan sonuç döndüren çağrı oranı
+ */
+record StrategyReplayResult(
+        String name,
+        int seeds,
+        double hitRate,
+        double precisionAtK,
+        double recallAtK,
+        double coverage,
+        double p50Millis,
+        double p95Millis,
+        double p99Millis,
+        double maxMillis
+) {
+}
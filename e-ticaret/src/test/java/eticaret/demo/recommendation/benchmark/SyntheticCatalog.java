@@ -0,0 +1,263 @@
+package eticaret.demo.recommendation.benchmark;
+
+import eticaret.demo.product.Category;
+import eticaret.demo.product.Product;
+import eticaret.demo.product.stats.ProductStats;
+import eticaret.demo.recommendation.coview.ProductCoViewNeighbors;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Tohumlanmış (seed) sentetik katalog üreticisi
+ * Aynı tohum ve boyut her zaman aynı veriyi üretir; benchmark ve replay sonuçları çalıştırmalar arasında karşılaştırılabilir.
+ * Gerçek mağazaya benzemesi için:
+ * - Ürünler kategorilere ve özellik sözlüklerine (renk, materyal, montaj, pile tipi) dağılır
+ * - Siparişler çoğunlukla aynı kategoriden "takım" ürünlerden oluşur, takımların popülerliği Zipf dağılımıdır,
+ *   sepetlerin bir kısmına rastgele ürün eklenir
+ * - Ziyaretçi oturumları takımlar etrafında gezinir; birlikte görüntülenme komşuları bu oturumlardan Jaccard ile hesaplanır
+ * - Ürünlerin yaklaşık %5'i stokta yoktur (vitrinde görünmez)
+ */
+final class SyntheticCatalog {
+
+    static final long DEFAULT_SEED = 42L;
+
+    private static final String[] COLORS = {"Beyaz", "Krem", "Gri", "Antrasit", "Bej", "Mavi", "Yeşil", "Pudra"};
+    private static final String[] MATERIALS = {"Keten", "Polyester", "Pamuk", "Kadife", "Tül", "Blackout"};
+    private static final String[] USAGE_AREAS = {"Salon", "Yatak Odası", "Çocuk Odası", "Mutfak", "Ofis", "Balkon"};
+    private static final String[] MOUNTING_TYPES = {"Korniş", "Rustik", "Stor", "Zebra"};
+    private static final String[] PLEAT_TYPES = {"1x1.5", "1x2", "1x2.5", "1x3"};
+    private static final String[] LIGHT_TRANSMITTANCE = {"Şeffaf", "Yarı Geçirgen", "Karartma"};
+
+    private static final int BUNDLE_MIN = 3;
+    private static final int BUNDLE_MAX = 6;
+    private static final double BASKET_NOISE = 0.3;
+    private static final double ZIPF_EXPONENT = 1.1;
+    private static final int RECENT_VIEWS = 10;
+    private static final int COVIEW_TOP_K = 20;
+
+    private SyntheticCatalog() {
+    }
+
+    /**
+     * @param productCount Ürün sayısı
+     * @param orderCount Sipariş sayısı
+     * @param seed Tohum
+     */
+    static RecommendationData generate(int productCount, int orderCount, long seed) {
+        if (productCount < BUNDLE_MAX * 2) {
+            throw new IllegalArgumentException("En az " + BUNDLE_MAX * 2 + " ürün gerekli: " + productCount);
+        }
+        Random random = new Random(seed);
+        int categoryCount = Math.max(4, productCount / 50);
+        List<Category> categories = new ArrayList<>(categoryCount);
+        for (int i = 1; i <= categoryCount; i++) {
+            categories.add(Category.builder().id((long) i).name("Kategori " + i).build());
+        }
+
+        List<Product> products = new ArrayList<>(productCount);
+        for (long id = 1; id <= productCount; id++) {
+            products.add(product(id, categories.get(random.nextInt(categoryCount)), random));
+        }
+
+        List<List<Long>> bundles = bundles(products, categoryCount, random);
+        Zipf bundlePopularity = new Zipf(bundles.size(), random);
+        Zipf productPopularity = new Zipf(productCount, random);
+
+        List<List<Long>> baskets = new ArrayList<>(orderCount);
+        for (int i = 0; i < orderCount; i++) {
+            List<Long> bundle = bundles.get(bundlePopularity.next());
+            Set<Long> basket = new LinkedHashSet<>(pick(bundle, 2 + random.nextInt(bundle.size() - 1), random));
+            if (random.nextDouble() < BASKET_NOISE) {
+                basket.add((long) productPopularity.next() + 1);
+            }
+            baskets.add(List.copyOf(basket));
+        }
+
+        // Oturumlar: her kullanıcı bir iki takım etrafında gezinir, arada popüler ürünlere bakar
+        int userCount = Math.max(10, orderCount / 2);
+        Map<Long, List<Long>> recentViews = new LinkedHashMap<>();
+        List<List<Long>> sessions = new ArrayList<>(userCount);
+        List<Long> trendingViews = new ArrayList<>();
+        for (long userId = 1; userId <= userCount; userId++) {
+            List<Long> session = new ArrayList<>();
+            int visitedBundles = 1 + random.nextInt(2);
+            for (int b = 0; b < visitedBundles; b++) {
+                session.addAll(pick(bundles.get(bundlePopularity.next()), BUNDLE_MIN, random));
+                session.add((long) productPopularity.next() + 1);
+            }
+            sessions.add(session);
+            trendingViews.addAll(session);
+
+            List<Long> recent = new ArrayList<>(new LinkedHashSet<>(session));
+            Collections.reverse(recent);
+            recentViews.put(userId, List.copyOf(recent.subList(0, Math.min(RECENT_VIEWS, recent.size()))));
+        }
+
+        List<ProductStats> stats = new ArrayList<>(productCount);
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (Product product : products) {
+            long views = 10 + (long) (1000.0 / (product.getId() + random.nextInt(10)));
+            stats.add(ProductStats.builder()
+                    .productId(product.getId())
+                    .reviewCount((long) random.nextInt(40))
+                    .averageRating(Math.round((2.5 + random.nextDouble() * 2.5) * 10) / 10.0)
+                    .viewCount(views)
+                    .updatedAt(now)
+                    .build());
+        }
+
+        return new RecommendationData(
+                List.copyOf(products),
+                List.copyOf(baskets),
+                List.copyOf(stats),
+                coViewNeighbours(sessions, now),
+                recentViews,
+                List.copyOf(trendingViews));
+    }
+
+    private static Product product(long id, Category category, Random random) {
+        BigDecimal price = BigDecimal.valueOf(200 + random.nextInt(4800)).setScale(2, RoundingMode.HALF_UP);
+        StringBuilder usage = new StringBuilder(USAGE_AREAS[random.nextInt(USAGE_AREAS.length)]);
+        if (random.nextBoolean()) {
+            usage.append(',').append(USAGE_AREAS[random.nextInt(USAGE_AREAS.length)]);
+        }
+        return Product.builder()
+                .id(id)
+                .name("Perde " + id)
+                .sku("SYN-" + id)
+                .category(category)
+                .color(COLORS[random.nextInt(COLORS.length)])
+                .material(MATERIALS[random.nextInt(MATERIALS.length)])
+                .usageArea(usage.toString())
+                .mountingType(MOUNTING_TYPES[random.nextInt(MOUNTING_TYPES.length)])
+                .pleatType(PLEAT_TYPES[random.nextInt(PLEAT_TYPES.length)])
+                .lightTransmittance(LIGHT_TRANSMITTANCE[random.nextInt(LIGHT_TRANSMITTANCE.length)])
+                .price(price)
+                .width(100.0 + random.nextInt(30) * 10)
+                .height(200.0 + random.nextInt(10) * 10)
+                .quantity(random.nextInt(20) == 0 ? 0 : 1 + random.nextInt(50))
+                .active(true)
+                .build();
+    }
+
+    /**
+     * Ürünleri takımlara ayırır; takımlar çoğunlukla tek kategoriden oluşur
+     */
+    private static List<List<Long>> bundles(List<Product> products, int categoryCount, Random random) {
+        Map<Long, List<Long>> byCategory = new HashMap<>();
+        for (Product product : products) {
+            byCategory.computeIfAbsent(product.getCategory().getId(), k -> new ArrayList<>()).add(product.getId());
+        }
+        List<Long> leftovers = new ArrayList<>();
+        List<List<Long>> bundles = new ArrayList<>();
+        for (long categoryId = 1; categoryId <= categoryCount; categoryId++) {
+            List<Long> ids = new ArrayList<>(byCategory.getOrDefault(categoryId, List.of()));
+            Collections.shuffle(ids, random);
+            int i = 0;
+            while (ids.size() - i >= BUNDLE_MIN) {
+                int size = Math.min(ids.size() - i, BUNDLE_MIN + random.nextInt(BUNDLE_MAX - BUNDLE_MIN + 1));
+                bundles.add(List.copyOf(ids.subList(i, i + size)));
+                i += size;
+            }
+            leftovers.addAll(ids.subList(i, ids.size()));
+        }
+        // Kategorisinde takım kuramayan ürünler karışık takımlara girer
+        for (int i = 0; i + BUNDLE_MIN <= leftovers.size(); i += BUNDLE_MIN) {
+            bundles.add(List.copyOf(leftovers.subList(i, i + BUNDLE_MIN)));
+        }
+        Collections.shuffle(bundles, random);
+        return bundles;
+    }
+
+    private static List<Long> pick(List<Long> source, int count, Random random) {
+        List<Long> copy = new ArrayList<>(source);
+        Collections.shuffle(copy, random);
+        return copy.subList(0, Math.min(count, copy.size()));
+    }
+
+    /**
+     * Oturumlardan ürün başına en benzer komşular (Jaccard: ortak oturum / toplam oturum)
+     * Uygulamadaki gece işinin ürettiği "id:skor,..." satır biçimindedir.
+     */
+    private static List<ProductCoViewNeighbors> coViewNeighbours(List<List<Long>> sessions, LocalDateTime now) {
+        Map<Long, Integer> sessionCounts = new HashMap<>();
+        Map<Long, Map<Long, Integer>> pairCounts = new HashMap<>();
+        for (List<Long> session : sessions) {
+            List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(session));
+            for (Long a : distinct) {
+                sessionCounts.merge(a, 1, Integer::sum);
+                Map<Long, Integer> row = pairCounts.computeIfAbsent(a, k -> new HashMap<>());
+                for (Long b : distinct) {
+                    if (!a.equals(b)) {
+                        row.merge(b, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+
+        List<ProductCoViewNeighbors> rows = new ArrayList<>(pairCounts.size());
+        List<Long> productIds = new ArrayList<>(pairCounts.keySet());
+        productIds.sort(null);
+        for (Long productId : productIds) {
+            int own = sessionCounts.get(productId);
+            List<Map.Entry<Long, Float>> scored = new ArrayList<>();
+            pairCounts.get(productId).forEach((other, together) -> scored.add(Map.entry(other,
+                    (float) together / (own + sessionCounts.get(other) - together))));
+            if (scored.isEmpty()) {
+                continue;
+            }
+            scored.sort(Map.Entry.<Long, Float>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.<Long, Float>comparingByKey()));
+            StringBuilder encoded = new StringBuilder();
+            for (int i = 0; i < Math.min(COVIEW_TOP_K, scored.size()); i++) {
+                if (i > 0) {
+                    encoded.append(',');
+                }
+                encoded.append(scored.get(i).getKey()).append(':').append(scored.get(i).getValue());
+            }
+            rows.add(ProductCoViewNeighbors.builder()
+                    .productId(productId)
+                    .neighbors(encoded.toString())
+                    .computedAt(now)
+                    .build());
+        }
+        return List.copyOf(rows);
+    }
+
+    /**
+     * [0, n) aralığında Zipf dağılımlı sıra üreticisi (küçük sıra daha popüler)
+     */
+    private static final class Zipf {
+
+        private final double[] cumulative;
+        private final Random random;
+
+        Zipf(int n, Random random) {
+            this.random = random;
+            this.cumulative = new double[n];
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += 1.0 / Math.pow(i + 1, ZIPF_EXPONENT);
+                cumulative[i] = sum;
+            }
+        }
+
+        int next() {
+            double target = random.nextDouble() * cumulative[cumulative.length - 1];
+            int index = Arrays.binarySearch(cumulative, target);
+            return Math.min(cumulative.length - 1, index >= 0 ? index : -index - 1);
+        }
+    }
+}
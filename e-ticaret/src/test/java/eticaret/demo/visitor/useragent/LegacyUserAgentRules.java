@@ -0,0 +1,74 @@
+package eticaret.demo.visitor.useragent;
+
+import eticaret.demo.visitor.VisitorPageView;
+
+import java.util.regex.Pattern;
+
+/**
+ * UserAgentScanner'dan önce VisitorTrackingService'te kullanılan regex kuralları (değiştirilmeden)
+ * Tarayıcının davranışının eski kurallarla aynı kaldığını doğrulamak ve karşılaştırmalı benchmark için tutulur.
+ */
+final class LegacyUserAgentRules {
+
+    private static final Pattern MOBILE_PATTERN = Pattern.compile(
+        "(?i)(android|webos|iphone|ipad|ipod|blackberry|iemobile|opera mini)");
+    private static final Pattern TABLET_PATTERN = Pattern.compile(
+        "(?i)(ipad|android(?!.*mobile)|tablet)");
+    private static final Pattern CHROME_PATTERN = Pattern.compile("(?i)chrome/([\\d.]+)");
+    private static final Pattern FIREFOX_PATTERN = Pattern.compile("(?i)firefox/([\\d.]+)");
+    private static final Pattern SAFARI_PATTERN = Pattern.compile("(?i)version/([\\d.]+).*safari");
+    private static final Pattern EDGE_PATTERN = Pattern.compile("(?i)edg?e?/([\\d.]+)");
+    private static final Pattern WINDOWS_PATTERN = Pattern.compile("(?i)windows");
+    private static final Pattern MACOS_PATTERN = Pattern.compile("(?i)mac os x|macintosh");
+    private static final Pattern LINUX_PATTERN = Pattern.compile("(?i)linux");
+    private static final Pattern ANDROID_PATTERN = Pattern.compile("(?i)android");
+    private static final Pattern IOS_PATTERN = Pattern.compile("(?i)(iphone|ipad|ipod)");
+
+    private LegacyUserAgentRules() {
+    }
+
+    static UserAgentInfo classify(String userAgent) {
+        if (userAgent == null || userAgent.isBlank()) {
+            return UserAgentInfo.UNKNOWN;
+        }
+
+        VisitorPageView.DeviceType deviceType;
+        if (TABLET_PATTERN.matcher(userAgent).find()) {
+            deviceType = VisitorPageView.DeviceType.TABLET;
+        } else if (MOBILE_PATTERN.matcher(userAgent).find()) {
+            deviceType = VisitorPageView.DeviceType.MOBILE;
+        } else {
+            deviceType = VisitorPageView.DeviceType.DESKTOP;
+        }
+
+        String browser;
+        if (CHROME_PATTERN.matcher(userAgent).find()) {
+            browser = "Chrome";
+        } else if (FIREFOX_PATTERN.matcher(userAgent).find()) {
+            browser = "Firefox";
+        } else if (EDGE_PATTERN.matcher(userAgent).find()) {
+            browser = "Edge";
+        } else if (SAFARI_PATTERN.matcher(userAgent).find()) {
+            browser = "Safari";
+        } else {
+            browser = "Unknown";
+        }
+
+        String operatingSystem;
+        if (WINDOWS_PATTERN.matcher(userAgent).find()) {
+            operatingSystem = "Windows";
+        } else if (MACOS_PATTERN.matcher(userAgent).find()) {
+            operatingSystem = "macOS";
+        } else if (ANDROID_PATTERN.matcher(userAgent).find()) {
+            operatingSystem = "Android";
+        } else if (IOS_PATTERN.matcher(userAgent).find()) {
+            operatingSystem = "iOS";
+        } else if (LINUX_PATTERN.matcher(userAgent).find()) {
+            operatingSystem = "Linux";
+        } else {
+            operatingSystem = "Unknown";
+        }
+
+        return new UserAgentInfo(UserAgentInfo.trim(userAgent), deviceType, browser, operatingSystem);
+    }
+}
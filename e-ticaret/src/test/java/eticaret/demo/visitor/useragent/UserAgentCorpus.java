@@ -0,0 +1,179 @@
+package eticaret.demo.visitor.useragent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * User-Agent test/benchmark külliyatı
+ * Gerçek tarayıcı başlıkları, kural sınırlarını zorlayan elle yazılmış örnekler ve tohumlanmış rastgele başlıklar.
+ * Rastgele başlıklarda satır sonu karakterleri yoktur: HTTP başlığı CR/LF içeremez ve eski kuralların
+ * ".*" kısmı satır sonunu geçmediği için bu karakterler karşılaştırmayı anlamsızlaştırır.
+ */
+final class UserAgentCorpus {
+
+    /**
+     * Yaygın tarayıcı ve bot başlıkları
+     */
+    static final List<String> REAL = List.of(
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0.0.0 Safari/537.36",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0.0.0 Safari/537.36 Edg/124.0.2478.51",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/70.0.3538.102 Safari/537.36 Edge/18.19045",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:125.0) Gecko/20100101 Firefox/125.0",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.4 Safari/605.1.15",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10.15; rv:125.0) Gecko/20100101 Firefox/125.0",
+            "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0.0.0 Safari/537.36",
+            "Mozilla/5.0 (X11; Ubuntu; Linux x86_64; rv:125.0) Gecko/20100101 Firefox/125.0",
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 17_4 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.4 Mobile/15E148 Safari/604.1",
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 17_4 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) CriOS/124.0.6367.88 Mobile/15E148 Safari/604.1",
+            "Mozilla/5.0 (iPad; CPU OS 17_4 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.4 Mobile/15E148 Safari/604.1",
+            "Mozilla/5.0 (iPod touch; CPU iPhone OS 12_5 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/12.1.2 Mobile/15E148 Safari/604.1",
+            "Mozilla/5.0 (Linux; Android 14; SM-S918B) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0.6367.82 Mobile Safari/537.36",
+            "Mozilla/5.0 (Linux; Android 13; SM-X700) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0.6367.82 Safari/537.36",
+            "Mozilla/5.0 (Android 14; Mobile; rv:125.0) Gecko/125.0 Firefox/125.0",
+            "Mozilla/5.0 (Android 14; Tablet; rv:125.0) Gecko/125.0 Firefox/125.0",
+            "Mozilla/5.0 (Linux; U; Android 4.0.3; ko-kr; LG-L160L Build/IML74K) AppleWebkit/534.30 (KHTML, like Gecko) Version/4.0 Mobile Safari/534.30",
+            "Mozilla/5.0 (Linux; U; Android 4.0.3; de-de; Galaxy Tab Build/IML74K) AppleWebkit/534.30 (KHTML, like Gecko) Version/4.0 Safari/534.30",
+            "Mozilla/5.0 (Linux; Android 11; KFTRWI) AppleWebKit/537.36 (KHTML, like Gecko) Silk/124.3.1 like Chrome/124.0.6367.82 Safari/537.36",
+            "Opera/9.80 (J2ME/MIDP; Opera Mini/9.80 (S60; SymbOS; Opera Mobi/23.348; U; en) Presto/2.5.25 Version/10.54",
+            "Mozilla/5.0 (compatible; MSIE 10.0; Windows Phone 8.0; Trident/6.0; IEMobile/10.0; ARM; Touch; NOKIA; Lumia 920)",
+            "Mozilla/5.0 (BlackBerry; U; BlackBerry 9900; en) AppleWebKit/534.11+ (KHTML, like Gecko) Version/7.1.0.346 Mobile Safari/534.11+",
+            "Mozilla/5.0 (webOS/1.4.0; U; en-US) AppleWebKit/532.2 (KHTML, like Gecko) Version/1.0 Safari/532.2 Pre/1.0",
+            "Mozilla/5.0 (Windows NT 6.1; WOW64; Trident/7.0; rv:11.0) like Gecko",
+            "Mozilla/5.0 (compatible; Googlebot/2.1; +http://www.google.com/bot.html)",
+            "Mozilla/5.0 (compatible; bingbot/2.0; +http://www.bing.com/bingbot.htm)",
+            "facebookexternalhit/1.1 (+http://www.facebook.com/externalhit_uatext.php)",
+            "curl/8.5.0",
+            "PostmanRuntime/7.37.3",
+            "Java/17.0.10",
+            "okhttp/4.12.0",
+            "-");
+
+    /**
+     * Kuralların sınırlarını zorlayan örnekler
+     */
+    static final List<String> EDGE_CASES = List.of(
+            // android(?!.*mobile): yalnızca arkasında "mobile" olmayan android tablettir
+            "Android",
+            "android mobile",
+            "Mobile Android",
+            "Android Mobile Android",
+            "Android Mobile Android Mobile",
+            "ANDROIDMOBILE",
+            "androidmobil",
+            "android mobilemobile",
+            "Androi Mobile",
+            "AndroidAndroidMobile",
+            "Android 12; iPhone",
+            "Android; Tablet; Mobile",
+            // version/<sürüm>.*safari: sıra ve sürüm rakamı gerekli
+            "Version/17.4 Safari/605",
+            "Safari/605 Version/17.4",
+            "Safari Version/1 Safari",
+            "Version/ Safari",
+            "Version/.Safari",
+            "version/1safari",
+            "version/1safar",
+            "Version/x1 Safari",
+            "Version/1 Version/2",
+            "Version/Version/3 Safari",
+            // Tarayıcı önceliği ve sürüm şartları
+            "Chrome/ Firefox/1",
+            "chrome/1 firefox/1 edge/1",
+            "Firefox/ Edg/1",
+            "ed/1",
+            "ede/2",
+            "edg/",
+            "edgee/1",
+            "EDGE/9.0",
+            "Red/1.0",
+            "Chrome/.",
+            // İşletim sistemi önceliği
+            "Linux Android",
+            "Windows Macintosh",
+            "mac os x iPhone",
+            "Mac OS Xandroid",
+            "iPod Linux",
+            "macos x",
+            // Cihaz anahtar kelimeleri
+            "WebOS",
+            "Opera Mini",
+            "Opera  Mini",
+            "IEMobile",
+            "BlackBerry",
+            "Tablet PC",
+            "iPad",
+            "iphone",
+            // Başlık boşlukları ve ASCII dışı karakterler
+            " ",
+            "\t",
+            "İPHONE ANDROİD",
+            "androıd",
+            "Mozilla/5.0 (Ünicode; Android 14) Çrome/1");
+
+    private static final String[] TOKENS = {
+            "android", "mobile", "mobi", "tablet", "ipad", "iphone", "ipod", "webos", "blackberry", "iemobile",
+            "opera mini", "opera", "chrome/", "firefox/", "edge/", "edg/", "ede/", "ed/", "version/", "safari",
+            "windows", "mac os x", "macintosh", "linux", "mozilla/5.0", "applewebkit/537.36", "khtml", "gecko",
+            "nt 10.0", "x11", "wow64", "like", "crios/", "silk/", "samsungbrowser/"};
+    private static final String[] SEPARATORS = {" ", "; ", "(", ")", "/", "", ",", "_", "-", "."};
+    private static final String VERSION_CHARS = "0123456789.";
+
+    private UserAgentCorpus() {
+    }
+
+    /**
+     * Anahtar kelime, sürüm ve ayraçlardan oluşan tohumlanmış rastgele başlıklar
+     * Büyük/küçük harf karışık, bazı anahtar kelimeler yarım bırakılmış olarak üretilir.
+     */
+    static List<String> fuzzed(int count, long seed) {
+        Random random = new Random(seed);
+        List<String> headers = new ArrayList<>(count);
+        for (int n = 0; n < count; n++) {
+            StringBuilder sb = new StringBuilder();
+            int tokens = 1 + random.nextInt(10);
+            for (int t = 0; t < tokens; t++) {
+                String token = TOKENS[random.nextInt(TOKENS.length)];
+                if (random.nextInt(8) == 0) {
+                    token = token.substring(0, 1 + random.nextInt(token.length()));
+                }
+                sb.append(randomCase(token, random));
+                if (token.endsWith("/") && random.nextInt(4) != 0) {
+                    int digits = random.nextInt(5);
+                    for (int d = 0; d < digits; d++) {
+                        sb.append(VERSION_CHARS.charAt(random.nextInt(VERSION_CHARS.length())));
+                    }
+                }
+                sb.append(SEPARATORS[random.nextInt(SEPARATORS.length)]);
+            }
+            headers.add(sb.toString());
+        }
+        return headers;
+    }
+
+    /**
+     * Gerçek, sınır ve rastgele başlıkların tamamı
+     */
+    static List<String> all(int fuzzedCount, long seed) {
+        List<String> headers = new ArrayList<>(REAL);
+        headers.addAll(EDGE_CASES);
+        headers.addAll(fuzzed(fuzzedCount, seed));
+        return headers;
+    }
+
+    private static String randomCase(String token, Random random) {
+        switch (random.nextInt(3)) {
+            case 0:
+                return token;
+            case 1:
+                return token.toUpperCase(java.util.Locale.ROOT);
+            default:
+                StringBuilder sb = new StringBuilder(token.length());
+                for (int i = 0; i < token.length(); i++) {
+                    char c = token.charAt(i);
+                    sb.append(random.nextBoolean() ? Character.toUpperCase(c) : c);
+                }
+                return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package eticaret.demo.visitor.useragent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User-Agent sınıflandırma benchmark'ı: tek geçişli tarayıcı, eski regex zinciri ve önbellekli parser
+ * "real" gerçek tarayıcı başlıklarını, "fuzzed" anahtar kelime yoğun rastgele başlıkları dolaşır.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="UserAgentScannerBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserAgentScannerBenchmark {
+
+    private static final int HEADERS = 1024;
+
+    @Param({"real", "fuzzed"})
+    public String corpus;
+
+    private String[] headers;
+    private UserAgentParser parser;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        List<String> source = "real".equals(corpus)
+                ? UserAgentCorpus.REAL
+                : UserAgentCorpus.fuzzed(HEADERS, 19L);
+        List<String> cycled = new ArrayList<>(HEADERS);
+        for (int i = 0; i < HEADERS; i++) {
+            cycled.add(source.get(i % source.size()));
+        }
+        headers = cycled.toArray(new String[0]);
+
+        // Tüm başlıklar önbelleğe sığar: ölçülen isabet yolu
+        parser = new UserAgentParser(HEADERS * 4);
+        for (String header : headers) {
+            parser.parse(header);
+        }
+    }
+
+    @Benchmark
+    public UserAgentInfo scanner() {
+        return UserAgentScanner.classify(next());
+    }
+
+    @Benchmark
+    public UserAgentInfo legacyRegex() {
+        return LegacyUserAgentRules.classify(next());
+    }
+
+    @Benchmark
+    public UserAgentInfo cachedParser() {
+        return parser.parse(next());
+    }
+
+    private String next() {
+        cursor = (cursor + 1) & (HEADERS - 1);
+        return headers[cursor];
+    }
+}
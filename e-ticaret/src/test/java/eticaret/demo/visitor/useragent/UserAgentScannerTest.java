@@ -0,0 +1,77 @@
+package eticaret.demo.visitor.useragent;
+
+import eticaret.demo.visitor.VisitorPageView;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserAgentScannerTest {
+
+    @Test
+    void matchesLegacyRegexRulesOnCorpus() {
+        List<String> mismatches = new ArrayList<>();
+        for (String userAgent : UserAgentCorpus.all(200_000, 19L)) {
+            UserAgentInfo expected = LegacyUserAgentRules.classify(userAgent);
+            UserAgentInfo actual = UserAgentScanner.classify(userAgent);
+            if (!expected.equals(actual) && mismatches.size() < 10) {
+                mismatches.add("'" + userAgent + "' beklenen " + expected + " bulunan " + actual);
+            }
+        }
+        assertTrue(mismatches.isEmpty(), String.join("\n", mismatches));
+    }
+
+    @Test
+    void androidIsTabletOnlyWithoutMobileAfterIt() {
+        assertDevice(VisitorPageView.DeviceType.TABLET, "Android");
+        assertDevice(VisitorPageView.DeviceType.TABLET, "Mozilla/5.0 (Linux; Android 13; SM-X700) Chrome/124.0 Safari/537.36");
+        assertDevice(VisitorPageView.DeviceType.TABLET, "Mobile Android");
+        assertDevice(VisitorPageView.DeviceType.TABLET, "Android Mobile Android");
+        assertDevice(VisitorPageView.DeviceType.MOBILE, "Mozilla/5.0 (Linux; Android 14; SM-S918B) Chrome/124.0 Mobile Safari/537.36");
+        assertDevice(VisitorPageView.DeviceType.MOBILE, "ANDROIDMOBILE");
+        assertDevice(VisitorPageView.DeviceType.MOBILE, "Android Mobile Android Mobile");
+    }
+
+    @Test
+    void safariNeedsVersionBeforeIt() {
+        assertBrowser("Safari", "Version/17.4 Safari/605.1.15");
+        assertBrowser("Safari", "version/1safari");
+        assertBrowser("Unknown", "Safari/605.1.15 Version/17.4");
+        assertBrowser("Unknown", "Version/ Safari");
+        assertBrowser("Safari", "Version/Version/3 Safari");
+        // Chrome, Firefox ve Edge Safari'den önce gelir
+        assertBrowser("Chrome", "Version/4.0 Chrome/124.0 Mobile Safari/537.36");
+        assertBrowser("Edge", "Version/4.0 Edge/18.1 Safari/537.36");
+    }
+
+    @Test
+    void blankHeaderIsUnknown() {
+        assertSame(UserAgentInfo.UNKNOWN, UserAgentScanner.classify(null));
+        assertSame(UserAgentInfo.UNKNOWN, UserAgentScanner.classify(""));
+        assertSame(UserAgentInfo.UNKNOWN, UserAgentScanner.classify("  "));
+    }
+
+    @Test
+    void longHeaderIsTrimmedToColumnLimit() {
+        String userAgent = "Mozilla/5.0 (Windows NT 10.0) " + "x".repeat(1000) + " Firefox/125.0";
+        UserAgentInfo info = UserAgentScanner.classify(userAgent);
+
+        assertEquals(UserAgentInfo.MAX_USER_AGENT_LENGTH, info.userAgent().length());
+        assertEquals("Firefox", info.browser());
+        assertEquals("Windows", info.operatingSystem());
+    }
+
+    private static void assertDevice(VisitorPageView.DeviceType expected, String userAgent) {
+        assertEquals(expected, UserAgentScanner.classify(userAgent).deviceType(), userAgent);
+        assertEquals(expected, LegacyUserAgentRules.classify(userAgent).deviceType(), userAgent);
+    }
+
+    private static void assertBrowser(String expected, String userAgent) {
+        assertEquals(expected, UserAgentScanner.classify(userAgent).browser(), userAgent);
+        assertEquals(expected, LegacyUserAgentRules.classify(userAgent).browser(), userAgent);
+    }
+}